@@ -0,0 +1,148 @@
+package com.perceivedev.perceivecore.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.CraftPlayer;
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.EntityPlayer;
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.PacketPlayOutEntityVelocity;
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.PlayerConnection;
+import com.perceivedev.perceivecore.reflection.ConstructorInvoker;
+import com.perceivedev.perceivecore.reflection.FieldAccessor;
+import com.perceivedev.perceivecore.reflection.MethodInvoker;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil;
+
+/**
+ * Compares the compiled accessors with the {@link ReflectionUtil} methods
+ * returning a {@link ReflectionUtil.ReflectResponse}.
+ * <p>
+ * The accessors and their raw handles are kept in {@code static final}
+ * fields, as they would be in the modules.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccessorBenchmark {
+
+    private static final Field PLAYER_CONNECTION_FIELD;
+    private static final Method GET_HANDLE;
+    private static final Method SEND_PACKET;
+    private static final Constructor<PacketPlayOutEntityVelocity> VELOCITY_CONSTRUCTOR;
+
+    private static final FieldAccessor<Object> PLAYER_CONNECTION_ACCESSOR;
+    private static final MethodInvoker GET_HANDLE_INVOKER;
+    private static final MethodInvoker SEND_PACKET_INVOKER;
+    private static final ConstructorInvoker<PacketPlayOutEntityVelocity> VELOCITY_INVOKER;
+
+    private static final MethodHandle PLAYER_CONNECTION_GETTER;
+    private static final MethodHandle GET_HANDLE_HANDLE;
+    private static final MethodHandle SEND_PACKET_HANDLE;
+    private static final MethodHandle VELOCITY_HANDLE;
+
+    static {
+        try {
+            PLAYER_CONNECTION_FIELD = EntityPlayer.class.getDeclaredField("playerConnection");
+            GET_HANDLE = CraftPlayer.class.getMethod("getHandle");
+            SEND_PACKET = PlayerConnection.class.getMethod("sendPacket", NmsShapes.Packet.class);
+            VELOCITY_CONSTRUCTOR = PacketPlayOutEntityVelocity.class.getConstructor(
+                    int.class, int.class, int.class, int.class
+            );
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+
+        PLAYER_CONNECTION_ACCESSOR = ReflectionUtil.accessor(PLAYER_CONNECTION_FIELD);
+        GET_HANDLE_INVOKER = ReflectionUtil.invoker(GET_HANDLE);
+        SEND_PACKET_INVOKER = ReflectionUtil.invoker(SEND_PACKET);
+        VELOCITY_INVOKER = ReflectionUtil.invoker(VELOCITY_CONSTRUCTOR);
+
+        PLAYER_CONNECTION_GETTER = PLAYER_CONNECTION_ACCESSOR.getGetter();
+        GET_HANDLE_HANDLE = ReflectionUtil.handle(GET_HANDLE);
+        SEND_PACKET_HANDLE = ReflectionUtil.handle(SEND_PACKET);
+        VELOCITY_HANDLE = ReflectionUtil.handle(VELOCITY_CONSTRUCTOR);
+    }
+
+    private CraftPlayer player;
+    private EntityPlayer entityPlayer;
+    private PacketPlayOutEntityVelocity packet;
+
+    @Setup
+    public void setup() {
+        player = new CraftPlayer();
+        entityPlayer = player.getHandle();
+        packet = new PacketPlayOutEntityVelocity(1, 2, 3, 4);
+    }
+
+    @Benchmark
+    public Object fieldReflectResponse() {
+        return ReflectionUtil.getFieldValue(PLAYER_CONNECTION_FIELD, entityPlayer).getValue();
+    }
+
+    @Benchmark
+    public Object fieldAccessor() {
+        return PLAYER_CONNECTION_ACCESSOR.get(entityPlayer);
+    }
+
+    @Benchmark
+    public Object fieldHandle() throws Throwable {
+        return (Object) PLAYER_CONNECTION_GETTER.invokeExact((Object) entityPlayer);
+    }
+
+    @Benchmark
+    public Object fieldDirect() {
+        return entityPlayer.playerConnection;
+    }
+
+    @Benchmark
+    public Object sendPacketReflectResponse() {
+        Object handle = ReflectionUtil.invokeMethod(GET_HANDLE, player).getValue();
+        Object connection = ReflectionUtil.getFieldValue(PLAYER_CONNECTION_FIELD, handle).getValue();
+        return ReflectionUtil.invokeMethod(SEND_PACKET, connection, packet);
+    }
+
+    @Benchmark
+    public Object sendPacketInvoker() {
+        Object handle = GET_HANDLE_INVOKER.invoke(player);
+        Object connection = PLAYER_CONNECTION_ACCESSOR.get(handle);
+        return SEND_PACKET_INVOKER.invoke(connection, packet);
+    }
+
+    @Benchmark
+    public Object sendPacketHandle() throws Throwable {
+        Object handle = (Object) GET_HANDLE_HANDLE.invokeExact((Object) player);
+        Object connection = (Object) PLAYER_CONNECTION_GETTER.invokeExact(handle);
+        return (Object) SEND_PACKET_HANDLE.invokeExact(connection, (Object) packet);
+    }
+
+    @Benchmark
+    public Object instantiateReflectResponse() {
+        return ReflectionUtil.instantiate(VELOCITY_CONSTRUCTOR, 1, 2, 3, 4).getValue();
+    }
+
+    @Benchmark
+    public Object instantiateInvoker() {
+        return VELOCITY_INVOKER.newInstance(1, 2, 3, 4);
+    }
+
+    @Benchmark
+    public Object instantiateHandle() throws Throwable {
+        return (Object) VELOCITY_HANDLE.invokeExact((Object) 1, (Object) 2, (Object) 3, (Object) 4);
+    }
+}
@@ -0,0 +1,123 @@
+package com.perceivedev.perceivecore.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.PacketPlayInFlying;
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.PacketPlayInKeepAlive;
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.PacketPlayOutChat;
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.PacketPlayOutEntity;
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.PacketPlayOutEntityVelocity;
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.PacketPlayOutKeepAlive;
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.PacketPlayOutMapChunk;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil;
+
+/**
+ * Measures the packet type check done for every packet passing the injector.
+ * <p>
+ * The mix roughly follows the traffic of a populated server: mostly movement
+ * packets, some chat, chunks and keep alives and a raw buffer written by some
+ * other plugin.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InheritanceBenchmark {
+
+    private static final int MIX_SIZE = 16;
+
+    private Object[] mix;
+
+    @Setup
+    public void setup() {
+        mix = new Object[]{
+                new PacketPlayOutEntity.PacketPlayOutRelEntityMove(),
+                new PacketPlayOutEntity.PacketPlayOutRelEntityMoveLook(),
+                new PacketPlayInFlying.PacketPlayInPosition(),
+                new PacketPlayOutEntity.PacketPlayOutRelEntityMove(),
+                new PacketPlayInFlying.PacketPlayInPositionLook(),
+                new PacketPlayOutEntityVelocity(1, 2, 3, 4),
+                new PacketPlayOutEntity.PacketPlayOutRelEntityMoveLook(),
+                new PacketPlayInFlying.PacketPlayInPosition(),
+                new PacketPlayOutChat(),
+                new PacketPlayOutEntity.PacketPlayOutRelEntityMove(),
+                new PacketPlayOutMapChunk(),
+                new PacketPlayInFlying.PacketPlayInPositionLook(),
+                new PacketPlayOutKeepAlive(),
+                new PacketPlayInKeepAlive(),
+                new PacketPlayOutEntityVelocity(4, 3, 2, 1),
+                new byte[16]
+        };
+        if (mix.length != MIX_SIZE) {
+            throw new IllegalStateException("Update MIX_SIZE");
+        }
+    }
+
+    /**
+     * The implementation of {@link ReflectionUtil#inheritsFrom(Class, Class)}
+     * before it was cached
+     */
+    private static boolean uncachedInheritsFrom(Class<?> toCheck, Class<?> inheritedClass) {
+        if (inheritedClass.isAssignableFrom(toCheck)) {
+            return true;
+        }
+
+        for (Class<?> implementedInterface : toCheck.getInterfaces()) {
+            if (uncachedInheritsFrom(implementedInterface, inheritedClass)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MIX_SIZE)
+    public int uncached() {
+        int packets = 0;
+        for (Object object : mix) {
+            if (uncachedInheritsFrom(object.getClass(), NmsShapes.Packet.class)) {
+                packets++;
+            }
+        }
+        return packets;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MIX_SIZE)
+    public int cached() {
+        int packets = 0;
+        for (Object object : mix) {
+            if (ReflectionUtil.inheritsFrom(object.getClass(), NmsShapes.Packet.class)) {
+                packets++;
+            }
+        }
+        return packets;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MIX_SIZE)
+    public int instanceCheck() {
+        int packets = 0;
+        for (Object object : mix) {
+            if (NmsShapes.Packet.class.isInstance(object)) {
+                packets++;
+            }
+        }
+        return packets;
+    }
+}
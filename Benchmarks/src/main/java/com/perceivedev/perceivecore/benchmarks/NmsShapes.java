@@ -0,0 +1,149 @@
+package com.perceivedev.perceivecore.benchmarks;
+
+/**
+ * Plain classes mimicking the shape of the NMS classes the modules reflect on.
+ * <p>
+ * They only exist so the benchmarks can run on a plain JVM.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class NmsShapes {
+
+    /**
+     * Mimics {@code net.minecraft.server.Packet}
+     */
+    public interface Packet {
+    }
+
+    /**
+     * Mimics a small outgoing packet with a handful of private fields
+     */
+    public static class PacketPlayOutEntityVelocity implements Packet {
+        private int a;
+        private int b;
+        private int c;
+        private int d;
+
+        public PacketPlayOutEntityVelocity() {
+        }
+
+        public PacketPlayOutEntityVelocity(int a, int b, int c, int d) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = d;
+        }
+    }
+
+    /**
+     * Mimics a movement packet with nested sub packets, like
+     * {@code PacketPlayOutEntity.PacketPlayOutRelEntityMove}
+     */
+    public static class PacketPlayOutEntity implements Packet {
+        protected int a;
+        protected long b;
+        protected long c;
+        protected long d;
+        protected boolean g;
+
+        public static class PacketPlayOutRelEntityMove extends PacketPlayOutEntity {
+        }
+
+        public static class PacketPlayOutRelEntityMoveLook extends PacketPlayOutEntity {
+            private byte yaw;
+            private byte pitch;
+        }
+    }
+
+    /**
+     * Mimics the incoming movement packets
+     */
+    public static class PacketPlayInFlying implements Packet {
+        protected double x;
+        protected double y;
+        protected double z;
+        protected boolean f;
+
+        public static class PacketPlayInPosition extends PacketPlayInFlying {
+        }
+
+        public static class PacketPlayInPositionLook extends PacketPlayInFlying {
+            private float yaw;
+            private float pitch;
+        }
+    }
+
+    /**
+     * Mimics a few more packets of the usual traffic
+     */
+    public static class PacketPlayOutChat implements Packet {
+        private Object a;
+        private byte b;
+    }
+
+    public static class PacketPlayOutMapChunk implements Packet {
+        private int a;
+        private int b;
+        private byte[] d;
+    }
+
+    public static class PacketPlayInKeepAlive implements Packet {
+        private int a;
+    }
+
+    public static class PacketPlayOutKeepAlive implements Packet {
+        private int a;
+    }
+
+    /**
+     * Mimics {@code net.minecraft.server.PlayerConnection}
+     */
+    public static class PlayerConnection {
+        private int sentPackets;
+
+        public void sendPacket(Packet packet) {
+            sentPackets++;
+        }
+
+        public int getSentPackets() {
+            return sentPackets;
+        }
+    }
+
+    /**
+     * Mimics {@code net.minecraft.server.EntityPlayer}, with a few fields before
+     * the one that is looked up
+     */
+    public static class EntityPlayer {
+        private double locX;
+        private double locY;
+        private double locZ;
+        private float yaw;
+        private float pitch;
+        private String displayName = "Player";
+        public PlayerConnection playerConnection = new PlayerConnection();
+        private int ping = 42;
+
+        public int getPing() {
+            return ping;
+        }
+
+        private void setLocation(double x, double y, double z, float yaw, float pitch) {
+            this.locX = x;
+            this.locY = y;
+            this.locZ = z;
+            this.yaw = yaw;
+            this.pitch = pitch;
+        }
+    }
+
+    /**
+     * Mimics {@code org.bukkit.craftbukkit.entity.CraftPlayer}
+     */
+    public static class CraftPlayer {
+        private final EntityPlayer entity = new EntityPlayer();
+
+        public EntityPlayer getHandle() {
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.perceivedev.perceivecore.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.PacketPlayInFlying;
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.PacketPlayOutEntityVelocity;
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.PacketPlayOutKeepAlive;
+import com.perceivedev.perceivecore.packet.PacketAdapter;
+import com.perceivedev.perceivecore.packet.PacketEvent;
+import com.perceivedev.perceivecore.packet.PacketPipelineHarness;
+
+/**
+ * Measures a packet passing the {@code PacketInjector}, with a varying amount
+ * of listeners that either let it through or cancel it.
+ * <p>
+ * Runs on a plain JVM, in the {@link PacketPipelineHarness}. The packets are
+ * the shapes in {@link NmsShapes}. Half of the listeners are global, half are
+ * registered for the player. The packet metrics are enabled, as they are on a
+ * server.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PacketInjectorBenchmark {
+
+    @Param({"0", "1", "10"})
+    private int listeners;
+
+    @Param({"false", "true"})
+    private boolean cancel;
+
+    private PacketPipelineHarness harness;
+
+    private final PacketPlayInFlying flying = new PacketPlayInFlying();
+    private final PacketPlayOutEntityVelocity velocity = new PacketPlayOutEntityVelocity(1, 2, 3, 4);
+    private final PacketPlayOutKeepAlive keepAlive = new PacketPlayOutKeepAlive();
+
+    @Setup
+    public void setup() {
+        harness = new PacketPipelineHarness(NmsShapes.Packet.class);
+        for (int i = 0; i < listeners; i++) {
+            BenchmarkListener listener = new BenchmarkListener(cancel);
+            if (i % 2 == 0) {
+                harness.addGlobalListener(listener);
+            }
+            else {
+                harness.addListener(listener);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        harness.close();
+    }
+
+    @Benchmark
+    public boolean receive() {
+        return harness.receive(flying);
+    }
+
+    @Benchmark
+    public boolean send() {
+        return harness.send(velocity);
+    }
+
+    /**
+     * A packet no listener is interested in
+     */
+    @Benchmark
+    public boolean sendUnwatched() {
+        return harness.send(keepAlive);
+    }
+
+    /**
+     * Lets the packets through or cancels them
+     */
+    private static final class BenchmarkListener extends PacketAdapter {
+        private final boolean cancel;
+
+        /**
+         * @param cancel Whether to cancel the packets
+         */
+        private BenchmarkListener(boolean cancel) {
+            super(PacketPlayInFlying.class, PacketPlayOutEntityVelocity.class);
+            this.cancel = cancel;
+        }
+
+        @Override
+        public void onPacketReceived(PacketEvent packetEvent) {
+            handle(packetEvent);
+        }
+
+        @Override
+        public void onPacketSend(PacketEvent packetEvent) {
+            handle(packetEvent);
+        }
+
+        /**
+         * @param packetEvent The event
+         */
+        private void handle(PacketEvent packetEvent) {
+            if (cancel) {
+                packetEvent.setCancelled(true);
+            }
+        }
+    }
+}
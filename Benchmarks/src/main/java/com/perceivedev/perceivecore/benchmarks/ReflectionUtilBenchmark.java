@@ -0,0 +1,182 @@
+package com.perceivedev.perceivecore.benchmarks;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.EntityPlayer;
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.PacketPlayOutEntityVelocity;
+import com.perceivedev.perceivecore.benchmarks.NmsShapes.PlayerConnection;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.ExecutablePredicate;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.FieldPredicate;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.MethodPredicate;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.Modifier;
+
+/**
+ * Measures the {@link ReflectionUtil} methods the modules call on hot paths,
+ * the way they are called there: with a name or a freshly built predicate on
+ * every call.
+ * <p>
+ * Runs on a plain JVM, the targets are the shapes in {@link NmsShapes}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReflectionUtilBenchmark {
+
+    private static final Field PING_FIELD;
+    private static final Method GET_PING;
+    private static final Constructor<PacketPlayOutEntityVelocity> VELOCITY_CONSTRUCTOR;
+
+    static {
+        try {
+            PING_FIELD = EntityPlayer.class.getDeclaredField("ping");
+            GET_PING = EntityPlayer.class.getMethod("getPing");
+            VELOCITY_CONSTRUCTOR = PacketPlayOutEntityVelocity.class.getConstructor(
+                    int.class, int.class, int.class, int.class
+            );
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private EntityPlayer entityPlayer;
+    private PacketPlayOutEntityVelocity packet;
+
+    @Setup
+    public void setup() {
+        entityPlayer = new EntityPlayer();
+        packet = new PacketPlayOutEntityVelocity(1, 2, 3, 4);
+    }
+
+    // <editor-fold desc="Fields">
+
+    @Benchmark
+    public Object getFieldValueByField() {
+        return ReflectionUtil.getFieldValue(PING_FIELD, entityPlayer).getValue();
+    }
+
+    @Benchmark
+    public Object getFieldValueByName() {
+        return ReflectionUtil.getFieldValue("ping", EntityPlayer.class, entityPlayer).getValue();
+    }
+
+    @Benchmark
+    public Object getFieldValueByRegex() {
+        return ReflectionUtil.getFieldValue("p[i]ng", EntityPlayer.class, entityPlayer).getValue();
+    }
+
+    @Benchmark
+    public Object getFieldValueUncheckedByName() {
+        return ReflectionUtil.getFieldValueUnchecked("ping", EntityPlayer.class, entityPlayer);
+    }
+
+    @Benchmark
+    public Object setFieldValueByName() {
+        return ReflectionUtil.setFieldValue("a", PacketPlayOutEntityVelocity.class, packet, 5);
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Methods">
+
+    @Benchmark
+    public Object invokeMethod() {
+        return ReflectionUtil.invokeMethod(GET_PING, entityPlayer).getValue();
+    }
+
+    @Benchmark
+    public Object invokeMethodByPredicate() {
+        return ReflectionUtil.invokeMethod(
+                EntityPlayer.class,
+                new MethodPredicate().withName("getPing").withParameters(),
+                entityPlayer
+        ).getValue();
+    }
+
+    @Benchmark
+    public Object invokeMethodUnchecked() {
+        return ReflectionUtil.invokeMethodUnchecked(GET_PING, entityPlayer);
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Constructors">
+
+    @Benchmark
+    public Object instantiate() {
+        return ReflectionUtil.instantiate(VELOCITY_CONSTRUCTOR, 1, 2, 3, 4).getValue();
+    }
+
+    @Benchmark
+    public Object instantiateByPredicate() {
+        return ReflectionUtil.instantiate(
+                PacketPlayOutEntityVelocity.class,
+                new ExecutablePredicate<Constructor<?>>().withParameters(int.class, int.class, int.class, int.class),
+                1, 2, 3, 4
+        ).getValue();
+    }
+
+    @Benchmark
+    public Object instantiateUnchecked() {
+        return ReflectionUtil.instantiateUnchecked(VELOCITY_CONSTRUCTOR, 1, 2, 3, 4);
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Lookups">
+
+    @Benchmark
+    public Object lookupMethodByParameters() {
+        return ReflectionUtil.getMethod(
+                PlayerConnection.class,
+                new MethodPredicate().withName("sendPacket").withParameters(NmsShapes.Packet.class)
+        ).getValue();
+    }
+
+    @Benchmark
+    public Object lookupMethodByModifiers() {
+        return ReflectionUtil.getMethod(
+                EntityPlayer.class,
+                new MethodPredicate()
+                        .withModifiers(Modifier.PRIVATE)
+                        .withoutModifiers(Modifier.STATIC)
+                        .withReturnType(void.class)
+                        .withParameters(double.class, double.class, double.class, float.class, float.class)
+        ).getValue();
+    }
+
+    @Benchmark
+    public Object lookupMethodByLambda() {
+        return ReflectionUtil.getMethod(
+                EntityPlayer.class,
+                method -> method.getName().equals("setLocation") && method.getParameterCount() == 5
+        ).getValue();
+    }
+
+    @Benchmark
+    public Object lookupFieldByType() {
+        return ReflectionUtil.getField(EntityPlayer.class, new FieldPredicate(PlayerConnection.class)).getValue();
+    }
+
+    @Benchmark
+    public Object lookupConstructorByParameters() {
+        return ReflectionUtil.getConstructor(
+                PacketPlayOutEntityVelocity.class, int.class, int.class, int.class, int.class
+        ).getValue();
+    }
+    // </editor-fold>
+}
@@ -64,6 +64,8 @@ public final class PerceiveCore extends JavaPlugin {
         }
 
         disableManager = new DisableManager(this);
+
+        ModuleManager.INSTANCE.enableModules();
     }
 
     @Override
@@ -1,6 +1,11 @@
 package com.perceivedev.perceivecore.gui;
 
+import java.util.logging.Level;
+
+import com.perceivedev.perceivecore.gui.anvil.AnvilBindings;
 import com.perceivedev.perceivecore.modulesystem.AbstractModule;
+import com.perceivedev.perceivecore.reflection.ReflectionException;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings;
 
 /**
  * A module to allow working with guis
@@ -13,4 +18,21 @@ public class GuiModule extends AbstractModule {
     public GuiModule() {
         super(getModulePropertiesFromJar(GuiModule.class));
     }
+
+    /**
+     * Binds the NMS members of the module, so a missing one is reported when
+     * the module is loaded
+     *
+     * @return False if they could not be bound
+     */
+    @Override
+    public boolean isModuleCompatible() {
+        try {
+            NmsBindings.bind(AnvilBindings.class);
+            return true;
+        } catch (ReflectionException e) {
+            getLogger().log(Level.SEVERE, "Couldn't bind the NMS members", e);
+            return false;
+        }
+    }
 }
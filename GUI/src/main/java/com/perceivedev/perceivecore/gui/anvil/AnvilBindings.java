@@ -0,0 +1,62 @@
+package com.perceivedev.perceivecore.gui.anvil;
+
+import com.perceivedev.perceivecore.gui.GuiModule;
+import com.perceivedev.perceivecore.reflection.ConstructorInvoker;
+import com.perceivedev.perceivecore.reflection.FieldAccessor;
+import com.perceivedev.perceivecore.reflection.MethodInvoker;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings.Bindings;
+import com.perceivedev.perceivecore.reflection.binding.NmsConstructor;
+import com.perceivedev.perceivecore.reflection.binding.NmsField;
+import com.perceivedev.perceivecore.reflection.binding.NmsMethod;
+
+/**
+ * The NMS members the {@link AnvilGui} needs to read clicked items and to add
+ * the missing slots in versions below 1.10
+ * <p>
+ * They are bound by the {@link GuiModule} when it is loaded. This class is
+ * only public so it can do that, it is not part of the API.
+ */
+public final class AnvilBindings {
+
+    private static final Bindings BINDINGS = NmsBindings.resolve(AnvilBindings.class);
+
+    /**
+     * {@code CraftItemStack#asBukkitCopy(ItemStack)}
+     */
+    @NmsMethod(value = "asBukkitCopy", parameters = "{nms}.ItemStack", owner = "{obc}.inventory.CraftItemStack")
+    static final MethodInvoker AS_BUKKIT_COPY = BINDINGS.get("AS_BUKKIT_COPY");
+
+    /**
+     * {@code CraftPlayer#getHandle()}
+     */
+    @NmsMethod(value = "getHandle", parameters = {}, owner = "{obc}.entity.CraftPlayer")
+    static final MethodInvoker GET_HANDLE = BINDINGS.get("GET_HANDLE");
+
+    /**
+     * {@code CraftInventory#getInventory()}
+     */
+    @NmsMethod(value = "getInventory", parameters = {}, owner = "{obc}.inventory.CraftInventory")
+    static final MethodInvoker GET_INVENTORY = BINDINGS.get("GET_INVENTORY");
+
+    /**
+     * {@code EntityHuman#activeContainer}
+     */
+    @NmsField(value = "activeContainer", owner = "{nms}.EntityHuman")
+    static final FieldAccessor<Object> ACTIVE_CONTAINER = BINDINGS.get("ACTIVE_CONTAINER");
+
+    /**
+     * {@code Container#a(Slot)}, which adds a slot
+     */
+    @NmsMethod(value = "a", parameters = "{nms}.Slot", owner = "{nms}.Container")
+    static final MethodInvoker ADD_SLOT = BINDINGS.get("ADD_SLOT");
+
+    /**
+     * {@code Slot(IInventory, int, int, int)}
+     */
+    @NmsConstructor(parameters = {"{nms}.IInventory", "int", "int", "int"}, owner = "{nms}.Slot")
+    static final ConstructorInvoker<?> NEW_SLOT = BINDINGS.get("NEW_SLOT");
+
+    private AnvilBindings() {
+    }
+}
@@ -1,8 +1,5 @@
 package com.perceivedev.perceivecore.gui.anvil;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -23,14 +20,8 @@ import com.perceivedev.perceivecore.gui.components.panes.AnchorPane;
 import com.perceivedev.perceivecore.gui.util.Dimension;
 import com.perceivedev.perceivecore.packet.PacketManager;
 import com.perceivedev.perceivecore.reflection.ReflectionUtil;
-import com.perceivedev.perceivecore.reflection.ReflectionUtil.FieldPredicate;
-import com.perceivedev.perceivecore.reflection.ReflectionUtil.MethodPredicate;
-import com.perceivedev.perceivecore.reflection.ReflectionUtil.Modifier;
 import com.perceivedev.perceivecore.utilities.item.ItemFactory;
 
-import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.NMS;
-import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.OBC;
-
 
 /**
  * A Gui taking input by allowing the user to write something in an Anvil
@@ -81,8 +72,9 @@ public class AnvilGui extends Gui implements AnvilInputHolder {
     @Override
     protected void onDisplay(Gui previous) {
         getPlayer().ifPresent(player -> {
-            PacketManager.getInstance().addListener(listener, player);
-            PacketManager.getInstance().addListener(anvilItemRenameListener, player);
+            // registered once for all anvil guis, as they check the inventory holder themselves
+            PacketManager.getInstance().addGlobalListener(listener);
+            PacketManager.getInstance().addGlobalListener(anvilItemRenameListener);
 
             // by the time this method is called, the inventory is NOT yet opened.
             new BukkitRunnable() {
@@ -94,22 +86,6 @@ public class AnvilGui extends Gui implements AnvilInputHolder {
         });
     }
 
-    /**
-     * Called when the Gui is closed. You may overwrite it to listen to close
-     * events
-     * <p>
-     * <br>
-     * <strong><em>Must be called by sub classes, or the Gui WILL NOT
-     * WORK</em></strong>
-     */
-    @Override
-    protected void onClose() {
-        getPlayer().ifPresent(player -> {
-            PacketManager.getInstance().removeListener(listener, player);
-            PacketManager.getInstance().removeListener(anvilItemRenameListener, player);
-        });
-    }
-
     /**
      * Adds an item to the Gui
      *
@@ -169,58 +145,6 @@ public class AnvilGui extends Gui implements AnvilInputHolder {
 
     private static class LowerVersionFixer {
 
-        private static final Class<?> CONTAINER_CLASS = ReflectionUtil.getClass(
-                NMS,
-                "Container"
-        ).orElseThrow(() -> new RuntimeException("Could not find 'Container' class."));
-        private static final Class<?> SLOT_CLASS = ReflectionUtil.getClass(
-                NMS,
-                "Slot"
-        ).orElseThrow(() -> new RuntimeException("Could not find 'Slot' class."));
-        private static final Class<?> I_INVENTORY_CLASS = ReflectionUtil.getClass(
-                NMS,
-                "IInventory"
-        ).orElseThrow(() -> new RuntimeException("Could not find 'IInventory' class."));
-        private static final Class<?> ENTITY_HUMAN_CLASS = ReflectionUtil.getClass(
-                NMS,
-                "EntityHuman"
-        ).orElseThrow(() -> new RuntimeException("Could not find 'EntityHuman' class."));
-        private static final Class<?> CRAFT_PLAYER_CLASS = ReflectionUtil.getClass(
-                OBC,
-                "entity.CraftPlayer"
-        ).orElseThrow(() -> new RuntimeException("Could not find 'entity.CraftPlayer' class."));
-        private static final Class<?> CRAFT_INVENTORY_CLASS = ReflectionUtil.getClass(
-                OBC,
-                "inventory.CraftInventory"
-        ).orElseThrow(() -> new RuntimeException("Could not find 'inventory.CraftInventory' class."));
-
-        private static final Method ADD_SLOT_METHOD = ReflectionUtil.getMethod(
-                CONTAINER_CLASS,
-                new MethodPredicate()
-                        .withModifiers(Modifier.PROTECTED)
-                        .withReturnType(SLOT_CLASS)
-                        .withParameters(SLOT_CLASS)
-        ).getValueOrThrow("Could not find 'add slot' method in 'Container'");
-        private static final Method CRAFT_INVENTORY_GET_INVENTORY = ReflectionUtil.getMethod(
-                CRAFT_INVENTORY_CLASS,
-                new MethodPredicate().withName("getInventory")
-        ).getValueOrThrow("Could not find 'getInventory' method in 'CraftInventory'");
-        private static final Method PLAYER_GET_HANDLE_METHOD = ReflectionUtil.getMethod(
-                CRAFT_PLAYER_CLASS,
-                new MethodPredicate().withName("getHandle")
-        ).getValueOrThrow("Could not find 'getHandle' method in 'CraftPlayer'");
-
-        private static final Constructor<?> SLOT_CONSTRUCTOR = ReflectionUtil.getConstructor(
-                SLOT_CLASS,
-                I_INVENTORY_CLASS, int.class, int.class, int.class
-        ).getValueOrThrow("Could not find 'Slot' constructor.");
-
-        private static final Field ACTIVE_CONTAINER_FIELD = ReflectionUtil.getField(
-                ENTITY_HUMAN_CLASS,
-                new FieldPredicate().withName("activeContainer")
-        ).getValueOrThrow("Could not find 'activeContainer' field in EntityHuman");
-
-
         /**
          * Fixes the inventory, if needed
          *
@@ -276,22 +200,19 @@ public class AnvilGui extends Gui implements AnvilInputHolder {
         }
 
         private void addToContainer(Object slot, Object container) {
-            ReflectionUtil.invokeMethod(ADD_SLOT_METHOD, container, slot);
+            AnvilBindings.ADD_SLOT.invoke(container, slot);
         }
 
         private Object createSlot(Object inventory, int first, int second, int third) {
-            return ReflectionUtil.instantiate(SLOT_CONSTRUCTOR, inventory, first, second, third)
-                    .getValueOrThrow("Could not instantiate 'Slot'");
+            return AnvilBindings.NEW_SLOT.newInstance(inventory, first, second, third);
         }
 
         private Object getNMSPlayer(Player player) {
-            return ReflectionUtil.invokeMethod(PLAYER_GET_HANDLE_METHOD, player)
-                    .getValueOrThrow("Could not invoke 'getHandle' method for the Player");
+            return AnvilBindings.GET_HANDLE.invoke(player);
         }
 
         private Object getActiveContainer(Object nmsPlayer) {
-            return ReflectionUtil.getFieldValue(ACTIVE_CONTAINER_FIELD, nmsPlayer)
-                    .getValueOrThrow("Could not read 'activeContainer' field for the Player");
+            return AnvilBindings.ACTIVE_CONTAINER.get(nmsPlayer);
         }
 
         private Object getTopIInventory(Player player) {
@@ -305,8 +226,7 @@ public class AnvilGui extends Gui implements AnvilInputHolder {
         }
 
         private Object getIIInventory(Inventory inventory) {
-            return ReflectionUtil.invokeMethod(CRAFT_INVENTORY_GET_INVENTORY, inventory)
-                    .getValueOrThrow("Could not invoke 'getInventory' method for the Player");
+            return AnvilBindings.GET_INVENTORY.invoke(inventory);
         }
 
         boolean needsFixing() {
@@ -23,11 +23,21 @@ class AnvilItemRenameListener extends PacketAdapter {
             "PacketPlayInCustomPayload"
     ).orElseThrow(() -> new RuntimeException("Could not find the 'PacketPlayInCustomPayload' class!"));
 
+    /**
+     * Creates a listener for the custom payload packets
+     */
+    AnvilItemRenameListener() {
+        super(PACKET_PLAY_IN_CUSTOM_PAYLOAD_CLASS);
+    }
+
     @Override
     public void onPacketReceived(PacketEvent packetEvent) {
-        if (packetEvent.getPacket().getPacketClass() != PACKET_PLAY_IN_CUSTOM_PAYLOAD_CLASS) {
+        // every plugin message of every player ends up here, so check the holder before touching the packet
+        InventoryHolder holder = packetEvent.getPlayer().getOpenInventory().getTopInventory().getHolder();
+        if (!(holder instanceof AnvilInputHolder)) {
             return;
         }
+
         PacketPlayInCustomPayloadWrapper customPayloadWrapper = new PacketPlayInCustomPayloadWrapper(
                 packetEvent.getPacket().getNMSPacket()
         );
@@ -39,11 +49,6 @@ class AnvilItemRenameListener extends PacketAdapter {
             return;
         }
 
-        InventoryHolder holder = packetEvent.getPlayer().getOpenInventory().getTopInventory().getHolder();
-        if (!(holder instanceof AnvilInputHolder)) {
-            return;
-        }
-
         AnvilInputHolder anvilInputHolder = (AnvilInputHolder) holder;
 
         AnvilTypeEvent anvilTypeEvent = new AnvilTypeEvent(
@@ -1,5 +1,6 @@
 package com.perceivedev.perceivecore.gui.anvil;
 
+import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -19,21 +20,26 @@ public class AnvilPacketListener extends PacketAdapter {
             .getClass("{nms}.PacketPlayInWindowClick")
             .orElseThrow(() -> new RuntimeException("Couldn't find NMS class 'PacketPlayInWindowClick'"));
 
+    /**
+     * Creates a listener for the window click packets
+     */
+    public AnvilPacketListener() {
+        super(TARGET_CLASS);
+    }
+
     @Override
     public void onPacketReceived(PacketEvent packetEvent) {
-        if (!packetEvent.getPacket().getPacketClass().equals(TARGET_CLASS)) {
+        // every click of every player ends up here, so check the holder before touching the packet
+        Inventory inventory = packetEvent.getPlayer().getOpenInventory().getTopInventory();
+        if (!(inventory.getHolder() instanceof AnvilInputHolder)) {
             return;
         }
-        WindowClickWrapper clickWrapper = new WindowClickWrapper(packetEvent.getPacket(), packetEvent.getPlayer());
 
-        Inventory inventory = clickWrapper.getInventory();
         if (inventory.getType() != InventoryType.ANVIL) {
             return;
         }
 
-        if (!(inventory.getHolder() instanceof AnvilInputHolder)) {
-            return;
-        }
+        WindowClickWrapper clickWrapper = new WindowClickWrapper(packetEvent.getPacket(), packetEvent.getPlayer());
 
         // No anvil input, let the gui handle it
         if (!clickWrapper.isInsideTopInventory()) {
@@ -48,11 +54,14 @@ public class AnvilPacketListener extends PacketAdapter {
 
         if (clickEvent.isCancelled()) {
             packetEvent.setCancelled(true);
+
+            // the event is reused, so do not capture it
+            Player player = packetEvent.getPlayer();
             new BukkitRunnable() {
                 @SuppressWarnings("deprecation")
                 @Override
                 public void run() {
-                    packetEvent.getPlayer().updateInventory();
+                    player.updateInventory();
                 }
             }.runTask(PerceiveCore.getInstance());
         }
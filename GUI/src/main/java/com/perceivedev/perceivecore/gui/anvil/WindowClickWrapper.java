@@ -1,33 +1,19 @@
 package com.perceivedev.perceivecore.gui.anvil;
 
-import java.lang.reflect.Method;
-
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryView;
 import org.bukkit.inventory.ItemStack;
 
 import com.perceivedev.perceivecore.packet.Packet;
-import com.perceivedev.perceivecore.reflection.ReflectionUtil;
-import com.perceivedev.perceivecore.reflection.ReflectionUtil.MethodPredicate;
 import com.perceivedev.perceivecore.reflection.ReflectionUtil.ReflectResponse;
 
-import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.OBC;
-
 
 /**
  * A wrapper for the {@code PacketPlayInWindowClick} class
  */
 class WindowClickWrapper {
 
-    private static final Class<?> CRAFT_ITEM_STACK_CLASS = ReflectionUtil
-            .getClass(OBC, "inventory.CraftItemStack")
-            .orElseThrow(() -> new RuntimeException("Couldn't find class 'CraftItemStack'"));
-    private static final Method TO_BUKKIT = ReflectionUtil.getMethod(CRAFT_ITEM_STACK_CLASS, new MethodPredicate()
-            .withName("asBukkitCopy").withModifiers(ReflectionUtil.Modifier.PUBLIC, ReflectionUtil.Modifier.STATIC))
-            .get()
-            .orElseThrow(() -> new RuntimeException("Couldn't find method 'CraftItemStack#asBukkitCopy'"));
-
     private Packet packet;
     private Player player;
 
@@ -68,9 +54,7 @@ class WindowClickWrapper {
         if (item == null) {
             return null;
         }
-        return (ItemStack) ReflectionUtil.invokeMethod(TO_BUKKIT, null, item)
-                .get()
-                .orElseThrow(() -> new RuntimeException("Error invoking 'asBukkitCopy' method"));
+        return (ItemStack) AnvilBindings.AS_BUKKIT_COPY.invoke(null, item);
     }
 
     /**
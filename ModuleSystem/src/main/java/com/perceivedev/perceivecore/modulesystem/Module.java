@@ -52,5 +52,14 @@ public interface Module {
      */
     @SuppressWarnings("unused")
     boolean isModuleCompatible();
+
+    /**
+     * Called once the core plugin is enabled, on the main thread
+     * <p>
+     * The modules are loaded before that, when no listeners or tasks can be
+     * registered yet. Register them here.
+     */
+    default void onEnable() {
+    }
     // TODO: 13.01.2017 Implement compatibility check 
 }
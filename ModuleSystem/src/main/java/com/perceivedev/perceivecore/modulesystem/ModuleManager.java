@@ -3,9 +3,10 @@ package com.perceivedev.perceivecore.modulesystem;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.logging.Level;
 
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -28,9 +29,10 @@ public enum ModuleManager {
      *         <b>Value:</b> The {@link Module}
      *     </li>
      * </ul>
+     * In the order they were registered, so dependencies come first
      */
     // @formatter:on
-    private Map<String, Module> moduleMap = new HashMap<>();
+    private Map<String, Module> moduleMap = new LinkedHashMap<>();
 
     /**
      * Gets a module by its {@link Class}
@@ -112,6 +114,22 @@ public enum ModuleManager {
         return dependencyManager.registerPlugin(plugin);
     }
 
+    /**
+     * Calls {@link Module#onEnable()} of all modules, dependencies first
+     * <p>
+     * <br>
+     * <b><i>Unless you have a <u>very</u> good reason, do not call this method</i></b>
+     */
+    public void enableModules() {
+        for (Module module : moduleMap.values()) {
+            try {
+                module.onEnable();
+            } catch (RuntimeException e) {
+                module.getLogger().log(Level.SEVERE, "Couldn't enable the module " + module.getModuleName(), e);
+            }
+        }
+    }
+
     /**
      * @return The amount of modules in the manager
      */
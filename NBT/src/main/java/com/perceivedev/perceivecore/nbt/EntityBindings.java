@@ -0,0 +1,30 @@
+package com.perceivedev.perceivecore.nbt;
+
+import com.perceivedev.perceivecore.reflection.MethodInvoker;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings.Bindings;
+import com.perceivedev.perceivecore.reflection.binding.NmsClass;
+import com.perceivedev.perceivecore.reflection.binding.NmsMethod;
+
+/**
+ * The NMS members the {@link EntityNBTUtil} needs to reach the handle of an
+ * entity
+ * <p>
+ * They are bound by the {@link NbtModule} when it is loaded. The methods
+ * loading and saving the NBT of an entity are probed instead, see
+ * {@link EntityNBTUtil}.
+ */
+@NmsClass("{obc}.entity.CraftEntity")
+final class EntityBindings {
+
+    private static final Bindings BINDINGS = NmsBindings.resolve(EntityBindings.class);
+
+    /**
+     * {@code CraftEntity#getHandle()}
+     */
+    @NmsMethod(value = "getHandle", parameters = {})
+    static final MethodInvoker GET_HANDLE = BINDINGS.get("GET_HANDLE");
+
+    private EntityBindings() {
+    }
+}
@@ -2,6 +2,7 @@ package com.perceivedev.perceivecore.nbt;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.file.Path;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
@@ -11,10 +12,11 @@ import org.bukkit.Bukkit;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 
+import com.perceivedev.perceivecore.coreplugin.PerceiveCore;
+import com.perceivedev.perceivecore.reflection.MemberTable;
 import com.perceivedev.perceivecore.reflection.ReflectionUtil;
 
 import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.NMS;
-import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.OBC;
 
 
 /**
@@ -34,29 +36,15 @@ public class EntityNBTUtil {
 
     private static final Logger LOGGER = Logger.getLogger("EntityNBTUtil");
 
-    private static Method loadFromNbtMethod, saveToNbtMethod, getHandle;
+    private static final String LOAD_FROM_NBT_KEY = "entity.loadFromNbt";
+    private static final String SAVE_TO_NBT_KEY = "entity.saveToNbt";
+
+    private static Method loadFromNbtMethod, saveToNbtMethod;
     private static boolean error = false;
+    private static boolean probed = false;
 
     static {
-        Optional<Class<?>> craftEntityClass = ReflectionUtil.getClass(OBC, "entity.CraftEntity");
-        if (!craftEntityClass.isPresent()) {
-            error = true;
-            LOGGER.warning("Can't find CraftEntity class! @EntityNBTUtil static block");
-        }
-        else {
-            ReflectionUtil.ReflectResponse<Method> getHandleMethod = ReflectionUtil
-                    .getMethod(craftEntityClass.get(), new ReflectionUtil.MethodPredicate().withName("getHandle"));
-
-            if (getHandleMethod.isValuePresent()) {
-                getHandle = getHandleMethod.getValue();
-            }
-            else {
-                LOGGER.warning("getHandle not found: "
-                        + Bukkit.getServer().getClass().getName());
-                error = true;
-            }
-        }
-        getLoadingMethods();
+        resolveLoadingMethods();
     }
 
     /**
@@ -70,7 +58,7 @@ public class EntityNBTUtil {
      */
     private static Object toNMSEntity(Entity entity) {
         ensureNoError();
-        return ReflectionUtil.invokeMethod(getHandle, entity).getValue();
+        return EntityBindings.GET_HANDLE.invoke(entity);
     }
 
     /**
@@ -167,15 +155,64 @@ public class EntityNBTUtil {
         setNbtTag(entity, entityData);
     }
 
-    @SuppressWarnings("OptionalGetWithoutIsPresent")
-    private static void getLoadingMethods() {
+    /**
+     * Resolves the loading and saving methods. The names known for a version
+     * are tried first, the methods are only probed on a sample entity if they
+     * do not match. The result is cached on disk per server version.
+     */
+    private static void resolveLoadingMethods() {
+        Path cacheFile = PerceiveCore.getInstance().getDataFolder().toPath()
+                .resolve("cache")
+                .resolve("entity-nbt-members.properties");
+
+        MemberTable memberTable = MemberTable.builder(cacheFile)
+                .methodIn(LOAD_FROM_NBT_KEY, "{nms}.Entity", "-1.12.2", "f", "{nms}.NBTTagCompound")
+                // returns void before 1.9 and the passed compound after it
+                .methodIn(SAVE_TO_NBT_KEY, "{nms}.Entity", "-1.8.9", "e", "{nms}.NBTTagCompound")
+                .methodIn(SAVE_TO_NBT_KEY, "{nms}.Entity", "1.9-1.11.2", "e", "{nms}.NBTTagCompound")
+                .methodIn(SAVE_TO_NBT_KEY, "{nms}.Entity", "1.12-", "save", "{nms}.NBTTagCompound")
+                .probe(LOAD_FROM_NBT_KEY, "{nms}.Entity", entityClass -> {
+                    probeLoadingMethods();
+                    return Optional.ofNullable(loadFromNbtMethod);
+                })
+                .probe(SAVE_TO_NBT_KEY, "{nms}.Entity", entityClass -> {
+                    probeLoadingMethods();
+                    return Optional.ofNullable(saveToNbtMethod);
+                })
+                .build();
+
+        if (error) {
+            return;
+        }
+
+        loadFromNbtMethod = memberTable.getMethod(LOAD_FROM_NBT_KEY).orElse(null);
+        saveToNbtMethod = memberTable.getMethod(SAVE_TO_NBT_KEY).orElse(null);
+
+        if (saveToNbtMethod == null || loadFromNbtMethod == null) {
+            LOGGER.warning("Couldn't find the methods. This could help:"
+                    + " save " + (saveToNbtMethod == null)
+                    + " load " + (loadFromNbtMethod == null));
+            error = true;
+        }
+    }
+
+    /**
+     * Finds the loading and saving methods by invoking all candidates on a
+     * sample entity. Only runs once.
+     */
+    private static void probeLoadingMethods() {
+        if (probed) {
+            return;
+        }
+        probed = true;
+
         if (Bukkit.getWorlds().isEmpty()) {
             throw new IllegalStateException("Called me before at least one world was loaded...");
         }
         Entity sample = Bukkit.getWorlds().get(0)
                 .spawnEntity(Bukkit.getWorlds().get(0).getSpawnLocation(), EntityType.ARMOR_STAND);
 
-        Object nmsSample = ReflectionUtil.invokeMethod(getHandle, sample).getValue();
+        Object nmsSample = EntityBindings.GET_HANDLE.invoke(sample);
 
         Optional<Class<?>> entityClass = ReflectionUtil.getClass(NMS, "Entity");
         if (!entityClass.isPresent()) {
@@ -192,13 +229,6 @@ public class EntityNBTUtil {
             initializeLowerThan1_9(entityClass.get(), nmsSample);
         }
 
-        if (saveToNbtMethod == null || loadFromNbtMethod == null) {
-            LOGGER.warning("Couldn't find the methods. This could help: "
-                    + entityClass.get().getName()
-                    + " save " + (saveToNbtMethod == null)
-                    + " load " + (loadFromNbtMethod == null));
-            error = true;
-        }
         sample.remove();
     }
 
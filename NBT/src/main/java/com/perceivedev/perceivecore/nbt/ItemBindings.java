@@ -0,0 +1,46 @@
+package com.perceivedev.perceivecore.nbt;
+
+import com.perceivedev.perceivecore.reflection.MethodInvoker;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings.Bindings;
+import com.perceivedev.perceivecore.reflection.binding.NmsClass;
+import com.perceivedev.perceivecore.reflection.binding.NmsMethod;
+
+/**
+ * The NMS members the {@link ItemNBTUtil} needs to read and write the tag of
+ * an item
+ * <p>
+ * They are bound by the {@link NbtModule} when it is loaded.
+ */
+@NmsClass("{obc}.inventory.CraftItemStack")
+final class ItemBindings {
+
+    private static final Bindings BINDINGS = NmsBindings.resolve(ItemBindings.class);
+
+    /**
+     * {@code CraftItemStack#asNMSCopy(org.bukkit.inventory.ItemStack)}
+     */
+    @NmsMethod(value = "asNMSCopy", parameters = "org.bukkit.inventory.ItemStack")
+    static final MethodInvoker AS_NMS_COPY = BINDINGS.get("AS_NMS_COPY");
+
+    /**
+     * {@code CraftItemStack#asBukkitCopy(ItemStack)}
+     */
+    @NmsMethod(value = "asBukkitCopy", parameters = "{nms}.ItemStack")
+    static final MethodInvoker AS_BUKKIT_COPY = BINDINGS.get("AS_BUKKIT_COPY");
+
+    /**
+     * {@code ItemStack#getTag()}
+     */
+    @NmsMethod(value = "getTag", parameters = {}, owner = "{nms}.ItemStack")
+    static final MethodInvoker GET_TAG = BINDINGS.get("GET_TAG");
+
+    /**
+     * {@code ItemStack#setTag(NBTTagCompound)}
+     */
+    @NmsMethod(value = "setTag", parameters = "{nms}.NBTTagCompound", owner = "{nms}.ItemStack")
+    static final MethodInvoker SET_TAG = BINDINGS.get("SET_TAG");
+
+    private ItemBindings() {
+    }
+}
@@ -2,32 +2,26 @@ package com.perceivedev.perceivecore.nbt;
 
 import org.bukkit.inventory.ItemStack;
 
-import com.perceivedev.perceivecore.reflection.ReflectionUtil;
-import com.perceivedev.perceivecore.reflection.ReflectionUtil.MethodPredicate;
-import com.perceivedev.perceivecore.reflection.ReflectionUtil.Modifier;
-
-import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.OBC;
+import com.perceivedev.perceivecore.reflection.ReflectionException;
 
 
 /**
  * A Util to save NBT data to ItemStacks
+ * <p>
+ * Converting between Bukkit and NMS items throws a {@link ReflectionException}
+ * if it fails, instead of silently returning null.
  */
 public class ItemNBTUtil {
 
-    @SuppressWarnings("OptionalGetWithoutIsPresent")
-    private static final Class<?> CRAFT_ITEM_STACK_CLASS = ReflectionUtil.getClass(OBC, "inventory.CraftItemStack")
-            .get();
-
     /**
      * @param itemStack The {@link ItemStack} to convert
      *
      * @return The NMS Item stack
+     *
+     * @throws ReflectionException if the conversion failed
      */
     private static Object asNMSCopy(ItemStack itemStack) {
-        return ReflectionUtil.invokeMethod(CRAFT_ITEM_STACK_CLASS, new MethodPredicate()
-                        .withName("asNMSCopy")
-                        .withParameters(ItemStack.class),
-                null, itemStack).getValue();
+        return ItemBindings.AS_NMS_COPY.invoke(null, itemStack);
     }
 
     /**
@@ -36,11 +30,11 @@ public class ItemNBTUtil {
      * @param nmsItem The NMS item to convert
      *
      * @return The converted Item
+     *
+     * @throws ReflectionException if the conversion failed
      */
     private static ItemStack asBukkitCopy(Object nmsItem) {
-        return (ItemStack) ReflectionUtil.invokeMethod(CRAFT_ITEM_STACK_CLASS, new MethodPredicate()
-                        .withName("asBukkitCopy").withModifiers(Modifier.PUBLIC, Modifier.STATIC),
-                null, nmsItem).getValue();
+        return (ItemStack) ItemBindings.AS_BUKKIT_COPY.invoke(null, nmsItem);
     }
 
     /**
@@ -50,31 +44,34 @@ public class ItemNBTUtil {
      * @param itemStack The ItemStack
      *
      * @return The modified itemStack
+     *
+     * @throws ReflectionException if the item could not be converted or the
+     *                             tag could not be set
      */
     @SuppressWarnings("WeakerAccess")
     public static ItemStack setNBTTag(NBTWrappers.NBTTagCompound tag, ItemStack itemStack) {
         Object nbtTag = tag.toNBT();
         Object nmsItem = asNMSCopy(itemStack);
-        ReflectionUtil.invokeMethod(nmsItem.getClass(), new MethodPredicate()
-                .withName("setTag")
-                .withModifiers(Modifier.PUBLIC), nmsItem, nbtTag);
+        ItemBindings.SET_TAG.invoke(nmsItem, nbtTag);
 
         return asBukkitCopy(nmsItem);
     }
 
     /**
-     * Gets the NBTTag of an item. In case of any error it returns a blank one.
+     * Gets the NBTTag of an item. In case of any error reading the tag it
+     * returns a blank one.
      *
      * @param itemStack The ItemStack to get the tag for
      *
      * @return The NBTTagCompound of the ItemStack or a new one if it had none
      * or an error occurred
+     *
+     * @throws ReflectionException if the item could not be converted
      */
     @SuppressWarnings("WeakerAccess")
     public static NBTWrappers.NBTTagCompound getTag(ItemStack itemStack) {
         Object nmsItem = asNMSCopy(itemStack);
-        Object tag = ReflectionUtil.invokeMethod(nmsItem.getClass(), new MethodPredicate()
-                .withName("getTag").withParameters(), nmsItem).getValue();
+        Object tag = ItemBindings.GET_TAG.invoke(nmsItem);
         if (tag == null) {
             return new NBTWrappers.NBTTagCompound();
         }
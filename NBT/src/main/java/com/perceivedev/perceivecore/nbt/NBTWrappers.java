@@ -1,26 +1,19 @@
 package com.perceivedev.perceivecore.nbt;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import com.perceivedev.perceivecore.reflection.ReflectionUtil;
-import com.perceivedev.perceivecore.reflection.ReflectionUtil.MethodPredicate;
-import com.perceivedev.perceivecore.reflection.ReflectionUtil.ReflectResponse;
-
-import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.NMS;
+import com.perceivedev.perceivecore.reflection.ReflectionException;
 
 
 /**
@@ -49,42 +42,363 @@ public class NBTWrappers {
          */
         @SuppressWarnings("WeakerAccess")
         public static INBTBase fromNBT(Object nbtObject) {
-            switch (nbtObject.getClass().getSimpleName()) {
-                case "NBTTagByte": {
-                    return NBTTagByte.fromNBT(nbtObject);
-                }
-                case "NBTTagShort": {
-                    return NBTTagShort.fromNBT(nbtObject);
-                }
-                case "NBTTagInt": {
-                    return NBTTagInt.fromNBT(nbtObject);
-                }
-                case "NBTTagLong": {
-                    return NBTTagLong.fromNBT(nbtObject);
-                }
-                case "NBTTagFloat": {
-                    return NBTTagFloat.fromNBT(nbtObject);
-                }
-                case "NBTTagDouble": {
-                    return NBTTagDouble.fromNBT(nbtObject);
-                }
-                case "NBTTagByteArray": {
-                    return NBTTagByteArray.fromNBT(nbtObject);
-                }
-                case "NBTTagIntArray": {
-                    return NBTTagIntArray.fromNBT(nbtObject);
-                }
-                case "NBTTagString": {
-                    return NBTTagString.fromNBT(nbtObject);
-                }
-                case "NBTTagCompound": {
-                    return NBTTagCompound.fromNBT(nbtObject);
+            NbtBindings.TagBinding binding = NbtBindings.forClass(nbtObject.getClass());
+            if (binding == null) {
+                return null;
+            }
+            return convertTree(nbtObject, binding);
+        }
+    }
+
+    /**
+     * Converts an NMS tag and everything nested in it
+     * <p>
+     * Lists and compounds are walked with an explicit stack, so deeply nested
+     * tags, like the contents of a shulker box, do not recurse.
+     *
+     * @param nbtObject The NMS tag
+     * @param binding The binding of its class
+     *
+     * @return The converted tag or null if an error occurred
+     */
+    private static INBTBase convertTree(Object nbtObject, NbtBindings.TagBinding binding) {
+        Deque<ContainerFrame> stack = new ArrayDeque<>();
+        INBTBase root = convertNode(nbtObject, binding, stack);
+
+        while (!stack.isEmpty()) {
+            ContainerFrame frame = stack.peek();
+            if (!frame.next()) {
+                stack.pop();
+                continue;
+            }
+            Object child = frame.getValue();
+            if (child == null) {
+                continue;
+            }
+            NbtBindings.TagBinding childBinding = NbtBindings.forClass(child.getClass());
+            if (childBinding == null) {
+                continue;
+            }
+            INBTBase converted = convertNode(child, childBinding, stack);
+            if (converted != null) {
+                frame.add(converted);
+            }
+        }
+
+        return root;
+    }
+
+    /**
+     * Converts a single NMS tag. Lists and compounds are returned empty and
+     * their contents pushed on the stack.
+     *
+     * @param nbtObject The NMS tag
+     * @param binding The binding of its class
+     * @param stack The stack of containers still to fill
+     *
+     * @return The converted tag or null if an error occurred
+     */
+    private static INBTBase convertNode(Object nbtObject, NbtBindings.TagBinding binding,
+                                        Deque<ContainerFrame> stack) {
+        switch (binding.getTypeId()) {
+            case NbtIO.TAG_BYTE: {
+                return NBTTagByte.fromNBT(nbtObject);
+            }
+            case NbtIO.TAG_SHORT: {
+                return NBTTagShort.fromNBT(nbtObject);
+            }
+            case NbtIO.TAG_INT: {
+                return NBTTagInt.fromNBT(nbtObject);
+            }
+            case NbtIO.TAG_LONG: {
+                return NBTTagLong.fromNBT(nbtObject);
+            }
+            case NbtIO.TAG_FLOAT: {
+                return NBTTagFloat.fromNBT(nbtObject);
+            }
+            case NbtIO.TAG_DOUBLE: {
+                return NBTTagDouble.fromNBT(nbtObject);
+            }
+            case NbtIO.TAG_BYTE_ARRAY: {
+                return NBTTagByteArray.fromNBT(nbtObject);
+            }
+            case NbtIO.TAG_INT_ARRAY: {
+                return NBTTagIntArray.fromNBT(nbtObject);
+            }
+            case NbtIO.TAG_STRING: {
+                return NBTTagString.fromNBT(nbtObject);
+            }
+            case NbtIO.TAG_COMPOUND: {
+                if (NbtIO.isNMSAvailable()) {
+                    try {
+                        return NbtIO.fromNMS(nbtObject);
+                    } catch (IllegalStateException | ReflectionException e) {
+                        LOGGER.log(Level.WARNING, "An error occurred reading an NBTTagCompound from nbt", e);
+                        return null;
+                    }
                 }
-                case "NBTTagList": {
-                    return NBTTagList.fromNBT(nbtObject);
+                NBTTagCompound compound = new NBTTagCompound();
+                stack.push(new CompoundFrame(nbtObject, compound));
+                return compound;
+            }
+            case NbtIO.TAG_LIST: {
+                NBTTagList list = new NBTTagList();
+                List<?> savedList = (List<?>) NbtBindings.LIST.get(nbtObject);
+                if (savedList == null) {
+                    LOGGER.warning("An error occurred reading an NBTTagList from nbt. The list was null.");
+                    return list;
                 }
+                stack.push(new ListFrame(savedList, list));
+                return list;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A list or compound whose children are still being converted
+     */
+    private interface ContainerFrame {
+
+        /**
+         * @return True if there is another child
+         */
+        boolean next();
+
+        /**
+         * @return The current NMS child
+         */
+        Object getValue();
+
+        /**
+         * @param converted The converted current child
+         */
+        void add(INBTBase converted);
+    }
+
+    /**
+     * Walks the keys of an NMS compound
+     */
+    private static final class CompoundFrame implements ContainerFrame {
+        private final Object nbtObject;
+        private final NBTTagCompound compound;
+        private final Iterator<String> keys;
+        private String key;
+
+        /**
+         * @param nbtObject The NMS compound
+         * @param compound The compound to fill
+         */
+        private CompoundFrame(Object nbtObject, NBTTagCompound compound) {
+            this.nbtObject = nbtObject;
+            this.compound = compound;
+            this.keys = NbtBindings.COMPOUND.keys(nbtObject).iterator();
+        }
+
+        @Override
+        public boolean next() {
+            if (!keys.hasNext()) {
+                return false;
+            }
+            key = keys.next();
+            return true;
+        }
+
+        @Override
+        public Object getValue() {
+            return NbtBindings.COMPOUND.get(nbtObject, key);
+        }
+
+        @Override
+        public void add(INBTBase converted) {
+            compound.set(key, converted);
+        }
+    }
+
+    /**
+     * Walks the elements of an NMS list
+     */
+    private static final class ListFrame implements ContainerFrame {
+        private final Iterator<?> elements;
+        private final NBTTagList list;
+        private Object value;
+
+        /**
+         * @param elements The elements of the NMS list
+         * @param list The list to fill
+         */
+        private ListFrame(List<?> elements, NBTTagList list) {
+            this.elements = elements.iterator();
+            this.list = list;
+        }
+
+        @Override
+        public boolean next() {
+            if (!elements.hasNext()) {
+                return false;
+            }
+            value = elements.next();
+            return true;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public void add(INBTBase converted) {
+            list.add(converted);
+        }
+    }
+
+    /**
+     * Converts a wrapper and everything nested in it to NMS
+     * <p>
+     * Lists and compounds are walked with an explicit stack, like
+     * {@link #convertTree(Object, NbtBindings.TagBinding)} does in the other
+     * direction.
+     *
+     * @param root The wrapper to convert
+     *
+     * @return The NMS tag
+     */
+    private static Object toNBTTree(INBTBase root) {
+        Deque<WrapperFrame> stack = new ArrayDeque<>();
+        Object nbtRoot = toNBTNode(root, stack);
+
+        while (!stack.isEmpty()) {
+            WrapperFrame frame = stack.peek();
+            if (!frame.next()) {
+                stack.pop();
+                continue;
+            }
+            frame.add(toNBTNode(frame.getValue(), stack));
+        }
+
+        return nbtRoot;
+    }
+
+    /**
+     * Converts a single wrapper. Lists and compounds are returned empty and
+     * their contents pushed on the stack.
+     *
+     * @param base The wrapper
+     * @param stack The stack of containers still to fill
+     *
+     * @return The NMS tag
+     */
+    private static Object toNBTNode(INBTBase base, Deque<WrapperFrame> stack) {
+        if (base instanceof NBTTagCompound) {
+            NBTTagCompound compound = (NBTTagCompound) base;
+            if (NbtIO.isNMSAvailable()) {
+                return NbtIO.toNMS(compound);
+            }
+            Object nbtCompound = NbtBindings.COMPOUND.newInstance();
+            stack.push(new WrapperCompoundFrame(compound, nbtCompound));
+            return nbtCompound;
+        }
+        if (base instanceof NBTTagList) {
+            Object nbtList = NbtBindings.LIST.newInstance();
+            stack.push(new WrapperListFrame((NBTTagList) base, nbtList));
+            return nbtList;
+        }
+        return base.toNBT();
+    }
+
+    /**
+     * A wrapper list or compound whose children are still being converted to
+     * NMS
+     */
+    private interface WrapperFrame {
+
+        /**
+         * @return True if there is another child
+         */
+        boolean next();
+
+        /**
+         * @return The current child
+         */
+        INBTBase getValue();
+
+        /**
+         * @param converted The current child converted to NMS
+         */
+        void add(Object converted);
+    }
+
+    /**
+     * Walks the entries of a compound, filling an NMS compound
+     */
+    private static final class WrapperCompoundFrame implements WrapperFrame {
+        private final Iterator<Map.Entry<String, INBTBase>> entries;
+        private final Object nbtCompound;
+        private Map.Entry<String, INBTBase> entry;
+
+        /**
+         * @param compound The compound to convert
+         * @param nbtCompound The NMS compound to fill
+         */
+        private WrapperCompoundFrame(NBTTagCompound compound, Object nbtCompound) {
+            this.entries = compound.getRawMap().entrySet().iterator();
+            this.nbtCompound = nbtCompound;
+        }
+
+        @Override
+        public boolean next() {
+            if (!entries.hasNext()) {
+                return false;
             }
-            return null;
+            entry = entries.next();
+            return true;
+        }
+
+        @Override
+        public INBTBase getValue() {
+            return entry.getValue();
+        }
+
+        @Override
+        public void add(Object converted) {
+            NbtBindings.COMPOUND.set(nbtCompound, entry.getKey(), converted);
+        }
+    }
+
+    /**
+     * Walks the elements of a list, filling an NMS list
+     */
+    private static final class WrapperListFrame implements WrapperFrame {
+        private final Iterator<INBTBase> elements;
+        private final Object nbtList;
+        private INBTBase value;
+
+        /**
+         * @param list The list to convert
+         * @param nbtList The NMS list to fill
+         */
+        private WrapperListFrame(NBTTagList list, Object nbtList) {
+            this.elements = list.getRawList().iterator();
+            this.nbtList = nbtList;
+        }
+
+        @Override
+        public boolean next() {
+            if (!elements.hasNext()) {
+                return false;
+            }
+            value = elements.next();
+            return true;
+        }
+
+        @Override
+        public INBTBase getValue() {
+            return value;
+        }
+
+        @Override
+        public void add(Object converted) {
+            NbtBindings.LIST.set(nbtList, converted);
         }
     }
 
@@ -92,14 +406,6 @@ public class NBTWrappers {
      * A NBTTagString
      */
     public static class NBTTagString extends INBTBase {
-        private static final Constructor<?> NBT_TAG_STRING_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
-                        ReflectionUtil.getClass(NMS, "NBTTagString")
-                                .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagString class")),
-                        String.class
-                )
-                .getValueOrThrow("Couldn't find NBTTagString class constructor");
-
         private String string;
 
         /**
@@ -130,16 +436,16 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_STRING_CONSTRUCTOR, getString()).getValue();
+            return NbtBindings.STRING.newInstance(getString());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
-            ReflectResponse<Object> data = ReflectionUtil.getFieldValue("data", nbtObject.getClass(), nbtObject);
-            if (!data.isValuePresent()) {
-                System.err.println("An error occurred. Field not found in fromNBT String");
+            String data = (String) NbtBindings.STRING.get(nbtObject);
+            if (data == null) {
+                LOGGER.warning("An error occurred reading from an NBTTagString! The value was null.");
                 return null;
             }
-            return new NBTTagString((String) data.getValue());
+            return new NBTTagString(data);
         }
 
         @Override
@@ -171,13 +477,6 @@ public class NBTWrappers {
      * A NBTTagCompound
      */
     public static class NBTTagCompound extends INBTBase {
-        private static final Constructor<?> NBT_TAG_COMPOUND_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
-                        ReflectionUtil.getClass(NMS, "NBTTagCompound")
-                                .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagCompound class"))
-                )
-                .getValueOrThrow("Couldn't find NBTTagCompound class constructor");
-
         private final Map<String, INBTBase> map = new HashMap<>();
 
         @SuppressWarnings("WeakerAccess")
@@ -433,58 +732,32 @@ public class NBTWrappers {
             return map;
         }
 
+        /**
+         * Converts this compound to an NMS compound. Uses a single call to the
+         * server's stream tools, if they were found, and converts it without
+         * recursing otherwise.
+         *
+         * @return The NMS compound
+         *
+         * @see NbtIO#toNMS(NBTTagCompound)
+         */
         @Override
         public Object toNBT() {
-            Object compound = ReflectionUtil.instantiate(NBT_TAG_COMPOUND_CONSTRUCTOR).getValue();
-
-            Optional<Class<?>> nbtBase = ReflectionUtil.getClass(NMS, "NBTBase");
-            if (!nbtBase.isPresent()) {
-                LOGGER.warning("Can't find NBTBase class from NBTTagCompound toNBT");
-                return null;
-            }
-
-            ReflectResponse<Method> setMethod = ReflectionUtil.getMethod(compound.getClass(), new MethodPredicate()
-                    .withName("set")
-                    .withParameters(String.class, nbtBase.get()));
-            for (Map.Entry<String, INBTBase> entry : map.entrySet()) {
-                ReflectionUtil.invokeMethod(setMethod.getValue(), compound, entry.getKey(), entry.getValue().toNBT());
-            }
-
-            return compound;
+            return toNBTTree(this);
         }
 
+        /**
+         * Converts an NMS compound. Uses a single call to the server's stream
+         * tools, if they were found.
+         *
+         * @param nbtObject The NMS compound
+         *
+         * @return The converted compound or null if an error occurred
+         *
+         * @see NbtIO#fromNMS(Object)
+         */
         public static INBTBase fromNBT(Object nbtObject) {
-            Collection<String> keys = new HashSet<>();
-            for (Method method : nbtObject.getClass().getMethods()) {
-                if (Modifier.isPublic(method.getModifiers()) && Set.class.isAssignableFrom(method.getReturnType())) {
-                    @SuppressWarnings("unchecked")
-                    Collection<String> collection = (Collection<String>) ReflectionUtil.invokeMethod(method, nbtObject)
-                            .getValue();
-                    if (collection != null) {
-                        keys.addAll(collection);
-                    }
-                }
-            }
-            NBTTagCompound compound = new NBTTagCompound();
-
-            ReflectResponse<Method> getMethod = ReflectionUtil.getMethod(nbtObject.getClass(), new MethodPredicate()
-                    .withName("get")
-                    .withParameters(String.class));
-
-            if (!getMethod.isSuccessful()) {
-                LOGGER.warning("Didn't find get method in NBTTagCompound class fromNBT");
-                return null;
-            }
-
-            for (String key : keys) {
-                Object value = ReflectionUtil.invokeMethod(getMethod.getValue(), nbtObject, key).getValue();
-                INBTBase base = INBTBase.fromNBT(value);
-                if (base != null) {
-                    compound.set(key, base);
-                }
-            }
-
-            return compound;
+            return convertTree(nbtObject, NbtBindings.COMPOUND);
         }
 
         @Override
@@ -516,13 +789,6 @@ public class NBTWrappers {
      * A NBTTagList.
      */
     public static class NBTTagList extends INBTBase {
-        private static final Constructor<?> NBT_TAG_LIST_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
-                        ReflectionUtil.getClass(NMS, "NBTTagList")
-                                .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagList class"))
-                )
-                .getValueOrThrow("Couldn't find NBTTagList class constructor");
-
         private final List<INBTBase> list = new ArrayList<>();
 
         /**
@@ -606,42 +872,19 @@ public class NBTWrappers {
             return list;
         }
 
+        /**
+         * Converts this list and everything nested in it to an NMS list,
+         * without recursing
+         *
+         * @return The NMS list
+         */
         @Override
         public Object toNBT() {
-            Object nbtList = ReflectionUtil.instantiate(NBT_TAG_LIST_CONSTRUCTOR).getValue();
-            Optional<Class<?>> nbtBase = ReflectionUtil.getClass(NMS, "NBTBase");
-            if (!nbtBase.isPresent()) {
-                LOGGER.warning("Can't find NBTBase class from NBTTagList toNBT");
-                return null;
-            }
-
-            for (INBTBase inbtBase : list) {
-                ReflectionUtil.invokeMethod(nbtList.getClass(),
-                        new MethodPredicate()
-                                .withName("add")
-                                .withParameters(nbtBase.get()),
-                        nbtList, inbtBase.toNBT());
-            }
-            return nbtList;
+            return toNBTTree(this);
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
-            NBTTagList list = new NBTTagList();
-            ReflectResponse<Object> listResponse = ReflectionUtil.getFieldValue("list", nbtObject.getClass(),
-                    nbtObject);
-
-            if (!listResponse.isValuePresent()) {
-                LOGGER.warning("An error occurred reading an NBTTagList from nbt. Response: " + listResponse);
-            }
-
-            List<?> savedList = (List<?>) listResponse.getValue();
-            if (savedList == null) {
-                return list;
-            }
-            for (Object entry : savedList) {
-                list.add(INBTBase.fromNBT(entry));
-            }
-            return list;
+            return convertTree(nbtObject, NbtBindings.LIST);
         }
 
         @Override
@@ -730,14 +973,6 @@ public class NBTWrappers {
      * A NBTTagDouble
      */
     public static class NBTTagDouble extends INBTNumber {
-        private static final Constructor<?> NBT_TAG_DOUBLE_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
-                        ReflectionUtil.getClass(NMS, "NBTTagDouble")
-                                .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagDouble class")),
-                        double.class
-                )
-                .getValueOrThrow("Couldn't find NBTTagDouble class constructor");
-
         private double value;
 
         /**
@@ -767,23 +1002,14 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_DOUBLE_CONSTRUCTOR, getAsDouble()).getValue();
+            return NbtBindings.DOUBLE.newInstance(getAsDouble());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
-            Optional<Class<?>> clazz = ReflectionUtil.getClass(NMS, "NBTTagDouble");
-            if (!clazz.isPresent()) {
-                LOGGER.warning("Can't find NBTTagDouble class");
-                return null;
+            Double value = (Double) NbtBindings.DOUBLE.get(nbtObject);
+            if (value == null) {
+                LOGGER.warning("An error occurred reading from an NBTTagDouble! The value was null.");
             }
-            Method method = findNBTNumberGetMethod(clazz.get(), double.class);
-            ReflectResponse<Object> response = ReflectionUtil.invokeMethod(method, nbtObject);
-            if (!response.isValuePresent()) {
-                LOGGER.warning("An error occurred reading from an NBTTagDouble! The value was null. Response object: "
-                        + response);
-            }
-
-            Double value = (Double) response.getValue();
             return value == null ? new NBTTagDouble(-1) : new NBTTagDouble(value);
         }
 
@@ -816,14 +1042,6 @@ public class NBTWrappers {
      * A NBTTagInt
      */
     public static class NBTTagInt extends INBTNumber {
-        private static final Constructor<?> NBT_TAG_INT_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
-                        ReflectionUtil.getClass(NMS, "NBTTagInt")
-                                .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagInt class")),
-                        int.class
-                )
-                .getValueOrThrow("Couldn't find NBTTagInt class constructor");
-
         private int value;
 
         /**
@@ -858,23 +1076,14 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_INT_CONSTRUCTOR, getAsInt()).getValue();
+            return NbtBindings.INT.newInstance(getAsInt());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
-            Optional<Class<?>> clazz = ReflectionUtil.getClass(NMS, "NBTTagInt");
-            if (!clazz.isPresent()) {
-                LOGGER.warning("Can't find NBTTagInt class");
-                return null;
+            Integer value = (Integer) NbtBindings.INT.get(nbtObject);
+            if (value == null) {
+                LOGGER.warning("An error occurred reading from an NBTTagInt! The value was null.");
             }
-            Method method = findNBTNumberGetMethod(clazz.get(), int.class);
-            ReflectResponse<Object> response = ReflectionUtil.invokeMethod(method, nbtObject);
-            if (!response.isValuePresent()) {
-                LOGGER.warning("An error occurred reading from an NBTTagInt! The value was null. Response object: "
-                        + response);
-            }
-
-            Integer value = (Integer) response.getValue();
 
             return new NBTTagInt(value == null ? 0 : value);
         }
@@ -908,14 +1117,6 @@ public class NBTWrappers {
      * A NBTTagIntArray
      */
     public static class NBTTagIntArray extends INBTBase {
-        private static final Constructor<?> NBT_TAG_INT_ARRAY_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
-                        ReflectionUtil.getClass(NMS, "NBTTagIntArray")
-                                .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagIntArray class")),
-                        int[].class
-                )
-                .getValueOrThrow("Couldn't find NBTTagIntArray class constructor");
-
         private int[] value;
 
         @SuppressWarnings("unused")
@@ -941,24 +1142,16 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_INT_ARRAY_CONSTRUCTOR, (Object) getValue()).getValue();
+            return NbtBindings.INT_ARRAY.newInstance((Object) getValue());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
-            ReflectResponse<Method> methodResponse = ReflectionUtil.getMethod(nbtObject.getClass(),
-                    new MethodPredicate().withReturnType(int[].class));
-
-            if (!methodResponse.isValuePresent()) {
-                LOGGER.warning("No getter found for NBTTagIntArray");
+            int[] value = (int[]) NbtBindings.INT_ARRAY.get(nbtObject);
+            if (value == null) {
+                LOGGER.warning("An error occurred reading from an NBTTagIntArray! The value was null.");
                 return null;
             }
-            ReflectResponse<Object> dataResponse = ReflectionUtil.invokeMethod(methodResponse.getValue(), nbtObject);
-
-            if (!dataResponse.isSuccessful()) {
-                LOGGER.warning("NBTTagIntArray getter method raised an error. The response object: " + dataResponse);
-            }
-
-            return new NBTTagIntArray((int[]) dataResponse.getValue());
+            return new NBTTagIntArray(value);
         }
 
         @Override
@@ -990,14 +1183,6 @@ public class NBTWrappers {
      * A NBTTagByte
      */
     public static class NBTTagByte extends INBTNumber {
-        private static final Constructor<?> NBT_TAG_BYTE_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
-                        ReflectionUtil.getClass(NMS, "NBTTagByte")
-                                .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagByte class")),
-                        byte.class
-                )
-                .getValueOrThrow("Couldn't find NBTTagByte class constructor");
-
         private byte value;
 
         /**
@@ -1027,22 +1212,14 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_BYTE_CONSTRUCTOR, getAsByte()).getValue();
+            return NbtBindings.BYTE.newInstance(getAsByte());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
-            Optional<Class<?>> clazz = ReflectionUtil.getClass(NMS, "NBTTagByte");
-            if (!clazz.isPresent()) {
-                LOGGER.warning("Can't find NBTTagByte class");
-                return null;
-            }
-            Method method = findNBTNumberGetMethod(clazz.get(), byte.class);
-            ReflectResponse<Object> response = ReflectionUtil.invokeMethod(method, nbtObject);
-            if (!response.isValuePresent()) {
-                LOGGER.warning("An error occurred reading from an NBTTagByte! The value was null. Response object: "
-                        + response);
+            Byte value = (Byte) NbtBindings.BYTE.get(nbtObject);
+            if (value == null) {
+                LOGGER.warning("An error occurred reading from an NBTTagByte! The value was null.");
             }
-            Byte value = (Byte) response.getValue();
             return new NBTTagByte(value == null ? 0 : value);
         }
 
@@ -1075,14 +1252,6 @@ public class NBTWrappers {
      * A NBTTagByteArray
      */
     public static class NBTTagByteArray extends INBTBase {
-        private static final Constructor<?> NBT_TAG_BYTE_ARRAY_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
-                        ReflectionUtil.getClass(NMS, "NBTTagByteArray")
-                                .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagByteArray class")),
-                        byte[].class
-                )
-                .getValueOrThrow("Couldn't find NBTTagByteArray class constructor");
-
         private byte[] value;
 
         @SuppressWarnings("unused")
@@ -1108,24 +1277,16 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_BYTE_ARRAY_CONSTRUCTOR, (Object) getValue()).getValue();
+            return NbtBindings.BYTE_ARRAY.newInstance((Object) getValue());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
-            ReflectResponse<Method> methodResponse = ReflectionUtil.getMethod(nbtObject.getClass(),
-                    new MethodPredicate().withReturnType(byte[].class));
-
-            if (!methodResponse.isValuePresent()) {
-                LOGGER.warning("No getter found for NBTTagByteArray!");
+            byte[] value = (byte[]) NbtBindings.BYTE_ARRAY.get(nbtObject);
+            if (value == null) {
+                LOGGER.warning("An error occurred reading from an NBTTagByteArray! The value was null.");
                 return null;
             }
-            ReflectResponse<Object> dataResponse = ReflectionUtil.invokeMethod(methodResponse.getValue(), nbtObject);
-
-            if (!dataResponse.isSuccessful()) {
-                LOGGER.warning("NBTTagByteArray getter method raised an error. The response object: " + dataResponse);
-            }
-
-            return new NBTTagByteArray((byte[]) dataResponse.getValue());
+            return new NBTTagByteArray(value);
         }
 
         @Override
@@ -1157,13 +1318,6 @@ public class NBTWrappers {
      * A NBTTagShort
      */
     public static class NBTTagShort extends INBTNumber {
-        private static final Constructor<?> NBT_TAG_SHORT_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
-                        ReflectionUtil.getClass(NMS, "NBTTagShort")
-                                .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagShort class")),
-                        short.class)
-                .getValueOrThrow("Couldn't find NBTTagShort class constructor");
-
         private short value;
 
         /**
@@ -1193,22 +1347,14 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_SHORT_CONSTRUCTOR, getAsShort()).getValue();
+            return NbtBindings.SHORT.newInstance(getAsShort());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
-            Optional<Class<?>> clazz = ReflectionUtil.getClass(NMS, "NBTTagShort");
-            if (!clazz.isPresent()) {
-                LOGGER.warning("Can't find NBTTagShort class");
-                return null;
-            }
-            Method method = findNBTNumberGetMethod(clazz.get(), short.class);
-            ReflectResponse<Object> response = ReflectionUtil.invokeMethod(method, nbtObject);
-            if (!response.isValuePresent()) {
-                LOGGER.warning("An error occurred reading from an NBTTagShort! The value was null. "
-                        + "Response object: " + response);
+            Short value = (Short) NbtBindings.SHORT.get(nbtObject);
+            if (value == null) {
+                LOGGER.warning("An error occurred reading from an NBTTagShort! The value was null.");
             }
-            Short value = (Short) response.getValue();
             return new NBTTagShort(value == null ? 0 : value);
         }
 
@@ -1241,13 +1387,6 @@ public class NBTWrappers {
      * A NBTTagLong
      */
     public static class NBTTagLong extends INBTNumber {
-        private static final Constructor<?> NBT_TAG_LONG_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
-                        ReflectionUtil.getClass(NMS, "NBTTagLong")
-                                .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagLong class")),
-                        long.class)
-                .getValueOrThrow("Couldn't find NBTTagLong class constructor");
-
         private long value;
 
         /**
@@ -1282,23 +1421,14 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_LONG_CONSTRUCTOR, getAsLong()).getValue();
+            return NbtBindings.LONG.newInstance(getAsLong());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
-            Optional<Class<?>> clazz = ReflectionUtil.getClass(NMS, "NBTTagLong");
-            if (!clazz.isPresent()) {
-                LOGGER.warning("Can't find NBTTagLong class");
-                return null;
+            Long value = (Long) NbtBindings.LONG.get(nbtObject);
+            if (value == null) {
+                LOGGER.warning("An error occurred reading from an NBTTagLong! The value was null.");
             }
-            Method method = findNBTNumberGetMethod(clazz.get(), long.class);
-            ReflectResponse<Object> response = ReflectionUtil.invokeMethod(method, nbtObject);
-            if (!response.isValuePresent()) {
-                LOGGER.warning("An error occurred reading from an NBTTagLong! The value was null. Response object: "
-                        + response);
-            }
-
-            Long value = (Long) response.getValue();
             return new NBTTagLong(value == null ? 0 : value);
         }
 
@@ -1331,13 +1461,6 @@ public class NBTWrappers {
      * A NBTTagFloat
      */
     public static class NBTTagFloat extends INBTNumber {
-        private static final Constructor<?> NBT_TAG_LONG_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
-                        ReflectionUtil.getClass(NMS, "NBTTagFloat")
-                                .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagFloat class")),
-                        float.class)
-                .getValue();
-
         private float value;
 
         /**
@@ -1367,23 +1490,14 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_LONG_CONSTRUCTOR, getAsFloat()).getValue();
+            return NbtBindings.FLOAT.newInstance(getAsFloat());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
-            Optional<Class<?>> clazz = ReflectionUtil.getClass(NMS, "NBTTagFloat");
-            if (!clazz.isPresent()) {
-                LOGGER.warning("Can't find NBTTagFloat class");
-                return null;
+            Float value = (Float) NbtBindings.FLOAT.get(nbtObject);
+            if (value == null) {
+                LOGGER.warning("An error occurred reading from an NBTTagFloat! The value was null.");
             }
-            Method method = findNBTNumberGetMethod(clazz.get(), float.class);
-            ReflectResponse<Object> response = ReflectionUtil.invokeMethod(method, nbtObject);
-            if (!response.isValuePresent()) {
-                LOGGER.warning("An error occurred reading from an NBTTagFloat! The value was null. Response object: "
-                        + response);
-            }
-
-            Float value = (Float) response.getValue();
             return new NBTTagFloat(value == null ? 0 : value);
         }
 
@@ -1411,38 +1525,4 @@ public class NBTWrappers {
             return Objects.hash(value);
         }
     }
-
-    /**
-     * Returns the method also existing in the Superclass
-     *
-     * @param clazz The Class to invoke it on
-     * @param returnClass The Return class it should have
-     *
-     * @return The found Method
-     */
-    private static Method findNBTNumberGetMethod(Class<?> clazz, Class<?> returnClass) {
-        for (Method method : clazz.getDeclaredMethods()) {
-            if (!method.getReturnType().equals(returnClass)) {
-                continue;
-            }
-            if (!Modifier.isPublic(method.getModifiers())) {
-                continue;
-            }
-            if (Modifier.isStatic(method.getModifiers())) {
-                continue;
-            }
-            if (method.getName().equals("hashCode") || method.getName().equals("getTypeId")) {
-                continue;
-            }
-
-            try {
-                // noinspection ConfusingArgumentToVarargsMethod // The array is
-                // desired. If it is in the Superclass too, it is out method
-                clazz.getSuperclass().getMethod(method.getName(), method.getParameterTypes());
-                return method;
-            } catch (NoSuchMethodException ignored) {
-            }
-        }
-        return null;
-    }
 }
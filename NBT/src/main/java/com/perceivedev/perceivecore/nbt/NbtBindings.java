@@ -0,0 +1,353 @@
+package com.perceivedev.perceivecore.nbt;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import com.perceivedev.perceivecore.reflection.ConstructorInvoker;
+import com.perceivedev.perceivecore.reflection.FieldAccessor;
+import com.perceivedev.perceivecore.reflection.MethodInvoker;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.MethodPredicate;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.ReflectResponse;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings.Bindings;
+import com.perceivedev.perceivecore.reflection.binding.NmsClass;
+import com.perceivedev.perceivecore.reflection.binding.NmsConstructor;
+import com.perceivedev.perceivecore.reflection.binding.NmsField;
+import com.perceivedev.perceivecore.reflection.binding.NmsMethod;
+
+
+/**
+ * The NMS members of every NBT tag type, resolved once when this class is
+ * first used
+ * <p>
+ * The named members are bound by the {@link NbtModule} when it is loaded.
+ * The getters of numbers, arrays and the key set of a compound have
+ * obfuscated names, so they are still found by their signature.
+ * <p>
+ * Converting a tag is a direct call to a compiled invoker afterwards, no
+ * lookups are made. The wrappers in {@link NBTWrappers} use this table, so
+ * they can be created without a server, only converting them needs one.
+ * <p>
+ * The binding of an NMS tag is found by its exact class with
+ * {@link #forClass(Class)}, which is cached per class.
+ */
+final class NbtBindings {
+
+    private static final Bindings BINDINGS = NmsBindings.resolve(NbtBindings.class);
+
+    private static final Logger LOGGER = Logger.getLogger("NbtBindings");
+
+    /**
+     * The NMS base class of all tags
+     */
+    @NmsClass("{nms}.NBTBase")
+    static final Class<?> NBT_BASE = BINDINGS.get("NBT_BASE");
+
+    @NmsConstructor(owner = "{nms}.NBTTagByte", parameters = "byte")
+    private static final Constructor<?> NEW_BYTE = BINDINGS.get("NEW_BYTE");
+    @NmsConstructor(owner = "{nms}.NBTTagShort", parameters = "short")
+    private static final Constructor<?> NEW_SHORT = BINDINGS.get("NEW_SHORT");
+    @NmsConstructor(owner = "{nms}.NBTTagInt", parameters = "int")
+    private static final Constructor<?> NEW_INT = BINDINGS.get("NEW_INT");
+    @NmsConstructor(owner = "{nms}.NBTTagLong", parameters = "long")
+    private static final Constructor<?> NEW_LONG = BINDINGS.get("NEW_LONG");
+    @NmsConstructor(owner = "{nms}.NBTTagFloat", parameters = "float")
+    private static final Constructor<?> NEW_FLOAT = BINDINGS.get("NEW_FLOAT");
+    @NmsConstructor(owner = "{nms}.NBTTagDouble", parameters = "double")
+    private static final Constructor<?> NEW_DOUBLE = BINDINGS.get("NEW_DOUBLE");
+    @NmsConstructor(owner = "{nms}.NBTTagByteArray", parameters = "byte[]")
+    private static final Constructor<?> NEW_BYTE_ARRAY = BINDINGS.get("NEW_BYTE_ARRAY");
+    @NmsConstructor(owner = "{nms}.NBTTagIntArray", parameters = "int[]")
+    private static final Constructor<?> NEW_INT_ARRAY = BINDINGS.get("NEW_INT_ARRAY");
+    @NmsConstructor(owner = "{nms}.NBTTagString", parameters = "java.lang.String")
+    private static final Constructor<?> NEW_STRING = BINDINGS.get("NEW_STRING");
+    @NmsConstructor(owner = "{nms}.NBTTagList", parameters = {})
+    private static final Constructor<?> NEW_LIST = BINDINGS.get("NEW_LIST");
+    @NmsConstructor(owner = "{nms}.NBTTagCompound", parameters = {})
+    private static final Constructor<?> NEW_COMPOUND = BINDINGS.get("NEW_COMPOUND");
+
+    @NmsField(value = "data", owner = "{nms}.NBTTagString")
+    private static final FieldAccessor<Object> STRING_DATA = BINDINGS.get("STRING_DATA");
+    @NmsField(value = "list", owner = "{nms}.NBTTagList")
+    private static final FieldAccessor<Object> LIST_ELEMENTS = BINDINGS.get("LIST_ELEMENTS");
+    @NmsMethod(value = "add", owner = "{nms}.NBTTagList", parameters = "{nms}.NBTBase")
+    private static final MethodInvoker LIST_ADD = BINDINGS.get("LIST_ADD");
+    @NmsMethod(value = "get", owner = "{nms}.NBTTagCompound", parameters = "java.lang.String")
+    private static final MethodInvoker COMPOUND_GET = BINDINGS.get("COMPOUND_GET");
+    @NmsMethod(value = "set", owner = "{nms}.NBTTagCompound", parameters = {"java.lang.String", "{nms}.NBTBase"})
+    private static final MethodInvoker COMPOUND_SET = BINDINGS.get("COMPOUND_SET");
+
+    /**
+     * {@code MojangsonParser#parse(String)}. Optional, the {@link NbtParser}
+     * reports it missing when it is used.
+     */
+    @NmsMethod(value = "parse", owner = "{nms}.MojangsonParser", parameters = "java.lang.String", optional = true)
+    static final MethodInvoker MOJANGSON_PARSE = BINDINGS.get("MOJANGSON_PARSE");
+
+    static final TagBinding BYTE = number(NEW_BYTE, NbtIO.TAG_BYTE, byte.class);
+    static final TagBinding SHORT = number(NEW_SHORT, NbtIO.TAG_SHORT, short.class);
+    static final TagBinding INT = number(NEW_INT, NbtIO.TAG_INT, int.class);
+    static final TagBinding LONG = number(NEW_LONG, NbtIO.TAG_LONG, long.class);
+    static final TagBinding FLOAT = number(NEW_FLOAT, NbtIO.TAG_FLOAT, float.class);
+    static final TagBinding DOUBLE = number(NEW_DOUBLE, NbtIO.TAG_DOUBLE, double.class);
+    static final TagBinding BYTE_ARRAY = array(NEW_BYTE_ARRAY, NbtIO.TAG_BYTE_ARRAY, byte[].class);
+    static final TagBinding INT_ARRAY = array(NEW_INT_ARRAY, NbtIO.TAG_INT_ARRAY, int[].class);
+    /**
+     * The getter returns the String
+     */
+    static final TagBinding STRING = new TagBinding(
+            NEW_STRING, NbtIO.TAG_STRING, (handle, params) -> STRING_DATA.get(handle), null, null
+    );
+    /**
+     * The getter returns the backing list, the setter adds an element
+     */
+    static final TagBinding LIST = new TagBinding(
+            NEW_LIST, NbtIO.TAG_LIST, (handle, params) -> LIST_ELEMENTS.get(handle), LIST_ADD, null
+    );
+    /**
+     * The getter and setter take a key
+     */
+    static final TagBinding COMPOUND = new TagBinding(
+            NEW_COMPOUND, NbtIO.TAG_COMPOUND, COMPOUND_GET, COMPOUND_SET,
+            findMethod(NEW_COMPOUND.getDeclaringClass(), isKeySetGetter(), "NBTTagCompound key set")
+    );
+
+    private static final TagBinding[] ALL = {
+            BYTE, SHORT, INT, LONG, FLOAT, DOUBLE, BYTE_ARRAY, INT_ARRAY, STRING, LIST, COMPOUND
+    };
+
+    private static final ClassValue<TagBinding> BY_CLASS = new ClassValue<TagBinding>() {
+        @Override
+        protected TagBinding computeValue(Class<?> type) {
+            for (TagBinding binding : ALL) {
+                if (binding.nmsClass == type) {
+                    return binding;
+                }
+            }
+            return null;
+        }
+    };
+
+    private NbtBindings() {
+    }
+
+    /**
+     * @param nmsClass The class of an NMS tag
+     *
+     * @return The binding for exactly that class or null if it is not a
+     * supported tag
+     */
+    static TagBinding forClass(Class<?> nmsClass) {
+        return BY_CLASS.get(nmsClass);
+    }
+
+    /**
+     * @param constructor The constructor of the NMS number tag
+     * @param typeId The NBT type id
+     * @param type The primitive type of its value
+     *
+     * @return The binding, with the getter returning the value
+     */
+    private static TagBinding number(Constructor<?> constructor, byte typeId, Class<?> type) {
+        Class<?> nmsClass = constructor.getDeclaringClass();
+        return new TagBinding(
+                constructor,
+                typeId,
+                toInvoker(findNumberGetter(nmsClass, type), nmsClass.getSimpleName() + " getter"),
+                null,
+                null
+        );
+    }
+
+    /**
+     * @param constructor The constructor of the NMS array tag
+     * @param typeId The NBT type id
+     * @param type The array type of its value
+     *
+     * @return The binding, with the getter returning the array
+     */
+    private static TagBinding array(Constructor<?> constructor, byte typeId, Class<?> type) {
+        Class<?> nmsClass = constructor.getDeclaringClass();
+        return new TagBinding(
+                constructor,
+                typeId,
+                findMethod(nmsClass, new MethodPredicate().withReturnType(type),
+                        nmsClass.getSimpleName() + " getter"),
+                null,
+                null
+        );
+    }
+
+    /**
+     * The name of the key set getter is obfuscated, but it is the only public
+     * method without parameters returning a Set
+     *
+     * @return A predicate matching the key set getter of NBTTagCompound
+     */
+    private static Predicate<Method> isKeySetGetter() {
+        return method -> Modifier.isPublic(method.getModifiers())
+                && !Modifier.isStatic(method.getModifiers())
+                && method.getParameterCount() == 0
+                && Set.class.isAssignableFrom(method.getReturnType());
+    }
+
+    /**
+     * @param nmsClass The NMS class
+     * @param selector The selector for the method
+     * @param description The description for the warning
+     *
+     * @return The invoker for the method or null if it was not found
+     */
+    private static MethodInvoker findMethod(Class<?> nmsClass, Predicate<Method> selector, String description) {
+        ReflectResponse<Method> response = ReflectionUtil.getMethod(nmsClass, selector);
+        if (!response.isValuePresent()) {
+            LOGGER.warning("Can't find the " + description + " method. Response: " + response);
+            return null;
+        }
+        return ReflectionUtil.invoker(response.getValue());
+    }
+
+    /**
+     * @param method The method or null
+     * @param description The description for the warning
+     *
+     * @return The invoker for the method or null if it was null
+     */
+    private static MethodInvoker toInvoker(Method method, String description) {
+        if (method == null) {
+            LOGGER.warning("Can't find the " + description + " method");
+            return null;
+        }
+        return ReflectionUtil.invoker(method);
+    }
+
+    /**
+     * Returns the getter of a number tag. Its name is obfuscated, but it is
+     * also declared in the superclass.
+     *
+     * @param clazz The Class to invoke it on
+     * @param returnClass The Return class it should have
+     *
+     * @return The found Method or null
+     */
+    private static Method findNumberGetter(Class<?> clazz, Class<?> returnClass) {
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (!method.getReturnType().equals(returnClass)) {
+                continue;
+            }
+            if (!Modifier.isPublic(method.getModifiers())) {
+                continue;
+            }
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (method.getName().equals("hashCode") || method.getName().equals("getTypeId")) {
+                continue;
+            }
+
+            try {
+                // noinspection ConfusingArgumentToVarargsMethod // The array is
+                // desired. If it is in the Superclass too, it is out method
+                clazz.getSuperclass().getMethod(method.getName(), method.getParameterTypes());
+                return method;
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The members of one NMS tag type
+     */
+    static final class TagBinding {
+        private final Class<?> nmsClass;
+        private final byte typeId;
+        private final ConstructorInvoker<?> constructor;
+        private final MethodInvoker getter;
+        private final MethodInvoker setter;
+        private final MethodInvoker keySet;
+
+        /**
+         * @param constructor The constructor, its class is the NMS class
+         * @param typeId The NBT type id
+         * @param getter The getter or null
+         * @param setter The setter or null
+         * @param keySet The key set getter or null
+         */
+        private TagBinding(Constructor<?> constructor, byte typeId, MethodInvoker getter, MethodInvoker setter,
+                           MethodInvoker keySet) {
+            this.nmsClass = constructor.getDeclaringClass();
+            this.typeId = typeId;
+            this.constructor = ReflectionUtil.invoker(constructor);
+            this.getter = getter;
+            this.setter = setter;
+            this.keySet = keySet;
+        }
+
+        /**
+         * @return The NMS class
+         */
+        Class<?> getNmsClass() {
+            return nmsClass;
+        }
+
+        /**
+         * @return The NBT type id, as in {@link NbtIO}
+         */
+        byte getTypeId() {
+            return typeId;
+        }
+
+        /**
+         * @param params The parameters of the constructor
+         *
+         * @return The new NMS tag
+         */
+        Object newInstance(Object... params) {
+            return constructor.newInstance(params);
+        }
+
+        /**
+         * @param tag The NMS tag
+         * @param params The parameters of the getter
+         *
+         * @return The value or null if the getter was not found
+         */
+        Object get(Object tag, Object... params) {
+            return getter == null ? null : getter.invoke(tag, params);
+        }
+
+        /**
+         * @param tag The NMS tag
+         * @param params The parameters of the setter
+         *
+         * @throws IllegalStateException if the setter was not found
+         */
+        void set(Object tag, Object... params) {
+            if (setter == null) {
+                throw new IllegalStateException("The setter of " + nmsClass.getName() + " was not found");
+            }
+            setter.invoke(tag, params);
+        }
+
+        /**
+         * @param tag The NMS compound
+         *
+         * @return Its keys. Empty if the getter was not found.
+         */
+        @SuppressWarnings("unchecked")
+        Set<String> keys(Object tag) {
+            if (keySet == null) {
+                return Collections.emptySet();
+            }
+            Set<String> keys = (Set<String>) keySet.invoke(tag);
+            return keys == null ? Collections.emptySet() : keys;
+        }
+    }
+}
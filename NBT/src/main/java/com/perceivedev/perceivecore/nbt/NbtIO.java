@@ -0,0 +1,949 @@
+package com.perceivedev.perceivecore.nbt;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.perceivedev.perceivecore.nbt.NBTWrappers.INBTBase;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagByte;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagByteArray;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagCompound;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagDouble;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagFloat;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagInt;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagIntArray;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagList;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagLong;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagShort;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagString;
+import com.perceivedev.perceivecore.reflection.ReflectionException;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.MethodPredicate;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.Modifier;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.ReflectResponse;
+
+import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.NMS;
+
+
+/**
+ * Reads and writes the binary NBT format, directly into the
+ * {@link NBTWrappers}
+ * <p>
+ * This is the format of the player and level files, gzip compressed, and of
+ * the network, uncompressed. The root is always a compound with an (ignored)
+ * name. Reading and writing only touches the wrappers, so it needs no
+ * server.
+ * <p>
+ * The readers count the bytes they read, like the server's NBTReadLimiter,
+ * and fail once they exceed a limit. A malformed length can therefore not
+ * make them allocate more than that.
+ * <p>
+ * {@link #toNMS(NBTTagCompound)} and {@link #fromNMS(Object)} convert a
+ * whole compound with a single call to the server's own stream tools, which
+ * is a lot cheaper than converting it tag by tag.
+ */
+@SuppressWarnings("WeakerAccess")
+public class NbtIO {
+
+    private static final Logger LOGGER = Logger.getLogger("NbtIO");
+
+    /**
+     * The maximum nesting of lists and compounds, as in the server
+     */
+    public static final int MAX_DEPTH = 512;
+
+    /**
+     * The default maximum amount of bytes a reader reads
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    static final byte TAG_END = 0;
+    static final byte TAG_BYTE = 1;
+    static final byte TAG_SHORT = 2;
+    static final byte TAG_INT = 3;
+    static final byte TAG_LONG = 4;
+    static final byte TAG_FLOAT = 5;
+    static final byte TAG_DOUBLE = 6;
+    static final byte TAG_BYTE_ARRAY = 7;
+    static final byte TAG_STRING = 8;
+    static final byte TAG_LIST = 9;
+    static final byte TAG_COMPOUND = 10;
+    static final byte TAG_INT_ARRAY = 11;
+
+    private static final int GZIP_MAGIC = 0x1F8B;
+
+    private NbtIO() {
+    }
+
+    // <editor-fold desc="Reading">
+    // ==== READING ====
+
+    /**
+     * Reads a gzip compressed compound, as in the player and level files,
+     * with a limit of {@link #DEFAULT_MAX_BYTES}
+     *
+     * @param inputStream The stream to read from. Not closed.
+     *
+     * @return The read compound
+     *
+     * @throws IOException if an I/O error occurs or the data is malformed
+     * @see #readCompressed(InputStream, long)
+     */
+    public static NBTTagCompound readCompressed(InputStream inputStream) throws IOException {
+        return readCompressed(inputStream, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Reads a gzip compressed compound, as in the player and level files
+     *
+     * @param inputStream The stream to read from. Not closed.
+     * @param maxBytes The maximum amount of uncompressed bytes to read
+     *
+     * @return The read compound
+     *
+     * @throws IOException              if an I/O error occurs, the data is
+     *                                  malformed or larger than maxBytes
+     * @throws IllegalArgumentException if maxBytes is negative
+     */
+    public static NBTTagCompound readCompressed(InputStream inputStream, long maxBytes) throws IOException {
+        Objects.requireNonNull(inputStream, "inputStream can not be null");
+
+        return read(
+                (DataInput) new DataInputStream(new BufferedInputStream(new GZIPInputStream(inputStream))),
+                maxBytes
+        );
+    }
+
+    /**
+     * Reads an uncompressed compound, with a limit of
+     * {@link #DEFAULT_MAX_BYTES}
+     *
+     * @param inputStream The stream to read from. Not closed.
+     *
+     * @return The read compound
+     *
+     * @throws IOException if an I/O error occurs or the data is malformed
+     * @see #read(InputStream, long)
+     */
+    public static NBTTagCompound read(InputStream inputStream) throws IOException {
+        return read(inputStream, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Reads an uncompressed compound
+     *
+     * @param inputStream The stream to read from. Not closed.
+     * @param maxBytes The maximum amount of bytes to read
+     *
+     * @return The read compound
+     *
+     * @throws IOException              if an I/O error occurs, the data is
+     *                                  malformed or larger than maxBytes
+     * @throws IllegalArgumentException if maxBytes is negative
+     */
+    public static NBTTagCompound read(InputStream inputStream, long maxBytes) throws IOException {
+        Objects.requireNonNull(inputStream, "inputStream can not be null");
+
+        return read((DataInput) new DataInputStream(inputStream), maxBytes);
+    }
+
+    /**
+     * Reads a compound from a buffer, compressed or not
+     * <p>
+     * The position of the buffer is advanced past the compound. If it is
+     * compressed, the rest of the buffer is consumed and at most
+     * {@link #DEFAULT_MAX_BYTES} are read. Otherwise nothing larger than the
+     * remaining bytes is allocated.
+     *
+     * @param buffer The buffer to read from
+     *
+     * @return The read compound
+     *
+     * @throws IOException if the data is malformed or ends too early
+     */
+    public static NBTTagCompound read(ByteBuffer buffer) throws IOException {
+        Objects.requireNonNull(buffer, "buffer can not be null");
+
+        InputStream inputStream = new ByteBufferInputStream(buffer);
+        if (buffer.remaining() >= 2 && (buffer.getShort(buffer.position()) & 0xFFFF) == GZIP_MAGIC) {
+            return readCompressed(inputStream);
+        }
+        return read(inputStream, buffer.remaining());
+    }
+
+    /**
+     * Reads an uncompressed compound, with a limit of
+     * {@link #DEFAULT_MAX_BYTES}
+     *
+     * @param input The input to read from
+     *
+     * @return The read compound
+     *
+     * @throws IOException if an I/O error occurs or the data is malformed
+     * @see #read(DataInput, long)
+     */
+    public static NBTTagCompound read(DataInput input) throws IOException {
+        return read(input, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Reads an uncompressed compound
+     *
+     * @param input The input to read from
+     * @param maxBytes The maximum amount of bytes to read
+     *
+     * @return The read compound
+     *
+     * @throws IOException              if an I/O error occurs, the data is
+     *                                  malformed or larger than maxBytes
+     * @throws IllegalArgumentException if maxBytes is negative
+     */
+    public static NBTTagCompound read(DataInput input, long maxBytes) throws IOException {
+        Objects.requireNonNull(input, "input can not be null");
+        ReadLimit limit = new ReadLimit(maxBytes);
+
+        limit.consume(1);
+        byte type = input.readByte();
+        if (type != TAG_COMPOUND) {
+            throw new IOException("The root tag must be a compound, was type " + type);
+        }
+        // the name of the root is not used
+        limit.consume(2);
+        limit.consumeString(input.readUTF());
+        return readCompound(input, limit);
+    }
+
+    /**
+     * Reads the payload of the root compound
+     * <p>
+     * Lists and compounds are read with an explicit stack, so deeply nested
+     * data does not recurse.
+     *
+     * @param input The input to read from
+     * @param limit The limit of the read bytes
+     *
+     * @return The read compound
+     *
+     * @throws IOException if an I/O error occurs or the data is malformed
+     */
+    private static NBTTagCompound readCompound(DataInput input, ReadLimit limit) throws IOException {
+        NBTTagCompound root = new NBTTagCompound();
+        Deque<ReadFrame> stack = new ArrayDeque<>();
+        stack.push(new ReadFrame(root));
+
+        while (!stack.isEmpty()) {
+            ReadFrame frame = stack.peek();
+            byte type;
+            String key = null;
+            if (frame.compound != null) {
+                limit.consume(1);
+                type = input.readByte();
+                if (type == TAG_END) {
+                    stack.pop();
+                    continue;
+                }
+                limit.consume(2);
+                key = input.readUTF();
+                limit.consumeString(key);
+            }
+            else {
+                if (frame.remaining == 0) {
+                    stack.pop();
+                    continue;
+                }
+                frame.remaining--;
+                type = frame.elementType;
+            }
+
+            INBTBase tag;
+            if (type == TAG_COMPOUND) {
+                // the root is at depth 0
+                checkDepth(stack.size());
+                NBTTagCompound compound = new NBTTagCompound();
+                stack.push(new ReadFrame(compound));
+                tag = compound;
+            }
+            else if (type == TAG_LIST) {
+                checkDepth(stack.size());
+                NBTTagList list = new NBTTagList();
+                stack.push(readListHeader(input, limit, list));
+                tag = list;
+            }
+            else {
+                tag = readValue(input, limit, type);
+            }
+
+            if (frame.compound != null) {
+                frame.compound.getRawMap().put(key, tag);
+            }
+            else {
+                frame.list.getRawList().add(tag);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Reads a tag that is neither a list nor a compound
+     *
+     * @param input The input to read from
+     * @param limit The limit of the read bytes
+     * @param type The type of the tag
+     *
+     * @return The read tag
+     *
+     * @throws IOException if an I/O error occurs or the data is malformed
+     */
+    private static INBTBase readValue(DataInput input, ReadLimit limit, byte type) throws IOException {
+        switch (type) {
+            case TAG_BYTE:
+                limit.consume(1);
+                return new NBTTagByte(input.readByte());
+            case TAG_SHORT:
+                limit.consume(2);
+                return new NBTTagShort(input.readShort());
+            case TAG_INT:
+                limit.consume(4);
+                return new NBTTagInt(input.readInt());
+            case TAG_LONG:
+                limit.consume(8);
+                return new NBTTagLong(input.readLong());
+            case TAG_FLOAT:
+                limit.consume(4);
+                return new NBTTagFloat(input.readFloat());
+            case TAG_DOUBLE:
+                limit.consume(8);
+                return new NBTTagDouble(input.readDouble());
+            case TAG_BYTE_ARRAY: {
+                int length = readLength(input, limit);
+                // before allocating, the length may be anything
+                limit.consume(length);
+                byte[] bytes = new byte[length];
+                input.readFully(bytes);
+                return new NBTTagByteArray(bytes);
+            }
+            case TAG_STRING: {
+                limit.consume(2);
+                String string = input.readUTF();
+                limit.consumeString(string);
+                return new NBTTagString(string);
+            }
+            case TAG_INT_ARRAY: {
+                int length = readLength(input, limit);
+                limit.consume(4L * length);
+                int[] ints = new int[length];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = input.readInt();
+                }
+                return new NBTTagIntArray(ints);
+            }
+            default:
+                throw new IOException("Unknown tag type " + type);
+        }
+    }
+
+    /**
+     * Reads the element type and length of a list
+     *
+     * @param input The input to read from
+     * @param limit The limit of the read bytes
+     * @param list The list to read the elements into
+     *
+     * @return The frame reading its elements
+     *
+     * @throws IOException if an I/O error occurs or the data is malformed
+     */
+    private static ReadFrame readListHeader(DataInput input, ReadLimit limit, NBTTagList list) throws IOException {
+        limit.consume(1);
+        byte type = input.readByte();
+        int length = readLength(input, limit);
+        if (type == TAG_END && length > 0) {
+            throw new IOException("A list of end tags can not have elements");
+        }
+        return new ReadFrame(list, type, length);
+    }
+
+    /**
+     * @param input The input to read from
+     * @param limit The limit of the read bytes
+     *
+     * @return The read length
+     *
+     * @throws IOException if an I/O error occurs or it is negative
+     */
+    private static int readLength(DataInput input, ReadLimit limit) throws IOException {
+        limit.consume(4);
+        int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("Negative length " + length);
+        }
+        return length;
+    }
+
+    /**
+     * @param depth The depth of a list or compound
+     *
+     * @throws IOException if it is too deep
+     */
+    private static void checkDepth(int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("The NBT is nested deeper than " + MAX_DEPTH);
+        }
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Writing">
+    // ==== WRITING ====
+
+    /**
+     * Writes a gzip compressed compound, as in the player and level files
+     *
+     * @param compound The compound to write
+     * @param outputStream The stream to write to. Not closed, but the
+     * compressed data is finished.
+     *
+     * @throws IOException              if an I/O error occurs
+     * @throws IllegalArgumentException if it is nested too deep
+     */
+    public static void writeCompressed(NBTTagCompound compound, OutputStream outputStream) throws IOException {
+        Objects.requireNonNull(compound, "compound can not be null");
+        Objects.requireNonNull(outputStream, "outputStream can not be null");
+
+        GZIPOutputStream gzip = new GZIPOutputStream(outputStream);
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(gzip));
+        write(compound, (DataOutput) output);
+        output.flush();
+        gzip.finish();
+    }
+
+    /**
+     * Writes an uncompressed compound
+     *
+     * @param compound The compound to write
+     * @param outputStream The stream to write to. Not closed.
+     *
+     * @throws IOException              if an I/O error occurs
+     * @throws IllegalArgumentException if it is nested too deep
+     */
+    public static void write(NBTTagCompound compound, OutputStream outputStream) throws IOException {
+        Objects.requireNonNull(outputStream, "outputStream can not be null");
+
+        DataOutputStream output = new DataOutputStream(outputStream);
+        write(compound, (DataOutput) output);
+        output.flush();
+    }
+
+    /**
+     * Writes an uncompressed compound into a buffer
+     *
+     * @param compound The compound to write
+     * @param buffer The buffer to write to. Its position is advanced past the
+     * compound.
+     *
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     * @throws IllegalArgumentException         if it is nested too deep
+     */
+    public static void write(NBTTagCompound compound, ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "buffer can not be null");
+
+        try {
+            write(compound, (OutputStream) new ByteBufferOutputStream(buffer));
+        } catch (IOException e) {
+            // the buffer does not throw them
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes an uncompressed compound
+     *
+     * @param compound The compound to write
+     *
+     * @return The written bytes
+     *
+     * @throws IllegalArgumentException if it is nested too deep
+     */
+    public static byte[] toBytes(NBTTagCompound compound) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            write(compound, (OutputStream) outputStream);
+        } catch (IOException e) {
+            // the stream does not throw them
+            throw new IllegalStateException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Writes an uncompressed compound
+     *
+     * @param compound The compound to write
+     * @param output The output to write to
+     *
+     * @throws IOException              if an I/O error occurs
+     * @throws IllegalArgumentException if it is nested too deep
+     */
+    public static void write(NBTTagCompound compound, DataOutput output) throws IOException {
+        Objects.requireNonNull(compound, "compound can not be null");
+        Objects.requireNonNull(output, "output can not be null");
+
+        output.writeByte(TAG_COMPOUND);
+        output.writeUTF("");
+        writeCompound(output, compound, 0);
+    }
+
+    /**
+     * @param tag The tag
+     *
+     * @return The type id of the tag
+     *
+     * @throws IllegalArgumentException if it is of an unknown type
+     */
+    private static byte getType(INBTBase tag) {
+        if (tag instanceof NBTTagCompound) {
+            return TAG_COMPOUND;
+        }
+        if (tag instanceof NBTTagString) {
+            return TAG_STRING;
+        }
+        if (tag instanceof NBTTagInt) {
+            return TAG_INT;
+        }
+        if (tag instanceof NBTTagByte) {
+            return TAG_BYTE;
+        }
+        if (tag instanceof NBTTagList) {
+            return TAG_LIST;
+        }
+        if (tag instanceof NBTTagShort) {
+            return TAG_SHORT;
+        }
+        if (tag instanceof NBTTagLong) {
+            return TAG_LONG;
+        }
+        if (tag instanceof NBTTagFloat) {
+            return TAG_FLOAT;
+        }
+        if (tag instanceof NBTTagDouble) {
+            return TAG_DOUBLE;
+        }
+        if (tag instanceof NBTTagByteArray) {
+            return TAG_BYTE_ARRAY;
+        }
+        if (tag instanceof NBTTagIntArray) {
+            return TAG_INT_ARRAY;
+        }
+        throw new IllegalArgumentException("Unknown tag type " + tag.getClass().getName());
+    }
+
+    /**
+     * Writes the payload of a tag
+     *
+     * @param output The output to write to
+     * @param tag The tag
+     * @param type The type of the tag
+     * @param depth The depth of the tag
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeTag(DataOutput output, INBTBase tag, byte type, int depth) throws IOException {
+        switch (type) {
+            case TAG_BYTE:
+                output.writeByte(((NBTTagByte) tag).getAsByte());
+                break;
+            case TAG_SHORT:
+                output.writeShort(((NBTTagShort) tag).getAsShort());
+                break;
+            case TAG_INT:
+                output.writeInt(((NBTTagInt) tag).getAsInt());
+                break;
+            case TAG_LONG:
+                output.writeLong(((NBTTagLong) tag).getAsLong());
+                break;
+            case TAG_FLOAT:
+                output.writeFloat(((NBTTagFloat) tag).getAsFloat());
+                break;
+            case TAG_DOUBLE:
+                output.writeDouble(((NBTTagDouble) tag).getAsDouble());
+                break;
+            case TAG_BYTE_ARRAY: {
+                byte[] bytes = ((NBTTagByteArray) tag).getValue();
+                if (bytes == null) {
+                    output.writeInt(0);
+                    break;
+                }
+                output.writeInt(bytes.length);
+                output.write(bytes);
+                break;
+            }
+            case TAG_STRING:
+                output.writeUTF(((NBTTagString) tag).getString());
+                break;
+            case TAG_LIST:
+                writeList(output, (NBTTagList) tag, depth);
+                break;
+            case TAG_COMPOUND:
+                writeCompound(output, (NBTTagCompound) tag, depth);
+                break;
+            case TAG_INT_ARRAY: {
+                int[] ints = ((NBTTagIntArray) tag).getValue();
+                if (ints == null) {
+                    output.writeInt(0);
+                    break;
+                }
+                output.writeInt(ints.length);
+                for (int i : ints) {
+                    output.writeInt(i);
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown tag type " + type);
+        }
+    }
+
+    /**
+     * @param output The output to write to
+     * @param compound The compound
+     * @param depth The depth of the compound
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeCompound(DataOutput output, NBTTagCompound compound, int depth) throws IOException {
+        checkWriteDepth(depth);
+
+        for (Map.Entry<String, INBTBase> entry : compound.getRawMap().entrySet()) {
+            byte type = getType(entry.getValue());
+            output.writeByte(type);
+            output.writeUTF(entry.getKey());
+            writeTag(output, entry.getValue(), type, depth + 1);
+        }
+        output.writeByte(TAG_END);
+    }
+
+    /**
+     * @param output The output to write to
+     * @param list The list
+     * @param depth The depth of the list
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeList(DataOutput output, NBTTagList list, int depth) throws IOException {
+        checkWriteDepth(depth);
+
+        if (list.size() == 0) {
+            output.writeByte(TAG_END);
+            output.writeInt(0);
+            return;
+        }
+
+        byte type = getType(list.get(0));
+        output.writeByte(type);
+        output.writeInt(list.size());
+        for (INBTBase element : list.getRawList()) {
+            writeTag(output, element, type, depth + 1);
+        }
+    }
+
+    /**
+     * @param depth The depth of a list or compound
+     *
+     * @throws IllegalArgumentException if it is too deep
+     */
+    private static void checkWriteDepth(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("The NBT is nested deeper than " + MAX_DEPTH);
+        }
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="NMS">
+    // ==== NMS ====
+
+    /**
+     * Checks whether the server's stream tools were found
+     *
+     * @return True if {@link #toNMS(NBTTagCompound)} and
+     * {@link #fromNMS(Object)} can be used
+     */
+    public static boolean isNMSAvailable() {
+        return NmsStreamTools.READ != null && NmsStreamTools.WRITE != null;
+    }
+
+    /**
+     * Converts a compound to an NMS compound, with a single call to the
+     * server's stream tools
+     *
+     * @param compound The compound to convert
+     *
+     * @return The NMS compound
+     *
+     * @throws IllegalStateException    if the stream tools were not found
+     * @throws IllegalArgumentException if it is nested too deep
+     * @throws ReflectionException      if the server could not read it
+     */
+    public static Object toNMS(NBTTagCompound compound) {
+        ensureNMSAvailable();
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(toBytes(compound)));
+        return ReflectionUtil.invokeMethodUnchecked(NmsStreamTools.READ, null, input);
+    }
+
+    /**
+     * Converts an NMS compound to a compound, with a single call to the
+     * server's stream tools
+     *
+     * @param nmsCompound The NMS compound to convert
+     *
+     * @return The compound
+     *
+     * @throws IllegalStateException if the stream tools were not found or the
+     *                               server wrote malformed data
+     * @throws ReflectionException   if the server could not write it
+     */
+    public static NBTTagCompound fromNMS(Object nmsCompound) {
+        Objects.requireNonNull(nmsCompound, "nmsCompound can not be null");
+        ensureNMSAvailable();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ReflectionUtil.invokeMethodUnchecked(NmsStreamTools.WRITE, null, nmsCompound,
+                new DataOutputStream(outputStream));
+        try {
+            byte[] bytes = outputStream.toByteArray();
+            return read(new ByteArrayInputStream(bytes), bytes.length);
+        } catch (IOException e) {
+            throw new IllegalStateException("The server wrote malformed NBT", e);
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if the stream tools were not found
+     */
+    private static void ensureNMSAvailable() {
+        if (!isNMSAvailable()) {
+            throw new IllegalStateException("The NBTCompressedStreamTools methods were not found");
+        }
+    }
+
+    /**
+     * The methods of the server's NBTCompressedStreamTools. Resolved on first
+     * use, so the rest works without a server.
+     */
+    private static final class NmsStreamTools {
+        /**
+         * {@code NBTTagCompound read(DataInputStream)}
+         */
+        private static final Method READ;
+        /**
+         * {@code void write(NBTTagCompound, DataOutput)}
+         */
+        private static final Method WRITE;
+
+        static {
+            Optional<Class<?>> streamTools = ReflectionUtil.getClass(NMS, "NBTCompressedStreamTools");
+            Optional<Class<?>> compound = ReflectionUtil.getClass(NMS, "NBTTagCompound");
+
+            if (!streamTools.isPresent() || !compound.isPresent()) {
+                LOGGER.warning("Can't find the NBTCompressedStreamTools class, converting NBT tag by tag");
+                READ = null;
+                WRITE = null;
+            }
+            else {
+                READ = find(streamTools.get(), new MethodPredicate()
+                        .withModifiers(Modifier.STATIC)
+                        .withParameters(DataInputStream.class)
+                        .withReturnType(compound.get()));
+                WRITE = find(streamTools.get(), new MethodPredicate()
+                        .withModifiers(Modifier.STATIC)
+                        .withParameters(compound.get(), DataOutput.class));
+            }
+        }
+
+        /**
+         * @param streamTools The NBTCompressedStreamTools class
+         * @param predicate The predicate for the method
+         *
+         * @return The method or null if not found
+         */
+        private static Method find(Class<?> streamTools, MethodPredicate predicate) {
+            ReflectResponse<Method> response = ReflectionUtil.getMethod(streamTools, predicate);
+            if (!response.isValuePresent()) {
+                LOGGER.warning("Can't find a NBTCompressedStreamTools method, converting NBT tag by tag: "
+                        + response);
+                return null;
+            }
+            return response.getValue();
+        }
+    }
+    // </editor-fold>
+
+    /**
+     * A list or compound whose contents are still being read
+     */
+    private static final class ReadFrame {
+        private final NBTTagCompound compound;
+        private final NBTTagList list;
+        private final byte elementType;
+        private int remaining;
+
+        /**
+         * @param compound The compound to read into
+         */
+        private ReadFrame(NBTTagCompound compound) {
+            this.compound = compound;
+            this.list = null;
+            this.elementType = TAG_END;
+        }
+
+        /**
+         * @param list The list to read into
+         * @param elementType The type of its elements
+         * @param length The amount of its elements
+         */
+        private ReadFrame(NBTTagList list, byte elementType, int length) {
+            this.compound = null;
+            this.list = list;
+            this.elementType = elementType;
+            this.remaining = length;
+        }
+    }
+
+    /**
+     * Counts the bytes a reader reads
+     */
+    private static final class ReadLimit {
+        private final long maxBytes;
+        private long remaining;
+
+        /**
+         * @param maxBytes The maximum amount of bytes to read
+         *
+         * @throws IllegalArgumentException if it is negative
+         */
+        private ReadLimit(long maxBytes) {
+            if (maxBytes < 0) {
+                throw new IllegalArgumentException("maxBytes can not be negative, was " + maxBytes);
+            }
+            this.maxBytes = maxBytes;
+            this.remaining = maxBytes;
+        }
+
+        /**
+         * Call it before reading or allocating anything
+         *
+         * @param bytes The amount of bytes about to be read
+         *
+         * @throws IOException if they exceed the limit
+         */
+        private void consume(long bytes) throws IOException {
+            remaining -= bytes;
+            if (remaining < 0) {
+                throw new IOException("The NBT is larger than the limit of " + maxBytes + " bytes");
+            }
+        }
+
+        /**
+         * Counts a string read with {@link DataInput#readUTF()}. It can be at
+         * most 64 KB, so it does not need to be checked before reading.
+         *
+         * @param string The read string, without its length
+         *
+         * @throws IOException if it exceeds the limit
+         */
+        private void consumeString(String string) throws IOException {
+            long bytes = 0;
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                if (c >= 0x0001 && c <= 0x007F) {
+                    bytes++;
+                }
+                else if (c > 0x07FF) {
+                    bytes += 3;
+                }
+                else {
+                    bytes += 2;
+                }
+            }
+            consume(bytes);
+        }
+    }
+
+    /**
+     * Reads from a {@link ByteBuffer}, advancing its position
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        /**
+         * @param buffer The buffer to read from
+         */
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Writes into a {@link ByteBuffer}, advancing its position
+     */
+    private static final class ByteBufferOutputStream extends OutputStream {
+        private final ByteBuffer buffer;
+
+        /**
+         * @param buffer The buffer to write to
+         */
+        private ByteBufferOutputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            buffer.put(bytes, offset, length);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.perceivedev.perceivecore.nbt;
 
+import java.util.logging.Level;
+
 import com.perceivedev.perceivecore.modulesystem.AbstractModule;
 import com.perceivedev.perceivecore.modulesystem.Module;
+import com.perceivedev.perceivecore.reflection.ReflectionException;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings;
 
 /**
  * The NBT {@link Module}
@@ -14,4 +18,21 @@ public class NbtModule extends AbstractModule {
     public NbtModule() {
         super(getModulePropertiesFromJar(NbtModule.class));
     }
+
+    /**
+     * Binds the NMS members of the module, so a missing one is reported when
+     * the module is loaded
+     *
+     * @return False if they could not be bound
+     */
+    @Override
+    public boolean isModuleCompatible() {
+        try {
+            NmsBindings.bind(NbtBindings.class, EntityBindings.class, ItemBindings.class, TileEntityBindings.class);
+            return true;
+        } catch (ReflectionException e) {
+            getLogger().log(Level.SEVERE, "Couldn't bind the NMS members", e);
+            return false;
+        }
+    }
 }
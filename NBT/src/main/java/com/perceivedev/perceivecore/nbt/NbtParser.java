@@ -1,17 +1,6 @@
 package com.perceivedev.perceivecore.nbt;
 
-import java.lang.reflect.Method;
-import java.util.Optional;
-import java.util.logging.Logger;
-
-import org.bukkit.Bukkit;
-
-import com.perceivedev.perceivecore.reflection.ReflectionUtil;
-import com.perceivedev.perceivecore.reflection.ReflectionUtil.MethodPredicate;
-import com.perceivedev.perceivecore.reflection.ReflectionUtil.ReflectResponse;
-import com.perceivedev.perceivecore.reflection.ReflectionUtil.ReflectResponse.ResultType;
-
-import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.NMS;
+import com.perceivedev.perceivecore.reflection.ReflectionException;
 
 
 /**
@@ -19,48 +8,12 @@ import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.N
  */
 public class NbtParser {
 
-    private static final Logger LOGGER = Logger.getLogger("NbtParser");
-
-    private static final Method PARSE_METHOD;
-    private static boolean error = false;
-
-    static {
-        Optional<Class<?>> mojangsonParserClass = ReflectionUtil.getClass(NMS, "MojangsonParser");
-
-        if (!mojangsonParserClass.isPresent()) {
-            LOGGER.warning(
-                    "Can't find the class MojangsonParser: "
-                            + Bukkit.getServer().getClass().getName()
-            );
-            error = true;
-            PARSE_METHOD = null;
-        }
-        else {
-            ReflectResponse<Method> parseMethod = ReflectionUtil.getMethod(mojangsonParserClass.get(), new
-                    MethodPredicate()
-                    .withName("parse")
-                    .withParameters(String.class));
-
-            if (parseMethod.isValuePresent()) {
-                PARSE_METHOD = parseMethod.getValue();
-            }
-            else {
-                LOGGER.warning(
-                        "Can't find MojangsonParser's parse method: "
-                                + mojangsonParserClass.get().getName()
-                );
-                error = true;
-                PARSE_METHOD = null;
-            }
-        }
-    }
-
     /**
-     * @throws IllegalStateException If {@link #error} is true
+     * @throws IllegalStateException If the server has no MojangsonParser
      */
     private static void ensureNoError() {
-        if (error) {
-            throw new IllegalStateException("A critical, non recoverable error occurred earlier.");
+        if (NbtBindings.MOJANGSON_PARSE == null) {
+            throw new IllegalStateException("MojangsonParser#parse(String) was not found on this server.");
         }
     }
 
@@ -78,17 +31,17 @@ public class NbtParser {
     public static NBTWrappers.NBTTagCompound parse(String nbt) throws NbtParseException {
         ensureNoError();
 
-        ReflectResponse<Object> response = ReflectionUtil.invokeMethod(PARSE_METHOD, null, nbt);
-
-        if (!response.isSuccessful()) {
-            if (response.getResultType() == ResultType.ERROR) {
-                throw new NbtParseException(response.getException().getCause().getMessage(), response.getException()
-                        .getCause());
-            }
+        Object parsed;
+        try {
+            parsed = NbtBindings.MOJANGSON_PARSE.invoke(null, nbt);
+        } catch (ReflectionException e) {
+            // the MojangsonParseException is checked, so it is wrapped
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            throw new NbtParseException(cause.getMessage(), cause);
         }
 
         // is defined by the method and the only one making sense
-        return (NBTWrappers.NBTTagCompound) NBTWrappers.INBTBase.fromNBT(response.getValue());
+        return (NBTWrappers.NBTTagCompound) NBTWrappers.INBTBase.fromNBT(parsed);
     }
 
     /**
@@ -0,0 +1,35 @@
+package com.perceivedev.perceivecore.nbt;
+
+import com.perceivedev.perceivecore.reflection.MethodInvoker;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings.Bindings;
+import com.perceivedev.perceivecore.reflection.binding.NmsClass;
+import com.perceivedev.perceivecore.reflection.binding.NmsMethod;
+
+/**
+ * The NMS members the {@link TileEntityNBTUtil} needs to reach the tile
+ * entity of a block
+ * <p>
+ * They are bound by the {@link NbtModule} when it is loaded. The methods
+ * loading and saving the NBT of a tile entity are probed instead, see
+ * {@link TileEntityNBTUtil}.
+ */
+final class TileEntityBindings {
+
+    private static final Bindings BINDINGS = NmsBindings.resolve(TileEntityBindings.class);
+
+    /**
+     * The state of blocks without a tile entity
+     */
+    @NmsClass("{obc}.block.CraftBlockState")
+    static final Class<?> CRAFT_BLOCK_STATE = BINDINGS.get("CRAFT_BLOCK_STATE");
+
+    /**
+     * {@code CraftBlockState#getTileEntity()}
+     */
+    @NmsMethod(value = "getTileEntity", parameters = {}, owner = "{obc}.block.CraftBlockState")
+    static final MethodInvoker GET_TILE_ENTITY = BINDINGS.get("GET_TILE_ENTITY");
+
+    private TileEntityBindings() {
+    }
+}
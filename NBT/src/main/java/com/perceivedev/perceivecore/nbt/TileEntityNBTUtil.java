@@ -12,10 +12,8 @@ import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 
 import com.perceivedev.perceivecore.reflection.ReflectionUtil;
-import com.perceivedev.perceivecore.reflection.ReflectionUtil.MethodPredicate;
 
 import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.NMS;
-import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.OBC;
 
 
 /**
@@ -35,33 +33,11 @@ public class TileEntityNBTUtil {
 
     private static final Logger LOGGER = Logger.getLogger("TileEntityNBTUtil");
 
-    private static Method loadFromNBT, saveToNBT, getTileEntity;
+    private static Method loadFromNBT, saveToNBT;
     private static boolean error = false;
 
-    private static final Class<?> CRAFT_BLOCK_STATE_CLASS;
-
     static {
-        CRAFT_BLOCK_STATE_CLASS = ReflectionUtil.getClass(OBC, "block.CraftBlockState").orElse(null);
-
-        if (CRAFT_BLOCK_STATE_CLASS == null) {
-            LOGGER.warning("CraftBlockState not found. Version: "
-                    + Bukkit.getBukkitVersion() + " " + Bukkit.getVersion());
-            error = true;
-        }
-
-        ReflectionUtil.ReflectResponse<Method> tileEntityMethod = ReflectionUtil.getMethod(CRAFT_BLOCK_STATE_CLASS,
-                new MethodPredicate()
-                        .withName("getTileEntity").withParameters());
-
-        if (!tileEntityMethod.isValuePresent()) {
-            LOGGER.warning("getTileEntity not found. Version: "
-                    + Bukkit.getBukkitVersion() + " " + Bukkit.getVersion());
-            error = true;
-        }
-        else {
-            getTileEntity = tileEntityMethod.getValue();
-            initializeMethods();
-        }
+        initializeMethods();
     }
 
     /**
@@ -75,7 +51,7 @@ public class TileEntityNBTUtil {
      */
     private static Object toTileEntity(BlockState blockState) {
         ensureNoError();
-        return ReflectionUtil.invokeMethod(getTileEntity, blockState).getValue();
+        return TileEntityBindings.GET_TILE_ENTITY.invoke(blockState);
     }
 
     /**
@@ -186,7 +162,7 @@ public class TileEntityNBTUtil {
     public static boolean isValidClass(BlockState blockState) {
         ensureNoError();
         // no NPE will be thrown.
-        return !CRAFT_BLOCK_STATE_CLASS.equals(blockState.getClass());
+        return !TileEntityBindings.CRAFT_BLOCK_STATE.equals(blockState.getClass());
     }
 
     /**
@@ -220,7 +196,7 @@ public class TileEntityNBTUtil {
         block.setType(Material.CHEST);
         BlockState chestState = block.getState();
 
-        Object tileEntity = ReflectionUtil.invokeMethod(getTileEntity, chestState).getValue();
+        Object tileEntity = TileEntityBindings.GET_TILE_ENTITY.invoke(chestState);
 
         if (ReflectionUtil.getMajorVersion() > 2 || ReflectionUtil.getMinorVersion() > 9) {
             initializeMethodsAfter1_9(ReflectionUtil.getClass(NMS, "TileEntity").get(), chestState, tileEntity);
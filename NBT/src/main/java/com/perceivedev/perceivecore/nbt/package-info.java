@@ -70,6 +70,15 @@
  *             </li>
  *         </ul>
  *     </li>
+ *     <li>
+ *         <b>Binary NBT (files and network):</b>
+ *         <ul>
+ *             <li>
+ *                 <b>Utility:</b>
+ *                 <br>{@link com.perceivedev.perceivecore.nbt.NbtIO NbtIO}
+ *             </li>
+ *         </ul>
+ *     </li>
  * </ul>
  */
 // @formatter:on
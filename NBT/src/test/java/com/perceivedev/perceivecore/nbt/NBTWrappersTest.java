@@ -0,0 +1,102 @@
+package com.perceivedev.perceivecore.nbt;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.perceivedev.perceivecore.nbt.NBTWrappers.INBTBase;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagCompound;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagInt;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagList;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagString;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Converts the wrappers to the NMS classes and back. Needs the NMS classes on
+ * the classpath, but no running server.
+ */
+class NBTWrappersTest {
+
+    @Test
+    void deepListRoundTrip() {
+        NBTTagList list = new NBTTagList();
+        list.add(new NBTTagInt(42));
+        for (int i = 1; i < 1000; i++) {
+            NBTTagList parent = new NBTTagList();
+            parent.add(list);
+            list = parent;
+        }
+
+        // walk it by hand, equals is recursive as well
+        INBTBase converted = INBTBase.fromNBT(list.toNBT());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(converted instanceof NBTTagList);
+            NBTTagList convertedList = (NBTTagList) converted;
+            assertEquals(1, convertedList.size());
+            converted = convertedList.get(0);
+        }
+        assertEquals(new NBTTagInt(42), converted);
+    }
+
+    @Test
+    void deepListToNBT() {
+        // deep enough to overflow the stack if the conversion recursed
+        int depth = 100_000;
+        NBTTagList list = new NBTTagList();
+        list.add(new NBTTagInt(42));
+        for (int i = 1; i < depth; i++) {
+            NBTTagList parent = new NBTTagList();
+            parent.add(list);
+            list = parent;
+        }
+
+        Object nbt = list.toNBT();
+        for (int i = 0; i < depth; i++) {
+            List<?> elements = (List<?>) NbtBindings.LIST.get(nbt);
+            assertEquals(1, elements.size());
+            nbt = elements.get(0);
+        }
+        assertEquals(new NBTTagInt(42), INBTBase.fromNBT(nbt));
+    }
+
+    @Test
+    void listOfCompoundsRoundTrip() {
+        NBTTagList list = new NBTTagList();
+        for (int i = 0; i < 5; i++) {
+            NBTTagCompound compound = new NBTTagCompound();
+            compound.set("name", new NBTTagString("element " + i));
+            compound.setInt("index", i);
+            list.add(compound);
+        }
+
+        assertEquals(list, INBTBase.fromNBT(list.toNBT()));
+    }
+
+    @Test
+    void compoundRoundTrip() {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setByte("byte", (byte) -7);
+        compound.setShort("short", Short.MIN_VALUE);
+        compound.setInt("int", Integer.MAX_VALUE);
+        compound.setLong("long", Long.MIN_VALUE);
+        compound.setFloat("float", 2.5f);
+        compound.setDouble("double", -1.25);
+        compound.setByteArray("byteArray", new byte[]{1, 2, -3});
+        compound.setIntArray("intArray", new int[]{4, -5, Integer.MIN_VALUE});
+        compound.setString("string", "Hello");
+
+        NBTTagCompound inner = new NBTTagCompound();
+        inner.set("empty", new NBTTagList());
+        compound.set("inner", inner);
+
+        assertEquals(compound, INBTBase.fromNBT(compound.toNBT()));
+    }
+
+    @Test
+    void unsupportedObject() {
+        assertNull(INBTBase.fromNBT("not nbt"));
+    }
+}
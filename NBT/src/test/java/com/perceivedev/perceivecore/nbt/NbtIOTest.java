@@ -0,0 +1,187 @@
+package com.perceivedev.perceivecore.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagCompound;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagInt;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagList;
+import com.perceivedev.perceivecore.nbt.NBTWrappers.NBTTagString;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the binary format of the {@link NbtIO}. Needs no server.
+ */
+class NbtIOTest {
+
+    @Test
+    void rawRoundTrip() throws IOException {
+        NBTTagCompound compound = createCompound();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        NbtIO.write(compound, outputStream);
+
+        assertEquals(compound, NbtIO.read(new ByteArrayInputStream(outputStream.toByteArray())));
+        assertEquals(compound, NbtIO.read(new ByteArrayInputStream(NbtIO.toBytes(compound))));
+    }
+
+    @Test
+    void compressedRoundTrip() throws IOException {
+        NBTTagCompound compound = createCompound();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        NbtIO.writeCompressed(compound, outputStream);
+        byte[] bytes = outputStream.toByteArray();
+
+        assertEquals(compound, NbtIO.readCompressed(new ByteArrayInputStream(bytes)));
+        // the buffer detects the compression
+        assertEquals(compound, NbtIO.read(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void bufferRoundTrip() throws IOException {
+        NBTTagCompound compound = createCompound();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        buffer.putInt(42);
+
+        NbtIO.write(compound, buffer);
+        int written = buffer.position();
+        buffer.putInt(1337);
+        buffer.flip();
+
+        assertEquals(42, buffer.getInt());
+        assertEquals(compound, NbtIO.read(buffer));
+        assertEquals(written, buffer.position());
+        assertEquals(1337, buffer.getInt());
+    }
+
+    @Test
+    void emptyListsAndCompounds() throws IOException {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.set("list", new NBTTagList());
+        compound.set("compound", new NBTTagCompound());
+        NBTTagList nested = new NBTTagList();
+        nested.add(new NBTTagList());
+        compound.set("nested", nested);
+
+        assertEquals(compound, NbtIO.read(ByteBuffer.wrap(NbtIO.toBytes(compound))));
+        assertEquals(new NBTTagCompound(), NbtIO.read(ByteBuffer.wrap(NbtIO.toBytes(new NBTTagCompound()))));
+    }
+
+    @Test
+    void depthLimit() throws IOException {
+        // the root is at depth 0, so MAX_DEPTH lists fit below it
+        NBTTagList list = new NBTTagList();
+        for (int i = 1; i < NbtIO.MAX_DEPTH; i++) {
+            NBTTagList parent = new NBTTagList();
+            parent.add(list);
+            list = parent;
+        }
+        NBTTagCompound deepest = new NBTTagCompound();
+        deepest.set("deep", list);
+        assertEquals(deepest, NbtIO.read(ByteBuffer.wrap(NbtIO.toBytes(deepest))));
+
+        NBTTagList tooDeep = new NBTTagList();
+        tooDeep.add(list);
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.set("deep", tooDeep);
+
+        assertThrows(IllegalArgumentException.class, () -> NbtIO.toBytes(compound));
+
+        // the same nesting, written by hand
+        ByteBuffer buffer = ByteBuffer.allocate(64 + NbtIO.MAX_DEPTH * 5);
+        buffer.put((byte) 10).putShort((short) 0);
+        buffer.put((byte) 9).putShort((short) 0);
+        for (int i = 0; i < NbtIO.MAX_DEPTH; i++) {
+            buffer.put((byte) 9).putInt(1);
+        }
+        buffer.put((byte) 0).putInt(0);
+        buffer.flip();
+
+        assertThrows(IOException.class, () -> NbtIO.read(buffer));
+    }
+
+    @Test
+    void lengthLargerThanData() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(outputStream);
+        output.writeByte(10);
+        output.writeUTF("");
+        output.writeByte(7);
+        output.writeUTF("bytes");
+        output.writeInt(Integer.MAX_VALUE);
+        byte[] bytes = outputStream.toByteArray();
+
+        // neither may try to allocate 2 GB
+        assertThrows(IOException.class, () -> NbtIO.read(ByteBuffer.wrap(bytes)));
+        assertThrows(IOException.class, () -> NbtIO.read(new ByteArrayInputStream(bytes)));
+        assertThrows(IOException.class, () -> NbtIO.read(new ByteArrayInputStream(bytes), 1024));
+    }
+
+    @Test
+    void malformedData() {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setString("key", "value");
+        byte[] bytes = NbtIO.toBytes(compound);
+
+        // cut off before the end tag
+        ByteBuffer truncated = ByteBuffer.wrap(bytes, 0, bytes.length - 1);
+        assertThrows(IOException.class, () -> NbtIO.read(truncated));
+
+        // not a compound at the root
+        assertThrows(IOException.class, () -> NbtIO.read(ByteBuffer.wrap(new byte[]{8, 0, 0, 0, 0})));
+    }
+
+    @Test
+    void limitCountsEveryByte() throws IOException {
+        NBTTagCompound compound = createCompound();
+        byte[] bytes = NbtIO.toBytes(compound);
+
+        assertEquals(compound, NbtIO.read(new ByteArrayInputStream(bytes), bytes.length));
+        assertThrows(IOException.class, () -> NbtIO.read(new ByteArrayInputStream(bytes), bytes.length - 1));
+        assertTrue(bytes.length > 100);
+    }
+
+    /**
+     * @return A compound with every tag type
+     */
+    private static NBTTagCompound createCompound() {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setByte("byte", (byte) -7);
+        compound.setShort("short", Short.MIN_VALUE);
+        compound.setInt("int", Integer.MAX_VALUE);
+        compound.setLong("long", Long.MIN_VALUE);
+        compound.setFloat("float", 2.5f);
+        compound.setDouble("double", -1.25);
+        compound.setByteArray("byteArray", new byte[]{1, 2, -3});
+        compound.setIntArray("intArray", new int[]{4, -5, Integer.MIN_VALUE});
+        compound.setString("string", "Hello äöü ✓");
+
+        NBTTagList ints = new NBTTagList();
+        for (int i = 0; i < 10; i++) {
+            ints.add(new NBTTagInt(i));
+        }
+        compound.set("ints", ints);
+
+        NBTTagList compounds = new NBTTagList();
+        for (int i = 0; i < 3; i++) {
+            NBTTagCompound element = new NBTTagCompound();
+            element.set("name", new NBTTagString("element " + i));
+            compounds.add(element);
+        }
+        compound.set("compounds", compounds);
+
+        NBTTagCompound inner = new NBTTagCompound();
+        inner.setInt("value", 1);
+        compound.set("inner", inner);
+        return compound;
+    }
+}
@@ -0,0 +1,42 @@
+package com.perceivedev.perceivecore.packet;
+
+/**
+ * A {@link PacketListener} doing work that should not block the network
+ * threads
+ * <p>
+ * Its packets are handed to a worker thread and passed on once all async
+ * listeners are done with them. The packets of one player stay in order: a
+ * packet waiting for its async listeners holds back all later ones of the same
+ * player and direction. Cancelling a packet works as usual.
+ * <p>
+ * Async listeners are called after the normal ones and can only be added as
+ * global listeners. Every player has a bounded queue of waiting packets, see
+ * {@link PacketManager#setAsyncQueueCapacity(int)} and
+ * {@link PacketManager#setAsyncOverflowPolicy(OverflowPolicy)}. If the queue
+ * of received packets is full, reading from the player's connection pauses
+ * until it drained.
+ */
+public interface AsyncPacketListener extends PacketListener {
+
+    /**
+     * What happens to a sent packet an async listener is interested in, if
+     * the queue of its player is full
+     * <p>
+     * All other packets keep waiting in order.
+     */
+    enum OverflowPolicy {
+        /**
+         * The packet is dropped
+         */
+        DROP,
+        /**
+         * The packet is passed on in order, without calling the async
+         * listeners
+         */
+        SKIP_LISTENERS,
+        /**
+         * The connection is closed. The default.
+         */
+        DISCONNECT
+    }
+}
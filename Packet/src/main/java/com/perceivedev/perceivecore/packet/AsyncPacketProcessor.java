@@ -0,0 +1,119 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.perceivedev.perceivecore.packet.AsyncPacketListener.OverflowPolicy;
+
+import io.netty.channel.Channel;
+
+/**
+ * Holds the {@link AsyncPacketListener}s, their settings and the worker
+ * threads calling them
+ * <p>
+ * Every channel is assigned to one single threaded worker, so the packets of
+ * one player are processed in order.
+ */
+final class AsyncPacketProcessor {
+
+    private static final ListenerList LISTENERS = new ListenerList();
+
+    private static volatile int queueCapacity = 1024;
+    private static volatile OverflowPolicy overflowPolicy = OverflowPolicy.DISCONNECT;
+
+    private static ExecutorService[] workers;
+
+    private AsyncPacketProcessor() {
+    }
+
+    /**
+     * @return The registered async listeners
+     */
+    static ListenerList getListeners() {
+        return LISTENERS;
+    }
+
+    /**
+     * @return The maximum amount of packets waiting per player and direction
+     */
+    static int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * @param queueCapacity The maximum amount of packets waiting per player
+     * and direction
+     *
+     * @throws IllegalArgumentException if queueCapacity is smaller than 1
+     */
+    static void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be at least 1, was " + queueCapacity);
+        }
+        AsyncPacketProcessor.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * @return What happens to packets if the queue is full
+     */
+    static OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * @param overflowPolicy What happens to packets if the queue is full
+     *
+     * @throws NullPointerException if overflowPolicy is null
+     */
+    static void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        AsyncPacketProcessor.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy can not be null");
+    }
+
+    /**
+     * Returns the worker of a channel. Always the same one for the same
+     * channel, until {@link #shutdown()} is called.
+     *
+     * @param channel The channel
+     *
+     * @return The worker processing the channel's packets
+     */
+    static synchronized ExecutorService getWorker(Channel channel) {
+        if (workers == null) {
+            workers = createWorkers(Runtime.getRuntime().availableProcessors());
+        }
+        return workers[(System.identityHashCode(channel) & Integer.MAX_VALUE) % workers.length];
+    }
+
+    /**
+     * Stops the workers. Already queued packets are still processed.
+     */
+    static synchronized void shutdown() {
+        if (workers == null) {
+            return;
+        }
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        workers = null;
+    }
+
+    /**
+     * @param amount The amount of workers
+     *
+     * @return The created workers
+     */
+    private static ExecutorService[] createWorkers(int amount) {
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService[] workers = new ExecutorService[amount];
+        for (int i = 0; i < amount; i++) {
+            workers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "PerceiveCore Packet Worker #" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return workers;
+    }
+}
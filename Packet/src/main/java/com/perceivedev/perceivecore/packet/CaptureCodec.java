@@ -0,0 +1,257 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.util.UUID;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Encodes and decodes the field values of captured packets
+ * <p>
+ * Every value is a tag byte followed by its payload. Integers are zig-zag
+ * varints, written with the {@link PacketUtilities}. Values that can not be restored (e.g. other objects or large
+ * arrays) are stored as their class name and {@link Object#toString()}, and
+ * decode to {@link #OPAQUE}.
+ *
+ * @see PacketRecorder
+ * @see PacketCapture
+ */
+final class CaptureCodec {
+
+    /**
+     * Decoded for values that could not be captured
+     */
+    static final Object OPAQUE = new Object() {
+        @Override
+        public String toString() {
+            return "<opaque>";
+        }
+    };
+
+    /**
+     * Arrays larger than this are not captured (e.g. chunk data)
+     */
+    static final int MAX_ARRAY_LENGTH = 4096;
+
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte BYTE = 2;
+    private static final byte SHORT = 3;
+    private static final byte CHAR = 4;
+    private static final byte INT = 5;
+    private static final byte LONG = 6;
+    private static final byte FLOAT = 7;
+    private static final byte DOUBLE = 8;
+    private static final byte STRING = 9;
+    private static final byte BYTE_ARRAY = 10;
+    private static final byte INT_ARRAY = 11;
+    private static final byte ENUM = 12;
+    private static final byte UUID_VALUE = 13;
+    private static final byte OTHER = 14;
+
+    /**
+     * {@link PacketUtilities#readString(int, ByteBuf)} multiplies it by 4
+     */
+    private static final int MAX_STRING_LENGTH = Integer.MAX_VALUE / 4;
+
+    private CaptureCodec() {
+    }
+
+    /**
+     * Writes a field value
+     *
+     * @param buffer The buffer to write to
+     * @param value The value
+     *
+     * @throws IndexOutOfBoundsException if the buffer exceeds its maximum
+     * capacity
+     */
+    static void writeValue(ByteBuf buffer, Object value) {
+        if (value == null) {
+            buffer.writeByte(NULL);
+        }
+        else if (value instanceof Boolean) {
+            buffer.writeByte(BOOLEAN).writeBoolean((Boolean) value);
+        }
+        else if (value instanceof Byte) {
+            buffer.writeByte(BYTE).writeByte((Byte) value);
+        }
+        else if (value instanceof Short) {
+            buffer.writeByte(SHORT);
+            PacketUtilities.writeVarLong(zigZag((Short) value), buffer);
+        }
+        else if (value instanceof Character) {
+            buffer.writeByte(CHAR).writeChar((Character) value);
+        }
+        else if (value instanceof Integer) {
+            buffer.writeByte(INT);
+            PacketUtilities.writeVarLong(zigZag((Integer) value), buffer);
+        }
+        else if (value instanceof Long) {
+            buffer.writeByte(LONG);
+            PacketUtilities.writeVarLong(zigZag((Long) value), buffer);
+        }
+        else if (value instanceof Float) {
+            buffer.writeByte(FLOAT).writeFloat((Float) value);
+        }
+        else if (value instanceof Double) {
+            buffer.writeByte(DOUBLE).writeDouble((Double) value);
+        }
+        else if (value instanceof String) {
+            buffer.writeByte(STRING);
+            PacketUtilities.writeString((String) value, buffer);
+        }
+        else if (value instanceof byte[] && ((byte[]) value).length <= MAX_ARRAY_LENGTH) {
+            byte[] bytes = (byte[]) value;
+            buffer.writeByte(BYTE_ARRAY);
+            PacketUtilities.writeVarInt(bytes.length, buffer);
+            buffer.writeBytes(bytes);
+        }
+        else if (value instanceof int[] && ((int[]) value).length <= MAX_ARRAY_LENGTH) {
+            int[] ints = (int[]) value;
+            buffer.writeByte(INT_ARRAY);
+            PacketUtilities.writeVarInt(ints.length, buffer);
+            for (int i : ints) {
+                PacketUtilities.writeVarLong(zigZag(i), buffer);
+            }
+        }
+        else if (value instanceof Enum) {
+            buffer.writeByte(ENUM);
+            PacketUtilities.writeString(((Enum<?>) value).getDeclaringClass().getName(), buffer);
+            PacketUtilities.writeString(((Enum<?>) value).name(), buffer);
+        }
+        else if (value instanceof UUID) {
+            buffer.writeByte(UUID_VALUE);
+            PacketUtilities.writeUUID((UUID) value, buffer);
+        }
+        else {
+            buffer.writeByte(OTHER);
+            PacketUtilities.writeString(value.getClass().getName(), buffer);
+            PacketUtilities.writeString(String.valueOf(value), buffer);
+        }
+    }
+
+    /**
+     * Reads a field value
+     *
+     * @param buffer The buffer to read from
+     * @param classLoader The class loader to load enum classes with
+     *
+     * @return The value, or {@link #OPAQUE} if it can not be restored
+     *
+     * @throws IllegalArgumentException if the data is malformed
+     * @throws IndexOutOfBoundsException if it ends too early
+     * @throws io.netty.handler.codec.DecoderException if a varint or a
+     * string is malformed
+     */
+    static Object readValue(ByteBuf buffer, ClassLoader classLoader) {
+        byte tag = buffer.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case BOOLEAN:
+                return buffer.readBoolean();
+            case BYTE:
+                return buffer.readByte();
+            case SHORT:
+                return (short) unZigZag(PacketUtilities.readVarLong(buffer));
+            case CHAR:
+                return buffer.readChar();
+            case INT:
+                return (int) unZigZag(PacketUtilities.readVarLong(buffer));
+            case LONG:
+                return unZigZag(PacketUtilities.readVarLong(buffer));
+            case FLOAT:
+                return buffer.readFloat();
+            case DOUBLE:
+                return buffer.readDouble();
+            case STRING:
+                return readString(buffer);
+            case BYTE_ARRAY: {
+                byte[] bytes = new byte[readLength(buffer)];
+                buffer.readBytes(bytes);
+                return bytes;
+            }
+            case INT_ARRAY: {
+                int[] ints = new int[readLength(buffer)];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = (int) unZigZag(PacketUtilities.readVarLong(buffer));
+                }
+                return ints;
+            }
+            case ENUM:
+                return readEnum(readString(buffer), readString(buffer), classLoader);
+            case UUID_VALUE:
+                return PacketUtilities.readUUID(buffer);
+            case OTHER:
+                readString(buffer);
+                readString(buffer);
+                return OPAQUE;
+            default:
+                throw new IllegalArgumentException("Unknown value tag " + tag + " at " + (buffer.readerIndex() - 1));
+        }
+    }
+
+    /**
+     * @param className The name of the enum class
+     * @param name The name of the constant
+     * @param classLoader The class loader to load it with
+     *
+     * @return The constant, or {@link #OPAQUE} if it does not exist
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object readEnum(String className, String name, ClassLoader classLoader) {
+        try {
+            Class<?> enumClass = Class.forName(className, false, classLoader);
+            return Enum.valueOf((Class<? extends Enum>) enumClass.asSubclass(Enum.class), name);
+        } catch (ClassNotFoundException | IllegalArgumentException | ClassCastException e) {
+            return OPAQUE;
+        }
+    }
+
+    /**
+     * @param buffer The buffer to read from
+     *
+     * @return The read string
+     */
+    private static String readString(ByteBuf buffer) {
+        return PacketUtilities.readString(MAX_STRING_LENGTH, buffer);
+    }
+
+    /**
+     * Reads the length of an array. Every element takes at least one byte, so
+     * it can not exceed the readable bytes.
+     *
+     * @param buffer The buffer to read from
+     *
+     * @return The read length
+     *
+     * @throws IllegalArgumentException if it is negative or exceeds the
+     * readable bytes
+     */
+    private static int readLength(ByteBuf buffer) {
+        int length = PacketUtilities.readVarInt(buffer);
+        if (length < 0 || length > buffer.readableBytes()) {
+            throw new IllegalArgumentException("Invalid length " + length + " at " + buffer.readerIndex());
+        }
+        return length;
+    }
+
+    /**
+     * @param value A signed value
+     *
+     * @return The value with the sign in the lowest bit, so small negative
+     * values stay short
+     */
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * @param value A value encoded by {@link #zigZag(long)}
+     *
+     * @return The signed value
+     */
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
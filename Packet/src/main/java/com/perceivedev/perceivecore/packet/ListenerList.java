@@ -0,0 +1,210 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A copy-on-write list of {@link PacketListener}s
+ * <p>
+ * Modifications copy the backing array, reads just return the current one. It
+ * is meant to be modified rarely (on the main thread) and read for every
+ * packet (on the netty threads), so reads take no lock and allocate nothing.
+ * <p>
+ * For every packet class it lazily builds the array of listeners interested
+ * in it, see {@link PacketListener#getPacketClasses()}.
+ */
+final class ListenerList {
+
+    private static final PacketListener[] EMPTY = new PacketListener[0];
+
+    private volatile Snapshot snapshot = new Snapshot(EMPTY);
+
+    /**
+     * Adds a listener, if it is not already contained
+     *
+     * @param listener The listener to add
+     *
+     * @return True if the listener was added
+     *
+     * @throws NullPointerException if listener is null
+     */
+    boolean add(PacketListener listener) {
+        Objects.requireNonNull(listener, "listener can not be null");
+
+        // re-adding is common (e.g. a Gui registering on every open), so check without locking first
+        if (contains(listener)) {
+            return false;
+        }
+        synchronized (this) {
+            if (contains(listener)) {
+                return false;
+            }
+            PacketListener[] listeners = snapshot.listeners;
+            PacketListener[] copy = Arrays.copyOf(listeners, listeners.length + 1);
+            copy[copy.length - 1] = listener;
+            snapshot = new Snapshot(copy);
+            return true;
+        }
+    }
+
+    /**
+     * Removes a listener
+     *
+     * @param listener The listener to remove
+     *
+     * @return True if the listener was removed
+     */
+    synchronized boolean remove(PacketListener listener) {
+        PacketListener[] current = snapshot.listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] != listener) {
+                continue;
+            }
+            PacketListener[] copy = new PacketListener[current.length - 1];
+            System.arraycopy(current, 0, copy, 0, i);
+            System.arraycopy(current, i + 1, copy, i, current.length - i - 1);
+            snapshot = new Snapshot(copy);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes all listeners
+     */
+    synchronized void clear() {
+        snapshot = new Snapshot(EMPTY);
+    }
+
+    /**
+     * Checks if a listener is contained
+     *
+     * @param listener The listener to check
+     *
+     * @return True if the listener is contained
+     */
+    boolean contains(PacketListener listener) {
+        for (PacketListener packetListener : snapshot.listeners) {
+            if (packetListener == listener) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the current listeners
+     * <p>
+     * The array is shared and <b>must not</b> be modified. It is not affected
+     * by later modifications of this list.
+     *
+     * @return The current listeners
+     */
+    PacketListener[] get() {
+        return snapshot.listeners;
+    }
+
+    /**
+     * Returns the current listeners interested in a packet class
+     * <p>
+     * The array is shared and <b>must not</b> be modified. It is not affected
+     * by later modifications of this list.
+     *
+     * @param packetClass The class of the packet
+     *
+     * @return The current listeners interested in the packet class. Empty if
+     * there are none.
+     */
+    PacketListener[] get(Class<?> packetClass) {
+        return snapshot.getListeners(packetClass);
+    }
+
+    /**
+     * @return The amount of listeners
+     */
+    int size() {
+        return snapshot.listeners.length;
+    }
+
+    /**
+     * The listeners at one point in time, with their dispatch table
+     */
+    private static final class Snapshot {
+        private final PacketListener[] listeners;
+        /**
+         * The classes each listener is interested in. {@code null} if it wants
+         * all.
+         */
+        private final Class<?>[][] packetClasses;
+        private final ConcurrentMap<Class<?>, PacketListener[]> dispatchTable = new ConcurrentHashMap<>();
+
+        /**
+         * @param listeners The listeners
+         */
+        private Snapshot(PacketListener[] listeners) {
+            this.listeners = listeners;
+            this.packetClasses = new Class<?>[listeners.length][];
+            for (int i = 0; i < listeners.length; i++) {
+                Collection<Class<?>> classes = listeners[i].getPacketClasses();
+                packetClasses[i] = classes == null || classes.isEmpty() ? null : classes.toArray(new Class<?>[0]);
+            }
+        }
+
+        /**
+         * @param packetClass The class of the packet
+         *
+         * @return The listeners interested in the packet class
+         */
+        private PacketListener[] getListeners(Class<?> packetClass) {
+            if (listeners.length == 0) {
+                return EMPTY;
+            }
+            PacketListener[] result = dispatchTable.get(packetClass);
+            if (result == null) {
+                result = computeListeners(packetClass);
+                dispatchTable.putIfAbsent(packetClass, result);
+            }
+            return result;
+        }
+
+        /**
+         * @param packetClass The class of the packet
+         *
+         * @return The listeners interested in the packet class
+         */
+        private PacketListener[] computeListeners(Class<?> packetClass) {
+            List<PacketListener> result = new ArrayList<>();
+            for (int i = 0; i < listeners.length; i++) {
+                if (isInterested(packetClasses[i], packetClass)) {
+                    result.add(listeners[i]);
+                }
+            }
+            return result.isEmpty() ? EMPTY : result.toArray(new PacketListener[result.size()]);
+        }
+
+        /**
+         * @param wantedClasses The classes a listener wants. {@code null} for
+         * all.
+         * @param packetClass The class of the packet
+         *
+         * @return True if the packet class is one of the wanted classes or a
+         * subclass of one
+         */
+        private static boolean isInterested(Class<?>[] wantedClasses, Class<?> packetClass) {
+            if (wantedClasses == null) {
+                return true;
+            }
+            for (Class<?> wantedClass : wantedClasses) {
+                if (wantedClass.isAssignableFrom(packetClass)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
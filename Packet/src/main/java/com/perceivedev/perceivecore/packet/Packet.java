@@ -1,10 +1,12 @@
 package com.perceivedev.perceivecore.packet;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
 import java.util.Objects;
 
 import org.bukkit.entity.Player;
 
+import com.perceivedev.perceivecore.reflection.ObjectShape;
 import com.perceivedev.perceivecore.reflection.ReflectionUtil;
 import com.perceivedev.perceivecore.reflection.ReflectionUtil.ReflectResponse;
 
@@ -123,6 +125,29 @@ public class Packet {
         }
     }
 
+    /**
+     * Returns the NMS base class of all packets
+     *
+     * @return The net.minecraft.server.Packet class
+     */
+    static Class<?> getNMSPacketClass() {
+        return NMS_PACKET_CLASS;
+    }
+
+    /**
+     * Wraps an NMS packet without validating it.
+     * <p>
+     * Only for callers that already know it is one, e.g. via
+     * {@link #getNMSPacketClass()}.
+     *
+     * @param nmsPacket The NMS packet object
+     *
+     * @return The wrapping Packet
+     */
+    static Packet wrapNMSPacket(Object nmsPacket) {
+        return new Packet(nmsPacket);
+    }
+
     /**
      * @return the NMS packet
      */
@@ -156,6 +181,29 @@ public class Packet {
         return ReflectionUtil.getFieldValue(field, packetClass, rawPacket);
     }
 
+    /**
+     * Creates a shallow copy of this packet, copying all fields at once
+     *
+     * @return The copy
+     *
+     * @throws RuntimeException if the packet has no default constructor or
+     *                          could not be copied
+     */
+    @SuppressWarnings("unused")
+    public Packet copy() {
+        Packet copy;
+        try {
+            copy = new Packet(packetClass);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | InstantiationException
+                e) {
+            throw new RuntimeException("Failed to copy packet " + packetClass.getName(), e);
+        }
+        @SuppressWarnings("unchecked")
+        ObjectShape<Object> shape = (ObjectShape<Object>) ReflectionUtil.shape(packetClass);
+        shape.copy(rawPacket, copy.rawPacket);
+        return copy;
+    }
+
     /**
      * Sends this packet to the given players
      *
@@ -168,6 +216,39 @@ public class Packet {
         }
     }
 
+    /**
+     * Sends this packet to the given players, without flushing their
+     * connections right away
+     * <p>
+     * All packets sent this way are flushed together at the end of the tick,
+     * once per player. Use it for broadcasts and for sending many packets in a
+     * row. Unlike {@link #send(Player...)} this writes directly to the network
+     * channel, so the players must be in game.
+     *
+     * @param players the players to send it to
+     */
+    @SuppressWarnings("unused")
+    public void sendBatched(Player... players) {
+        for (Player player : players) {
+            PacketSender.getInstance().queuePacket(this, player);
+        }
+    }
+
+    /**
+     * Sends this packet to the given players, without flushing their
+     * connections right away
+     *
+     * @param players the players to send it to
+     *
+     * @see #sendBatched(Player...)
+     */
+    @SuppressWarnings("unused")
+    public void sendBatched(Collection<? extends Player> players) {
+        for (Player player : players) {
+            PacketSender.getInstance().queuePacket(this, player);
+        }
+    }
+
     /**
      * @return the packet's class
      */
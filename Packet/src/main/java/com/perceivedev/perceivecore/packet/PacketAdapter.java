@@ -1,10 +1,36 @@
 package com.perceivedev.perceivecore.packet;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+
 /**
  * Does nothing. Overwrite what you need
  */
 public class PacketAdapter implements PacketListener {
 
+    private final Collection<Class<?>> packetClasses;
+
+    /**
+     * Creates an adapter receiving all packets
+     */
+    public PacketAdapter() {
+        this.packetClasses = Collections.emptySet();
+    }
+
+    /**
+     * Creates an adapter only receiving the given packet classes
+     *
+     * @param packetClasses The NMS packet classes to receive
+     *
+     * @see PacketListener#getPacketClasses()
+     */
+    @SuppressWarnings("WeakerAccess")
+    public PacketAdapter(Class<?>... packetClasses) {
+        this.packetClasses = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(packetClasses)));
+    }
+
     @Override
     public void onPacketReceived(PacketEvent packetEvent) {
 
@@ -14,4 +40,9 @@ public class PacketAdapter implements PacketListener {
     public void onPacketSend(PacketEvent packetEvent) {
 
     }
+
+    @Override
+    public Collection<Class<?>> getPacketClasses() {
+        return packetClasses;
+    }
 }
@@ -0,0 +1,54 @@
+package com.perceivedev.perceivecore.packet;
+
+import com.perceivedev.perceivecore.reflection.FieldAccessor;
+import com.perceivedev.perceivecore.reflection.MethodInvoker;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings.Bindings;
+import com.perceivedev.perceivecore.reflection.binding.NmsClass;
+import com.perceivedev.perceivecore.reflection.binding.NmsField;
+import com.perceivedev.perceivecore.reflection.binding.NmsMethod;
+
+/**
+ * The NMS members the {@link PacketSender} needs to reach the connection of a
+ * player
+ * <p>
+ * They are bound by the {@link PacketModule} when it is loaded.
+ */
+@NmsClass("{nms}.PlayerConnection")
+final class PacketBindings {
+
+    private static final Bindings BINDINGS = NmsBindings.resolve(PacketBindings.class);
+
+    /**
+     * {@code CraftPlayer#getHandle()}
+     */
+    @NmsMethod(value = "getHandle", parameters = {}, owner = "{obc}.entity.CraftPlayer")
+    static final MethodInvoker GET_HANDLE = BINDINGS.get("GET_HANDLE");
+
+    /**
+     * {@code EntityPlayer#playerConnection}
+     */
+    @NmsField(value = "playerConnection", owner = "{nms}.EntityPlayer")
+    static final FieldAccessor<Object> PLAYER_CONNECTION = BINDINGS.get("PLAYER_CONNECTION");
+
+    /**
+     * {@code PlayerConnection#sendPacket(Packet)}
+     */
+    @NmsMethod(value = "sendPacket", parameters = "{nms}.Packet")
+    static final MethodInvoker SEND_PACKET = BINDINGS.get("SEND_PACKET");
+
+    /**
+     * {@code PlayerConnection#networkManager}
+     */
+    @NmsField("networkManager")
+    static final FieldAccessor<Object> NETWORK_MANAGER = BINDINGS.get("NETWORK_MANAGER");
+
+    /**
+     * {@code NetworkManager#channel}
+     */
+    @NmsField(value = "channel", owner = "{nms}.NetworkManager")
+    static final FieldAccessor<Object> CHANNEL = BINDINGS.get("CHANNEL");
+
+    private PacketBindings() {
+    }
+}
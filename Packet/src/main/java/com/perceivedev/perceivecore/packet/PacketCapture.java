@@ -0,0 +1,472 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import com.perceivedev.perceivecore.packet.PacketEvent.ConnectionDirection;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+
+/**
+ * Packets captured by a {@link PacketRecorder}, in the order they passed
+ * <p>
+ * It can be saved with {@link #write(OutputStream)}, loaded again with
+ * {@link #read(InputStream)} and fed back through listeners with
+ * {@link PacketReplay}.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class PacketCapture {
+
+    /**
+     * "PCAP"
+     */
+    private static final int MAGIC = 0x50434150;
+    private static final byte VERSION = 1;
+
+    /**
+     * The default maximum amount of bytes {@link #read(InputStream)} reads
+     */
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+    /**
+     * The magic, the version and the start time
+     */
+    private static final int HEADER_SIZE = 4 + 1 + 8;
+    /**
+     * The length prefix of a class name written by
+     * {@link DataOutputStream#writeUTF(String)}
+     */
+    private static final int MIN_CLASS_NAME_SIZE = 2;
+    private static final int PLAYER_SIZE = 8 + 8;
+    /**
+     * The length prefix, the time, the direction, the player, the class and
+     * the amount of values
+     */
+    private static final int MIN_RECORD_SIZE = 4 + 1 + 1 + 1 + 1 + 1;
+
+    private final long startMillis;
+    private final List<String> classNames;
+    private final List<UUID> players;
+    private final byte[] records;
+    private final int recordCount;
+
+    /**
+     * @param startMillis The time the recording started at, in milliseconds
+     * since the epoch
+     * @param classNames The names of the packet classes, by index
+     * @param players The UUIDs of the players, by index
+     * @param records The records, each prefixed with its length
+     * @param recordCount The amount of records
+     */
+    PacketCapture(long startMillis, List<String> classNames, List<UUID> players, byte[] records, int recordCount) {
+        this.startMillis = startMillis;
+        this.classNames = classNames;
+        this.players = players;
+        this.records = records;
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * @return The time the recording started at, in milliseconds since the
+     * epoch
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * @return The amount of captured packets
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * @return The size of the captured data in bytes
+     */
+    public int getDataSize() {
+        return records.length;
+    }
+
+    /**
+     * Decodes the captured packets, loading enum classes with the class
+     * loader of this class
+     *
+     * @return The captured packets, oldest first
+     *
+     * @throws IllegalArgumentException if the data is malformed
+     */
+    public List<Entry> getEntries() {
+        return getEntries(PacketCapture.class.getClassLoader());
+    }
+
+    /**
+     * Decodes the captured packets
+     *
+     * @param classLoader The class loader to load enum classes with
+     *
+     * @return The captured packets, oldest first
+     *
+     * @throws IllegalArgumentException if the data is malformed
+     */
+    public List<Entry> getEntries(ClassLoader classLoader) {
+        List<Entry> entries = new ArrayList<>(recordCount);
+        ByteBuf buffer = Unpooled.wrappedBuffer(records);
+        for (int i = 0; i < recordCount; i++) {
+            try {
+                entries.add(readEntry(buffer, classLoader, i));
+            } catch (IndexOutOfBoundsException | DecoderException e) {
+                throw new IllegalArgumentException("Record " + i + " is malformed", e);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * @param buffer The buffer to read from
+     * @param classLoader The class loader to load enum classes with
+     * @param index The index of the record, for error messages
+     *
+     * @return The read entry
+     *
+     * @throws IllegalArgumentException if the data is malformed
+     * @throws IndexOutOfBoundsException if the record ends too early or
+     * refers to an unknown player or class
+     * @throws DecoderException if a varint or a string is malformed
+     */
+    private Entry readEntry(ByteBuf buffer, ClassLoader classLoader, int index) {
+        int length = buffer.readInt();
+        if (length < 0 || length > buffer.readableBytes()) {
+            throw new IllegalArgumentException("Record " + index + " has an invalid length of " + length);
+        }
+        int end = buffer.readerIndex() + length;
+
+        long timeNanos = PacketUtilities.readVarLong(buffer);
+        ConnectionDirection direction = buffer.readByte() == 0
+                ? ConnectionDirection.TO_CLIENT
+                : ConnectionDirection.TO_SERVER;
+        UUID player = players.get(PacketUtilities.readVarInt(buffer));
+        String className = classNames.get(PacketUtilities.readVarInt(buffer));
+
+        int valueCount = PacketUtilities.readVarInt(buffer);
+        // every value takes at least its tag byte
+        if (valueCount < 0 || valueCount > end - buffer.readerIndex()) {
+            throw new IllegalArgumentException("Record " + index + " has an invalid value count of " + valueCount);
+        }
+        Object[] values = new Object[valueCount];
+        for (int j = 0; j < values.length; j++) {
+            values[j] = CaptureCodec.readValue(buffer, classLoader);
+        }
+        if (buffer.readerIndex() != end) {
+            throw new IllegalArgumentException("Record " + index + " has the wrong length");
+        }
+        return new Entry(timeNanos, player, direction, className, values);
+    }
+
+    /**
+     * Writes this capture
+     *
+     * @param outputStream The stream to write to. Not closed.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(OutputStream outputStream) throws IOException {
+        DataOutputStream output = new DataOutputStream(outputStream);
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        output.writeLong(startMillis);
+
+        output.writeInt(classNames.size());
+        for (String className : classNames) {
+            output.writeUTF(className);
+        }
+        output.writeInt(players.size());
+        for (UUID player : players) {
+            output.writeLong(player.getMostSignificantBits());
+            output.writeLong(player.getLeastSignificantBits());
+        }
+
+        output.writeInt(recordCount);
+        output.writeInt(records.length);
+        output.write(records);
+        output.flush();
+    }
+
+    /**
+     * Reads a capture written by {@link #write(OutputStream)}, with a limit of
+     * {@link #DEFAULT_MAX_BYTES}
+     *
+     * @param inputStream The stream to read from. Not closed.
+     *
+     * @return The read capture
+     *
+     * @throws IOException if an I/O error occurs, it is not a capture or it
+     * is malformed
+     * @see #read(InputStream, long)
+     */
+    public static PacketCapture read(InputStream inputStream) throws IOException {
+        return read(inputStream, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Reads a capture written by {@link #write(OutputStream)}
+     * <p>
+     * The counts and lengths are checked against the bytes left before
+     * anything is allocated, so a malformed capture can not make it allocate
+     * more than maxBytes.
+     *
+     * @param inputStream The stream to read from. Not closed.
+     * @param maxBytes The maximum amount of bytes to read
+     *
+     * @return The read capture
+     *
+     * @throws IOException              if an I/O error occurs, it is not a
+     *                                  capture, it is malformed or larger
+     *                                  than maxBytes
+     * @throws IllegalArgumentException if maxBytes is negative
+     */
+    public static PacketCapture read(InputStream inputStream, long maxBytes) throws IOException {
+        ReadLimit limit = new ReadLimit(maxBytes);
+        DataInputStream input = new DataInputStream(inputStream);
+
+        limit.consume(HEADER_SIZE);
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a packet capture");
+        }
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported capture version " + version);
+        }
+        long startMillis = input.readLong();
+
+        int classCount = readCount(input, limit, MIN_CLASS_NAME_SIZE, "class");
+        List<String> classNames = new ArrayList<>(classCount);
+        for (int i = 0; i < classCount; i++) {
+            limit.consume(MIN_CLASS_NAME_SIZE);
+            String className = input.readUTF();
+            // every char takes at least one byte
+            limit.consume(className.length());
+            classNames.add(className);
+        }
+        int playerCount = readCount(input, limit, PLAYER_SIZE, "player");
+        List<UUID> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            limit.consume(PLAYER_SIZE);
+            players.add(new UUID(input.readLong(), input.readLong()));
+        }
+
+        int recordCount = readCount(input, limit, MIN_RECORD_SIZE, "record");
+        int recordsLength = readCount(input, limit, 1, "record byte");
+        if ((long) recordCount * MIN_RECORD_SIZE > recordsLength) {
+            throw new IOException(recordCount + " records can not fit into " + recordsLength + " bytes");
+        }
+        limit.consume(recordsLength);
+        byte[] records = new byte[recordsLength];
+        input.readFully(records);
+        checkFraming(records, recordCount);
+
+        return new PacketCapture(startMillis, classNames, players, records, recordCount);
+    }
+
+    /**
+     * Reads a count and checks that the elements it counts fit into the
+     * bytes left
+     *
+     * @param input The input to read from
+     * @param limit The limit of the read bytes
+     * @param elementSize The minimum size of an element
+     * @param name The name of the elements, for error messages
+     *
+     * @return The read count
+     *
+     * @throws IOException if an I/O error occurs, it is negative or the
+     * elements exceed the limit
+     */
+    private static int readCount(DataInputStream input, ReadLimit limit, int elementSize, String name)
+            throws IOException {
+        limit.consume(4);
+        int count = input.readInt();
+        if (count < 0) {
+            throw new IOException("Negative " + name + " count " + count);
+        }
+        limit.require((long) count * elementSize);
+        return count;
+    }
+
+    /**
+     * Checks that the length prefixes of the records add up to the data
+     *
+     * @param records The records, each prefixed with its length
+     * @param recordCount The amount of records
+     *
+     * @throws IOException if they do not
+     */
+    private static void checkFraming(byte[] records, int recordCount) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(records);
+        for (int i = 0; i < recordCount; i++) {
+            if (buffer.remaining() < 4) {
+                throw new IOException("Record " + i + " is missing");
+            }
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IOException("Record " + i + " has an invalid length of " + length);
+            }
+            buffer.position(buffer.position() + length);
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException(buffer.remaining() + " bytes follow the last record");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PacketCapture{" + recordCount + " packets, " + records.length + " bytes, "
+                + classNames.size() + " classes, " + players.size() + " players}";
+    }
+
+    /**
+     * A captured packet
+     */
+    public static final class Entry {
+        private final long timeNanos;
+        private final UUID player;
+        private final ConnectionDirection direction;
+        private final String packetClassName;
+        private final Object[] values;
+
+        /**
+         * @param timeNanos The time it passed at, relative to the start
+         * @param player The UUID of the player
+         * @param direction The direction it was travelling
+         * @param packetClassName The name of the packet class
+         * @param values The values of its fields
+         */
+        private Entry(long timeNanos, UUID player, ConnectionDirection direction, String packetClassName,
+                      Object[] values) {
+            this.timeNanos = timeNanos;
+            this.player = player;
+            this.direction = direction;
+            this.packetClassName = packetClassName;
+            this.values = values;
+        }
+
+        /**
+         * @return The time it passed at, in nanoseconds after the recording
+         * started
+         */
+        public long getTimeNanos() {
+            return timeNanos;
+        }
+
+        /**
+         * @return The UUID of the player
+         */
+        public UUID getPlayer() {
+            return player;
+        }
+
+        /**
+         * @return The direction it was travelling
+         */
+        public ConnectionDirection getDirection() {
+            return direction;
+        }
+
+        /**
+         * @return The name of the packet class
+         */
+        public String getPacketClassName() {
+            return packetClassName;
+        }
+
+        /**
+         * Returns the values of the packet's fields, in the order of
+         * {@link com.perceivedev.perceivecore.reflection.ObjectShape}
+         * <p>
+         * Values that could not be captured are {@link #isRestorable(int) not
+         * restorable}.
+         *
+         * @return The values of the packet's fields. Unmodifiable.
+         */
+        public List<Object> getValues() {
+            return Collections.unmodifiableList(Arrays.asList(values));
+        }
+
+        /**
+         * @param index The index of the field
+         *
+         * @return True if the value of the field was captured
+         */
+        public boolean isRestorable(int index) {
+            return values[index] != CaptureCodec.OPAQUE;
+        }
+
+        /**
+         * @return The values of the packet's fields. Not a copy.
+         */
+        Object[] getRawValues() {
+            return values;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d ns %s %s %s%s", timeNanos, player, direction, packetClassName,
+                    Arrays.deepToString(values));
+        }
+    }
+
+    /**
+     * Counts the bytes a reader reads
+     */
+    private static final class ReadLimit {
+        private final long maxBytes;
+        private long remaining;
+
+        /**
+         * @param maxBytes The maximum amount of bytes to read
+         *
+         * @throws IllegalArgumentException if it is negative
+         */
+        private ReadLimit(long maxBytes) {
+            if (maxBytes < 0) {
+                throw new IllegalArgumentException("maxBytes can not be negative, was " + maxBytes);
+            }
+            this.maxBytes = maxBytes;
+            this.remaining = maxBytes;
+        }
+
+        /**
+         * Call it before reading or allocating anything
+         *
+         * @param bytes The amount of bytes about to be read
+         *
+         * @throws IOException if they exceed the limit
+         */
+        private void consume(long bytes) throws IOException {
+            require(bytes);
+            remaining -= bytes;
+        }
+
+        /**
+         * @param bytes The amount of bytes that will be read later
+         *
+         * @throws IOException if they exceed the limit
+         */
+        private void require(long bytes) throws IOException {
+            if (bytes > remaining) {
+                throw new IOException("The capture is larger than the limit of " + maxBytes + " bytes");
+            }
+        }
+    }
+}
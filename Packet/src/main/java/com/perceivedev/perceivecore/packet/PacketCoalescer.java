@@ -0,0 +1,334 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.perceivedev.perceivecore.coreplugin.PerceiveCore;
+import com.perceivedev.perceivecore.reflection.FieldAccessor;
+import com.perceivedev.perceivecore.reflection.ReflectionException;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.FieldPredicate;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * Holds back sent packets until the end of the tick and only sends the latest
+ * one per key
+ * <p>
+ * Keys are extracted per packet class, see
+ * {@link #setKeyExtractor(Class, Function)}. Packets without a key are passed
+ * on right away, so packets with one may arrive after packets sent later in
+ * the same tick. Only use it for packets carrying a full state, that is not
+ * needed anymore once a newer one arrived.
+ * <p>
+ * It sits right after the {@link PacketInjector}, so the listeners still see
+ * every packet. It is only added to the channels while there are key
+ * extractors.
+ */
+class PacketCoalescer extends ChannelOutboundHandlerAdapter {
+
+    private static final Logger LOGGER = Logger.getLogger("PacketCoalescer");
+
+    /**
+     * The name of the handler in the pipeline
+     */
+    static final String HANDLER_NAME = "bukkitUtilsCoalescer";
+
+    private static final ConcurrentMap<Class<?>, Function<Object, ?>> KEY_EXTRACTORS = new ConcurrentHashMap<>();
+    private static final Set<PacketCoalescer> SCHEDULED = ConcurrentHashMap.newKeySet();
+    private static BukkitTask flushTask;
+
+    private final PacketInjector injector;
+
+    // only touched on the channel's event loop
+    private final Map<CoalescingKey, PendingWrite> pending = new LinkedHashMap<>();
+    private ChannelHandlerContext context;
+    private boolean scheduled;
+
+    /**
+     * @param injector The injector of the channel
+     */
+    PacketCoalescer(PacketInjector injector) {
+        this.injector = injector;
+    }
+
+    /**
+     * Sets the key extractor of a packet class
+     * <p>
+     * Of all packets of that class with an equal key sent to a player in one
+     * tick, only the last one is sent. Packets the extractor returns null for
+     * are sent as usual.
+     *
+     * @param packetClass The NMS class of the packets. Subclasses are not
+     * affected.
+     * @param keyExtractor Extracts the key from an NMS packet
+     *
+     * @throws NullPointerException if any parameter is null
+     */
+    static void setKeyExtractor(Class<?> packetClass, Function<Object, ?> keyExtractor) {
+        Objects.requireNonNull(packetClass, "packetClass can not be null");
+        Objects.requireNonNull(keyExtractor, "keyExtractor can not be null");
+
+        KEY_EXTRACTORS.put(packetClass, keyExtractor);
+    }
+
+    /**
+     * Removes the key extractor of a packet class
+     *
+     * @param packetClass The NMS class of the packets
+     */
+    static void removeKeyExtractor(Class<?> packetClass) {
+        KEY_EXTRACTORS.remove(packetClass);
+    }
+
+    /**
+     * Removes all key extractors
+     */
+    static void clearKeyExtractors() {
+        KEY_EXTRACTORS.clear();
+    }
+
+    /**
+     * Checks if there are any key extractors
+     *
+     * @return True if packets may be coalesced
+     */
+    static boolean isActive() {
+        return !KEY_EXTRACTORS.isEmpty();
+    }
+
+    /**
+     * Creates a key extractor using the values of fields of the packet
+     *
+     * @param packetClass The NMS class of the packets
+     * @param fieldNames The names of the fields
+     *
+     * @return A key extractor for the packet class
+     *
+     * @throws ReflectionException if a field does not exist
+     */
+    static Function<Object, ?> fieldKeyExtractor(Class<?> packetClass, String... fieldNames) {
+        @SuppressWarnings("unchecked")
+        FieldAccessor<Object>[] accessors = new FieldAccessor[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            Field field = ReflectionUtil.getField(packetClass, new FieldPredicate().withName(fieldNames[i]))
+                    .getValueOrThrow("Couldn't find field " + fieldNames[i] + " in " + packetClass.getName());
+            accessors[i] = ReflectionUtil.accessor(field);
+        }
+
+        if (accessors.length == 1) {
+            return accessors[0]::get;
+        }
+        return packet -> {
+            Object[] values = new Object[accessors.length];
+            for (int i = 0; i < accessors.length; i++) {
+                values[i] = accessors[i].get(packet);
+            }
+            return Arrays.asList(values);
+        };
+    }
+
+    /**
+     * Adds a coalescer to a channel, if it has none yet
+     *
+     * @param channel The channel of a player
+     * @param injector The injector of the channel
+     */
+    static void install(Channel channel, PacketInjector injector) {
+        PipelineHandlers.install(
+                channel, PacketInjector.HANDLER_NAME, HANDLER_NAME,
+                existing -> existing instanceof PacketCoalescer && ((PacketCoalescer) existing).injector == injector,
+                () -> new PacketCoalescer(injector)
+        );
+    }
+
+    /**
+     * Removes the coalescer from a channel. Held back packets are sent.
+     *
+     * @param channel The channel
+     */
+    static void uninstall(Channel channel) {
+        PipelineHandlers.uninstall(channel, HANDLER_NAME, PacketCoalescer.class);
+    }
+
+    /**
+     * Starts sending the held back packets every tick, if it is not running
+     * yet
+     */
+    static synchronized void startFlushTask() {
+        if (flushTask != null) {
+            return;
+        }
+        flushTask = Bukkit.getScheduler().runTaskTimer(PerceiveCore.getInstance(), PacketCoalescer::flushAll, 1, 1);
+    }
+
+    /**
+     * Stops sending the held back packets every tick and sends them one last
+     * time
+     */
+    static void stopFlushTask() {
+        synchronized (PacketCoalescer.class) {
+            if (flushTask != null) {
+                flushTask.cancel();
+                flushTask = null;
+            }
+        }
+        flushAll();
+    }
+
+    /**
+     * Sends the held back packets of all channels
+     */
+    static void flushAll() {
+        for (Iterator<PacketCoalescer> iterator = SCHEDULED.iterator(); iterator.hasNext(); ) {
+            PacketCoalescer coalescer = iterator.next();
+            iterator.remove();
+            try {
+                coalescer.context.executor().execute(coalescer::flushPending);
+            } catch (RejectedExecutionException e) {
+                // the channel is gone, and the packets with it
+                LOGGER.log(Level.FINE, "Could not flush " + coalescer.context.channel(), e);
+            }
+        }
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext context) throws Exception {
+        this.context = context;
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext context) throws Exception {
+        SCHEDULED.remove(this);
+        flushPending();
+    }
+
+    @Override
+    public void write(ChannelHandlerContext context, Object packet, ChannelPromise promise) throws Exception {
+        Object key = getKey(packet);
+        if (key == null) {
+            super.write(context, packet, promise);
+            return;
+        }
+
+        PendingWrite superseded = pending.remove(new CoalescingKey(packet.getClass(), key));
+        if (superseded != null) {
+            ReferenceCountUtil.release(superseded.packet);
+            superseded.promise.trySuccess();
+        }
+        // at the position of the latest one
+        pending.put(new CoalescingKey(packet.getClass(), key), new PendingWrite(packet, promise));
+
+        if (!scheduled) {
+            scheduled = true;
+            SCHEDULED.add(this);
+        }
+    }
+
+    /**
+     * Sends the held back packets. Only call it on the event loop.
+     */
+    void flushPending() {
+        scheduled = false;
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (PendingWrite write : pending.values()) {
+            // through the injector, so the metrics know what they encode
+            injector.writeMeasured(context, write.packet, write.promise);
+        }
+        pending.clear();
+        context.flush();
+    }
+
+    /**
+     * @param packet The packet
+     *
+     * @return The key of the packet or null if it should be passed on
+     */
+    private static Object getKey(Object packet) {
+        if (packet == null || KEY_EXTRACTORS.isEmpty()) {
+            return null;
+        }
+        Function<Object, ?> keyExtractor = KEY_EXTRACTORS.get(packet.getClass());
+        if (keyExtractor == null) {
+            return null;
+        }
+        try {
+            return keyExtractor.apply(packet);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Error in a key extractor for " + packet.getClass().getName()
+                    + ". Nag the author of that plugin!", e);
+            return null;
+        }
+    }
+
+    /**
+     * The key of a packet, qualified by its class
+     */
+    private static final class CoalescingKey {
+        private final Class<?> packetClass;
+        private final Object key;
+
+        /**
+         * @param packetClass The class of the packet
+         * @param key The key extracted from it
+         */
+        private CoalescingKey(Class<?> packetClass, Object key) {
+            this.packetClass = packetClass;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CoalescingKey)) {
+                return false;
+            }
+            CoalescingKey that = (CoalescingKey) o;
+            return packetClass == that.packetClass && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * packetClass.hashCode() + key.hashCode();
+        }
+    }
+
+    /**
+     * A held back write
+     */
+    private static final class PendingWrite {
+        private final Object packet;
+        private final ChannelPromise promise;
+
+        /**
+         * @param packet The packet
+         * @param promise The promise of the write
+         */
+        private PendingWrite(Object packet, ChannelPromise promise) {
+            this.packet = packet;
+            this.promise = promise;
+        }
+    }
+}
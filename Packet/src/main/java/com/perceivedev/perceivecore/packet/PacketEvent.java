@@ -4,9 +4,14 @@ import org.bukkit.entity.Player;
 
 /**
  * A packet event
+ * <p>
+ * Events passed to a {@link PacketListener} are reused for the next packet of
+ * the same connection. Do not keep a reference to them after your listener
+ * returned, copy what you need instead.
  */
 public class PacketEvent {
 
+    private Object nmsPacket;
     private Packet packet;
     private Player player;
     private boolean cancelled;
@@ -25,11 +30,21 @@ public class PacketEvent {
     @SuppressWarnings("WeakerAccess")
     protected PacketEvent(Object packet, boolean cancelled, ConnectionDirection direction, Player player) {
         this.packet = Packet.createFromNMSPacket(packet);
+        this.nmsPacket = packet;
         this.cancelled = cancelled;
         this.direction = direction;
         this.player = player;
     }
 
+    /**
+     * Creates an empty event, to be filled by {@link #reset(Object, Player)}
+     *
+     * @param direction The direction the packets are travelling
+     */
+    PacketEvent(ConnectionDirection direction) {
+        this.direction = direction;
+    }
+
     /**
      * This is not cancelled
      *
@@ -44,16 +59,73 @@ public class PacketEvent {
         this(packet, false, direction, player);
     }
 
+    /**
+     * Reuses this event for another packet. It is not cancelled afterwards.
+     *
+     * @param nmsPacket The NMS packet. Must be a packet, this is not checked.
+     * @param player The involved Player
+     */
+    void reset(Object nmsPacket, Player player) {
+        this.nmsPacket = nmsPacket;
+        this.packet = null;
+        this.player = player;
+        this.cancelled = false;
+    }
+
+    /**
+     * Drops the references to the packet and player, once it was handled
+     */
+    void clear() {
+        this.nmsPacket = null;
+        this.packet = null;
+        this.player = null;
+    }
+
+    /**
+     * Checks if this event is currently used for a packet
+     *
+     * @return True if it is between {@link #reset(Object, Player)} and
+     * {@link #clear()}
+     */
+    boolean isInUse() {
+        return nmsPacket != null;
+    }
+
     /**
      * Returns the packet
+     * <p>
+     * The wrapper is created on the first call.
      *
      * @return The Packet
      */
     @SuppressWarnings("unused")
     public Packet getPacket() {
+        if (packet == null && nmsPacket != null) {
+            packet = Packet.wrapNMSPacket(nmsPacket);
+        }
         return packet;
     }
 
+    /**
+     * Returns the class of the NMS packet, without creating the
+     * {@link Packet} wrapper
+     *
+     * @return The class of the NMS packet
+     */
+    @SuppressWarnings("unused")
+    public Class<?> getPacketClass() {
+        return packet != null ? packet.getPacketClass() : nmsPacket.getClass();
+    }
+
+    /**
+     * Returns the NMS packet, without creating the {@link Packet} wrapper
+     *
+     * @return The NMS packet
+     */
+    Object getNMSPacket() {
+        return packet != null ? packet.getNMSPacket() : nmsPacket;
+    }
+
     /**
      * Sets the new packet
      *
@@ -97,8 +169,12 @@ public class PacketEvent {
 
     /**
      * Returns the involved Player
+     * <p>
+     * Global listeners also get the packets sent before the player joined,
+     * e.g. the handshake and login packets. There is no player for those.
      *
-     * @return The player that is involved.
+     * @return The player that is involved or null if the player has not
+     * joined yet
      */
     @SuppressWarnings("unused")
     public Player getPlayer() {
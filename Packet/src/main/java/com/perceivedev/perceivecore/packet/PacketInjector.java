@@ -1,69 +1,199 @@
 package com.perceivedev.perceivecore.packet;
 
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.channels.ClosedChannelException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.bukkit.entity.Player;
 
-import com.perceivedev.perceivecore.reflection.ReflectionUtil;
+import com.perceivedev.perceivecore.packet.PacketEvent.ConnectionDirection;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
 import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
 
 /**
  * A simple packet injector, to modify the packets sent and received
+ * <p>
+ * There is one injector per channel. It dispatches to the global listeners
+ * and to the listeners registered for its player. It is added as soon as the
+ * connection is accepted, so the global listeners also see the packets sent
+ * before the player joined, with a null player. The
+ * {@link AsyncPacketListener}s only see packets after the player joined.
  */
 class PacketInjector extends ChannelDuplexHandler {
 
     private static final Logger LOGGER = Logger.getLogger("PacketInjector");
 
-    private boolean isClosed;
-    private Channel channel;
-    private List<PacketListener> packetListeners = new ArrayList<>();
-    private WeakReference<Player> playerWeakReference;
+    /**
+     * The name of the handler in the pipeline
+     */
+    static final String HANDLER_NAME = "bukkitUtilsHandler";
+
+    private static final ListenerList GLOBAL_LISTENERS = new ListenerList();
+    private static final PacketListener[] NO_LISTENERS = new PacketListener[0];
+
+    private volatile boolean isClosed;
+    private final Channel channel;
+    private final Class<?> packetClass;
+    private final ListenerList packetListeners = new ListenerList();
+    private volatile WeakReference<Player> playerWeakReference = new WeakReference<>(null);
+    private final PacketMetrics.TrafficTable traffic = new PacketMetrics.TrafficTable();
+
+    // only touched on the channel's event loop
+    private final PacketEvent sendEvent = new PacketEvent(ConnectionDirection.TO_CLIENT);
+    private final PacketEvent receiveEvent = new PacketEvent(ConnectionDirection.TO_SERVER);
+    private ExecutorService asyncWorker;
+    private int pendingSent;
+    private int pendingReceived;
+    private boolean readingPaused;
+    private int receivedBytes;
+    private Class<?> writingClass;
 
     /**
      * Must be detached manually!
      *
-     * @param player The player to attach into
+     * @param channel The channel to attach to
+     * @param packetClass The base class of the packets. Everything else is
+     * passed on without notifying the listeners.
      */
-    PacketInjector(Player player) {
-        attach(player);
-        playerWeakReference = new WeakReference<>(player);
+    PacketInjector(Channel channel, Class<?> packetClass) {
+        this.channel = channel;
+        this.packetClass = packetClass;
     }
 
     /**
-     * Attaches to a player
+     * Returns the listeners receiving the packets of all channels
      *
-     * @param player The player to attach to
+     * @return The global listeners
      */
-    private void attach(Player player) {
+    static ListenerList getGlobalListeners() {
+        return GLOBAL_LISTENERS;
+    }
 
-        // Lengthy way of doing: ( (CraftPlayer) handle
-        // ).getHandle().playerConnection.networkManager.channel
-        Object playerConnection = PacketSender.getInstance().getConnection(player);
+    /**
+     * Returns the injector of a channel, attaching one if there is none yet
+     * <p>
+     * The channel's pipeline must already be set up by the server.
+     *
+     * @param channel The channel to attach to
+     *
+     * @return The injector of the channel
+     */
+    static PacketInjector inject(Channel channel) {
+        ChannelPipeline pipeline = channel.pipeline();
 
-        Object manager = ReflectionUtil
-                .getFieldValue("networkManager", playerConnection.getClass(), playerConnection)
-                .getValueOrThrow("Couldn't find networkManager field");
+        // the server channel hook and the join listener may try this at the same time
+        synchronized (pipeline) {
+            ChannelHandler existing = pipeline.get(HANDLER_NAME);
+            if (existing instanceof PacketInjector && !((PacketInjector) existing).isClosed()) {
+                return (PacketInjector) existing;
+            }
+
+            // remove old listener, if it wasn't properly cleared up (e.g. left over from a reload)
+            if (existing != null) {
+                pipeline.remove(HANDLER_NAME);
+            }
 
-        channel = (Channel) ReflectionUtil
-                .getFieldValue("channel", manager.getClass(), manager)
-                .getValueOrThrow("Couldn't find channel field");
+            PacketInjector injector = new PacketInjector(channel, Packet.getNMSPacketClass());
+            pipeline.addBefore("packet_handler", HANDLER_NAME, injector);
+            return injector;
+        }
+    }
+
+    /**
+     * Returns the injector of a player, attaching one if there is none yet
+     *
+     * @param player The player to attach to
+     *
+     * @return The injector of the player
+     */
+    static PacketInjector inject(Player player) {
+        Channel channel = PacketSender.getInstance().getChannel(player);
+        PacketInjector injector = inject(channel);
+        if (injector.getPlayer() != player) {
+            injector.setPlayer(player);
+            RawPacketHandler.install(channel, injector);
+            PacketSizeHandler.install(channel, injector);
+            if (PacketCoalescer.isActive()) {
+                PacketCoalescer.install(channel, injector);
+            }
+        }
+        return injector;
+    }
 
-        // remove old listener, if it wasn't properly cleared up
-        if (channel.pipeline().get("bukkitUtilsHandler") != null) {
-            // remove old
-            channel.pipeline().remove("bukkitUtilsHandler");
+    /**
+     * Returns the injector of a player, without attaching one
+     *
+     * @param player The player to get it for
+     *
+     * @return The injector of the player, if any
+     */
+    static Optional<PacketInjector> getInjector(Player player) {
+        ChannelHandler handler = PacketSender.getInstance().getChannel(player).pipeline().get(HANDLER_NAME);
+        if (handler instanceof PacketInjector && !((PacketInjector) handler).isClosed()) {
+            return Optional.of((PacketInjector) handler);
         }
+        return Optional.empty();
+    }
 
-        channel.pipeline().addBefore("packet_handler", "bukkitUtilsHandler", this);
+    /**
+     * Sets the player this channel belongs to. Until it is known, packets are
+     * only passed to the global listeners, with a null player.
+     *
+     * @param player The player
+     */
+    void setPlayer(Player player) {
+        playerWeakReference = new WeakReference<>(player);
+    }
+
+    /**
+     * Returns the player this channel belongs to
+     *
+     * @return The player or null if not yet known
+     */
+    Player getPlayer() {
+        return playerWeakReference.get();
+    }
+
+    /**
+     * Returns the traffic of this channel, see {@link PacketMetrics}
+     *
+     * @return The traffic of this channel
+     */
+    PacketMetrics.TrafficTable getTraffic() {
+        return traffic;
+    }
+
+    /**
+     * Sets the size of the packet the server is about to decode. Only call it
+     * on the event loop.
+     *
+     * @param bytes The size of the packet
+     */
+    void setReceivedBytes(int bytes) {
+        receivedBytes = bytes;
+    }
+
+    /**
+     * Records the size of the packet the server just encoded. Only call it on
+     * the event loop.
+     *
+     * @param bytes The size of the packet
+     */
+    void recordSentBytes(int bytes) {
+        if (writingClass != null) {
+            PacketMetrics.recordBytes(traffic, writingClass, ConnectionDirection.TO_CLIENT, bytes);
+        }
     }
 
     /**
@@ -74,13 +204,20 @@ class PacketInjector extends ChannelDuplexHandler {
             return;
         }
         isClosed = true;
-        channel.eventLoop().submit(() -> channel.pipeline().remove(this));
+        RawPacketHandler.uninstall(channel);
+        PacketSizeHandler.uninstall(channel);
+        PacketCoalescer.uninstall(channel);
+        channel.eventLoop().submit(() -> {
+            // it may have been replaced in the meantime
+            if (channel.pipeline().get(HANDLER_NAME) == this) {
+                channel.pipeline().remove(HANDLER_NAME);
+            }
+        });
 
         // clear references. Probably not needed, but I am not sure about the
         // channel.
         playerWeakReference.clear();
         packetListeners.clear();
-        channel = null;
     }
 
     /**
@@ -105,6 +242,12 @@ class PacketInjector extends ChannelDuplexHandler {
             throw new IllegalStateException("Channel already closed. Adding of listener invalid");
         }
         packetListeners.add(packetListener);
+
+        // detached in the meantime, do not keep it around
+        if (isClosed()) {
+            packetListeners.remove(packetListener);
+            throw new IllegalStateException("Channel already closed. Adding of listener invalid");
+        }
     }
 
     /**
@@ -116,6 +259,14 @@ class PacketInjector extends ChannelDuplexHandler {
         packetListeners.remove(packetListener);
     }
 
+    /**
+     * Removes all {@link PacketListener}s of this player. The global ones are
+     * not affected.
+     */
+    void removeAllPacketListeners() {
+        packetListeners.clear();
+    }
+
     /**
      * Returns the amount of listeners
      *
@@ -128,47 +279,302 @@ class PacketInjector extends ChannelDuplexHandler {
     @Override
     public void write(ChannelHandlerContext channelHandlerContext, Object packet, ChannelPromise channelPromise)
             throws Exception {
-        PacketEvent event = new PacketEvent(
-                packet,
-                PacketEvent.ConnectionDirection.TO_CLIENT,
-                playerWeakReference.get()
-        );
+        if (packetClass.isInstance(packet)) {
+            // the size is only known once the server encoded it
+            PacketMetrics.recordPacket(traffic, packet.getClass(), ConnectionDirection.TO_CLIENT, 0);
+        }
 
-        for (PacketListener packetListener : packetListeners) {
-            try {
-                packetListener.onPacketSend(event);
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING,
-                        "Error in a Packet Listener (send). Nag the author of that plugin!", e);
-            }
+        if (!dispatch(packet, ConnectionDirection.TO_CLIENT)) {
+            // cancelled, like in the async path
+            ReferenceCountUtil.release(packet);
+            channelPromise.trySuccess();
+            return;
         }
 
         // let it through
-        if (!event.isCancelled()) {
-            super.write(channelHandlerContext, packet, channelPromise);
+        if (!dispatchAsync(channelHandlerContext, packet, channelPromise, ConnectionDirection.TO_CLIENT)) {
+            writeMeasured(channelHandlerContext, packet, channelPromise);
         }
     }
 
     @Override
     public void channelRead(ChannelHandlerContext channelHandlerContext, Object packet) throws Exception {
-        PacketEvent event = new PacketEvent(
-                packet,
-                PacketEvent.ConnectionDirection.TO_SERVER,
-                playerWeakReference.get()
-        );
+        int bytes = receivedBytes;
+        receivedBytes = 0;
+        if (packetClass.isInstance(packet)) {
+            PacketMetrics.recordPacket(traffic, packet.getClass(), ConnectionDirection.TO_SERVER, bytes);
+        }
 
-        for (PacketListener packetListener : packetListeners) {
-            try {
-                packetListener.onPacketReceived(event);
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING,
-                        "Error in a Packet Listener (receive). Nag the author of that plugin!", e);
-            }
+        if (!dispatch(packet, ConnectionDirection.TO_SERVER)) {
+            // cancelled, like in the async path
+            ReferenceCountUtil.release(packet);
+            return;
         }
 
         // let it through
-        if (!event.isCancelled()) {
+        if (!dispatchAsync(channelHandlerContext, packet, null, ConnectionDirection.TO_SERVER)) {
             super.channelRead(channelHandlerContext, packet);
         }
     }
+
+    /**
+     * Passes a packet on to the server's encoder, so the
+     * {@link PacketSizeHandler} can attribute its size to the packet's class.
+     * Only call it on the event loop.
+     *
+     * @param context The context of the handler passing it on
+     * @param packet The packet
+     * @param promise The promise of the write
+     */
+    void writeMeasured(ChannelHandlerContext context, Object packet, ChannelPromise promise) {
+        Class<?> previous = writingClass;
+        writingClass = packetClass.isInstance(packet) ? packet.getClass() : null;
+        try {
+            context.write(packet, promise);
+        } finally {
+            writingClass = previous;
+        }
+    }
+
+    /**
+     * Passes a packet to the global listeners and the ones of this player,
+     * that are interested in its class
+     * <p>
+     * Before the player joined, e.g. for the handshake and login packets,
+     * the global listeners get it with a null player.
+     *
+     * @param packet The packet
+     * @param direction The direction it is travelling
+     *
+     * @return True if the packet should be passed on, false if it was
+     * cancelled
+     */
+    private boolean dispatch(Object packet, ConnectionDirection direction) {
+        // usually a decoded packet, but handlers of other plugins may pass raw buffers through
+        if (isClosed || !packetClass.isInstance(packet)) {
+            return true;
+        }
+
+        // null while still logging in, only global listeners can see those packets
+        Player player = playerWeakReference.get();
+
+        // most packets have no listener at all, so they should pass without creating anything
+        PacketListener[] globalListeners = GLOBAL_LISTENERS.get(packet.getClass());
+        PacketListener[] playerListeners = packetListeners.get(packet.getClass());
+        if (globalListeners.length == 0 && playerListeners.length == 0) {
+            return true;
+        }
+
+        // a listener may send a packet itself, which reaches this handler before the outer one is done
+        PacketEvent event = direction == ConnectionDirection.TO_CLIENT ? sendEvent : receiveEvent;
+        if (event.isInUse()) {
+            event = new PacketEvent(direction);
+        }
+        event.reset(packet, player);
+
+        try {
+            for (PacketListener packetListener : globalListeners) {
+                callListener(packetListener, event);
+            }
+            for (PacketListener packetListener : playerListeners) {
+                callListener(packetListener, event);
+            }
+
+            return !event.isCancelled();
+        } finally {
+            event.clear();
+        }
+    }
+
+    /**
+     * Hands a packet to the {@link AsyncPacketListener}s interested in it.
+     * <p>
+     * While packets of a direction are waiting for them, all later ones of
+     * that direction have to wait too, even if no async listener is
+     * interested in them. Otherwise they would overtake the waiting ones.
+     * <p>
+     * If the queue is full, the {@link AsyncPacketListener.OverflowPolicy}
+     * only applies to packets an async listener is interested in, all others
+     * still wait in order. Received packets are never dropped, reading from
+     * the channel is paused instead, until the queue drained.
+     *
+     * @param context The context of this handler
+     * @param packet The packet
+     * @param promise The promise of the write. Null for received packets.
+     * @param direction The direction it is travelling
+     *
+     * @return True if the packet was taken and will be passed on later (or
+     * was dropped), false if it should be passed on now
+     */
+    private boolean dispatchAsync(ChannelHandlerContext context, Object packet, ChannelPromise promise,
+                                  ConnectionDirection direction) {
+        Player player = playerWeakReference.get();
+        PacketListener[] listeners = isClosed || player == null || !packetClass.isInstance(packet)
+                ? NO_LISTENERS
+                : AsyncPacketProcessor.getListeners().get(packet.getClass());
+
+        int pending = direction == ConnectionDirection.TO_CLIENT ? pendingSent : pendingReceived;
+        if (listeners.length == 0 && pending == 0) {
+            return false;
+        }
+
+        if (listeners.length > 0 && direction == ConnectionDirection.TO_CLIENT
+                && pending >= AsyncPacketProcessor.getQueueCapacity()) {
+            switch (AsyncPacketProcessor.getOverflowPolicy()) {
+                case SKIP_LISTENERS:
+                    // it still waits for the queued ones, to keep the order
+                    listeners = NO_LISTENERS;
+                    break;
+                case DROP:
+                    ReferenceCountUtil.release(packet);
+                    // dropping it is the configured behaviour, like a cancelled packet
+                    promise.trySuccess();
+                    return true;
+                case DISCONNECT:
+                default:
+                    LOGGER.warning("Too many packets waiting for async listeners, disconnecting " + channel);
+                    context.close();
+                    ReferenceCountUtil.release(packet);
+                    promise.tryFailure(new ClosedChannelException());
+                    return true;
+            }
+        }
+
+        PacketListener[] calledListeners = listeners;
+        Runnable task = () -> {
+            boolean passOn = true;
+            try {
+                passOn = calledListeners.length == 0
+                        || callAsyncListeners(calledListeners, packet, direction, player);
+            } finally {
+                // even if a listener threw an error, or all later packets would wait forever
+                passOnAsync(context, packet, promise, direction, passOn);
+            }
+        };
+
+        try {
+            if (asyncWorker == null || asyncWorker.isShutdown()) {
+                asyncWorker = AsyncPacketProcessor.getWorker(channel);
+            }
+            asyncWorker.execute(task);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+            return false;
+        }
+        addPending(direction, 1);
+        return true;
+    }
+
+    /**
+     * Passes a packet on, once the async listeners are done with it. Runs on a
+     * worker thread.
+     *
+     * @param context The context of this handler
+     * @param packet The packet
+     * @param promise The promise of the write. Null for received packets.
+     * @param direction The direction it is travelling
+     * @param passOn Whether to pass it on. False if it was cancelled.
+     */
+    private void passOnAsync(ChannelHandlerContext context, Object packet, ChannelPromise promise,
+                             ConnectionDirection direction, boolean passOn) {
+        try {
+            context.executor().execute(() -> {
+                addPending(direction, -1);
+                if (!passOn) {
+                    ReferenceCountUtil.release(packet);
+                    if (promise != null) {
+                        promise.trySuccess();
+                    }
+                }
+                else if (direction == ConnectionDirection.TO_CLIENT) {
+                    // the flush for it has already passed
+                    writeMeasured(context, packet, promise);
+                    context.flush();
+                }
+                else {
+                    context.fireChannelRead(packet);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the channel is gone
+            ReferenceCountUtil.release(packet);
+            if (promise != null) {
+                promise.tryFailure(new ClosedChannelException());
+            }
+        }
+    }
+
+    /**
+     * Changes the amount of packets waiting for async listeners. Only call it
+     * on the event loop.
+     * <p>
+     * Pauses reading from the channel while the queue of received packets is
+     * full, and resumes once it is half empty.
+     *
+     * @param direction The direction of the packets
+     * @param delta The change
+     */
+    private void addPending(ConnectionDirection direction, int delta) {
+        if (direction == ConnectionDirection.TO_CLIENT) {
+            pendingSent += delta;
+            return;
+        }
+        pendingReceived += delta;
+
+        int capacity = AsyncPacketProcessor.getQueueCapacity();
+        if (!readingPaused && pendingReceived >= capacity && channel.config().isAutoRead()) {
+            readingPaused = true;
+            channel.config().setAutoRead(false);
+        }
+        else if (readingPaused && pendingReceived <= capacity / 2) {
+            readingPaused = false;
+            channel.config().setAutoRead(true);
+        }
+    }
+
+    /**
+     * Calls the async listeners for a packet. Runs on a worker thread.
+     *
+     * @param listeners The listeners
+     * @param packet The packet
+     * @param direction The direction it is travelling
+     * @param player The involved Player
+     *
+     * @return True if the packet should be passed on, false if it was
+     * cancelled
+     */
+    private static boolean callAsyncListeners(PacketListener[] listeners, Object packet,
+                                              ConnectionDirection direction, Player player) {
+        // it escapes the event loop, so no reuse here
+        PacketEvent event = new PacketEvent(direction);
+        event.reset(packet, player);
+        for (PacketListener listener : listeners) {
+            callListener(listener, event);
+        }
+        return !event.isCancelled();
+    }
+
+    /**
+     * Notifies a listener of an event, according to its direction
+     *
+     * @param packetListener The listener to notify
+     * @param event The event
+     */
+    private static void callListener(PacketListener packetListener, PacketEvent event) {
+        long start = PacketMetrics.startTiming();
+        try {
+            if (event.getDirection() == ConnectionDirection.TO_CLIENT) {
+                packetListener.onPacketSend(event);
+            }
+            else {
+                packetListener.onPacketReceived(event);
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING,
+                    "Error in a Packet Listener (" + (event.getDirection() == ConnectionDirection.TO_CLIENT
+                            ? "send" : "receive") + "). Nag the author of that plugin!", e);
+        } finally {
+            PacketMetrics.recordListener(packetListener, start);
+        }
+    }
 }
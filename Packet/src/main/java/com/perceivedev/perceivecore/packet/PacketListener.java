@@ -1,5 +1,8 @@
 package com.perceivedev.perceivecore.packet;
 
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * Listens for a Packet
  */
@@ -18,4 +21,19 @@ public interface PacketListener {
      * @param packetEvent The {@link PacketEvent}
      */
     void onPacketSend(PacketEvent packetEvent);
+
+    /**
+     * Returns the NMS packet classes this listener wants to receive. Sub
+     * classes of them are included.
+     * <p>
+     * Packets of other classes are not passed to this listener at all, which
+     * is a lot cheaper than checking the class in the listener. This is only
+     * queried when the listener is registered.
+     *
+     * @return The packet classes this listener wants to receive. Empty for all
+     * packets.
+     */
+    default Collection<Class<?>> getPacketClasses() {
+        return Collections.emptySet();
+    }
 }
@@ -1,33 +1,33 @@
 package com.perceivedev.perceivecore.packet;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.plugin.Plugin;
 
 import com.perceivedev.perceivecore.coreplugin.PerceiveCore;
+import com.perceivedev.perceivecore.reflection.ReflectionException;
 
 /**
  * Manages PacketListeners and stuff
  * <p>
- * This Manager removes the listeners when the Player leaves. You do not need to
- * keep track of that!
+ * Listeners are either global, receiving the packets of every player, or
+ * registered for a single player. Every connection is injected once, when it
+ * is opened. Player listeners are gone when the Player leaves. You do not need
+ * to keep track of that!
  */
 public class PacketManager implements Listener {
 
     private static PacketManager instance;
 
-    private final Map<UUID, PacketInjector> injectorMap = new HashMap<>();
+    private final ServerChannelHook serverChannelHook = new ServerChannelHook();
 
     {
         PerceiveCore.getInstance().getDisableManager().addListener(() -> {
@@ -43,33 +43,200 @@ public class PacketManager implements Listener {
      */
     private PacketManager(Plugin plugin) {
         Bukkit.getPluginManager().registerEvents(this, plugin);
+
+        serverChannelHook.hook();
+
+        // they connected before the hook existed
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            PacketInjector.inject(player);
+        }
+    }
+
+    /**
+     * Adds a packet listener receiving the packets of all players
+     * <p>
+     * Adding a listener twice has no effect. {@link AsyncPacketListener}s are
+     * called on a worker thread.
+     * <p>
+     * It also gets the packets sent before a player joined, e.g. the login
+     * packets. {@link PacketEvent#getPlayer()} is null for those. Async
+     * listeners only get the packets after the player joined.
+     *
+     * @param listener The {@link PacketListener} to add
+     *
+     * @throws NullPointerException if listener is null
+     */
+    @SuppressWarnings("unused")
+    public void addGlobalListener(PacketListener listener) {
+        Objects.requireNonNull(listener, "listener can not be null");
+
+        if (listener instanceof AsyncPacketListener) {
+            AsyncPacketProcessor.getListeners().add(listener);
+        }
+        else {
+            PacketInjector.getGlobalListeners().add(listener);
+        }
+    }
+
+    /**
+     * Removes a packet listener added via {@link #addGlobalListener(PacketListener)}
+     *
+     * @param listener The {@link PacketListener} to remove
+     *
+     * @throws NullPointerException if listener is null
+     */
+    @SuppressWarnings("unused")
+    public void removeGlobalListener(PacketListener listener) {
+        Objects.requireNonNull(listener, "listener can not be null");
+
+        PacketInjector.getGlobalListeners().remove(listener);
+        AsyncPacketProcessor.getListeners().remove(listener);
+    }
+
+    /**
+     * Adds a listener for received packets, called before they are decoded
+     * <p>
+     * Adding a listener twice has no effect.
+     *
+     * @param listener The {@link RawPacketListener} to add
+     *
+     * @throws NullPointerException if listener is null
+     */
+    @SuppressWarnings("unused")
+    public void addRawListener(RawPacketListener listener) {
+        RawPacketHandler.addListener(listener);
+    }
+
+    /**
+     * Removes a listener added via {@link #addRawListener(RawPacketListener)}
+     *
+     * @param listener The {@link RawPacketListener} to remove
+     */
+    @SuppressWarnings("unused")
+    public void removeRawListener(RawPacketListener listener) {
+        RawPacketHandler.removeListener(listener);
+    }
+
+    /**
+     * Sets the maximum amount of packets per player and direction, that may
+     * wait for {@link AsyncPacketListener}s. Defaults to 1024.
+     *
+     * @param capacity The maximum amount of waiting packets
+     *
+     * @throws IllegalArgumentException if capacity is smaller than 1
+     */
+    @SuppressWarnings("unused")
+    public void setAsyncQueueCapacity(int capacity) {
+        AsyncPacketProcessor.setQueueCapacity(capacity);
+    }
+
+    /**
+     * Sets what happens to sent packets an async listener is interested in,
+     * if the queue of their player is full. Defaults to
+     * {@link AsyncPacketListener.OverflowPolicy#DISCONNECT}.
+     *
+     * @param overflowPolicy The {@link AsyncPacketListener.OverflowPolicy}
+     *
+     * @throws NullPointerException if overflowPolicy is null
+     * @see #setAsyncQueueCapacity(int)
+     */
+    @SuppressWarnings("unused")
+    public void setAsyncOverflowPolicy(AsyncPacketListener.OverflowPolicy overflowPolicy) {
+        AsyncPacketProcessor.setOverflowPolicy(overflowPolicy);
+    }
+
+    /**
+     * Coalesces the sent packets of a class: of all packets with an equal key
+     * sent to a player in one tick, only the last one is sent. They are held
+     * back until the end of the tick.
+     * <p>
+     * Packets the extractor returns null for are sent right away, so the held
+     * back ones may arrive after them. Only use it for packets carrying a full
+     * state, e.g. entity metadata or an actionbar. Listeners still see every
+     * packet.
+     *
+     * @param packetClass The NMS class of the packets. Subclasses are not
+     * affected.
+     * @param keyExtractor Extracts the key from an NMS packet. Called on the
+     * netty threads.
+     *
+     * @throws NullPointerException if any parameter is null
+     */
+    @SuppressWarnings("WeakerAccess")
+    public void setCoalescingKey(Class<?> packetClass, Function<Object, ?> keyExtractor) {
+        boolean wasActive = PacketCoalescer.isActive();
+        PacketCoalescer.setKeyExtractor(packetClass, keyExtractor);
+
+        if (!wasActive) {
+            PacketCoalescer.startFlushTask();
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                PacketInjector injector = PacketInjector.inject(player);
+                PacketCoalescer.install(PacketSender.getInstance().getChannel(player), injector);
+            }
+        }
+    }
+
+    /**
+     * Coalesces the sent packets of a class, using the values of some of
+     * their fields as the key
+     *
+     * @param packetClass The NMS class of the packets
+     * @param fieldNames The names of the fields making up the key
+     *
+     * @throws NullPointerException if packetClass is null
+     * @throws ReflectionException  if a field does not exist
+     * @see #setCoalescingKey(Class, Function)
+     */
+    @SuppressWarnings("unused")
+    public void setCoalescingKey(Class<?> packetClass, String... fieldNames) {
+        Objects.requireNonNull(packetClass, "packetClass can not be null");
+
+        setCoalescingKey(packetClass, PacketCoalescer.fieldKeyExtractor(packetClass, fieldNames));
+    }
+
+    /**
+     * Stops coalescing the sent packets of a class
+     * <p>
+     * Once no class is coalesced anymore, the held back packets are sent and
+     * the coalescers are removed from the connections.
+     *
+     * @param packetClass The NMS class of the packets
+     *
+     * @see #setCoalescingKey(Class, Function)
+     */
+    @SuppressWarnings("unused")
+    public void removeCoalescingKey(Class<?> packetClass) {
+        PacketCoalescer.removeKeyExtractor(packetClass);
+
+        if (!PacketCoalescer.isActive()) {
+            PacketCoalescer.stopFlushTask();
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                PacketCoalescer.uninstall(PacketSender.getInstance().getChannel(player));
+            }
+        }
     }
 
     /**
      * Adds a packet listener
+     * <p>
+     * Adding a listener twice has no effect.
      *
      * @param listener The {@link PacketListener} to add
      * @param player The Player to listen for
      *
-     * @throws NullPointerException if any parameter is null
+     * @throws NullPointerException     if any parameter is null
+     * @throws IllegalArgumentException if the listener is an
+     *                                  {@link AsyncPacketListener}
      */
     @SuppressWarnings("unused")
     public void addListener(PacketListener listener, Player player) {
         Objects.requireNonNull(listener, "listener can not be null");
         Objects.requireNonNull(player, "player can not be null");
-
-        // no modifications during checks or the result may be wrong! (it
-        // changes depending on the current state)
-        synchronized (injectorMap) {
-            if (injectorMap.containsKey(player.getUniqueId())) {
-                injectorMap.get(player.getUniqueId()).addPacketListener(listener);
-            }
-            else {
-                PacketInjector injector = new PacketInjector(player);
-                injector.addPacketListener(listener);
-                injectorMap.put(player.getUniqueId(), injector);
-            }
+        if (listener instanceof AsyncPacketListener) {
+            throw new IllegalArgumentException("Async listeners can only be added as global listeners");
         }
+
+        PacketInjector.inject(player).addPacketListener(listener);
     }
 
     /**
@@ -85,23 +252,13 @@ public class PacketManager implements Listener {
         Objects.requireNonNull(listener, "listener can not be null");
         Objects.requireNonNull(player, "player can not be null");
 
-        // no modifications during checks or the result may be wrong! (it
-        // changes depending on the current state)
-        synchronized (injectorMap) {
-            if (!injectorMap.containsKey(player.getUniqueId())) {
-                return;
-            }
-            PacketInjector injector = injectorMap.get(player.getUniqueId());
-            injector.removePacketListener(listener);
-            if (injector.getListenerAmount() < 1) {
-                injector.detach();
-                injectorMap.remove(player.getUniqueId());
-            }
-        }
+        PacketInjector.getInjector(player).ifPresent(injector -> injector.removePacketListener(listener));
     }
 
     /**
      * Removes <b>all</b> listeners from a player
+     * <p>
+     * Global listeners are not affected.
      *
      * @param uuid The {@link UUID} of the Player to remove all listeners for
      *
@@ -111,33 +268,35 @@ public class PacketManager implements Listener {
     public void removeAllListeners(UUID uuid) {
         Objects.requireNonNull(uuid, "uuid can not be null");
 
-        // no modifications during checks or the result may be wrong! (it
-        // changes depending on the current state)
-        synchronized (injectorMap) {
-            if (injectorMap.containsKey(uuid)) {
-                injectorMap.get(uuid).detach();
-                injectorMap.remove(uuid);
-            }
+        Player player = Bukkit.getPlayer(uuid);
+        if (player != null) {
+            PacketInjector.getInjector(player).ifPresent(PacketInjector::removeAllPacketListeners);
         }
     }
 
     /**
-     * <i>Removes <b>ALL</b> listeners</i>
+     * <i>Removes <b>ALL</b> listeners</i> and detaches from all connections
      * <p>
      * Use with caution or not at all.
      */
     private void removeAll() {
-        synchronized (injectorMap) {
-            // clone to avoid concurrent modification
-            Set<UUID> keys = new HashSet<>(injectorMap.keySet());
-            keys.forEach(this::removeAllListeners);
+        PacketInjector.getGlobalListeners().clear();
+        AsyncPacketProcessor.getListeners().clear();
+        AsyncPacketProcessor.shutdown();
+        RawPacketHandler.clearListeners();
+        PacketCoalescer.clearKeyExtractors();
+        PacketCoalescer.stopFlushTask();
+        serverChannelHook.unhook();
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            PacketInjector.getInjector(player).ifPresent(PacketInjector::detach);
         }
     }
 
-    @EventHandler(priority = EventPriority.MONITOR)
-    public void onLeave(PlayerQuitEvent event) {
-        // clean up
-        removeAllListeners(event.getPlayer().getUniqueId());
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        // already injected by the server channel hook, if it could hook in. It just doesn't know the player.
+        PacketInjector.inject(event.getPlayer());
     }
 
     /**
@@ -0,0 +1,705 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import com.perceivedev.perceivecore.packet.PacketEvent.ConnectionDirection;
+
+/**
+ * Counts the packets and bytes passing the {@link PacketInjector}s and times
+ * the {@link PacketListener}s.
+ * <p>
+ * Traffic is counted per packet class and direction, for every player and for
+ * the whole server. The bytes are the size of the packets without compression
+ * and length prefix, as the server encodes them. Listener calls are counted per
+ * listener class, with a histogram of their durations.
+ * <p>
+ * It is enabled by default and cheap enough to stay enabled: the counters are
+ * striped, so the netty threads do not contend on them. Disable it with
+ * {@link #setEnabled(boolean)} or the system property
+ * {@value #DISABLE_PROPERTY}.
+ * <p>
+ * All values are cumulative. To get rates, take two snapshots and use
+ * {@link Snapshot#since(Snapshot)}.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class PacketMetrics {
+
+    /**
+     * The system property disabling the metrics at startup
+     */
+    public static final String DISABLE_PROPERTY = "perceivecore.packet.metrics.disable";
+
+    /**
+     * The amount of histogram buckets. Bucket {@code i} holds the calls taking
+     * {@code [2^i, 2^(i+1))} nanoseconds, the last one everything longer.
+     */
+    public static final int BUCKET_AMOUNT = 32;
+
+    /**
+     * Returned by {@link #startTiming()} if the metrics are disabled
+     */
+    private static final long DISABLED = Long.MIN_VALUE;
+
+    private static final TrafficTable GLOBAL_TRAFFIC = new TrafficTable();
+    private static final ConcurrentMap<Class<?>, Timings> LISTENER_TIMINGS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = !Boolean.getBoolean(DISABLE_PROPERTY);
+
+    private PacketMetrics() {
+    }
+
+    /**
+     * Checks whether the metrics are enabled
+     *
+     * @return True if the metrics are enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the metrics. Collected data is kept when disabling.
+     *
+     * @param enabled Whether the metrics should be enabled
+     */
+    public static void setEnabled(boolean enabled) {
+        PacketMetrics.enabled = enabled;
+    }
+
+    /**
+     * Sets all counters back to zero, including the ones of the online players
+     */
+    public static void reset() {
+        GLOBAL_TRAFFIC.reset();
+        LISTENER_TIMINGS.clear();
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            PacketInjector.getInjector(player).ifPresent(injector -> injector.getTraffic().reset());
+        }
+    }
+
+    /**
+     * Returns the traffic of the whole server and the listener timings
+     *
+     * @return A snapshot of the current values
+     */
+    public static Snapshot snapshot() {
+        return GLOBAL_TRAFFIC.snapshot(true);
+    }
+
+    /**
+     * Returns the traffic of a single player. It contains no listener
+     * timings, as those are not kept per player.
+     *
+     * @param player The player to get it for
+     *
+     * @return A snapshot of the current values, if the player is injected
+     *
+     * @throws NullPointerException if player is null
+     */
+    public static Optional<Snapshot> snapshot(Player player) {
+        Objects.requireNonNull(player, "player can not be null");
+
+        return PacketInjector.getInjector(player).map(injector -> injector.getTraffic().snapshot(false));
+    }
+
+    /**
+     * Records a packet
+     *
+     * @param playerTraffic The traffic of the connection
+     * @param packetClass The class of the packet
+     * @param direction The direction it is travelling
+     * @param bytes The size of the packet. 0 if not known (yet).
+     */
+    static void recordPacket(TrafficTable playerTraffic, Class<?> packetClass, ConnectionDirection direction,
+                             int bytes) {
+        if (!enabled) {
+            return;
+        }
+        GLOBAL_TRAFFIC.add(packetClass, direction, 1, bytes);
+        playerTraffic.add(packetClass, direction, 1, bytes);
+    }
+
+    /**
+     * Records the size of a packet, that was already recorded via
+     * {@link #recordPacket(TrafficTable, Class, ConnectionDirection, int)}
+     *
+     * @param playerTraffic The traffic of the connection
+     * @param packetClass The class of the packet
+     * @param direction The direction it is travelling
+     * @param bytes The size of the packet
+     */
+    static void recordBytes(TrafficTable playerTraffic, Class<?> packetClass, ConnectionDirection direction,
+                            int bytes) {
+        if (!enabled) {
+            return;
+        }
+        GLOBAL_TRAFFIC.add(packetClass, direction, 0, bytes);
+        playerTraffic.add(packetClass, direction, 0, bytes);
+    }
+
+    /**
+     * Starts timing a listener call
+     *
+     * @return The start time, to pass to {@link #recordListener(PacketListener, long)}
+     */
+    static long startTiming() {
+        return enabled ? System.nanoTime() : DISABLED;
+    }
+
+    /**
+     * Records a listener call
+     *
+     * @param listener The listener that was called
+     * @param start The value returned by {@link #startTiming()}
+     */
+    static void recordListener(PacketListener listener, long start) {
+        if (start == DISABLED) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+
+        Class<?> listenerClass = listener.getClass();
+        Timings timings = LISTENER_TIMINGS.get(listenerClass);
+        if (timings == null) {
+            timings = new Timings();
+            Timings existing = LISTENER_TIMINGS.putIfAbsent(listenerClass, timings);
+            if (existing != null) {
+                timings = existing;
+            }
+        }
+        timings.record(duration);
+    }
+
+    /**
+     * @param nanos A duration in nanoseconds
+     *
+     * @return The index of the histogram bucket it belongs to
+     */
+    static int bucketOf(long nanos) {
+        if (nanos <= 1) {
+            return 0;
+        }
+        return Math.min(BUCKET_AMOUNT - 1, 63 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * The traffic of a connection or the whole server
+     */
+    static final class TrafficTable {
+        private final ConcurrentMap<Class<?>, Counter> sent = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<?>, Counter> received = new ConcurrentHashMap<>();
+        private volatile long start = System.nanoTime();
+
+        /**
+         * Adds to the counters of a packet class
+         *
+         * @param packetClass The class of the packet
+         * @param direction The direction it is travelling
+         * @param packets The amount of packets to add
+         * @param bytes The amount of bytes to add
+         */
+        private void add(Class<?> packetClass, ConnectionDirection direction, int packets, int bytes) {
+            ConcurrentMap<Class<?>, Counter> counters = direction == ConnectionDirection.TO_CLIENT ? sent : received;
+            Counter counter = counters.get(packetClass);
+            if (counter == null) {
+                counter = new Counter();
+                Counter existing = counters.putIfAbsent(packetClass, counter);
+                if (existing != null) {
+                    counter = existing;
+                }
+            }
+            if (packets != 0) {
+                counter.packets.add(packets);
+            }
+            if (bytes != 0) {
+                counter.bytes.add(bytes);
+            }
+        }
+
+        /**
+         * Sets all counters back to zero
+         */
+        void reset() {
+            sent.clear();
+            received.clear();
+            start = System.nanoTime();
+        }
+
+        /**
+         * @param withListeners Whether to include the listener timings
+         *
+         * @return A snapshot of the current values
+         */
+        Snapshot snapshot(boolean withListeners) {
+            long now = System.nanoTime();
+            List<TrafficEntry> traffic = new ArrayList<>(sent.size() + received.size());
+            sent.forEach((packetClass, counter) -> traffic.add(counter.toEntry(
+                    packetClass, ConnectionDirection.TO_CLIENT, now - start
+            )));
+            received.forEach((packetClass, counter) -> traffic.add(counter.toEntry(
+                    packetClass, ConnectionDirection.TO_SERVER, now - start
+            )));
+
+            List<ListenerEntry> listeners = new ArrayList<>();
+            if (withListeners) {
+                LISTENER_TIMINGS.forEach((listenerClass, timings) -> listeners.add(timings.toEntry(
+                        listenerClass, now - start
+                )));
+            }
+            return new Snapshot(now, now - start, traffic, listeners);
+        }
+    }
+
+    /**
+     * The traffic counters of a packet class
+     */
+    private static final class Counter {
+        private final LongAdder packets = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        /**
+         * @param packetClass The class of the packet
+         * @param direction The direction it is travelling
+         * @param durationNanos The time span it was counted in
+         *
+         * @return The current values
+         */
+        private TrafficEntry toEntry(Class<?> packetClass, ConnectionDirection direction, long durationNanos) {
+            return new TrafficEntry(packetClass, direction, packets.sum(), bytes.sum(), durationNanos);
+        }
+    }
+
+    /**
+     * The timings of a listener class
+     */
+    private static final class Timings {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[BUCKET_AMOUNT];
+
+        {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * @param duration The duration of a call in nanoseconds
+         */
+        private void record(long duration) {
+            calls.increment();
+            nanos.add(duration);
+            buckets[bucketOf(duration)].increment();
+        }
+
+        /**
+         * @param listenerClass The class of the listener
+         * @param durationNanos The time span it was counted in
+         *
+         * @return The current values
+         */
+        private ListenerEntry toEntry(Class<?> listenerClass, long durationNanos) {
+            long[] values = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                values[i] = buckets[i].sum();
+            }
+            return new ListenerEntry(listenerClass, calls.sum(), nanos.sum(), values, durationNanos);
+        }
+    }
+
+    /**
+     * The values at one point in time, or the difference between two
+     */
+    public static final class Snapshot {
+        private final long timestamp;
+        private final long durationNanos;
+        private final List<TrafficEntry> traffic;
+        private final List<ListenerEntry> listeners;
+
+        /**
+         * @param timestamp The {@link System#nanoTime()} it was taken at
+         * @param durationNanos The time span the traffic was counted in
+         * @param traffic The traffic per packet class and direction
+         * @param listeners The timings per listener class
+         */
+        private Snapshot(long timestamp, long durationNanos, List<TrafficEntry> traffic,
+                         List<ListenerEntry> listeners) {
+            this.timestamp = timestamp;
+            this.durationNanos = durationNanos;
+            this.traffic = traffic;
+            this.listeners = listeners;
+
+            traffic.sort(Comparator.comparingLong(TrafficEntry::getBytes)
+                    .thenComparingLong(TrafficEntry::getPackets)
+                    .reversed());
+            listeners.sort(Comparator.comparingLong(ListenerEntry::getTotalNanos).reversed());
+        }
+
+        /**
+         * @return The {@link System#nanoTime()} it was taken at
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * @return The time span the traffic was counted in, in nanoseconds
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * @return The traffic per packet class and direction, sorted by bytes
+         * in descending order. Unmodifiable.
+         */
+        public List<TrafficEntry> getTraffic() {
+            return Collections.unmodifiableList(traffic);
+        }
+
+        /**
+         * Returns the traffic of all packet classes in a direction
+         *
+         * @param direction The direction
+         *
+         * @return The summed up traffic. Its packet class is null.
+         */
+        public TrafficEntry getTotal(ConnectionDirection direction) {
+            long packets = 0;
+            long bytes = 0;
+            for (TrafficEntry entry : traffic) {
+                if (entry.getDirection() == direction) {
+                    packets += entry.getPackets();
+                    bytes += entry.getBytes();
+                }
+            }
+            return new TrafficEntry(null, direction, packets, bytes, durationNanos);
+        }
+
+        /**
+         * @return The timings per listener class, sorted by their total time in
+         * descending order. Unmodifiable.
+         */
+        public List<ListenerEntry> getListeners() {
+            return Collections.unmodifiableList(listeners);
+        }
+
+        /**
+         * Returns what happened between an earlier snapshot and this one
+         * <p>
+         * Packet and listener classes that saw nothing in between are left
+         * out.
+         *
+         * @param earlier The earlier snapshot, of the same player or the
+         * server
+         *
+         * @return The difference between the two
+         *
+         * @throws NullPointerException if earlier is null
+         */
+        public Snapshot since(Snapshot earlier) {
+            Objects.requireNonNull(earlier, "earlier can not be null");
+
+            long duration = timestamp - earlier.timestamp;
+
+            // reset in between, the values are not comparable
+            if (durationNanos < duration) {
+                return this;
+            }
+
+            Map<List<Object>, TrafficEntry> earlierTraffic = new HashMap<>();
+            for (TrafficEntry entry : earlier.traffic) {
+                earlierTraffic.put(Arrays.asList(entry.getPacketClass(), entry.getDirection()), entry);
+            }
+            List<TrafficEntry> trafficDelta = new ArrayList<>(traffic.size());
+            for (TrafficEntry entry : traffic) {
+                TrafficEntry old = earlierTraffic.get(Arrays.asList(entry.getPacketClass(), entry.getDirection()));
+                TrafficEntry delta = old == null ? entry.withDuration(duration) : entry.minus(old, duration);
+                if (delta.getPackets() != 0 || delta.getBytes() != 0) {
+                    trafficDelta.add(delta);
+                }
+            }
+
+            Map<Class<?>, ListenerEntry> earlierListeners = new HashMap<>();
+            for (ListenerEntry entry : earlier.listeners) {
+                earlierListeners.put(entry.getListenerClass(), entry);
+            }
+            List<ListenerEntry> listenerDelta = new ArrayList<>(listeners.size());
+            for (ListenerEntry entry : listeners) {
+                ListenerEntry old = earlierListeners.get(entry.getListenerClass());
+                ListenerEntry delta = old == null ? entry.withDuration(duration) : entry.minus(old, duration);
+                if (delta.getCalls() != 0) {
+                    listenerDelta.add(delta);
+                }
+            }
+
+            return new Snapshot(timestamp, duration, trafficDelta, listenerDelta);
+        }
+    }
+
+    /**
+     * The traffic of a packet class in one direction
+     */
+    public static final class TrafficEntry {
+        private final Class<?> packetClass;
+        private final ConnectionDirection direction;
+        private final long packets;
+        private final long bytes;
+        private final long durationNanos;
+
+        /**
+         * @param packetClass The class of the packets
+         * @param direction The direction they travelled
+         * @param packets The amount of packets
+         * @param bytes The amount of bytes
+         * @param durationNanos The time span they were counted in
+         */
+        private TrafficEntry(Class<?> packetClass, ConnectionDirection direction, long packets, long bytes,
+                             long durationNanos) {
+            this.packetClass = packetClass;
+            this.direction = direction;
+            this.packets = packets;
+            this.bytes = bytes;
+            this.durationNanos = durationNanos;
+        }
+
+        /**
+         * @return The class of the packets. Null for totals.
+         */
+        public Class<?> getPacketClass() {
+            return packetClass;
+        }
+
+        /**
+         * @return The direction they travelled
+         */
+        public ConnectionDirection getDirection() {
+            return direction;
+        }
+
+        /**
+         * @return The amount of packets
+         */
+        public long getPackets() {
+            return packets;
+        }
+
+        /**
+         * @return The amount of bytes, without compression
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return The packets per second over the counted time span
+         */
+        public double getPacketsPerSecond() {
+            return perSecond(packets, durationNanos);
+        }
+
+        /**
+         * @return The bytes per second over the counted time span
+         */
+        public double getBytesPerSecond() {
+            return perSecond(bytes, durationNanos);
+        }
+
+        /**
+         * @param durationNanos The new time span
+         *
+         * @return This entry with another time span
+         */
+        private TrafficEntry withDuration(long durationNanos) {
+            return new TrafficEntry(packetClass, direction, packets, bytes, durationNanos);
+        }
+
+        /**
+         * @param earlier The entry of an earlier snapshot
+         * @param durationNanos The time span between the two
+         *
+         * @return The difference
+         */
+        private TrafficEntry minus(TrafficEntry earlier, long durationNanos) {
+            return new TrafficEntry(packetClass, direction,
+                    Math.max(0, packets - earlier.packets),
+                    Math.max(0, bytes - earlier.bytes),
+                    durationNanos
+            );
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-9s %s: %.1f packets/s, %.1f KiB/s (%d packets, %d bytes)",
+                    direction,
+                    packetClass == null ? "total" : packetClass.getSimpleName(),
+                    getPacketsPerSecond(),
+                    getBytesPerSecond() / 1024,
+                    packets,
+                    bytes
+            );
+        }
+    }
+
+    /**
+     * The timings of a listener class
+     */
+    public static final class ListenerEntry {
+        private final Class<?> listenerClass;
+        private final long calls;
+        private final long totalNanos;
+        private final long[] buckets;
+        private final long durationNanos;
+
+        /**
+         * @param listenerClass The class of the listener
+         * @param calls The amount of calls
+         * @param totalNanos The total time spent in nanoseconds
+         * @param buckets The amount of calls per histogram bucket
+         * @param durationNanos The time span they were counted in
+         */
+        private ListenerEntry(Class<?> listenerClass, long calls, long totalNanos, long[] buckets,
+                              long durationNanos) {
+            this.listenerClass = listenerClass;
+            this.calls = calls;
+            this.totalNanos = totalNanos;
+            this.buckets = buckets;
+            this.durationNanos = durationNanos;
+        }
+
+        /**
+         * @return The class of the listener
+         */
+        public Class<?> getListenerClass() {
+            return listenerClass;
+        }
+
+        /**
+         * @return The amount of calls
+         */
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * @return The total time spent in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return The average time per call in nanoseconds
+         */
+        public long getAverageNanos() {
+            return calls == 0 ? 0 : totalNanos / calls;
+        }
+
+        /**
+         * @return The share of the counted time span spent in the listener.
+         * Can exceed 1, as it is called on many threads.
+         */
+        public double getLoad() {
+            return durationNanos <= 0 ? 0 : (double) totalNanos / durationNanos;
+        }
+
+        /**
+         * Returns the amount of calls per histogram bucket
+         *
+         * @return The amount of calls per bucket, see {@link #BUCKET_AMOUNT}
+         */
+        public long[] getBuckets() {
+            return buckets.clone();
+        }
+
+        /**
+         * Estimates a percentile of the call durations
+         *
+         * @param percentile The percentile, between 0 and 1
+         *
+         * @return The upper bound of the histogram bucket the percentile falls
+         * in, in nanoseconds
+         *
+         * @throws IllegalArgumentException if percentile is not between 0 and 1
+         */
+        public long getPercentileNanos(double percentile) {
+            if (percentile < 0 || percentile > 1) {
+                throw new IllegalArgumentException("percentile must be between 0 and 1: " + percentile);
+            }
+            long wanted = (long) Math.ceil(calls * percentile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= wanted && seen > 0) {
+                    return i == buckets.length - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @param durationNanos The new time span
+         *
+         * @return This entry with another time span
+         */
+        private ListenerEntry withDuration(long durationNanos) {
+            return new ListenerEntry(listenerClass, calls, totalNanos, buckets, durationNanos);
+        }
+
+        /**
+         * @param earlier The entry of an earlier snapshot
+         * @param durationNanos The time span between the two
+         *
+         * @return The difference
+         */
+        private ListenerEntry minus(ListenerEntry earlier, long durationNanos) {
+            long[] bucketDelta = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                bucketDelta[i] = Math.max(0, buckets[i] - earlier.buckets[i]);
+            }
+            return new ListenerEntry(listenerClass,
+                    Math.max(0, calls - earlier.calls),
+                    Math.max(0, totalNanos - earlier.totalNanos),
+                    bucketDelta,
+                    durationNanos
+            );
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d calls, %d ns avg, %d us p99, %.2f ms/s",
+                    listenerClass.getName(),
+                    calls,
+                    getAverageNanos(),
+                    TimeUnit.NANOSECONDS.toMicros(getPercentileNanos(0.99)),
+                    getLoad() * 1000
+            );
+        }
+    }
+
+    /**
+     * @param amount The amount
+     * @param durationNanos The time span in nanoseconds
+     *
+     * @return The amount per second
+     */
+    private static double perSecond(long amount, long durationNanos) {
+        return durationNanos <= 0 ? 0 : amount * (double) TimeUnit.SECONDS.toNanos(1) / durationNanos;
+    }
+}
@@ -0,0 +1,189 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+
+import com.perceivedev.perceivecore.coreplugin.PerceiveCore;
+import com.perceivedev.perceivecore.packet.PacketEvent.ConnectionDirection;
+import com.perceivedev.perceivecore.packet.PacketMetrics.ListenerEntry;
+import com.perceivedev.perceivecore.packet.PacketMetrics.Snapshot;
+import com.perceivedev.perceivecore.packet.PacketMetrics.TrafficEntry;
+
+/**
+ * A debug command printing the {@link PacketMetrics}
+ * <p>
+ * It is not registered by itself, bind it to a command of your plugin:
+ * <pre>{@code
+ * PacketMetricsCommand command = new PacketMetricsCommand();
+ * getCommand("packets").setExecutor(command);
+ * getCommand("packets").setTabCompleter(command);
+ * }</pre>
+ * Usage: {@code /<command> <traffic|listeners|player <name>|reset> [limit]}.
+ * The rates are measured over the next second.
+ */
+@SuppressWarnings("unused")
+public class PacketMetricsCommand implements CommandExecutor, TabCompleter {
+
+    /**
+     * The permission needed to use the command
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final String PERMISSION = "perceivecore.packet.metrics";
+
+    private static final List<String> ACTIONS = Arrays.asList("traffic", "listeners", "player", "reset");
+    private static final int DEFAULT_LIMIT = 10;
+    private static final long MEASURE_TICKS = 20;
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!sender.hasPermission(PERMISSION)) {
+            sender.sendMessage(ChatColor.RED + "You do not have the permission to do that.");
+            return true;
+        }
+        if (args.length == 0) {
+            return false;
+        }
+
+        switch (args[0].toLowerCase(Locale.ROOT)) {
+            case "traffic":
+                measure(sender, PacketMetrics::snapshot, snapshot -> printTraffic(sender, snapshot, limit(args, 1)));
+                return true;
+            case "listeners":
+                measure(sender, PacketMetrics::snapshot, snapshot -> printListeners(sender, snapshot, limit(args, 1)));
+                return true;
+            case "player":
+                if (args.length < 2) {
+                    return false;
+                }
+                Player player = Bukkit.getPlayerExact(args[1]);
+                if (player == null || !PacketMetrics.snapshot(player).isPresent()) {
+                    sender.sendMessage(ChatColor.RED + "Player '" + args[1] + "' not found.");
+                    return true;
+                }
+                measure(sender,
+                        () -> PacketMetrics.snapshot(player).orElse(null),
+                        snapshot -> printTraffic(sender, snapshot, limit(args, 2))
+                );
+                return true;
+            case "reset":
+                PacketMetrics.reset();
+                sender.sendMessage(ChatColor.GREEN + "Packet metrics reset.");
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        if (args.length == 1) {
+            return ACTIONS.stream()
+                    .filter(action -> action.startsWith(args[0].toLowerCase(Locale.ROOT)))
+                    .collect(Collectors.toList());
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("player")) {
+            // the players
+            return null;
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Takes a snapshot now and one a second later and prints the difference
+     *
+     * @param sender The sender to inform
+     * @param snapshotSupplier Supplies the snapshots. May return null, if the
+     * player left.
+     * @param printer Prints the difference
+     */
+    private static void measure(CommandSender sender, Supplier<Snapshot> snapshotSupplier,
+                                Consumer<Snapshot> printer) {
+        Snapshot first = snapshotSupplier.get();
+        if (first == null) {
+            sender.sendMessage(ChatColor.RED + "The player left.");
+            return;
+        }
+        sender.sendMessage(ChatColor.GRAY + "Measuring for a second...");
+
+        Bukkit.getScheduler().runTaskLater(PerceiveCore.getInstance(), () -> {
+            Snapshot second = snapshotSupplier.get();
+            if (second == null) {
+                sender.sendMessage(ChatColor.RED + "The player left.");
+                return;
+            }
+            printer.accept(second.since(first));
+        }, MEASURE_TICKS);
+    }
+
+    /**
+     * @param sender The sender to print it to
+     * @param snapshot The snapshot
+     * @param limit The maximum amount of packet classes to print
+     */
+    private static void printTraffic(CommandSender sender, Snapshot snapshot, int limit) {
+        for (ConnectionDirection direction : ConnectionDirection.values()) {
+            sender.sendMessage(ChatColor.GOLD + snapshot.getTotal(direction).toString());
+        }
+        for (TrafficEntry entry : head(snapshot.getTraffic(), limit)) {
+            sender.sendMessage(ChatColor.GRAY + "  " + entry);
+        }
+    }
+
+    /**
+     * @param sender The sender to print it to
+     * @param snapshot The snapshot
+     * @param limit The maximum amount of listeners to print
+     */
+    private static void printListeners(CommandSender sender, Snapshot snapshot, int limit) {
+        if (snapshot.getListeners().isEmpty()) {
+            sender.sendMessage(ChatColor.GRAY + "No listener was called.");
+            return;
+        }
+        sender.sendMessage(ChatColor.GOLD + "Slowest listeners:");
+        for (ListenerEntry entry : head(snapshot.getListeners(), limit)) {
+            sender.sendMessage(ChatColor.GRAY + "  " + entry);
+        }
+    }
+
+    /**
+     * @param list The list
+     * @param limit The maximum amount of elements
+     * @param <T> The type of the elements
+     *
+     * @return The first elements of the list
+     */
+    private static <T> List<T> head(List<T> list, int limit) {
+        return new ArrayList<>(list.subList(0, Math.min(limit, list.size())));
+    }
+
+    /**
+     * @param args The arguments
+     * @param index The index of the limit
+     *
+     * @return The limit, or the default if not given or invalid
+     */
+    private static int limit(String[] args, int index) {
+        if (args.length <= index) {
+            return DEFAULT_LIMIT;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(args[index]));
+        } catch (NumberFormatException e) {
+            return DEFAULT_LIMIT;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.perceivedev.perceivecore.packet;
 
+import java.util.logging.Level;
+
 import com.perceivedev.perceivecore.modulesystem.AbstractModule;
+import com.perceivedev.perceivecore.reflection.ReflectionException;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings;
 
 /**
  * Adds some basic packet support.
@@ -13,4 +17,29 @@ public class PacketModule extends AbstractModule {
     public PacketModule() {
         super(getModulePropertiesFromJar(PacketModule.class));
     }
+
+    /**
+     * Binds the NMS members of the module, so a missing one is reported when
+     * the module is loaded
+     *
+     * @return False if they could not be bound
+     */
+    @Override
+    public boolean isModuleCompatible() {
+        try {
+            NmsBindings.bind(PacketBindings.class);
+            return true;
+        } catch (ReflectionException e) {
+            getLogger().log(Level.SEVERE, "Couldn't bind the NMS members", e);
+            return false;
+        }
+    }
+
+    /**
+     * Starts caching the connections of the players
+     */
+    @Override
+    public void onEnable() {
+        PacketSender.getInstance().startListening();
+    }
 }
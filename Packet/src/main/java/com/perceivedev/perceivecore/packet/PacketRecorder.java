@@ -0,0 +1,477 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import com.perceivedev.perceivecore.packet.PacketEvent.ConnectionDirection;
+import com.perceivedev.perceivecore.reflection.ObjectShape;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Records the packets of selected players into a ring buffer
+ * <p>
+ * Every packet is stored with its class, the time it passed and the values of
+ * all its fields. Once the buffer is full, the oldest packets are overwritten.
+ * The buffer lives outside of the heap, either in direct memory
+ * ({@link #offHeap(int)}) or in a memory-mapped file ({@link #mapped(Path,
+ * int)}), so a large buffer does not burden the garbage collector.
+ * <p>
+ * Take a {@link #snapshot()} to save or {@link PacketReplay replay} the
+ * recorded packets.
+ * <p>
+ * Values that can not be restored (e.g. other objects or arrays larger than
+ * 4096 elements) are stored as their class and {@link Object#toString()}
+ * only. {@link PacketReplay} skips the packets containing them.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class PacketRecorder implements PacketListener, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger("PacketRecorder");
+
+    /**
+     * Marks that the next record starts at the beginning of the buffer
+     */
+    private static final int WRAP = -1;
+    private static final UUID UNKNOWN_PLAYER = new UUID(0, 0);
+    private static final int INITIAL_SCRATCH_SIZE = 512;
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final FileChannel fileChannel;
+
+    private final long startNanos = System.nanoTime();
+    private final long startMillis = System.currentTimeMillis();
+
+    private final ConcurrentMap<Class<?>, Integer> classIndices = new ConcurrentHashMap<>();
+    private final List<String> classNames = new ArrayList<>();
+    private final ConcurrentMap<UUID, Integer> playerIndices = new ConcurrentHashMap<>();
+    private final List<UUID> players = new ArrayList<>();
+
+    private final Set<UUID> recordedPlayers = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<ByteBuf> scratch = ThreadLocal.withInitial(
+            () -> Unpooled.buffer(Math.min(INITIAL_SCRATCH_SIZE, getMaxRecordSize()), getMaxRecordSize())
+    );
+
+    // guarded by this
+    private int head;
+    private int tail;
+    private int count;
+    private long dropped;
+    private boolean closed;
+
+    /**
+     * @param buffer The buffer to record into
+     * @param fileChannel The channel of the mapped file or null
+     */
+    private PacketRecorder(ByteBuffer buffer, FileChannel fileChannel) {
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+        this.fileChannel = fileChannel;
+    }
+
+    /**
+     * Creates a recorder with a buffer in direct memory
+     *
+     * @param capacity The size of the buffer in bytes
+     *
+     * @return The created recorder
+     *
+     * @throws IllegalArgumentException if the capacity is smaller than 64
+     *                                  bytes
+     */
+    public static PacketRecorder offHeap(int capacity) {
+        checkCapacity(capacity);
+        return new PacketRecorder(ByteBuffer.allocateDirect(capacity), null);
+    }
+
+    /**
+     * Creates a recorder with a buffer in a memory-mapped file
+     * <p>
+     * The file is created if needed and overwritten. It holds the raw ring,
+     * use {@link #snapshot()} and {@link PacketCapture#write(java.io.OutputStream)}
+     * to save a capture you can read again.
+     *
+     * @param file The file to map
+     * @param capacity The size of the buffer in bytes
+     *
+     * @return The created recorder
+     *
+     * @throws IOException              if the file could not be mapped
+     * @throws IllegalArgumentException if the capacity is smaller than 64
+     *                                  bytes
+     */
+    public static PacketRecorder mapped(Path file, int capacity) throws IOException {
+        Objects.requireNonNull(file, "file can not be null");
+        checkCapacity(capacity);
+
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new PacketRecorder(channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param capacity The capacity to check
+     *
+     * @throws IllegalArgumentException if it is smaller than 64 bytes
+     */
+    private static void checkCapacity(int capacity) {
+        if (capacity < 64) {
+            throw new IllegalArgumentException("capacity must be at least 64 bytes, was " + capacity);
+        }
+    }
+
+    /**
+     * Starts recording the packets of a player
+     *
+     * @param player The player to record
+     *
+     * @throws NullPointerException  if player is null
+     * @throws IllegalStateException if this recorder is closed
+     */
+    public void record(Player player) {
+        Objects.requireNonNull(player, "player can not be null");
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("The recorder is closed");
+            }
+        }
+
+        recordedPlayers.add(player.getUniqueId());
+        PacketManager.getInstance().addListener(this, player);
+    }
+
+    /**
+     * Stops recording the packets of a player
+     *
+     * @param player The player to stop recording
+     *
+     * @throws NullPointerException if player is null
+     */
+    public void stopRecording(Player player) {
+        Objects.requireNonNull(player, "player can not be null");
+
+        recordedPlayers.remove(player.getUniqueId());
+        PacketManager.getInstance().removeListener(this, player);
+    }
+
+    /**
+     * Stops recording all players. The recorded packets are kept.
+     */
+    public void stop() {
+        for (UUID uuid : recordedPlayers) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                PacketManager.getInstance().removeListener(this, player);
+            }
+        }
+        recordedPlayers.clear();
+    }
+
+    /**
+     * Stops recording and releases the mapped file, if any
+     * <p>
+     * Packets passing afterwards are ignored. {@link #snapshot()} must not
+     * be called anymore.
+     *
+     * @throws IOException if the file could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        stop();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (fileChannel != null) {
+                ((MappedByteBuffer) buffer).force();
+                fileChannel.close();
+            }
+        }
+    }
+
+    @Override
+    public void onPacketReceived(PacketEvent packetEvent) {
+        record(packetEvent);
+    }
+
+    @Override
+    public void onPacketSend(PacketEvent packetEvent) {
+        record(packetEvent);
+    }
+
+    /**
+     * @param packetEvent The event to record the packet of
+     */
+    private void record(PacketEvent packetEvent) {
+        Player player = packetEvent.getPlayer();
+        record(
+                player == null ? UNKNOWN_PLAYER : player.getUniqueId(),
+                packetEvent.getNMSPacket(),
+                packetEvent.getDirection()
+        );
+    }
+
+    /**
+     * Records a packet
+     *
+     * @param player The UUID of the player
+     * @param nmsPacket The NMS packet
+     * @param direction The direction it is travelling
+     */
+    void record(UUID player, Object nmsPacket, ConnectionDirection direction) {
+        ByteBuffer record;
+        try {
+            record = encode(player, nmsPacket, direction);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Couldn't record " + nmsPacket.getClass().getName(), e);
+            return;
+        }
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (record == null) {
+                dropped++;
+                return;
+            }
+            append(record);
+        }
+    }
+
+    /**
+     * Encodes a packet into the scratch buffer of this thread, which grows up
+     * to {@link #getMaxRecordSize()}
+     *
+     * @param player The UUID of the player
+     * @param nmsPacket The NMS packet
+     * @param direction The direction it is travelling
+     *
+     * @return The encoded record, ready to be read, or null if it is larger
+     * than half of the ring
+     */
+    private ByteBuffer encode(UUID player, Object nmsPacket, ConnectionDirection direction) {
+        @SuppressWarnings("unchecked")
+        ObjectShape<Object> shape = (ObjectShape<Object>) ReflectionUtil.shape(nmsPacket.getClass());
+        Object[] values = shape.read(nmsPacket);
+
+        ByteBuf target = scratch.get();
+        target.clear();
+        try {
+            PacketUtilities.writeVarLong(System.nanoTime() - startNanos, target);
+            target.writeByte(direction == ConnectionDirection.TO_CLIENT ? 0 : 1);
+            PacketUtilities.writeVarInt(indexOf(player), target);
+            PacketUtilities.writeVarInt(indexOf(nmsPacket.getClass()), target);
+            PacketUtilities.writeVarInt(values.length, target);
+            for (Object value : values) {
+                CaptureCodec.writeValue(target, value);
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // it exceeded the maximum capacity
+            return null;
+        }
+        return target.nioBuffer();
+    }
+
+    /**
+     * @return The maximum size of a record, without its length
+     */
+    private int getMaxRecordSize() {
+        return capacity / 2 - Integer.BYTES;
+    }
+
+    /**
+     * @param player The UUID of a player
+     *
+     * @return Its index in the player dictionary
+     */
+    private int indexOf(UUID player) {
+        Integer index = playerIndices.get(player);
+        if (index != null) {
+            return index;
+        }
+        synchronized (players) {
+            return playerIndices.computeIfAbsent(player, uuid -> {
+                players.add(uuid);
+                return players.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * @param packetClass The class of a packet
+     *
+     * @return Its index in the class dictionary
+     */
+    private int indexOf(Class<?> packetClass) {
+        Integer index = classIndices.get(packetClass);
+        if (index != null) {
+            return index;
+        }
+        synchronized (classNames) {
+            return classIndices.computeIfAbsent(packetClass, clazz -> {
+                classNames.add(clazz.getName());
+                return classNames.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Appends a record to the ring, evicting the oldest ones in its way. Must
+     * hold the lock.
+     *
+     * @param record The record. At most half as large as the ring.
+     */
+    private void append(ByteBuffer record) {
+        int size = Integer.BYTES + record.remaining();
+        int start = tail;
+        if (capacity - start < size) {
+            evict(start, capacity);
+            if (capacity - start >= Integer.BYTES) {
+                buffer.putInt(start, WRAP);
+            }
+            start = 0;
+        }
+        evict(start, start + size);
+
+        buffer.putInt(start, record.remaining());
+        buffer.position(start + Integer.BYTES);
+        buffer.put(record);
+
+        if (count == 0) {
+            head = start;
+        }
+        count++;
+        tail = start + size;
+    }
+
+    /**
+     * Evicts the oldest records while they start in the given region. Must
+     * hold the lock.
+     *
+     * @param from The start of the region, inclusive
+     * @param to The end of the region, exclusive
+     */
+    private void evict(int from, int to) {
+        while (count > 0 && head >= from && head < to) {
+            head = recordStart(head + Integer.BYTES + buffer.getInt(head));
+            count--;
+        }
+    }
+
+    /**
+     * @param position The position after a record
+     *
+     * @return The position the next record starts at, following a wrap
+     * marker
+     */
+    private int recordStart(int position) {
+        if (capacity - position < Integer.BYTES || buffer.getInt(position) == WRAP) {
+            return 0;
+        }
+        return position;
+    }
+
+    /**
+     * Copies the recorded packets
+     * <p>
+     * Recording continues while and after it is taken.
+     *
+     * @return The recorded packets
+     *
+     * @throws IllegalStateException if this recorder is closed
+     */
+    public PacketCapture snapshot() {
+        byte[] records;
+        int recordCount;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("The recorder is closed");
+            }
+            recordCount = count;
+
+            int length = 0;
+            int position = head;
+            for (int i = 0; i < count; i++) {
+                int size = Integer.BYTES + buffer.getInt(position);
+                length += size;
+                position = recordStart(position + size);
+            }
+
+            records = new byte[length];
+            ByteBuffer source = buffer.duplicate();
+            int offset = 0;
+            position = head;
+            for (int i = 0; i < count; i++) {
+                int size = Integer.BYTES + buffer.getInt(position);
+                source.limit(position + size).position(position);
+                source.get(records, offset, size);
+                offset += size;
+                position = recordStart(position + size);
+            }
+        }
+
+        // all indices used by the copied records were assigned before they were appended
+        List<String> classNamesCopy;
+        synchronized (classNames) {
+            classNamesCopy = new ArrayList<>(classNames);
+        }
+        List<UUID> playersCopy;
+        synchronized (players) {
+            playersCopy = new ArrayList<>(players);
+        }
+        return new PacketCapture(startMillis, classNamesCopy, playersCopy, records, recordCount);
+    }
+
+    /**
+     * @return The amount of packets in the ring
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * @return The size of the ring in bytes
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The amount of packets that were too large to record
+     */
+    public synchronized long getDroppedCount() {
+        return dropped;
+    }
+
+    @Override
+    public String toString() {
+        return "PacketRecorder{" + size() + " packets, " + capacity + " bytes"
+                + (fileChannel != null ? ", mapped" : "") + "}";
+    }
+}
@@ -0,0 +1,376 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.bukkit.entity.Player;
+
+import com.perceivedev.perceivecore.packet.PacketEvent.ConnectionDirection;
+import com.perceivedev.perceivecore.reflection.ObjectShape;
+import com.perceivedev.perceivecore.reflection.ReflectionException;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil;
+
+/**
+ * Feeds a {@link PacketCapture} back through listeners, without a connection
+ * <p>
+ * Every packet is rebuilt from its captured fields and passed to the
+ * listeners interested in it, as the injector would. Packets whose class
+ * can not be loaded or has no no-args constructor are skipped. So are packets
+ * with a value that was not captured (e.g. a nested NMS object like a
+ * BlockPosition, an IChatBaseComponent or an ItemStack), instead of passing
+ * them on with the default of that field. {@link Result#getSkippedClasses()}
+ * reports the skipped classes.
+ * <p>
+ * The packets are replayed as fast as possible, not at their original pace.
+ * The time each listener took is measured, so this can be used to profile
+ * listeners against real traffic.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class PacketReplay {
+
+    private PacketReplay() {
+    }
+
+    /**
+     * Replays a capture without players. {@link PacketEvent#getPlayer()}
+     * returns null.
+     *
+     * @param capture The capture to replay
+     * @param listeners The listeners to pass the packets to
+     *
+     * @return The result of the replay
+     *
+     * @throws NullPointerException if any parameter is null
+     * @see #replay(PacketCapture, Collection, Function, ClassLoader)
+     */
+    public static Result replay(PacketCapture capture, Collection<? extends PacketListener> listeners) {
+        return replay(capture, listeners, uuid -> null);
+    }
+
+    /**
+     * Replays a capture, loading the packet classes with the class loader of
+     * this class
+     *
+     * @param capture The capture to replay
+     * @param listeners The listeners to pass the packets to
+     * @param playerResolver Returns the player to pass in the events for a
+     * captured UUID. May return null.
+     *
+     * @return The result of the replay
+     *
+     * @throws NullPointerException if any parameter is null
+     * @see #replay(PacketCapture, Collection, Function, ClassLoader)
+     */
+    public static Result replay(PacketCapture capture, Collection<? extends PacketListener> listeners,
+                                Function<UUID, Player> playerResolver) {
+        return replay(capture, listeners, playerResolver, PacketReplay.class.getClassLoader());
+    }
+
+    /**
+     * Replays a capture
+     * <p>
+     * Exceptions thrown by the listeners are counted, not propagated.
+     *
+     * @param capture The capture to replay
+     * @param listeners The listeners to pass the packets to
+     * @param playerResolver Returns the player to pass in the events for a
+     * captured UUID. May return null.
+     * @param classLoader The class loader to load the packet classes with
+     *
+     * @return The result of the replay
+     *
+     * @throws NullPointerException     if any parameter is null
+     * @throws IllegalArgumentException if the capture is malformed
+     */
+    public static Result replay(PacketCapture capture, Collection<? extends PacketListener> listeners,
+                                Function<UUID, Player> playerResolver, ClassLoader classLoader) {
+        Objects.requireNonNull(capture, "capture can not be null");
+        Objects.requireNonNull(listeners, "listeners can not be null");
+        Objects.requireNonNull(playerResolver, "playerResolver can not be null");
+        Objects.requireNonNull(classLoader, "classLoader can not be null");
+
+        List<PacketListener> listenerList = new ArrayList<>(listeners);
+        Result result = new Result(listenerList);
+        Map<String, Optional<Blueprint>> blueprints = new HashMap<>();
+        Map<UUID, Player> players = new HashMap<>();
+        PacketEvent sendEvent = new PacketEvent(ConnectionDirection.TO_CLIENT);
+        PacketEvent receiveEvent = new PacketEvent(ConnectionDirection.TO_SERVER);
+
+        for (PacketCapture.Entry entry : capture.getEntries(classLoader)) {
+            Optional<Blueprint> blueprint = blueprints.computeIfAbsent(
+                    entry.getPacketClassName(), name -> Blueprint.of(name, classLoader)
+            );
+            Object packet = blueprint.isPresent() ? blueprint.get().build(entry.getRawValues()) : null;
+            if (packet == null) {
+                result.skip(entry.getPacketClassName());
+                continue;
+            }
+
+            Player player = players.computeIfAbsent(entry.getPlayer(), playerResolver);
+            PacketEvent event = entry.getDirection() == ConnectionDirection.TO_CLIENT ? sendEvent : receiveEvent;
+            event.reset(packet, player);
+            try {
+                for (int i = 0; i < listenerList.size(); i++) {
+                    if (result.wants(i, packet.getClass())) {
+                        callListener(listenerList.get(i), i, event, result);
+                    }
+                }
+                result.replayed++;
+                if (event.isCancelled()) {
+                    result.cancelled++;
+                }
+            } finally {
+                event.clear();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Notifies a listener of an event, according to its direction
+     *
+     * @param listener The listener to notify
+     * @param index The index of the listener
+     * @param event The event
+     * @param result The result to record the time and errors in
+     */
+    private static void callListener(PacketListener listener, int index, PacketEvent event, Result result) {
+        long start = System.nanoTime();
+        try {
+            if (event.getDirection() == ConnectionDirection.TO_CLIENT) {
+                listener.onPacketSend(event);
+            }
+            else {
+                listener.onPacketReceived(event);
+            }
+        } catch (Exception e) {
+            result.errors++;
+            if (result.firstError == null) {
+                result.firstError = e;
+            }
+        } finally {
+            result.listenerNanos[index] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Builds packets of a class
+     */
+    private static final class Blueprint {
+        private final Constructor<?> constructor;
+        private final ObjectShape<Object> shape;
+
+        /**
+         * @param constructor The no-args constructor
+         * @param shape The shape of the class
+         */
+        private Blueprint(Constructor<?> constructor, ObjectShape<Object> shape) {
+            this.constructor = constructor;
+            this.shape = shape;
+        }
+
+        /**
+         * @param className The name of the packet class
+         * @param classLoader The class loader to load it with
+         *
+         * @return The blueprint or an empty optional if the class does not
+         * exist or has no no-args constructor
+         */
+        @SuppressWarnings("unchecked")
+        private static Optional<Blueprint> of(String className, ClassLoader classLoader) {
+            Class<?> packetClass;
+            try {
+                packetClass = Class.forName(className, true, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                return Optional.empty();
+            }
+            return ReflectionUtil.getConstructor(packetClass).get()
+                    .map(constructor -> new Blueprint(
+                            constructor,
+                            (ObjectShape<Object>) ReflectionUtil.shape(packetClass)
+                    ));
+        }
+
+        /**
+         * @param values The captured values of the fields
+         *
+         * @return The packet or null if it could not be built or a value was
+         * not captured
+         */
+        private Object build(Object[] values) {
+            if (values.length != shape.size()) {
+                return null;
+            }
+            for (Object value : values) {
+                if (value == CaptureCodec.OPAQUE) {
+                    return null;
+                }
+            }
+            try {
+                Object packet = ReflectionUtil.instantiateUnchecked(constructor);
+                shape.write(packet, values);
+                return packet;
+            } catch (ReflectionException | ClassCastException | NullPointerException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * The result of a replay
+     */
+    public static final class Result {
+        private final List<PacketListener> listeners;
+        private final Collection<?>[] packetClasses;
+        private final long[] listenerNanos;
+        private final Map<String, Integer> skippedClasses = new TreeMap<>();
+        private int replayed;
+        private int skipped;
+        private int cancelled;
+        private int errors;
+        private Exception firstError;
+
+        /**
+         * @param listeners The replayed listeners
+         */
+        private Result(List<PacketListener> listeners) {
+            this.listeners = listeners;
+            this.packetClasses = new Collection<?>[listeners.size()];
+            this.listenerNanos = new long[listeners.size()];
+            for (int i = 0; i < listeners.size(); i++) {
+                packetClasses[i] = listeners.get(i).getPacketClasses();
+            }
+        }
+
+        /**
+         * @param className The name of the class of a skipped packet
+         */
+        private void skip(String className) {
+            skipped++;
+            skippedClasses.merge(className, 1, Integer::sum);
+        }
+
+        /**
+         * @param index The index of the listener
+         * @param packetClass The class of the packet
+         *
+         * @return True if the listener wants packets of that class
+         */
+        private boolean wants(int index, Class<?> packetClass) {
+            if (packetClasses[index].isEmpty()) {
+                return true;
+            }
+            for (Object wanted : packetClasses[index]) {
+                if (((Class<?>) wanted).isAssignableFrom(packetClass)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return The amount of packets passed to the listeners
+         */
+        public int getReplayed() {
+            return replayed;
+        }
+
+        /**
+         * @return The amount of packets that could not be rebuilt
+         */
+        public int getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * Returns the classes of the skipped packets. They could not be
+         * loaded, have no no-args constructor or contain a value that was not
+         * captured.
+         *
+         * @return The amount of skipped packets by the name of their class.
+         * Unmodifiable.
+         */
+        public Map<String, Integer> getSkippedClasses() {
+            return Collections.unmodifiableMap(skippedClasses);
+        }
+
+        /**
+         * @return The amount of replayed packets a listener cancelled
+         */
+        public int getCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * @return The amount of exceptions the listeners threw
+         */
+        public int getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return The first exception a listener threw, if any
+         */
+        public Optional<Exception> getFirstError() {
+            return Optional.ofNullable(firstError);
+        }
+
+        /**
+         * @param listener The listener
+         *
+         * @return The total time it took, in nanoseconds. 0 if it was not
+         * replayed.
+         */
+        public long getListenerNanos(PacketListener listener) {
+            for (int i = 0; i < listeners.size(); i++) {
+                if (listeners.get(i) == listener) {
+                    return listenerNanos[i];
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @return The total time each listener took, in nanoseconds.
+         * Unmodifiable.
+         */
+        public Map<PacketListener, Long> getListenerNanos() {
+            Map<PacketListener, Long> nanos = new IdentityHashMap<>();
+            for (int i = 0; i < listeners.size(); i++) {
+                nanos.merge(listeners.get(i), listenerNanos[i], Long::sum);
+            }
+            return Collections.unmodifiableMap(nanos);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder("Replayed ").append(replayed)
+                    .append(" packets (").append(skipped).append(" skipped, ")
+                    .append(cancelled).append(" cancelled, ")
+                    .append(errors).append(" errors)");
+            for (Map.Entry<String, Integer> entry : skippedClasses.entrySet()) {
+                builder.append(System.lineSeparator())
+                        .append("  skipped ").append(entry.getKey())
+                        .append(": ").append(entry.getValue());
+            }
+            for (int i = 0; i < listeners.size(); i++) {
+                builder.append(System.lineSeparator())
+                        .append("  ").append(listeners.get(i).getClass().getName())
+                        .append(": ").append(listenerNanos[i] / 1000).append(" us");
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -1,50 +1,44 @@
 package com.perceivedev.perceivecore.packet;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
 
-import com.perceivedev.perceivecore.reflection.ReflectionUtil;
-import com.perceivedev.perceivecore.reflection.ReflectionUtil.MethodPredicate;
+import com.perceivedev.perceivecore.coreplugin.PerceiveCore;
 
-import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.NMS;
-import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.OBC;
+import io.netty.channel.Channel;
 
 /**
  * A Packet sender
+ * <p>
+ * Caches the connection and channel of every online player, so they need to
+ * be looked up only once per login. The cache is only filled when a player
+ * joins and emptied when they quit. The {@link PacketModule} starts listening
+ * for that when it is enabled.
+ * <p>
+ * The NMS members it uses are in {@link PacketBindings}.
  */
-class PacketSender {
-
-    private static final Class<?> CRAFT_PLAYER = ReflectionUtil
-            .getClass(OBC, "entity.CraftPlayer")
-            .orElseThrow(() -> new RuntimeException("Couldn't find CraftPlayer class!"));
-    private static final Class<?> PLAYER_CONNECTION = ReflectionUtil.getClass(
-            NMS,
-            "PlayerConnection"
-    ).orElseThrow(() -> new RuntimeException("Couldn't find PlayerConnection class!"));
-    private static final Class<?> ENTITY_PLAYER = ReflectionUtil.getClass(
-            NMS,
-            "EntityPlayer"
-    ).orElseThrow(() -> new RuntimeException("Couldn't find EntityPlayer class!"));
-
-
-    private static final Method GET_HANDLE = ReflectionUtil.getMethod(
-            CRAFT_PLAYER,
-            new MethodPredicate().withName("getHandle")
-    ).getValueOrThrow("Couldn't find getHandle method");
-    private static final Method SEND_PACKET = ReflectionUtil.getMethod(
-            PLAYER_CONNECTION,
-            new MethodPredicate().withName("sendPacket")
-    ).getValueOrThrow("Couldn't find sendPacket method");
-
-    private static final Field PLAYER_CONNECTION_FIELD = ReflectionUtil.getField(
-            ENTITY_PLAYER,
-            new ReflectionUtil.FieldPredicate().withName("playerConnection")
-    ).getValueOrThrow("Couldn't find playerConnection field");
+class PacketSender implements Listener {
 
     private static final PacketSender instance = new PacketSender();
 
+    private final Set<Channel> unflushedChannels = ConcurrentHashMap.newKeySet();
+    private BukkitTask flushTask;
+
+    private final ConcurrentMap<UUID, Connection> connections = new ConcurrentHashMap<>();
+
     private PacketSender() {
     }
 
@@ -58,6 +52,54 @@ class PacketSender {
         sendPacket(packet.getNMSPacket(), getConnection(player));
     }
 
+    /**
+     * Writes a packet to a Player's channel, without flushing it
+     * <p>
+     * The channel is flushed at the end of the tick, once for all packets
+     * queued for it. This skips PlayerConnection#sendPacket, so the player
+     * must be in game.
+     *
+     * @param packet The {@link Packet} to send
+     * @param player The Player to send it to
+     */
+    void queuePacket(Packet packet, Player player) {
+        Channel channel = getChannel(player);
+        channel.write(packet.getNMSPacket(), channel.voidPromise());
+
+        if (unflushedChannels.add(channel) && flushTask == null) {
+            startFlushTask();
+        }
+    }
+
+    /**
+     * Flushes all channels packets were queued for
+     */
+    void flushQueued() {
+        for (Iterator<Channel> iterator = unflushedChannels.iterator(); iterator.hasNext(); ) {
+            Channel channel = iterator.next();
+            iterator.remove();
+            channel.flush();
+        }
+    }
+
+    /**
+     * Starts flushing the queued packets every tick, if it is not running yet
+     */
+    private synchronized void startFlushTask() {
+        if (flushTask != null) {
+            return;
+        }
+        flushTask = Bukkit.getScheduler().runTaskTimer(PerceiveCore.getInstance(), this::flushQueued, 1, 1);
+
+        PerceiveCore.getInstance().getDisableManager().addListener(() -> {
+            synchronized (this) {
+                flushTask.cancel();
+                flushTask = null;
+            }
+            flushQueued();
+        });
+    }
+
     /**
      * @return The Instance of the PacketSender
      */
@@ -66,7 +108,7 @@ class PacketSender {
     }
 
     private void sendPacket(Object nmsPacket, Object playerConnection) {
-        ReflectionUtil.invokeMethod(SEND_PACKET, playerConnection, nmsPacket);
+        PacketBindings.SEND_PACKET.invoke(playerConnection, nmsPacket);
     }
 
     /**
@@ -77,10 +119,127 @@ class PacketSender {
      * @return The Player's connection
      */
     Object getConnection(Player player) {
-        Object handle = ReflectionUtil.invokeMethod(GET_HANDLE, player)
-                .getValueOrThrow("Couldn't get the handle");
+        Connection connection = getCachedConnection(player);
+        Object playerConnection = connection == null ? null : connection.playerConnection.get();
+        return playerConnection != null ? playerConnection : lookupPlayerConnection(player);
+    }
+
+    /**
+     * Returns the channel of a player
+     *
+     * @param player The player to get it for
+     *
+     * @return The channel of the player
+     */
+    Channel getChannel(Player player) {
+        Connection connection = getCachedConnection(player);
+        return connection != null ? connection.channel : getChannel(lookupPlayerConnection(player));
+    }
+
+    /**
+     * Returns the cached connection of a player
+     * <p>
+     * A lookup never adds a player to the cache, only {@link #onJoin} does.
+     * Otherwise a listener sending a packet after {@link #onQuit} would add
+     * them again, and they would stay until the next login.
+     *
+     * @param player The player to get it for
+     *
+     * @return The connection of the player or null if it is not cached
+     */
+    private Connection getCachedConnection(Player player) {
+        Connection connection = connections.get(player.getUniqueId());
+        if (connection == null) {
+            return null;
+        }
+
+        // a closed one is stale, e.g. if the quit was missed
+        if (!connection.channel.isOpen() || connection.playerConnection.get() == null) {
+            connections.remove(player.getUniqueId(), connection);
+            return null;
+        }
+        return connection;
+    }
+
+    /**
+     * Caches the connection of a player
+     *
+     * @param player The player, who is online
+     */
+    private void cacheConnection(Player player) {
+        Object playerConnection = lookupPlayerConnection(player);
+        Channel channel = getChannel(playerConnection);
+        if (channel.isOpen()) {
+            connections.put(player.getUniqueId(), new Connection(playerConnection, channel));
+        }
+    }
 
-        return ReflectionUtil.getFieldValue(PLAYER_CONNECTION_FIELD, handle)
-                .getValueOrThrow("Couldn't obtain PlayerConnection");
+    /**
+     * Looks up the PlayerConnection of a player
+     *
+     * @param player The player to get it for
+     *
+     * @return The PlayerConnection of the player
+     */
+    private static Object lookupPlayerConnection(Player player) {
+        // Lengthy way of doing: ( (CraftPlayer) handle ).getHandle().playerConnection
+        return PacketBindings.PLAYER_CONNECTION.get(PacketBindings.GET_HANDLE.invoke(player));
+    }
+
+    /**
+     * @param playerConnection The PlayerConnection
+     *
+     * @return The channel of its NetworkManager
+     */
+    private static Channel getChannel(Object playerConnection) {
+        return (Channel) PacketBindings.CHANNEL.get(PacketBindings.NETWORK_MANAGER.get(playerConnection));
+    }
+
+    /**
+     * Starts listening for joins and quits. Call it once, on the main thread,
+     * when the module is enabled.
+     * <p>
+     * The players who are already online are cached on the next tick.
+     */
+    void startListening() {
+        Bukkit.getPluginManager().registerEvents(this, PerceiveCore.getInstance());
+        Bukkit.getScheduler().runTask(PerceiveCore.getInstance(), () -> {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                cacheConnection(player);
+            }
+        });
+
+        PerceiveCore.getInstance().getDisableManager().addListener(connections::clear);
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        cacheConnection(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        connections.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * The connection of a player
+     * <p>
+     * The PlayerConnection references the player's handle, and through it the
+     * world, so it is only held weakly. While the player is online, the
+     * server holds it.
+     */
+    private static final class Connection {
+        private final WeakReference<Object> playerConnection;
+        private final Channel channel;
+
+        /**
+         * @param playerConnection The PlayerConnection
+         * @param channel The channel of the connection
+         */
+        private Connection(Object playerConnection, Channel channel) {
+            this.playerConnection = new WeakReference<>(playerConnection);
+            this.channel = channel;
+        }
     }
 }
@@ -0,0 +1,60 @@
+package com.perceivedev.perceivecore.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Measures the size of the sent packets for the {@link PacketMetrics}
+ * <p>
+ * It sits right after the server's encoder, before compression and
+ * encryption. It is added once the player joined, as the server only adds the
+ * compression during the login.
+ */
+class PacketSizeHandler extends ChannelOutboundHandlerAdapter {
+
+    /**
+     * The name of the handler in the pipeline
+     */
+    static final String HANDLER_NAME = "bukkitUtilsSizeHandler";
+
+    private final PacketInjector injector;
+
+    /**
+     * @param injector The injector of the channel, attributing the sizes
+     */
+    private PacketSizeHandler(PacketInjector injector) {
+        this.injector = injector;
+    }
+
+    /**
+     * Adds a handler to a channel, replacing an old one
+     *
+     * @param channel The channel of a player, who already joined
+     * @param injector The injector of the channel
+     */
+    static void install(Channel channel, PacketInjector injector) {
+        PipelineHandlers.install(channel, "encoder", HANDLER_NAME, existing -> false,
+                () -> new PacketSizeHandler(injector));
+    }
+
+    /**
+     * Removes the handler from a channel
+     *
+     * @param channel The channel
+     */
+    static void uninstall(Channel channel) {
+        PipelineHandlers.uninstall(channel, HANDLER_NAME, PacketSizeHandler.class);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext context, Object message, ChannelPromise promise) throws Exception {
+        // the encoder writes synchronously, so the injector still knows which packet this is
+        if (message instanceof ByteBuf) {
+            injector.recordSentBytes(((ByteBuf) message).readableBytes());
+        }
+        super.write(context, message, promise);
+    }
+}
@@ -1,5 +1,9 @@
 package com.perceivedev.perceivecore.packet;
 
+import java.util.UUID;
+
+import org.bukkit.util.BlockVector;
+
 import com.google.common.base.Charsets;
 
 import io.netty.buffer.ByteBuf;
@@ -7,13 +11,22 @@ import io.netty.handler.codec.DecoderException;
 
 /**
  * Utilities to ease the working with packets
+ * <p>
+ * Reads and writes the types of the minecraft protocol directly from and to
+ * {@link ByteBuf}s, without copying them first.
  */
 public class PacketUtilities {
 
+    /**
+     * The maximum nesting depth of NBT tags, the same the server uses
+     */
+    private static final int MAX_NBT_DEPTH = 512;
+
     /**
      * Reads a String
      * <p>
-     * Code taken from Mojang's PacketDataSerializer
+     * Code taken from Mojang's PacketDataSerializer, but decodes the String in
+     * place
      *
      * @param maxLength The maximum length of the String. Will be multiplied by 4 to get the bytes, so make sure
      * that
@@ -36,7 +49,9 @@ public class PacketUtilities {
                     "string!");
         }
         else {
-            String string = new String(byteBuf.readBytes(stringByteLength).array(), Charsets.UTF_8);
+            // decode it in place, copying it out first fails for direct buffers
+            String string = byteBuf.toString(byteBuf.readerIndex(), stringByteLength, Charsets.UTF_8);
+            byteBuf.skipBytes(stringByteLength);
             if (string.length() > maxLength) {
                 throw new DecoderException(
                         "The received string length is longer than maximum allowed (" +
@@ -57,6 +72,8 @@ public class PacketUtilities {
      * @param byteBuf The ByteBuf to read from
      *
      * @return The read integer
+     *
+     * @throws DecoderException if it is longer than 5 bytes
      */
     @SuppressWarnings("WeakerAccess")
     public static int readVarInt(ByteBuf byteBuf) {
@@ -68,10 +85,265 @@ public class PacketUtilities {
             b0 = byteBuf.readByte();
             i |= (b0 & 127) << j++ * 7;
             if (j > 5) {
-                throw new RuntimeException("VarInt too big");
+                throw new DecoderException("VarInt too big");
+            }
+        } while ((b0 & 128) == 128);
+
+        return i;
+    }
+
+    /**
+     * Writes a String
+     *
+     * @param string The String to write
+     * @param byteBuf The ByteBuf to write to
+     */
+    @SuppressWarnings("unused")
+    public static void writeString(String string, ByteBuf byteBuf) {
+        byte[] bytes = string.getBytes(Charsets.UTF_8);
+        writeVarInt(bytes.length, byteBuf);
+        byteBuf.writeBytes(bytes);
+    }
+
+    /**
+     * Writes an integer of variable length
+     * <p>
+     * Code taken from Mojang's PacketDataSerializer
+     *
+     * @param value The integer to write
+     * @param byteBuf The ByteBuf to write to
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static void writeVarInt(int value, ByteBuf byteBuf) {
+        while ((value & -128) != 0) {
+            byteBuf.writeByte(value & 127 | 128);
+            value >>>= 7;
+        }
+        byteBuf.writeByte(value);
+    }
+
+    /**
+     * Returns the amount of bytes an integer of variable length needs
+     *
+     * @param value The integer
+     *
+     * @return The amount of bytes, between 1 and 5
+     */
+    @SuppressWarnings("unused")
+    public static int getVarIntSize(int value) {
+        for (int i = 1; i < 5; i++) {
+            if ((value & -1 << i * 7) == 0) {
+                return i;
+            }
+        }
+        return 5;
+    }
+
+    /**
+     * Reads a long of variable length
+     * <p>
+     * Code taken from Mojang's PacketDataSerializer
+     *
+     * @param byteBuf The ByteBuf to read from
+     *
+     * @return The read long
+     *
+     * @throws DecoderException if it is longer than 10 bytes
+     */
+    @SuppressWarnings("unused")
+    public static long readVarLong(ByteBuf byteBuf) {
+        long i = 0;
+        int j = 0;
+
+        byte b0;
+        do {
+            b0 = byteBuf.readByte();
+            i |= (long) (b0 & 127) << j++ * 7;
+            if (j > 10) {
+                throw new DecoderException("VarLong too big");
             }
         } while ((b0 & 128) == 128);
 
         return i;
     }
+
+    /**
+     * Writes a long of variable length
+     *
+     * @param value The long to write
+     * @param byteBuf The ByteBuf to write to
+     */
+    @SuppressWarnings("unused")
+    public static void writeVarLong(long value, ByteBuf byteBuf) {
+        while ((value & -128L) != 0) {
+            byteBuf.writeByte((int) (value & 127) | 128);
+            value >>>= 7;
+        }
+        byteBuf.writeByte((int) value);
+    }
+
+    /**
+     * Reads a block position, packed into a long
+     *
+     * @param byteBuf The ByteBuf to read from
+     *
+     * @return The read position
+     */
+    @SuppressWarnings("unused")
+    public static BlockVector readPosition(ByteBuf byteBuf) {
+        long packed = byteBuf.readLong();
+        return new BlockVector(
+                (int) (packed >> 38),
+                (int) (packed << 26 >> 52),
+                (int) (packed << 38 >> 38)
+        );
+    }
+
+    /**
+     * Writes a block position, packed into a long
+     *
+     * @param position The position to write
+     * @param byteBuf The ByteBuf to write to
+     */
+    @SuppressWarnings("unused")
+    public static void writePosition(BlockVector position, ByteBuf byteBuf) {
+        byteBuf.writeLong(((long) position.getBlockX() & 0x3FFFFFF) << 38
+                | ((long) position.getBlockY() & 0xFFF) << 26
+                | (long) position.getBlockZ() & 0x3FFFFFF
+        );
+    }
+
+    /**
+     * Reads a {@link UUID}
+     *
+     * @param byteBuf The ByteBuf to read from
+     *
+     * @return The read UUID
+     */
+    @SuppressWarnings("unused")
+    public static UUID readUUID(ByteBuf byteBuf) {
+        return new UUID(byteBuf.readLong(), byteBuf.readLong());
+    }
+
+    /**
+     * Writes a {@link UUID}
+     *
+     * @param uuid The UUID to write
+     * @param byteBuf The ByteBuf to write to
+     */
+    @SuppressWarnings("unused")
+    public static void writeUUID(UUID uuid, ByteBuf byteBuf) {
+        byteBuf.writeLong(uuid.getMostSignificantBits());
+        byteBuf.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Reads an NBT compound, without decoding it
+     * <p>
+     * The returned buffer is a slice of the given one, sharing its content.
+     * It contains the whole compound in the binary NBT format, so it can be
+     * written to another packet or decoded later.
+     *
+     * @param byteBuf The ByteBuf to read from
+     *
+     * @return The compound, or null if there is none (a single end tag)
+     *
+     * @throws DecoderException if the NBT is malformed or nested too deep
+     */
+    @SuppressWarnings("unused")
+    public static ByteBuf readNbt(ByteBuf byteBuf) {
+        int start = byteBuf.readerIndex();
+        byte type = byteBuf.readByte();
+        if (type == 0) {
+            return null;
+        }
+        if (type != 10) {
+            throw new DecoderException("The root tag must be a compound, was type " + type);
+        }
+        // the name of the root tag
+        byteBuf.skipBytes(byteBuf.readUnsignedShort());
+        skipNbtPayload(type, byteBuf, 0);
+
+        return byteBuf.slice(start, byteBuf.readerIndex() - start);
+    }
+
+    /**
+     * Skips the payload of an NBT tag
+     *
+     * @param type The type of the tag
+     * @param byteBuf The ByteBuf to read from
+     * @param depth The current nesting depth
+     *
+     * @throws DecoderException if the NBT is malformed or nested too deep
+     */
+    private static void skipNbtPayload(byte type, ByteBuf byteBuf, int depth) {
+        if (depth > MAX_NBT_DEPTH) {
+            throw new DecoderException("NBT tag is nested too deep (> " + MAX_NBT_DEPTH + ")");
+        }
+        switch (type) {
+            case 1:
+                byteBuf.skipBytes(1);
+                break;
+            case 2:
+                byteBuf.skipBytes(2);
+                break;
+            case 3:
+            case 5:
+                byteBuf.skipBytes(4);
+                break;
+            case 4:
+            case 6:
+                byteBuf.skipBytes(8);
+                break;
+            case 7:
+                byteBuf.skipBytes(readNbtLength(byteBuf));
+                break;
+            case 8:
+                byteBuf.skipBytes(byteBuf.readUnsignedShort());
+                break;
+            case 9: {
+                byte elementType = byteBuf.readByte();
+                int length = readNbtLength(byteBuf);
+                for (int i = 0; i < length; i++) {
+                    skipNbtPayload(elementType, byteBuf, depth + 1);
+                }
+                break;
+            }
+            case 10: {
+                byte childType;
+                while ((childType = byteBuf.readByte()) != 0) {
+                    byteBuf.skipBytes(byteBuf.readUnsignedShort());
+                    skipNbtPayload(childType, byteBuf, depth + 1);
+                }
+                break;
+            }
+            case 11:
+                byteBuf.skipBytes(readNbtLength(byteBuf) * 4);
+                break;
+            case 12:
+                byteBuf.skipBytes(readNbtLength(byteBuf) * 8);
+                break;
+            default:
+                throw new DecoderException("Unknown NBT tag type " + type);
+        }
+    }
+
+    /**
+     * Reads the length of an NBT array or list
+     *
+     * @param byteBuf The ByteBuf to read from
+     *
+     * @return The length
+     *
+     * @throws DecoderException if the length is negative or larger than what
+     *                          is left
+     */
+    private static int readNbtLength(ByteBuf byteBuf) {
+        int length = byteBuf.readInt();
+        // every element is at least one byte, except in an empty list of end tags
+        if (length < 0 || length > byteBuf.readableBytes()) {
+            throw new DecoderException("Invalid NBT array length " + length);
+        }
+        return length;
+    }
 }
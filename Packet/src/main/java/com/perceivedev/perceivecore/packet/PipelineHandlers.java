@@ -0,0 +1,70 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelPipeline;
+
+/**
+ * Adds and removes the handlers the {@link PacketInjector} puts next to
+ * itself in a player's pipeline
+ */
+final class PipelineHandlers {
+
+    private static final Logger LOGGER = Logger.getLogger("PipelineHandlers");
+
+    private PipelineHandlers() {
+    }
+
+    /**
+     * Adds a handler before another one, replacing a handler with the same
+     * name
+     *
+     * @param channel The channel of a player
+     * @param baseName The name of the handler to add it before
+     * @param name The name of the handler
+     * @param keepExisting Returns true if the handler with the name, that is
+     * already in the pipeline, can stay
+     * @param handlerFactory Creates the handler
+     */
+    static void install(Channel channel, String baseName, String name, Predicate<ChannelHandler> keepExisting,
+                        Supplier<? extends ChannelHandler> handlerFactory) {
+        ChannelPipeline pipeline = channel.pipeline();
+        synchronized (pipeline) {
+            ChannelHandler existing = pipeline.get(name);
+            if (existing != null && keepExisting.test(existing)) {
+                return;
+            }
+            // remove old handler, if it wasn't properly cleared up (e.g. left over from a reload)
+            if (existing != null) {
+                pipeline.remove(name);
+            }
+            try {
+                pipeline.addBefore(baseName, name, handlerFactory.get());
+            } catch (NoSuchElementException e) {
+                // the connection is already closing
+                LOGGER.log(Level.FINE, "Could not add " + name + " to " + channel, e);
+            }
+        }
+    }
+
+    /**
+     * Removes a handler from a channel, if it is one of ours
+     *
+     * @param channel The channel
+     * @param name The name of the handler
+     * @param type The type of the handler
+     */
+    static void uninstall(Channel channel, String name, Class<? extends ChannelHandler> type) {
+        channel.eventLoop().submit(() -> {
+            if (type.isInstance(channel.pipeline().get(name))) {
+                channel.pipeline().remove(name);
+            }
+        });
+    }
+}
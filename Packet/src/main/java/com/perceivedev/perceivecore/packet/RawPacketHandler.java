@@ -0,0 +1,159 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.entity.Player;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * Passes the received packets to the {@link RawPacketListener}s, before the
+ * server decodes them
+ * <p>
+ * It sits right before the server's decoder, after decryption and
+ * decompression. It is added once the player joined, as the server only adds
+ * the decompression during the login.
+ * <p>
+ * It also passes the size of the packets on to the {@link PacketMetrics}.
+ */
+class RawPacketHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Logger LOGGER = Logger.getLogger("RawPacketHandler");
+
+    /**
+     * The name of the handler in the pipeline
+     */
+    static final String HANDLER_NAME = "bukkitUtilsRawHandler";
+
+    private static final RawPacketListener[] EMPTY = new RawPacketListener[0];
+
+    private static volatile RawPacketListener[] listeners = EMPTY;
+
+    private final PacketInjector injector;
+
+    /**
+     * @param injector The injector of the channel, knowing the player
+     */
+    private RawPacketHandler(PacketInjector injector) {
+        this.injector = injector;
+    }
+
+    /**
+     * Adds a listener, if it is not already added
+     *
+     * @param listener The listener to add
+     *
+     * @throws NullPointerException if listener is null
+     */
+    static synchronized void addListener(RawPacketListener listener) {
+        Objects.requireNonNull(listener, "listener can not be null");
+        if (Arrays.asList(listeners).contains(listener)) {
+            return;
+        }
+        RawPacketListener[] copy = Arrays.copyOf(listeners, listeners.length + 1);
+        copy[copy.length - 1] = listener;
+        listeners = copy;
+    }
+
+    /**
+     * Removes a listener
+     *
+     * @param listener The listener to remove
+     */
+    static synchronized void removeListener(RawPacketListener listener) {
+        listeners = Arrays.stream(listeners)
+                .filter(rawPacketListener -> rawPacketListener != listener)
+                .toArray(RawPacketListener[]::new);
+    }
+
+    /**
+     * Removes all listeners
+     */
+    static synchronized void clearListeners() {
+        listeners = EMPTY;
+    }
+
+    /**
+     * Adds a handler to a channel, if it has none yet
+     *
+     * @param channel The channel of a player, who already joined
+     * @param injector The injector of the channel
+     */
+    static void install(Channel channel, PacketInjector injector) {
+        PipelineHandlers.install(channel, "decoder", HANDLER_NAME, existing -> false,
+                () -> new RawPacketHandler(injector));
+    }
+
+    /**
+     * Removes the handler from a channel
+     *
+     * @param channel The channel
+     */
+    static void uninstall(Channel channel) {
+        PipelineHandlers.uninstall(channel, HANDLER_NAME, RawPacketHandler.class);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext context, Object message) throws Exception {
+        if (!(message instanceof ByteBuf)) {
+            super.channelRead(context, message);
+            return;
+        }
+
+        RawPacketListener[] listeners = RawPacketHandler.listeners;
+        Player player = injector.getPlayer();
+        if (listeners.length == 0 || player == null) {
+            passOn(context, (ByteBuf) message);
+            return;
+        }
+
+        ByteBuf data = (ByteBuf) message;
+        int start = data.readerIndex();
+        boolean passOn = true;
+        try {
+            int packetId = PacketUtilities.readVarInt(data);
+            int dataStart = data.readerIndex();
+            for (RawPacketListener listener : listeners) {
+                data.readerIndex(dataStart);
+                try {
+                    passOn &= listener.onRawPacketReceived(player, packetId, data);
+                } catch (Exception e) {
+                    LOGGER.log(Level.WARNING, "Error in a Raw Packet Listener. Nag the author of that plugin!", e);
+                }
+            }
+        } catch (RuntimeException e) {
+            // not even an id, let the decoder complain about it
+            LOGGER.log(Level.FINE, "Malformed packet from " + player.getName(), e);
+        } finally {
+            data.readerIndex(start);
+        }
+
+        if (passOn) {
+            passOn(context, data);
+        }
+        else {
+            ReferenceCountUtil.release(message);
+        }
+    }
+
+    /**
+     * Passes a packet on to the server's decoder
+     *
+     * @param context The context of this handler
+     * @param data The packet
+     *
+     * @throws Exception if the decoder throws one
+     */
+    private void passOn(ChannelHandlerContext context, ByteBuf data) throws Exception {
+        // the decoder reads synchronously, so the injector gets the packet right after this
+        injector.setReceivedBytes(data.readableBytes());
+        super.channelRead(context, data);
+    }
+}
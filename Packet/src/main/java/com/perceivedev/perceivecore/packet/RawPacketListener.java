@@ -0,0 +1,31 @@
+package com.perceivedev.perceivecore.packet;
+
+import org.bukkit.entity.Player;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Listens for received packets before the server decodes them
+ * <p>
+ * This is the cheapest way to inspect a packet: nothing is created for it,
+ * you read what you need directly from the bytes, e.g. with the
+ * {@link PacketUtilities}. It is only called once the player joined, so the
+ * ids are the ones of the play protocol.
+ * <p>
+ * It is called on the network thread, so keep it short.
+ */
+public interface RawPacketListener {
+
+    /**
+     * Called when a packet is received
+     *
+     * @param player The Player that sent it
+     * @param packetId The id of the packet
+     * @param data The data of the packet, starting after the id. Read it, but
+     * do not modify, release or keep it. Its reader index is reset
+     * afterwards.
+     *
+     * @return False to drop the packet, true to pass it on
+     */
+    boolean onRawPacketReceived(Player player, int packetId, ByteBuf data);
+}
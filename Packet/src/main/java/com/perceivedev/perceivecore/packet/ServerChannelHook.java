@@ -0,0 +1,165 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+
+import com.perceivedev.perceivecore.reflection.ReflectionUtil;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.FieldPredicate;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+
+import static com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace.NMS;
+
+/**
+ * Attaches a {@link PacketInjector} to every new connection, as soon as the
+ * server has set up its pipeline.
+ * <p>
+ * It sits in the pipeline of the server's listening channels and sees every
+ * accepted connection before the server initializes it.
+ */
+@ChannelHandler.Sharable
+class ServerChannelHook extends ChannelInboundHandlerAdapter {
+
+    private static final Logger LOGGER = Logger.getLogger("ServerChannelHook");
+
+    private static final String HANDLER_NAME = "bukkitUtilsServerHook";
+    private static final String INIT_HANDLER_NAME = "bukkitUtilsInit";
+    private static final String INJECT_HANDLER_NAME = "bukkitUtilsInject";
+
+    private final List<Channel> serverChannels = new ArrayList<>();
+
+    /**
+     * Hooks into the server's listening channels
+     *
+     * @return True if it could hook into at least one channel
+     */
+    boolean hook() {
+        List<?> channelFutures;
+        try {
+            channelFutures = findChannelFutures();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not find the server channels. Connections are injected on join.", e);
+            return false;
+        }
+
+        // the server adds to it while binding
+        synchronized (channelFutures) {
+            for (Object future : channelFutures) {
+                Channel channel = ((ChannelFuture) future).channel();
+                channel.pipeline().addFirst(HANDLER_NAME, this);
+                serverChannels.add(channel);
+            }
+        }
+        return !serverChannels.isEmpty();
+    }
+
+    /**
+     * Removes this hook from the server's listening channels
+     */
+    void unhook() {
+        for (Channel channel : serverChannels) {
+            channel.eventLoop().submit(() -> {
+                if (channel.pipeline().get(HANDLER_NAME) == this) {
+                    channel.pipeline().remove(HANDLER_NAME);
+                }
+            });
+        }
+        serverChannels.clear();
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext context, Object message) throws Exception {
+        // the server channel reads the accepted connections
+        if (message instanceof Channel) {
+            ((Channel) message).pipeline().addFirst(INIT_HANDLER_NAME, new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(Channel channel) throws Exception {
+                    // runs before the server's initializer, so defer the injection until it added its handlers
+                    channel.pipeline().addLast(INJECT_HANDLER_NAME, new ChannelInitializer<Channel>() {
+                        @Override
+                        protected void initChannel(Channel channel) throws Exception {
+                            injectChild(channel);
+                        }
+                    });
+                }
+            });
+        }
+        super.channelRead(context, message);
+    }
+
+    /**
+     * Attaches a {@link PacketInjector} to an accepted connection
+     *
+     * @param channel The channel of the connection
+     */
+    private static void injectChild(Channel channel) {
+        try {
+            PacketInjector.inject(channel);
+        } catch (NoSuchElementException e) {
+            // not a minecraft connection (e.g. a legacy ping), nothing to listen to
+            LOGGER.log(Level.FINE, "Not injecting into " + channel, e);
+        }
+    }
+
+    /**
+     * Finds the futures of the server's listening channels.
+     * <p>
+     * Lengthy way of doing: ( (CraftServer) Bukkit.getServer()
+     * ).getServer().serverConnection.listeningChannels
+     *
+     * @return The list of channel futures of the server
+     */
+    private static List<?> findChannelFutures() {
+        Class<?> minecraftServerClass = ReflectionUtil.getClass(NMS, "MinecraftServer")
+                .orElseThrow(() -> new RuntimeException("Couldn't find MinecraftServer class!"));
+        Class<?> serverConnectionClass = ReflectionUtil.getClass(NMS, "ServerConnection")
+                .orElseThrow(() -> new RuntimeException("Couldn't find ServerConnection class!"));
+
+        Object minecraftServer = ReflectionUtil
+                .invokeInstanceMethod(Bukkit.getServer(), "getServer", new Class[0])
+                .getValueOrThrow("Couldn't invoke getServer method");
+
+        Field serverConnectionField = ReflectionUtil.getField(
+                minecraftServerClass,
+                new FieldPredicate(serverConnectionClass)
+        ).getValueOrThrow("Couldn't find serverConnection field");
+        Object serverConnection = ReflectionUtil.getFieldValue(serverConnectionField, minecraftServer)
+                .getValueOrThrow("Couldn't read serverConnection field");
+        if (serverConnection == null) {
+            throw new RuntimeException("The server connection is not created yet");
+        }
+
+        // there are two lists, one for the listening channels and one for the connections
+        Field channelFuturesField = ReflectionUtil.getField(
+                serverConnectionClass,
+                field -> field.getType() == List.class && isListOf(field.getGenericType(), ChannelFuture.class)
+        ).getValueOrThrow("Couldn't find listening channels field");
+
+        return (List<?>) ReflectionUtil.getFieldValue(channelFuturesField, serverConnection)
+                .getValueOrThrow("Couldn't read listening channels field");
+    }
+
+    /**
+     * @param type The generic type of a list
+     * @param elementType The expected element type
+     *
+     * @return True if the type is a list of the given element type
+     */
+    private static boolean isListOf(Type type, Class<?> elementType) {
+        return type instanceof ParameterizedType
+                && ((ParameterizedType) type).getActualTypeArguments()[0] == elementType;
+    }
+}
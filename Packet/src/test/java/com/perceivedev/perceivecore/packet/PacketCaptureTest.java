@@ -0,0 +1,238 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.perceivedev.perceivecore.packet.PacketCapture.Entry;
+import com.perceivedev.perceivecore.packet.PacketEvent.ConnectionDirection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test for the {@link PacketRecorder}, {@link PacketCapture} and
+ * {@link PacketReplay}
+ */
+class PacketCaptureTest {
+
+    private static final UUID PLAYER = UUID.randomUUID();
+
+    /**
+     * The captured values survive writing and reading the capture
+     */
+    @Test
+    void testRoundTrip() throws IOException {
+        PacketRecorder recorder = PacketRecorder.offHeap(4096);
+        recorder.record(PLAYER, new CapturedPacket(-5, "hello"), ConnectionDirection.TO_SERVER);
+        recorder.record(PLAYER, new CapturedPacket(300, null), ConnectionDirection.TO_CLIENT);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        recorder.snapshot().write(output);
+        PacketCapture capture = PacketCapture.read(new ByteArrayInputStream(output.toByteArray()));
+
+        List<Entry> entries = capture.getEntries();
+        assertEquals(2, entries.size());
+
+        Entry first = entries.get(0);
+        assertEquals(PLAYER, first.getPlayer());
+        assertEquals(ConnectionDirection.TO_SERVER, first.getDirection());
+        assertEquals(CapturedPacket.class.getName(), first.getPacketClassName());
+        assertEquals(-5, first.getValues().get(0));
+        assertEquals("hello", first.getValues().get(1));
+        assertEquals(Mode.SECOND, first.getValues().get(2));
+        assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) first.getValues().get(3));
+        assertFalse(first.isRestorable(4));
+
+        Entry second = entries.get(1);
+        assertEquals(ConnectionDirection.TO_CLIENT, second.getDirection());
+        assertEquals(300, second.getValues().get(0));
+        assertNull(second.getValues().get(1));
+        assertTrue(second.getTimeNanos() >= first.getTimeNanos());
+    }
+
+    /**
+     * Negative or too large counts and lengths are rejected before anything
+     * is allocated
+     */
+    @Test
+    void testMalformedCapture() throws IOException {
+        assertThrows(IOException.class, () -> PacketCapture.read(malformedCapture(-1, 0, 0, 0)));
+        assertThrows(IOException.class, () -> PacketCapture.read(malformedCapture(Integer.MAX_VALUE, 0, 0, 0)));
+        assertThrows(IOException.class, () -> PacketCapture.read(malformedCapture(0, -1, 0, 0)));
+        assertThrows(IOException.class, () -> PacketCapture.read(malformedCapture(0, 0, -1, 0)));
+        assertThrows(IOException.class, () -> PacketCapture.read(malformedCapture(0, 0, 0, -1)));
+        assertThrows(IOException.class, () -> PacketCapture.read(malformedCapture(0, 0, 0, Integer.MAX_VALUE)));
+        assertThrows(IOException.class, () -> PacketCapture.read(malformedCapture(0, 0, 1, 0)));
+
+        PacketRecorder recorder = PacketRecorder.offHeap(4096);
+        recorder.record(PLAYER, new CapturedPacket(1, "hello"), ConnectionDirection.TO_SERVER);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        recorder.snapshot().write(output);
+        byte[] data = output.toByteArray();
+        assertThrows(IOException.class, () -> PacketCapture.read(new ByteArrayInputStream(data), data.length - 1));
+
+        // the length prefix of the only record
+        int recordStart = data.length - recorder.snapshot().getDataSize();
+        data[recordStart] = (byte) 0x80;
+        assertThrows(IOException.class, () -> PacketCapture.read(new ByteArrayInputStream(data)));
+    }
+
+    /**
+     * @param classCount The amount of classes
+     * @param playerCount The amount of players
+     * @param recordCount The amount of records
+     * @param recordsLength The length of the records
+     *
+     * @return A capture with the given counts and nothing after them
+     */
+    private static ByteArrayInputStream malformedCapture(int classCount, int playerCount, int recordCount,
+                                                         int recordsLength) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(0x50434150);
+        output.writeByte(1);
+        output.writeLong(0);
+        output.writeInt(classCount);
+        output.writeInt(playerCount);
+        output.writeInt(recordCount);
+        output.writeInt(recordsLength);
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+
+    /**
+     * A full ring keeps the newest packets, in order
+     */
+    @Test
+    void testRingEviction() {
+        PacketRecorder recorder = PacketRecorder.offHeap(512);
+        for (int i = 0; i < 1000; i++) {
+            recorder.record(PLAYER, new CapturedPacket(i, "packet " + i), ConnectionDirection.TO_SERVER);
+        }
+
+        List<Entry> entries = recorder.snapshot().getEntries();
+        assertTrue(entries.size() > 1 && entries.size() < 1000);
+        assertEquals(recorder.size(), entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(1000 - entries.size() + i, entries.get(i).getValues().get(0));
+        }
+    }
+
+    /**
+     * Replayed packets are rebuilt and passed to the listeners
+     */
+    @Test
+    void testReplay() {
+        PacketRecorder recorder = PacketRecorder.offHeap(4096);
+        for (int i = 0; i < 10; i++) {
+            recorder.record(PLAYER, new ReplayablePacket(i, "packet"), ConnectionDirection.TO_SERVER);
+        }
+        recorder.record(PLAYER, new UnbuildablePacket(1), ConnectionDirection.TO_CLIENT);
+        recorder.record(PLAYER, new CapturedPacket(1, "opaque"), ConnectionDirection.TO_CLIENT);
+
+        List<ReplayablePacket> received = new ArrayList<>();
+        PacketListener listener = new PacketAdapter(ReplayablePacket.class) {
+            @Override
+            public void onPacketReceived(PacketEvent packetEvent) {
+                ReplayablePacket packet = (ReplayablePacket) packetEvent.getNMSPacket();
+                received.add(packet);
+                packetEvent.setCancelled(packet.id % 2 == 0);
+            }
+        };
+
+        PacketReplay.Result result = PacketReplay.replay(recorder.snapshot(), Collections.singleton(listener));
+
+        assertEquals(10, result.getReplayed());
+        assertEquals(5, result.getCancelled());
+        assertEquals(0, result.getErrors());
+        // one has no no-args constructor, the other a value that was not captured
+        assertEquals(2, result.getSkipped());
+        assertEquals(Integer.valueOf(1), result.getSkippedClasses().get(UnbuildablePacket.class.getName()));
+        assertEquals(Integer.valueOf(1), result.getSkippedClasses().get(CapturedPacket.class.getName()));
+
+        assertEquals(10, received.size());
+        for (int i = 0; i < received.size(); i++) {
+            ReplayablePacket packet = received.get(i);
+            assertEquals(i, packet.id);
+            assertEquals("packet", packet.name);
+            assertSame(Mode.FIRST, packet.mode);
+        }
+    }
+
+    private enum Mode {
+        FIRST,
+        SECOND
+    }
+
+    /**
+     * Stands in for an NMS packet, with a nested object that can not be
+     * captured
+     */
+    private static class CapturedPacket {
+        private int id;
+        private String name;
+        private Mode mode = Mode.SECOND;
+        private byte[] data = {1, 2, 3};
+        private Object handle = new Object();
+
+        private CapturedPacket() {
+        }
+
+        /**
+         * @param id The id
+         * @param name The name
+         */
+        private CapturedPacket(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    /**
+     * A packet whose values can all be captured
+     */
+    private static class ReplayablePacket {
+        private int id;
+        private String name;
+        private Mode mode = Mode.SECOND;
+
+        private ReplayablePacket() {
+        }
+
+        /**
+         * @param id The id
+         * @param name The name
+         */
+        private ReplayablePacket(int id, String name) {
+            this.id = id;
+            this.name = name;
+            this.mode = Mode.FIRST;
+        }
+    }
+
+    /**
+     * A packet without a no-args constructor
+     */
+    private static class UnbuildablePacket {
+        private final int value;
+
+        /**
+         * @param value The value
+         */
+        private UnbuildablePacket(int value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A test for the listener handling of the {@link PacketInjector}
+ */
+class PacketInjectorTest {
+
+    private static final int PACKET_AMOUNT = 200_000;
+
+    private PacketPipelineHarness harness;
+    private PacketInjector injector;
+
+    @BeforeEach
+    void setUp() {
+        harness = new PacketPipelineHarness(TestPacket.class);
+        injector = harness.getInjector();
+    }
+
+    @AfterEach
+    void tearDown() {
+        harness.close();
+    }
+
+    /**
+     * Adds and removes listeners on another thread while packets are pumped
+     * through the channel. The listener registered the whole time must see
+     * every packet and no packet may get lost.
+     */
+    @Test
+    void testListenerChangesWhilePumpingPackets() throws InterruptedException {
+        CountingListener permanentListener = new CountingListener();
+        injector.addPacketListener(permanentListener);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread mutator = new Thread(() -> {
+            Random random = new Random(42);
+            List<PacketListener> added = new ArrayList<>();
+            try {
+                while (running.get()) {
+                    if (added.isEmpty() || (added.size() < 20 && random.nextBoolean())) {
+                        PacketListener listener = new CountingListener(
+                                random.nextBoolean() ? TestPacket.class : OtherPacket.class
+                        );
+                        if (random.nextBoolean()) {
+                            injector.addPacketListener(listener);
+                        }
+                        else {
+                            PacketInjector.getGlobalListeners().add(listener);
+                        }
+                        added.add(listener);
+                    }
+                    else {
+                        PacketListener listener = added.remove(random.nextInt(added.size()));
+                        injector.removePacketListener(listener);
+                        PacketInjector.getGlobalListeners().remove(listener);
+                    }
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        }, "Listener mutator");
+        mutator.start();
+
+        try {
+            for (int i = 0; i < PACKET_AMOUNT; i++) {
+                harness.receive(new TestPacket());
+                harness.send(new TestPacket());
+            }
+        } finally {
+            running.set(false);
+            mutator.join();
+        }
+
+        assertNull(failure.get(), "Modifying the listeners failed");
+        assertEquals(PACKET_AMOUNT, permanentListener.received);
+        assertEquals(PACKET_AMOUNT, permanentListener.sent);
+        assertEquals(PACKET_AMOUNT, harness.getReceivedCount());
+    }
+
+    /**
+     * Before the player joined, the global listeners get the packets with a
+     * null player
+     */
+    @Test
+    void testPacketsBeforeJoin() {
+        injector.setPlayer(null);
+        AtomicReference<Object> player = new AtomicReference<>(this);
+        harness.addGlobalListener(new PacketAdapter(TestPacket.class) {
+            @Override
+            public void onPacketReceived(PacketEvent packetEvent) {
+                player.set(packetEvent.getPlayer());
+                packetEvent.setCancelled(true);
+            }
+        });
+
+        assertFalse(harness.receive(new TestPacket()));
+        assertNull(player.get());
+
+        injector.setPlayer(harness.getPlayer());
+        harness.receive(new TestPacket());
+        assertSame(harness.getPlayer(), player.get());
+    }
+
+    /**
+     * A detached injector passes everything on and takes no new listeners
+     */
+    @Test
+    void testDetach() {
+        CountingListener listener = new CountingListener();
+        injector.addPacketListener(listener);
+
+        injector.detach();
+        harness.getChannel().runPendingTasks();
+
+        assertNull(harness.getChannel().pipeline().get(PacketInjector.HANDLER_NAME));
+        assertThrows(IllegalStateException.class, () -> injector.addPacketListener(new CountingListener()));
+
+        harness.receive(new TestPacket());
+        assertEquals(0, listener.received);
+        assertEquals(1, harness.getReceivedCount());
+    }
+
+    /**
+     * Stands in for an NMS packet
+     */
+    private static class TestPacket {
+    }
+
+    /**
+     * Stands in for an NMS packet nobody listens to
+     */
+    private static class OtherPacket extends TestPacket {
+    }
+
+    /**
+     * Counts the packets it sees. Only used on the channel's thread.
+     */
+    private static class CountingListener implements PacketListener {
+        private final Collection<Class<?>> packetClasses;
+        private int received;
+        private int sent;
+
+        /**
+         * @param packetClasses The packet classes to listen for
+         */
+        private CountingListener(Class<?>... packetClasses) {
+            this.packetClasses = packetClasses.length == 0
+                    ? Collections.emptySet()
+                    : Collections.singleton(packetClasses[0]);
+        }
+
+        @Override
+        public void onPacketReceived(PacketEvent packetEvent) {
+            received++;
+        }
+
+        @Override
+        public void onPacketSend(PacketEvent packetEvent) {
+            sent++;
+        }
+
+        @Override
+        public Collection<Class<?>> getPacketClasses() {
+            return packetClasses;
+        }
+    }
+}
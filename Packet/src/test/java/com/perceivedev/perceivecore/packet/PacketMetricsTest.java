@@ -0,0 +1,133 @@
+package com.perceivedev.perceivecore.packet;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.perceivedev.perceivecore.packet.PacketEvent.ConnectionDirection;
+import com.perceivedev.perceivecore.packet.PacketMetrics.ListenerEntry;
+import com.perceivedev.perceivecore.packet.PacketMetrics.Snapshot;
+import com.perceivedev.perceivecore.packet.PacketMetrics.TrafficEntry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test for the counting of the {@link PacketMetrics}
+ */
+class PacketMetricsTest {
+
+    private static final int PACKET_AMOUNT = 1000;
+
+    private PacketPipelineHarness harness;
+    private PacketInjector injector;
+
+    @BeforeEach
+    void setUp() {
+        harness = new PacketPipelineHarness(TestPacket.class);
+        injector = harness.getInjector();
+    }
+
+    @AfterEach
+    void tearDown() {
+        harness.close();
+    }
+
+    /**
+     * Packets and bytes are counted per class and direction, for the channel
+     * and the whole server
+     */
+    @Test
+    void testTrafficIsCounted() {
+        Snapshot globalBefore = PacketMetrics.snapshot();
+
+        for (int i = 0; i < PACKET_AMOUNT; i++) {
+            injector.setReceivedBytes(10);
+            harness.receive(new TestPacket());
+            harness.send(new TestPacket());
+        }
+        // no size known, no size counted
+        harness.receive(new TestPacket());
+
+        Snapshot snapshot = injector.getTraffic().snapshot(false);
+        TrafficEntry received = snapshot.getTotal(ConnectionDirection.TO_SERVER);
+        assertEquals(PACKET_AMOUNT + 1, received.getPackets());
+        assertEquals(PACKET_AMOUNT * 10, received.getBytes());
+
+        TrafficEntry sent = snapshot.getTotal(ConnectionDirection.TO_CLIENT);
+        assertEquals(PACKET_AMOUNT, sent.getPackets());
+        assertEquals(0, sent.getBytes());
+
+        Snapshot globalDelta = PacketMetrics.snapshot().since(globalBefore);
+        assertEquals(PACKET_AMOUNT + 1, globalDelta.getTotal(ConnectionDirection.TO_SERVER).getPackets());
+        // other tests in this JVM counted traffic before, but not in between
+        assertEquals(1, globalDelta.getTraffic().stream()
+                .filter(entry -> entry.getDirection() == ConnectionDirection.TO_SERVER)
+                .count());
+        assertEquals(TestPacket.class, globalDelta.getTraffic().stream()
+                .filter(entry -> entry.getDirection() == ConnectionDirection.TO_SERVER)
+                .findFirst()
+                .map(TrafficEntry::getPacketClass)
+                .orElse(null));
+    }
+
+    /**
+     * Every listener call ends up in the histogram of the listener's class
+     */
+    @Test
+    void testListenerTimings() {
+        Snapshot before = PacketMetrics.snapshot();
+        PacketInjector.getGlobalListeners().add(new SlowListener());
+
+        for (int i = 0; i < PACKET_AMOUNT; i++) {
+            harness.receive(new TestPacket());
+        }
+
+        ListenerEntry entry = PacketMetrics.snapshot().since(before).getListeners().stream()
+                .filter(listenerEntry -> listenerEntry.getListenerClass() == SlowListener.class)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("SlowListener was not timed"));
+
+        assertEquals(PACKET_AMOUNT, entry.getCalls());
+        long bucketSum = 0;
+        for (long bucket : entry.getBuckets()) {
+            bucketSum += bucket;
+        }
+        assertEquals(PACKET_AMOUNT, bucketSum);
+        assertTrue(entry.getPercentileNanos(0.5) >= 1000, "Median below the sleep time");
+    }
+
+    @Test
+    void testBucketOf() {
+        assertEquals(0, PacketMetrics.bucketOf(0));
+        assertEquals(0, PacketMetrics.bucketOf(1));
+        assertEquals(1, PacketMetrics.bucketOf(2));
+        assertEquals(1, PacketMetrics.bucketOf(3));
+        assertEquals(10, PacketMetrics.bucketOf(1024));
+        assertEquals(PacketMetrics.BUCKET_AMOUNT - 1, PacketMetrics.bucketOf(Long.MAX_VALUE));
+    }
+
+    /**
+     * Stands in for an NMS packet
+     */
+    private static class TestPacket {
+    }
+
+    /**
+     * Takes at least a microsecond for every packet
+     */
+    private static class SlowListener implements PacketListener {
+
+        @Override
+        public void onPacketReceived(PacketEvent packetEvent) {
+            long end = System.nanoTime() + 1000;
+            while (System.nanoTime() < end) {
+                Thread.yield();
+            }
+        }
+
+        @Override
+        public void onPacketSend(PacketEvent packetEvent) {
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.lang.reflect.Proxy;
+
+import org.bukkit.entity.Player;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * Runs a {@link PacketInjector} in an {@link EmbeddedChannel}, without a
+ * server
+ * <p>
+ * The channel has a fake "packet_handler" consuming the received packets and
+ * a fake "encoder" consuming the sent ones, with the injector in between, as
+ * in the server's pipeline. Everything runs on the calling thread.
+ * <p>
+ * It lives in the packet package, as the injector is not public. The tests
+ * and the benchmarks share it, through the test jar of this module.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class PacketPipelineHarness {
+
+    private final EmbeddedChannel channel = new EmbeddedChannel();
+    private final ConsumingHandler packetHandler = new ConsumingHandler();
+    private final ConsumingEncoder encoder = new ConsumingEncoder();
+    private final PacketInjector injector;
+
+    // the injector only keeps a weak reference
+    private final Player player = (Player) Proxy.newProxyInstance(
+            Player.class.getClassLoader(),
+            new Class[]{Player.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "HarnessPlayer";
+                    default:
+                        return null;
+                }
+            }
+    );
+
+    /**
+     * @param packetClass The base class of the stub NMS packets
+     */
+    public PacketPipelineHarness(Class<?> packetClass) {
+        channel.pipeline().addLast("encoder", encoder);
+        channel.pipeline().addLast("packet_handler", packetHandler);
+
+        injector = new PacketInjector(channel, packetClass);
+        channel.pipeline().addBefore("packet_handler", PacketInjector.HANDLER_NAME, injector);
+        injector.setPlayer(player);
+    }
+
+    /**
+     * @return The channel
+     */
+    public EmbeddedChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * @return The player of the channel
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return The injector of the channel
+     */
+    PacketInjector getInjector() {
+        return injector;
+    }
+
+    /**
+     * @return The amount of packets that reached the packet handler
+     */
+    public long getReceivedCount() {
+        return packetHandler.count;
+    }
+
+    /**
+     * Adds a listener for the packets of this channel's player
+     *
+     * @param listener The listener to add
+     */
+    public void addListener(PacketListener listener) {
+        injector.addPacketListener(listener);
+    }
+
+    /**
+     * Adds a listener for the packets of all channels
+     *
+     * @param listener The listener to add
+     */
+    public void addGlobalListener(PacketListener listener) {
+        PacketInjector.getGlobalListeners().add(listener);
+    }
+
+    /**
+     * Passes a packet through the channel, as if the client sent it
+     *
+     * @param packet The packet
+     *
+     * @return True if it reached the packet handler, false if it was cancelled
+     */
+    public boolean receive(Object packet) {
+        long before = packetHandler.count;
+        channel.pipeline().fireChannelRead(packet);
+        return packetHandler.count != before;
+    }
+
+    /**
+     * Passes a packet through the channel, as if the server sent it
+     *
+     * @param packet The packet
+     *
+     * @return True if it reached the encoder, false if it was cancelled
+     */
+    public boolean send(Object packet) {
+        long before = encoder.count;
+        channel.write(packet, channel.voidPromise());
+        return encoder.count != before;
+    }
+
+    /**
+     * Passes packets through the channel, as if the client sent them
+     *
+     * @param packet The packet to pass. It is passed multiple times.
+     * @param amount The amount of times to pass it
+     *
+     * @return The amount of packets that reached the packet handler
+     */
+    public long pumpReceived(Object packet, long amount) {
+        long before = packetHandler.count;
+        for (long i = 0; i < amount; i++) {
+            channel.pipeline().fireChannelRead(packet);
+        }
+        return packetHandler.count - before;
+    }
+
+    /**
+     * Passes packets through the channel, as if the server sent them
+     *
+     * @param packet The packet to pass. It is passed multiple times.
+     * @param amount The amount of times to pass it
+     *
+     * @return The amount of packets that reached the encoder
+     */
+    public long pumpSent(Object packet, long amount) {
+        long before = encoder.count;
+        for (long i = 0; i < amount; i++) {
+            channel.write(packet, channel.voidPromise());
+        }
+        return encoder.count - before;
+    }
+
+    /**
+     * Removes all listeners, including the global ones, and closes the
+     * channel
+     */
+    public void close() {
+        PacketInjector.getGlobalListeners().clear();
+        injector.removeAllPacketListeners();
+        channel.finish();
+    }
+
+    /**
+     * Stands in for the server's packet handler
+     */
+    private static final class ConsumingHandler extends ChannelInboundHandlerAdapter {
+        private long count;
+
+        @Override
+        public void channelRead(ChannelHandlerContext context, Object message) {
+            count++;
+            ReferenceCountUtil.release(message);
+        }
+    }
+
+    /**
+     * Stands in for the server's encoder
+     */
+    private static final class ConsumingEncoder extends ChannelOutboundHandlerAdapter {
+        private long count;
+
+        @Override
+        public void write(ChannelHandlerContext context, Object message, ChannelPromise promise) {
+            count++;
+            ReferenceCountUtil.release(message);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.perceivedev.perceivecore.packet;
+
+import java.util.UUID;
+
+import org.bukkit.util.BlockVector;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the codecs of the {@link PacketUtilities}
+ */
+class PacketUtilitiesTest {
+
+    @Test
+    void varInt() {
+        for (int value : new int[]{0, 1, 127, 128, 255, 25565, 2097151, Integer.MAX_VALUE, -1, Integer.MIN_VALUE}) {
+            ByteBuf byteBuf = Unpooled.buffer();
+            PacketUtilities.writeVarInt(value, byteBuf);
+
+            assertEquals(PacketUtilities.getVarIntSize(value), byteBuf.readableBytes());
+            assertEquals(value, PacketUtilities.readVarInt(byteBuf));
+            assertFalse(byteBuf.isReadable());
+        }
+    }
+
+    @Test
+    void varLong() {
+        for (long value : new long[]{0, 1, 127, 128, Integer.MAX_VALUE, Long.MAX_VALUE, -1, Long.MIN_VALUE}) {
+            ByteBuf byteBuf = Unpooled.buffer();
+            PacketUtilities.writeVarLong(value, byteBuf);
+
+            assertEquals(value, PacketUtilities.readVarLong(byteBuf));
+            assertFalse(byteBuf.isReadable());
+        }
+    }
+
+    @Test
+    void varNumberTooBig() {
+        ByteBuf byteBuf = Unpooled.buffer();
+        for (int i = 0; i < 11; i++) {
+            byteBuf.writeByte(0x80);
+        }
+
+        assertThrows(DecoderException.class, () -> PacketUtilities.readVarInt(byteBuf.duplicate()));
+        assertThrows(DecoderException.class, () -> PacketUtilities.readVarLong(byteBuf.duplicate()));
+    }
+
+    @Test
+    void stringInDirectBuffer() {
+        String string = "Hello \u00e4\u00f6\u00fc \u2713";
+        ByteBuf byteBuf = Unpooled.directBuffer(64);
+        PacketUtilities.writeString(string, byteBuf);
+        byteBuf.writeByte(42);
+
+        assertEquals(string, PacketUtilities.readString(32, byteBuf));
+        assertEquals(42, byteBuf.readByte());
+    }
+
+    @Test
+    void position() {
+        BlockVector position = new BlockVector(-30_000_000, 255, 29_999_999);
+        ByteBuf byteBuf = Unpooled.buffer();
+        PacketUtilities.writePosition(position, byteBuf);
+
+        assertEquals(position, PacketUtilities.readPosition(byteBuf));
+    }
+
+    @Test
+    void uuid() {
+        UUID uuid = UUID.randomUUID();
+        ByteBuf byteBuf = Unpooled.buffer();
+        PacketUtilities.writeUUID(uuid, byteBuf);
+
+        assertEquals(uuid, PacketUtilities.readUUID(byteBuf));
+    }
+
+    @Test
+    void nbt() {
+        ByteBuf byteBuf = Unpooled.buffer();
+        // root compound, named ""
+        byteBuf.writeByte(10).writeShort(0);
+        // string "name": "Steve"
+        byteBuf.writeByte(8).writeShort(4).writeBytes("name".getBytes()).writeShort(5).writeBytes("Steve".getBytes());
+        // list "scores" of two ints
+        byteBuf.writeByte(9).writeShort(6).writeBytes("scores".getBytes()).writeByte(3).writeInt(2).writeInt(1).writeInt(2);
+        // nested compound "empty"
+        byteBuf.writeByte(10).writeShort(5).writeBytes("empty".getBytes()).writeByte(0);
+        // end of root
+        byteBuf.writeByte(0);
+        int nbtLength = byteBuf.readableBytes();
+        byteBuf.writeByte(42);
+
+        ByteBuf nbt = PacketUtilities.readNbt(byteBuf);
+        assertEquals(nbtLength, nbt.readableBytes());
+        assertEquals(42, byteBuf.readByte());
+
+        assertNull(PacketUtilities.readNbt(Unpooled.buffer().writeByte(0)));
+    }
+}
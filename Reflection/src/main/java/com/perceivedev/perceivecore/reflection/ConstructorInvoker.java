@@ -0,0 +1,33 @@
+package com.perceivedev.perceivecore.reflection;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * A compiled invoker for a {@link Constructor}, backed by a
+ * {@link java.lang.invoke.MethodHandle}.
+ * <p>
+ * Creating an invoker is expensive, using it is not. Create it once (ideally
+ * in a {@code static final} field) and reuse it.
+ *
+ * @param <T> The type of the created object
+ *
+ * @see ReflectionUtil#invoker(Constructor)
+ */
+@FunctionalInterface
+public interface ConstructorInvoker <T> {
+
+    /**
+     * Creates a new instance
+     *
+     * @param params The parameters of the constructor
+     *
+     * @return The created instance
+     *
+     * @throws IllegalArgumentException if the wrong number of parameters was
+     *                                  passed
+     * @throws ReflectionException      wrapping a checked exception thrown by the
+     *                                  constructor. Unchecked exceptions are
+     *                                  passed through.
+     */
+    T newInstance(Object... params);
+}
@@ -0,0 +1,192 @@
+package com.perceivedev.perceivecore.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+
+/**
+ * A compiled getter and setter for a {@link Field}, backed by
+ * {@link MethodHandle}s.
+ * <p>
+ * Creating an accessor is expensive, using it is not. Create it once (ideally
+ * in a {@code static final} field) and reuse it.
+ *
+ * @param <T> The type of the field
+ *
+ * @see ReflectionUtil#accessor(Field)
+ * @see ReflectionUtil#accessor(Field, Class)
+ */
+public final class FieldAccessor <T> {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final Class<T> type;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    /**
+     * @param field The field to access
+     * @param type The type of the field, possibly boxed
+     *
+     * @throws ReflectionException if the field could not be made accessible
+     */
+    FieldAccessor(Field field, Class<T> type) {
+        this.field = field;
+        this.type = type;
+
+        field.setAccessible(true);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        boolean isStatic = Modifier.isStatic(field.getModifiers());
+
+        try {
+            MethodHandle rawGetter = lookup.unreflectGetter(field);
+            if (isStatic) {
+                rawGetter = MethodHandles.dropArguments(rawGetter, 0, Object.class);
+            }
+            getter = rawGetter.asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Couldn't create getter for " + field, e);
+        }
+
+        MethodHandle rawSetter;
+        try {
+            rawSetter = lookup.unreflectSetter(field);
+            if (isStatic) {
+                rawSetter = MethodHandles.dropArguments(rawSetter, 0, Object.class);
+            }
+            rawSetter = rawSetter.asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            // static final fields can not be written using a handle
+            rawSetter = null;
+        }
+        setter = rawSetter;
+    }
+
+    /**
+     * Reads the value of the field
+     *
+     * @param handle The object to read it from. Ignored for static fields.
+     *
+     * @return The value of the field
+     *
+     * @throws ClassCastException if the handle is not an instance of the
+     *                            declaring class
+     */
+    public T get(Object handle) {
+        try {
+            return type.cast((Object) getter.invokeExact(handle));
+        } catch (Throwable e) {
+            throw ReflectionException.rethrow(e, "Couldn't read " + field);
+        }
+    }
+
+    /**
+     * Writes the value of the field
+     *
+     * @param handle The object to write it to. Ignored for static fields.
+     * @param value The new value
+     *
+     * @throws ClassCastException  if the handle is not an instance of the
+     *                             declaring class or the value has the wrong type
+     * @throws ReflectionException if the field can not be written
+     */
+    public void set(Object handle, T value) {
+        if (setter == null) {
+            try {
+                field.set(handle, value);
+                return;
+            } catch (IllegalAccessException e) {
+                throw new ReflectionException("Couldn't write " + field, e);
+            }
+        }
+        try {
+            setter.invokeExact(handle, (Object) value);
+        } catch (Throwable e) {
+            throw ReflectionException.rethrow(e, "Couldn't write " + field);
+        }
+    }
+
+    /**
+     * Returns the handle reading the field, for callers that keep it in a
+     * {@code static final} field and invoke it directly:
+     * <pre>{@code
+     * Object value = (Object) GETTER.invokeExact(handle);
+     * }</pre>
+     *
+     * @return The getter. It takes the object, ignored for static fields, and
+     * returns the value as an {@code Object}.
+     */
+    public MethodHandle getGetter() {
+        return getter;
+    }
+
+    /**
+     * Returns the handle writing the field, for callers that keep it in a
+     * {@code static final} field and invoke it directly:
+     * <pre>{@code
+     * SETTER.invokeExact(handle, (Object) value);
+     * }</pre>
+     *
+     * @return The setter or null if the field is {@code static final}. It
+     * takes the object, ignored for static fields, and the value as an
+     * {@code Object}.
+     */
+    public MethodHandle getSetter() {
+        return setter;
+    }
+
+    /**
+     * Returns the field this accessor is for
+     *
+     * @return The accessed field
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Creates an accessor for a field
+     *
+     * @param field The field
+     * @param type The type of the field. Primitive fields use their wrapper
+     * type.
+     * @param <T> The type of the field
+     *
+     * @return The created accessor
+     *
+     * @throws IllegalArgumentException if the type does not match the field
+     */
+    static <T> FieldAccessor<T> create(Field field, Class<T> type) {
+        Objects.requireNonNull(field, "field can not be null");
+        Objects.requireNonNull(type, "type can not be null");
+
+        if (!type.isAssignableFrom(wrap(field.getType()))) {
+            throw new IllegalArgumentException("Field " + field + " is not of type " + type.getName());
+        }
+        return new FieldAccessor<>(field, type);
+    }
+
+    /**
+     * Boxes a primitive type
+     *
+     * @param type The type
+     *
+     * @return The wrapper type or the type itself, if it is no primitive
+     */
+    static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    @Override
+    public String toString() {
+        return "FieldAccessor{" + "field=" + field + '}';
+    }
+}
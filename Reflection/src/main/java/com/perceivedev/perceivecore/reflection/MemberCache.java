@@ -0,0 +1,463 @@
+package com.perceivedev.perceivecore.reflection;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+import com.perceivedev.perceivecore.reflection.ReflectionProfiler.Operation;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.MemberPredicate;
+
+/**
+ * Caches the members of a class and the results of lookups on them.
+ * <p>
+ * The cache is backed by a {@link ClassValue}, so the entries of a class are
+ * collected together with the class. Unloading a plugin (and therefore its
+ * {@link ClassLoader}) automatically clears everything cached for its classes.
+ */
+class MemberCache {
+
+    /**
+     * The maximum amount of cached predicate results per member type and class.
+     * Guards against callers building predicates with ever-changing names.
+     */
+    private static final int MAX_CACHED_LOOKUPS = 512;
+
+    private static final ClassValue<MemberCache> CACHE = new ClassValue<MemberCache>() {
+        @Override
+        protected MemberCache computeValue(Class<?> type) {
+            return new MemberCache(type);
+        }
+    };
+
+    private final Class<?> clazz;
+
+    private volatile Field[] fields;
+    private volatile Method[] methods;
+    private volatile Constructor<?>[] constructors;
+
+    private volatile Map<String, Field> fieldsByName;
+    private volatile Map<Class<?>, List<Field>> fieldsByType;
+    private volatile Map<Signature, Method> methodsBySignature;
+    private volatile Map<Signature, Constructor<?>> constructorsBySignature;
+
+    private final ConcurrentMap<Object, Optional<Field>> fieldLookups = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, Optional<Method>> methodLookups = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, Optional<Constructor<?>>> constructorLookups = new ConcurrentHashMap<>();
+
+    /**
+     * @param clazz The class to cache the members for
+     */
+    private MemberCache(Class<?> clazz) {
+        this.clazz = clazz;
+    }
+
+    /**
+     * Returns the cache for a class
+     *
+     * @param clazz The class to get the cache for
+     *
+     * @return The cache for the class
+     */
+    static MemberCache of(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * Checks if a RegEx contains no special characters, i.e. only matches
+     * itself. Such names can be looked up in the name index directly.
+     *
+     * @param regex The regex to check
+     *
+     * @return True if the RegEx only matches itself
+     */
+    static boolean isLiteral(String regex) {
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // <editor-fold desc="Raw members">
+
+    /**
+     * Returns ALL fields (public {@code ->} private) of the class. The declared
+     * fields come first, followed by the inherited public ones.
+     * <p>
+     * <b>The returned array is shared. Do not modify it.</b>
+     *
+     * @return All fields of the class
+     */
+    Field[] getFields() {
+        Field[] result = fields;
+        if (result == null) {
+            result = distinct(clazz.getDeclaredFields(), clazz.getFields(), new Field[0]);
+            fields = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns ALL methods (public {@code ->} private) of the class. The public
+     * methods come first, followed by the declared ones.
+     * <p>
+     * <b>The returned array is shared. Do not modify it.</b>
+     *
+     * @return All methods of the class
+     */
+    Method[] getMethods() {
+        Method[] result = methods;
+        if (result == null) {
+            result = distinct(clazz.getMethods(), clazz.getDeclaredMethods(), new Method[0]);
+            methods = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns ALL constructors (public {@code ->} private) of the class. The
+     * public constructors come first, followed by the declared ones.
+     * <p>
+     * <b>The returned array is shared. Do not modify it.</b>
+     *
+     * @return All constructors of the class
+     */
+    Constructor<?>[] getConstructors() {
+        Constructor<?>[] result = constructors;
+        if (result == null) {
+            result = distinct(clazz.getConstructors(), clazz.getDeclaredConstructors(), new Constructor<?>[0]);
+            constructors = result;
+        }
+        return result;
+    }
+
+    /**
+     * Concatenates the two arrays, dropping duplicates but keeping the order
+     *
+     * @param first The first array
+     * @param second The second array
+     * @param type An empty array of the resulting type
+     * @param <T> The type of the members
+     *
+     * @return The distinct members of both arrays
+     */
+    private static <T> T[] distinct(T[] first, T[] second, T[] type) {
+        Set<T> set = new LinkedHashSet<>(first.length + second.length);
+        Collections.addAll(set, first);
+        Collections.addAll(set, second);
+        return set.toArray(type);
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Indices">
+
+    /**
+     * Returns the first field (in the order of {@link #getFields()}) with the
+     * given name
+     *
+     * @param name The exact name of the field
+     *
+     * @return The field, if any
+     */
+    Optional<Field> getFieldByName(String name) {
+        long start = ReflectionProfiler.start();
+        Map<String, Field> index = fieldsByName;
+        if (index == null) {
+            index = new HashMap<>();
+            for (Field field : getFields()) {
+                index.putIfAbsent(field.getName(), field);
+            }
+            fieldsByName = index;
+        }
+        Optional<Field> result = Optional.ofNullable(index.get(name));
+        ReflectionProfiler.record(Operation.GET_FIELD, clazz, name, start);
+        return result;
+    }
+
+    /**
+     * Returns all fields with exactly the given type
+     *
+     * @param type The type of the fields
+     *
+     * @return All fields with the type, in the order of {@link #getFields()}.
+     * Unmodifiable.
+     */
+    List<Field> getFieldsByType(Class<?> type) {
+        Map<Class<?>, List<Field>> index = fieldsByType;
+        if (index == null) {
+            index = new HashMap<>();
+            for (Field field : getFields()) {
+                index.computeIfAbsent(field.getType(), key -> new ArrayList<>()).add(field);
+            }
+            index.replaceAll((key, list) -> Collections.unmodifiableList(list));
+            fieldsByType = index;
+        }
+        return index.getOrDefault(type, Collections.emptyList());
+    }
+
+    /**
+     * Returns the first method (in the order of {@link #getMethods()}) with
+     * the given name and parameters
+     *
+     * @param name The exact name of the method
+     * @param parameters The parameter types of the method
+     *
+     * @return The method, if any
+     */
+    Optional<Method> getMethodBySignature(String name, Class<?>... parameters) {
+        long start = ReflectionProfiler.start();
+        Map<Signature, Method> index = methodsBySignature;
+        if (index == null) {
+            index = new HashMap<>();
+            for (Method method : getMethods()) {
+                index.putIfAbsent(new Signature(method.getName(), method.getParameterTypes()), method);
+            }
+            methodsBySignature = index;
+        }
+        Signature signature = new Signature(name, parameters);
+        Optional<Method> result = Optional.ofNullable(index.get(signature));
+        ReflectionProfiler.record(Operation.GET_METHOD, clazz, signature, start);
+        return result;
+    }
+
+    /**
+     * Returns the first constructor (in the order of
+     * {@link #getConstructors()}) with the given parameters
+     *
+     * @param parameters The parameter types of the constructor
+     *
+     * @return The constructor, if any
+     */
+    Optional<Constructor<?>> getConstructorBySignature(Class<?>... parameters) {
+        long start = ReflectionProfiler.start();
+        Map<Signature, Constructor<?>> index = constructorsBySignature;
+        if (index == null) {
+            index = new HashMap<>();
+            for (Constructor<?> constructor : getConstructors()) {
+                index.putIfAbsent(new Signature(null, constructor.getParameterTypes()), constructor);
+            }
+            constructorsBySignature = index;
+        }
+        Signature signature = new Signature(null, parameters);
+        Optional<Constructor<?>> result = Optional.ofNullable(index.get(signature));
+        ReflectionProfiler.record(Operation.GET_CONSTRUCTOR, clazz, signature, start);
+        return result;
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Predicate lookups">
+
+    /**
+     * Finds the first field matching the selector
+     *
+     * @param selector The selector
+     *
+     * @return The first matching field, if any
+     */
+    Optional<Field> findField(Predicate<Field> selector) {
+        long start = ReflectionProfiler.start();
+        Optional<Field> result = find(getFields(), selector, fieldLookups);
+        ReflectionProfiler.record(Operation.GET_FIELD, clazz, selector, start);
+        return result;
+    }
+
+    /**
+     * Finds the first method matching the selector
+     *
+     * @param selector The selector
+     *
+     * @return The first matching method, if any
+     */
+    Optional<Method> findMethod(Predicate<Method> selector) {
+        long start = ReflectionProfiler.start();
+        Optional<Method> result = find(getMethods(), selector, methodLookups);
+        ReflectionProfiler.record(Operation.GET_METHOD, clazz, selector, start);
+        return result;
+    }
+
+    /**
+     * Finds the first constructor matching the selector
+     *
+     * @param selector The selector
+     *
+     * @return The first matching constructor, if any
+     */
+    Optional<Constructor<?>> findConstructor(Predicate<Constructor<?>> selector) {
+        long start = ReflectionProfiler.start();
+        Optional<Constructor<?>> result = find(getConstructors(), selector, constructorLookups);
+        ReflectionProfiler.record(Operation.GET_CONSTRUCTOR, clazz, selector, start);
+        return result;
+    }
+
+    /**
+     * Finds the first member matching the selector, consulting the cache if
+     * the selector is one of the known {@link MemberPredicate}s.
+     *
+     * @param members The members to search
+     * @param selector The selector
+     * @param cache The cache for the results
+     * @param <T> The type of the member
+     *
+     * @return The first matching member, if any
+     */
+    private <T extends Member> Optional<T> find(T[] members, Predicate<T> selector,
+                                                ConcurrentMap<Object, Optional<T>> cache) {
+        Object key = selector instanceof MemberPredicate
+                     ? ((MemberPredicate<?>) selector).getCacheKey()
+                     : null;
+
+        if (key == null) {
+            return findFirst(members, selector);
+        }
+
+        Optional<T> cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Optional<T> result = findFirst(members, selector);
+
+        // a miss may reference classes this class can not see. Caching it would keep their loader alive.
+        if (cache.size() < MAX_CACHED_LOOKUPS && (result.isPresent() || isVisible(key))) {
+            cache.putIfAbsent(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @param members The members to search
+     * @param selector The selector
+     * @param <T> The type of the member
+     *
+     * @return The first member matching the selector
+     */
+    private static <T> Optional<T> findFirst(T[] members, Predicate<T> selector) {
+        for (T member : members) {
+            if (selector.test(member)) {
+                return Optional.of(member);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Checks whether all classes referenced by a cache key are visible from the
+     * {@link ClassLoader} of the cached class
+     *
+     * @param key The key to check
+     *
+     * @return True if the key references no foreign classes
+     */
+    private boolean isVisible(Object key) {
+        if (key instanceof Class) {
+            return isVisible((Class<?>) key);
+        }
+        if (key instanceof Iterable) {
+            for (Object part : (Iterable<?>) key) {
+                if (!isVisible(part)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param other The class to check
+     *
+     * @return True if the loader of the other class is the loader of the
+     * cached class or one of its parents
+     */
+    private boolean isVisible(Class<?> other) {
+        return isVisible(clazz, other);
+    }
+
+    /**
+     * Checks whether a class can be referenced from a cache attached to
+     * another class, without keeping an unrelated {@link ClassLoader} alive
+     *
+     * @param owner The class the cache is attached to
+     * @param other The class to check
+     *
+     * @return True if the loader of the other class is the loader of the
+     * owner or one of its parents
+     */
+    static boolean isVisible(Class<?> owner, Class<?> other) {
+        ClassLoader otherLoader = other.getClassLoader();
+        if (otherLoader == null) {
+            return true;
+        }
+        for (ClassLoader loader = owner.getClassLoader(); loader != null; loader = loader.getParent()) {
+            if (loader == otherLoader) {
+                return true;
+            }
+        }
+        return false;
+    }
+    // </editor-fold>
+
+    /**
+     * A name and parameter types, used to index methods and constructors
+     */
+    private static final class Signature {
+        private final String name;
+        private final Class<?>[] parameters;
+        private final int hash;
+
+        /**
+         * @param name The name. Null for constructors
+         * @param parameters The parameter types
+         */
+        private Signature(String name, Class<?>[] parameters) {
+            this.name = name;
+            this.parameters = parameters;
+            this.hash = 31 * (name == null ? 0 : name.hashCode()) + Arrays.hashCode(parameters);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+            Signature signature = (Signature) o;
+            return hash == signature.hash
+                    && (name == null ? signature.name == null : name.equals(signature.name))
+                    && Arrays.equals(parameters, signature.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(name == null ? "<init>" : name).append('(');
+            for (int i = 0; i < parameters.length; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(parameters[i].getSimpleName());
+            }
+            return builder.append(')').toString();
+        }
+    }
+}
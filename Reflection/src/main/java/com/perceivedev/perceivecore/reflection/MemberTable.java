@@ -0,0 +1,661 @@
+package com.perceivedev.perceivecore.reflection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.FieldPredicate;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.MethodPredicate;
+
+/**
+ * A declarative table of members whose names differ between server versions.
+ * <p>
+ * Each member has a key, the class declaring it and a list of aliases, each
+ * valid for a range of versions. Members that can not be found by name (e.g.
+ * obfuscated methods that must be found by calling candidates) can register a
+ * probe, which is used if no alias matches.
+ * <pre>{@code
+ * MemberTable table = MemberTable.builder(dataFolder.resolve("members.properties"))
+ *         .method("container.addSlot", "{nms}.Container", "a", "{nms}.Slot")
+ *         .methodIn("entity.save", "{nms}.Entity", "1.9-", "e", "{nms}.NBTTagCompound")
+ *         .methodIn("entity.save", "{nms}.Entity", "-1.8.9", "d", "{nms}.NBTTagCompound")
+ *         .probe("entity.save", "{nms}.Entity", owner -> findSaveMethodByCallingThem(owner))
+ *         .build();
+ *
+ * Method save = table.getMethodOrThrow("entity.save");
+ * }</pre>
+ * The table is resolved once in {@link Builder#build()}. The results are
+ * written to the cache file, together with the server version. On the next
+ * start with the same server version the cached members are looked up
+ * directly, so neither the aliases nor the probes are evaluated again.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class MemberTable {
+
+    private static final Logger LOGGER = Logger.getLogger("MemberTable");
+
+    /**
+     * The key of the server version in the cache file
+     */
+    private static final String VERSION_KEY = "server-version";
+
+    /**
+     * Matches any parameters, when used as the only parameter of an alias
+     */
+    public static final String ANY_PARAMETERS = "*";
+
+    private final Map<String, Member> members;
+
+    /**
+     * @param members The resolved members
+     */
+    private MemberTable(Map<String, Member> members) {
+        this.members = members;
+    }
+
+    /**
+     * Creates a new builder
+     *
+     * @param cacheFile The file to cache the resolved members in. Null to not
+     * cache them.
+     *
+     * @return The builder
+     */
+    public static Builder builder(Path cacheFile) {
+        return new Builder(cacheFile);
+    }
+
+    /**
+     * Returns a resolved method
+     *
+     * @param key The key of the method
+     *
+     * @return The method, if it was found
+     */
+    public Optional<Method> getMethod(String key) {
+        Member member = members.get(key);
+        return member instanceof Method ? Optional.of((Method) member) : Optional.empty();
+    }
+
+    /**
+     * Returns a resolved method
+     *
+     * @param key The key of the method
+     *
+     * @return The method
+     *
+     * @throws ReflectionException if the method was not found
+     */
+    public Method getMethodOrThrow(String key) {
+        return getMethod(key).orElseThrow(() -> ReflectionException.notFoundWithStackTrace(
+                "Method '" + key + "' not found for " + Bukkit.getVersion()
+        ));
+    }
+
+    /**
+     * Returns a resolved field
+     *
+     * @param key The key of the field
+     *
+     * @return The field, if it was found
+     */
+    public Optional<Field> getField(String key) {
+        Member member = members.get(key);
+        return member instanceof Field ? Optional.of((Field) member) : Optional.empty();
+    }
+
+    /**
+     * Returns a resolved field
+     *
+     * @param key The key of the field
+     *
+     * @return The field
+     *
+     * @throws ReflectionException if the field was not found
+     */
+    public Field getFieldOrThrow(String key) {
+        return getField(key).orElseThrow(() -> ReflectionException.notFoundWithStackTrace(
+                "Field '" + key + "' not found for " + Bukkit.getVersion()
+        ));
+    }
+
+    /**
+     * Builds and resolves a {@link MemberTable}
+     */
+    public static final class Builder {
+
+        private final Path cacheFile;
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final List<String> order = new ArrayList<>();
+
+        /**
+         * @param cacheFile The file to cache the resolved members in. May be
+         * null.
+         */
+        private Builder(Path cacheFile) {
+            this.cacheFile = cacheFile;
+        }
+
+        /**
+         * Adds a field alias, valid for all versions
+         *
+         * @param key The key of the field
+         * @param owner The class declaring it, e.g. {@code "{nms}.Entity"} or a
+         * fully qualified name
+         * @param name The name of the field. Is a <b>RegEx</b>.
+         *
+         * @return This builder
+         *
+         * @see #fieldIn(String, String, String, String)
+         */
+        public Builder field(String key, String owner, String name) {
+            return fieldIn(key, owner, "*", name);
+        }
+
+        /**
+         * Adds a field alias
+         *
+         * @param key The key of the field
+         * @param owner The class declaring it, e.g. {@code "{nms}.Entity"} or a
+         * fully qualified name
+         * @param versions The versions it is valid for. See
+         * {@link #methodIn(String, String, String, String, String...)}.
+         * @param name The name of the field. Is a <b>RegEx</b>.
+         *
+         * @return This builder
+         *
+         * @throws IllegalArgumentException if the key was added with another
+         *                                  owner
+         */
+        public Builder fieldIn(String key, String owner, String versions, String name) {
+            entry(key, owner).aliases.add(new Alias(VersionRange.parse(versions), name, null));
+            return this;
+        }
+
+        /**
+         * Adds a method alias, valid for all versions
+         *
+         * @param key The key of the method
+         * @param owner The class declaring it, e.g. {@code "{nms}.Entity"} or a
+         * fully qualified name
+         * @param name The name of the method. Is a <b>RegEx</b>.
+         * @param parameters The parameter types, e.g.
+         * {@code "{nms}.NBTTagCompound"} or {@code "int"}. A single
+         * {@link #ANY_PARAMETERS} to not check them.
+         *
+         * @return This builder
+         *
+         * @see #methodIn(String, String, String, String, String...)
+         */
+        public Builder method(String key, String owner, String name, String... parameters) {
+            return methodIn(key, owner, "*", name, parameters);
+        }
+
+        /**
+         * Adds a method alias
+         * <p>
+         * Aliases of a member are tried in the order they were added.
+         *
+         * @param key The key of the method
+         * @param owner The class declaring it, e.g. {@code "{nms}.Entity"} or a
+         * fully qualified name
+         * @param versions The versions it is valid for: {@code "*"} for all,
+         * {@code "1.9-"} for 1.9 and later, {@code "-1.8.9"} for 1.8.9 and
+         * earlier, {@code "1.9-1.10.2"} for everything in between (inclusive)
+         * @param name The name of the method. Is a <b>RegEx</b>.
+         * @param parameters The parameter types, e.g.
+         * {@code "{nms}.NBTTagCompound"} or {@code "int"}. A single
+         * {@link #ANY_PARAMETERS} to not check them.
+         *
+         * @return This builder
+         *
+         * @throws IllegalArgumentException if the key was added with another
+         *                                  owner
+         */
+        public Builder methodIn(String key, String owner, String versions, String name, String... parameters) {
+            entry(key, owner).aliases.add(new Alias(VersionRange.parse(versions), name, parameters));
+            return this;
+        }
+
+        /**
+         * Registers a method that finds a member if none of its aliases
+         * matches. It is only called if the member is not in the cache file.
+         *
+         * @param key The key of the member
+         * @param owner The class declaring it, e.g. {@code "{nms}.Entity"} or a
+         * fully qualified name
+         * @param probe Finds the member, given the owner class
+         *
+         * @return This builder
+         *
+         * @throws IllegalArgumentException if the key was added with another
+         *                                  owner
+         */
+        public Builder probe(String key, String owner, Function<Class<?>, Optional<? extends Member>> probe) {
+            entry(key, owner).probe = Objects.requireNonNull(probe, "probe can not be null");
+            return this;
+        }
+
+        /**
+         * Resolves all members
+         *
+         * @return The resolved table. Members that could not be found are
+         * absent.
+         */
+        public MemberTable build() {
+            Properties cache = readCache();
+            boolean changed = false;
+
+            Map<String, Member> resolved = new HashMap<>();
+            for (String key : order) {
+                Entry entry = entries.get(key);
+                Optional<Class<?>> owner = forName(entry.owner, MemberTable.class);
+                if (!owner.isPresent()) {
+                    LOGGER.warning("Owner class '" + entry.owner + "' of '" + key + "' not found");
+                    continue;
+                }
+
+                Optional<? extends Member> member = fromCache(cache.getProperty(key), owner.get());
+                if (!member.isPresent()) {
+                    member = entry.resolve(owner.get());
+                    if (member.isPresent()) {
+                        cache.setProperty(key, describe(member.get()));
+                        changed = true;
+                    }
+                }
+
+                if (member.isPresent()) {
+                    resolved.put(key, member.get());
+                } else {
+                    LOGGER.warning("Member '" + key + "' not found in " + entry.owner);
+                }
+            }
+
+            if (changed) {
+                writeCache(cache);
+            }
+
+            return new MemberTable(Collections.unmodifiableMap(resolved));
+        }
+
+        /**
+         * @param key The key of the member
+         * @param owner The owner of the member
+         *
+         * @return The existing or a new entry
+         *
+         * @throws IllegalArgumentException if the existing entry has another
+         *                                  owner
+         */
+        private Entry entry(String key, String owner) {
+            Objects.requireNonNull(key, "key can not be null");
+            Objects.requireNonNull(owner, "owner can not be null");
+
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(owner);
+                entries.put(key, entry);
+                order.add(key);
+            } else if (!entry.owner.equals(owner)) {
+                throw new IllegalArgumentException("'" + key + "' was already added with the owner " + entry.owner);
+            }
+            return entry;
+        }
+
+        /**
+         * Reads the cache file, if it belongs to the running server version
+         *
+         * @return The cached members. Empty if there are none.
+         */
+        private Properties readCache() {
+            Properties properties = new Properties();
+            if (cacheFile == null || !Files.isRegularFile(cacheFile)) {
+                return properties;
+            }
+            try (InputStream inputStream = Files.newInputStream(cacheFile)) {
+                properties.load(inputStream);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Couldn't read the member cache " + cacheFile, e);
+                return new Properties();
+            }
+
+            if (!Bukkit.getVersion().equals(properties.getProperty(VERSION_KEY))) {
+                return new Properties();
+            }
+            return properties;
+        }
+
+        /**
+         * Writes the cache file
+         *
+         * @param properties The cached members
+         */
+        private void writeCache(Properties properties) {
+            if (cacheFile == null) {
+                return;
+            }
+            properties.setProperty(VERSION_KEY, Bukkit.getVersion());
+            try {
+                if (cacheFile.getParent() != null) {
+                    Files.createDirectories(cacheFile.getParent());
+                }
+                try (OutputStream outputStream = Files.newOutputStream(cacheFile)) {
+                    properties.store(outputStream, "Resolved members. Delete to resolve them again.");
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Couldn't write the member cache " + cacheFile, e);
+            }
+        }
+
+        /**
+         * Looks up a cached member
+         *
+         * @param cached The cached description. May be null.
+         * @param owner The owner class
+         *
+         * @return The member, if it was cached and still exists
+         */
+        private static Optional<? extends Member> fromCache(String cached, Class<?> owner) {
+            if (cached == null) {
+                return Optional.empty();
+            }
+            MemberCache cache = MemberCache.of(owner);
+
+            // methods are stored with their parameters, fields by their name
+            int open = cached.indexOf('(');
+            if (open < 0) {
+                return cache.getFieldByName(cached);
+            }
+            if (!cached.endsWith(")")) {
+                return Optional.empty();
+            }
+            String name = cached.substring(0, open);
+            String parameterList = cached.substring(open + 1, cached.length() - 1);
+            String[] parameterNames = parameterList.isEmpty() ? new String[0] : parameterList.split(",");
+
+            Class<?>[] parameters = new Class<?>[parameterNames.length];
+            for (int i = 0; i < parameterNames.length; i++) {
+                Optional<Class<?>> parameter = forName(parameterNames[i], owner);
+                if (!parameter.isPresent()) {
+                    return Optional.empty();
+                }
+                parameters[i] = parameter.get();
+            }
+            return cache.getMethodBySignature(name, parameters);
+        }
+
+        /**
+         * @param member The member
+         *
+         * @return The description stored in the cache
+         */
+        private static String describe(Member member) {
+            if (member instanceof Field) {
+                return member.getName();
+            }
+            StringJoiner joiner = new StringJoiner(",", member.getName() + "(", ")");
+            for (Class<?> parameter : ((Method) member).getParameterTypes()) {
+                joiner.add(parameter.getName());
+            }
+            return joiner.toString();
+        }
+    }
+
+    /**
+     * Resolves a class by its name with a name space identifier (e.g.
+     * {@code "{nms}.Entity"}), its binary name (as returned by
+     * {@link Class#getName()}) or the name of a primitive
+     *
+     * @param name The name
+     * @param context A class whose loader can see the class
+     *
+     * @return The class, if found
+     */
+    private static Optional<Class<?>> forName(String name, Class<?> context) {
+        switch (name) {
+            case "boolean":
+                return Optional.of(boolean.class);
+            case "byte":
+                return Optional.of(byte.class);
+            case "short":
+                return Optional.of(short.class);
+            case "char":
+                return Optional.of(char.class);
+            case "int":
+                return Optional.of(int.class);
+            case "long":
+                return Optional.of(long.class);
+            case "float":
+                return Optional.of(float.class);
+            case "double":
+                return Optional.of(double.class);
+            default:
+                if (ReflectionUtil.NameSpace.getFromIdentifier(name).isPresent()) {
+                    return ReflectionUtil.getClass(name);
+                }
+                try {
+                    return Optional.of(Class.forName(name, false, context.getClassLoader()));
+                } catch (ClassNotFoundException e) {
+                    return Optional.empty();
+                }
+        }
+    }
+
+    /**
+     * All aliases and the probe of a member
+     */
+    private static final class Entry {
+        private final String owner;
+        private final List<Alias> aliases = new ArrayList<>();
+        private Function<Class<?>, Optional<? extends Member>> probe;
+
+        /**
+         * @param owner The owner class
+         */
+        private Entry(String owner) {
+            this.owner = owner;
+        }
+
+        /**
+         * Tries all aliases valid for the running version, then the probe
+         *
+         * @param ownerClass The owner class
+         *
+         * @return The member, if found
+         */
+        private Optional<? extends Member> resolve(Class<?> ownerClass) {
+            int[] version = {
+                    ReflectionUtil.getMajorVersion(), ReflectionUtil.getMinorVersion(),
+                    ReflectionUtil.getPatchVersion()
+            };
+
+            for (Alias alias : aliases) {
+                if (!alias.versions.contains(version)) {
+                    continue;
+                }
+                Optional<? extends Member> member = alias.parameters != null
+                                                    ? alias.findMethod(ownerClass)
+                                                    : alias.findField(ownerClass);
+                if (member.isPresent()) {
+                    return member;
+                }
+            }
+
+            if (probe != null) {
+                return probe.apply(ownerClass);
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A name (and parameters) a member has in some versions
+     */
+    private static final class Alias {
+        private final VersionRange versions;
+        private final String name;
+        private final String[] parameters;
+
+        /**
+         * @param versions The versions it is valid for
+         * @param name The name
+         * @param parameters The parameters. Null for fields.
+         */
+        private Alias(VersionRange versions, String name, String[] parameters) {
+            this.versions = versions;
+            this.name = Objects.requireNonNull(name, "name can not be null");
+            this.parameters = parameters;
+        }
+
+        /**
+         * @param owner The owner class
+         *
+         * @return The field, if found
+         */
+        private Optional<Field> findField(Class<?> owner) {
+            return ReflectionUtil.getField(owner, new FieldPredicate().withName(name)).get();
+        }
+
+        /**
+         * @param owner The owner class
+         *
+         * @return The method, if found
+         */
+        private Optional<Method> findMethod(Class<?> owner) {
+            MethodPredicate predicate = new MethodPredicate().withName(name);
+            if (!(parameters.length == 1 && ANY_PARAMETERS.equals(parameters[0]))) {
+                Class<?>[] parameterTypes = new Class<?>[parameters.length];
+                for (int i = 0; i < parameters.length; i++) {
+                    String parameter = parameters[i];
+                    Optional<Class<?>> type = forName(parameter, owner);
+                    if (!type.isPresent()) {
+                        return Optional.empty();
+                    }
+                    parameterTypes[i] = type.get();
+                }
+                predicate.withParameters(parameterTypes);
+            }
+            return ReflectionUtil.getMethod(owner, predicate).get();
+        }
+    }
+
+    /**
+     * An inclusive range of {@code major.minor.patch} versions
+     */
+    private static final class VersionRange {
+        private static final int[] LOWEST = {0, 0, 0};
+        private static final int[] HIGHEST = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE};
+
+        private final int[] min;
+        private final int[] max;
+
+        /**
+         * @param min The lowest version, inclusive
+         * @param max The highest version, inclusive
+         */
+        private VersionRange(int[] min, int[] max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * @param version The version as {@code {major, minor, patch}}
+         *
+         * @return True if the version is in this range
+         */
+        private boolean contains(int[] version) {
+            return compare(version, min) >= 0 && compare(version, max) <= 0;
+        }
+
+        /**
+         * Parses a range like {@code "*"}, {@code "1.9-"}, {@code "-1.8.9"},
+         * {@code "1.9-1.10.2"} or {@code "1.10"} (meaning all patch versions
+         * of 1.10)
+         *
+         * @param range The range
+         *
+         * @return The parsed range
+         *
+         * @throws IllegalArgumentException if the range is malformed
+         */
+        private static VersionRange parse(String range) {
+            Objects.requireNonNull(range, "range can not be null");
+            String trimmed = range.trim();
+
+            if (trimmed.equals("*")) {
+                return new VersionRange(LOWEST, HIGHEST);
+            }
+
+            int dash = trimmed.indexOf('-');
+            if (dash < 0) {
+                return new VersionRange(parseVersion(trimmed, 0), parseVersion(trimmed, Integer.MAX_VALUE));
+            }
+
+            String lower = trimmed.substring(0, dash).trim();
+            String upper = trimmed.substring(dash + 1).trim();
+            return new VersionRange(
+                    lower.isEmpty() ? LOWEST : parseVersion(lower, 0),
+                    upper.isEmpty() ? HIGHEST : parseVersion(upper, Integer.MAX_VALUE)
+            );
+        }
+
+        /**
+         * @param version The version, e.g. {@code "1.9"}
+         * @param missing The value for missing parts
+         *
+         * @return The version as {@code {major, minor, patch}}
+         *
+         * @throws IllegalArgumentException if the version is malformed
+         */
+        private static int[] parseVersion(String version, int missing) {
+            String[] parts = version.split("\\.");
+            if (parts.length > 3) {
+                throw new IllegalArgumentException("Invalid version '" + version + "'");
+            }
+            int[] result = {missing, missing, missing};
+            try {
+                for (int i = 0; i < parts.length; i++) {
+                    result[i] = Integer.parseInt(parts[i]);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid version '" + version + "'", e);
+            }
+            return result;
+        }
+
+        /**
+         * @param first The first version
+         * @param second The second version
+         *
+         * @return The comparison result, like {@link Comparable#compareTo(Object)}
+         */
+        private static int compare(int[] first, int[] second) {
+            for (int i = 0; i < 3; i++) {
+                int comparison = Integer.compare(first[i], second[i]);
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return 0;
+        }
+    }
+}
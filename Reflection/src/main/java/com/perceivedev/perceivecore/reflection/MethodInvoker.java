@@ -0,0 +1,32 @@
+package com.perceivedev.perceivecore.reflection;
+
+import java.lang.reflect.Method;
+
+/**
+ * A compiled invoker for a {@link Method}, backed by a
+ * {@link java.lang.invoke.MethodHandle}.
+ * <p>
+ * Creating an invoker is expensive, using it is not. Create it once (ideally
+ * in a {@code static final} field) and reuse it.
+ *
+ * @see ReflectionUtil#invoker(Method)
+ */
+@FunctionalInterface
+public interface MethodInvoker {
+
+    /**
+     * Invokes the method
+     *
+     * @param handle The object to invoke it on. Ignored for static methods.
+     * @param params The parameters of the method
+     *
+     * @return The return value of the method or null for {@code void} methods
+     *
+     * @throws IllegalArgumentException if the wrong number of parameters was
+     *                                  passed
+     * @throws ReflectionException      wrapping a checked exception thrown by the
+     *                                  method. Unchecked exceptions are passed
+     *                                  through.
+     */
+    Object invoke(Object handle, Object... params);
+}
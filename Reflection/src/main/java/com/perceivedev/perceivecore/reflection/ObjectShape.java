@@ -0,0 +1,660 @@
+package com.perceivedev.perceivecore.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The layout of all instance fields of a class, to read or write whole objects
+ * at once.
+ * <p>
+ * The fields (including the inherited ones, super classes first) are resolved
+ * once and get a fixed index. Objects can then be copied into an
+ * {@code Object[]} or a primitive aware {@link Snapshot} and back, without any
+ * lookups.
+ *
+ * @param <T> The type of the objects
+ *
+ * @see ReflectionUtil#shape(Class)
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class ObjectShape <T> {
+
+    private static final ClassValue<ObjectShape<?>> SHAPES = new ClassValue<ObjectShape<?>>() {
+        @Override
+        protected ObjectShape<?> computeValue(Class<?> type) {
+            return new ObjectShape<>(type);
+        }
+    };
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType RAW_GETTER_TYPE = MethodType.methodType(long.class, Object.class);
+    private static final MethodType RAW_SETTER_TYPE = MethodType.methodType(void.class, Object.class, long.class);
+
+    private final Class<T> type;
+    private final Field[] fields;
+    private final Map<String, Integer> indices;
+
+    /**
+     * The boxing accessors, per field
+     */
+    private final MethodHandle[] getters;
+    private final MethodHandle[] setters;
+
+    /**
+     * The index into {@link Snapshot#primitives} or
+     * {@link Snapshot#references}, per field
+     */
+    private final int[] slots;
+    private final int primitiveCount;
+    private final int referenceCount;
+
+    /**
+     * Accessors reading or writing primitives as raw long bits, per field.
+     * Null for reference fields.
+     */
+    private final MethodHandle[] rawGetters;
+    private final MethodHandle[] rawSetters;
+
+    /**
+     * @param type The class to create the shape for
+     *
+     * @throws ReflectionException if a field could not be made accessible
+     */
+    private ObjectShape(Class<T> type) {
+        this.type = type;
+
+        List<Field> fieldList = new ArrayList<>();
+        collectFields(type, fieldList);
+        this.fields = fieldList.toArray(new Field[0]);
+
+        int size = fields.length;
+        this.getters = new MethodHandle[size];
+        this.setters = new MethodHandle[size];
+        this.rawGetters = new MethodHandle[size];
+        this.rawSetters = new MethodHandle[size];
+        this.slots = new int[size];
+
+        Map<String, Integer> indexMap = new HashMap<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        int primitives = 0;
+        int references = 0;
+
+        for (int i = 0; i < size; i++) {
+            Field field = fields[i];
+            // a shadowed field is only reachable by index
+            indexMap.put(field.getName(), i);
+
+            field.setAccessible(true);
+            MethodHandle getter;
+            MethodHandle setter;
+            try {
+                getter = lookup.unreflectGetter(field);
+                setter = lookup.unreflectSetter(field);
+            } catch (IllegalAccessException e) {
+                throw new ReflectionException("Couldn't create accessors for " + field, e);
+            }
+
+            getters[i] = getter.asType(GETTER_TYPE);
+            setters[i] = setter.asType(SETTER_TYPE);
+
+            if (field.getType().isPrimitive()) {
+                rawGetters[i] = toRawGetter(getter, field.getType());
+                rawSetters[i] = toRawSetter(setter, field.getType());
+                slots[i] = primitives++;
+            } else {
+                slots[i] = references++;
+            }
+        }
+
+        this.indices = Collections.unmodifiableMap(indexMap);
+        this.primitiveCount = primitives;
+        this.referenceCount = references;
+    }
+
+    /**
+     * Returns the shape of a class
+     *
+     * @param type The class
+     * @param <T> The type of the class
+     *
+     * @return The shape of the class. Cached.
+     *
+     * @throws ReflectionException if a field could not be made accessible
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ObjectShape<T> of(Class<T> type) {
+        return (ObjectShape<T>) SHAPES.get(type);
+    }
+
+    /**
+     * Adds all instance fields of the class and its super classes, super
+     * classes first
+     *
+     * @param type The class
+     * @param fields The list to add them to
+     */
+    private static void collectFields(Class<?> type, List<Field> fields) {
+        if (type == null || type == Object.class) {
+            return;
+        }
+        collectFields(type.getSuperclass(), fields);
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                fields.add(field);
+            }
+        }
+    }
+
+    /**
+     * Adapts a primitive getter to return the raw bits as a long
+     *
+     * @param getter The getter
+     * @param type The primitive type of the field
+     *
+     * @return The getter with the type {@code (Object)long}
+     */
+    private static MethodHandle toRawGetter(MethodHandle getter, Class<?> type) {
+        try {
+            if (type == double.class) {
+                getter = MethodHandles.filterReturnValue(getter, MethodHandles.lookup().findStatic(
+                        Double.class, "doubleToRawLongBits", MethodType.methodType(long.class, double.class)
+                ));
+            } else if (type == float.class) {
+                getter = MethodHandles.filterReturnValue(getter, MethodHandles.lookup().findStatic(
+                        Float.class, "floatToRawIntBits", MethodType.methodType(int.class, float.class)
+                ));
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new ReflectionException("Couldn't find the float conversions", e);
+        }
+        // widens the integral types, booleans become 0 or 1
+        return MethodHandles.explicitCastArguments(getter, RAW_GETTER_TYPE);
+    }
+
+    /**
+     * Adapts a primitive setter to accept the raw bits as a long
+     *
+     * @param setter The setter
+     * @param type The primitive type of the field
+     *
+     * @return The setter with the type {@code (Object, long)void}
+     */
+    private static MethodHandle toRawSetter(MethodHandle setter, Class<?> type) {
+        try {
+            if (type == double.class) {
+                setter = MethodHandles.filterArguments(setter, 1, MethodHandles.lookup().findStatic(
+                        Double.class, "longBitsToDouble", MethodType.methodType(double.class, long.class)
+                ));
+            } else if (type == float.class) {
+                setter = MethodHandles.filterArguments(setter, 1, MethodHandles.lookup().findStatic(
+                        Float.class, "intBitsToFloat", MethodType.methodType(float.class, int.class)
+                ));
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new ReflectionException("Couldn't find the float conversions", e);
+        }
+        // narrows to the integral types, booleans take the lowest bit
+        return MethodHandles.explicitCastArguments(setter, RAW_SETTER_TYPE);
+    }
+
+    /**
+     * Returns the class of this shape
+     *
+     * @return The class this shape describes
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the amount of fields
+     *
+     * @return The amount of fields
+     */
+    public int size() {
+        return fields.length;
+    }
+
+    /**
+     * Returns the field with the given index
+     *
+     * @param index The index of the field
+     *
+     * @return The field
+     *
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public Field getField(int index) {
+        return fields[index];
+    }
+
+    /**
+     * Returns all fields, in index order
+     *
+     * @return All fields. A copy.
+     */
+    public Field[] getFields() {
+        return fields.clone();
+    }
+
+    /**
+     * Returns the index of a field.
+     * <p>
+     * If a class shadows a field of a super class, this returns the index of
+     * the field in the sub class.
+     *
+     * @param name The name of the field
+     *
+     * @return The index of the field or -1 if there is none
+     */
+    public int indexOf(String name) {
+        Integer index = indices.get(name);
+        return index == null ? -1 : index;
+    }
+
+    // <editor-fold desc="Object[] access">
+    // ==== OBJECT[] ACCESS ====
+
+    /**
+     * Reads all fields of an object. Primitives are boxed.
+     *
+     * @param object The object to read
+     *
+     * @return The values of all fields, in index order
+     *
+     * @throws ClassCastException if the object is not of the type of this
+     *                            shape
+     */
+    public Object[] read(T object) {
+        return read(object, new Object[fields.length]);
+    }
+
+    /**
+     * Reads all fields of an object into an existing array. Primitives are
+     * boxed.
+     *
+     * @param object The object to read
+     * @param values The array to write the values into, in index order
+     *
+     * @return The passed array
+     *
+     * @throws ClassCastException       if the object is not of the type of
+     *                                  this shape
+     * @throws IllegalArgumentException if the array is too small
+     */
+    public Object[] read(T object, Object[] values) {
+        Objects.requireNonNull(object, "object can not be null");
+        checkLength(values.length);
+
+        try {
+            for (int i = 0; i < getters.length; i++) {
+                values[i] = (Object) getters[i].invokeExact((Object) object);
+            }
+        } catch (Throwable e) {
+            throw ReflectionException.rethrow(e, "Couldn't read " + type.getName());
+        }
+        return values;
+    }
+
+    /**
+     * Writes all fields of an object
+     *
+     * @param object The object to write to
+     * @param values The values of all fields, in index order
+     *
+     * @throws ClassCastException       if the object is not of the type of
+     *                                  this shape or a value has the wrong type
+     * @throws IllegalArgumentException if the array is too small
+     * @throws NullPointerException     if a primitive value is null
+     */
+    public void write(T object, Object[] values) {
+        Objects.requireNonNull(object, "object can not be null");
+        checkLength(values.length);
+
+        try {
+            for (int i = 0; i < setters.length; i++) {
+                setters[i].invokeExact((Object) object, values[i]);
+            }
+        } catch (Throwable e) {
+            throw ReflectionException.rethrow(e, "Couldn't write " + type.getName());
+        }
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Snapshot access">
+    // ==== SNAPSHOT ACCESS ====
+
+    /**
+     * Creates an empty snapshot for this shape
+     *
+     * @return A new snapshot
+     */
+    public Snapshot newSnapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Reads all fields of an object into a snapshot, without boxing
+     * primitives
+     *
+     * @param object The object to read
+     * @param snapshot The snapshot to read into
+     *
+     * @return The passed snapshot
+     *
+     * @throws ClassCastException       if the object is not of the type of
+     *                                  this shape
+     * @throws IllegalArgumentException if the snapshot belongs to another
+     *                                  shape
+     */
+    public Snapshot read(T object, Snapshot snapshot) {
+        Objects.requireNonNull(object, "object can not be null");
+        checkSnapshot(snapshot);
+
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                MethodHandle rawGetter = rawGetters[i];
+                if (rawGetter != null) {
+                    snapshot.primitives[slots[i]] = (long) rawGetter.invokeExact((Object) object);
+                } else {
+                    snapshot.references[slots[i]] = (Object) getters[i].invokeExact((Object) object);
+                }
+            }
+        } catch (Throwable e) {
+            throw ReflectionException.rethrow(e, "Couldn't read " + type.getName());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Writes all fields of a snapshot into an object, without boxing
+     * primitives
+     *
+     * @param object The object to write to
+     * @param snapshot The snapshot to write
+     *
+     * @throws ClassCastException       if the object is not of the type of
+     *                                  this shape
+     * @throws IllegalArgumentException if the snapshot belongs to another
+     *                                  shape
+     */
+    public void write(T object, Snapshot snapshot) {
+        Objects.requireNonNull(object, "object can not be null");
+        checkSnapshot(snapshot);
+
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                MethodHandle rawSetter = rawSetters[i];
+                if (rawSetter != null) {
+                    rawSetter.invokeExact((Object) object, snapshot.primitives[slots[i]]);
+                } else {
+                    setters[i].invokeExact((Object) object, snapshot.references[slots[i]]);
+                }
+            }
+        } catch (Throwable e) {
+            throw ReflectionException.rethrow(e, "Couldn't write " + type.getName());
+        }
+    }
+
+    /**
+     * Copies all fields from one object to another, without boxing
+     * primitives. The copy is shallow.
+     *
+     * @param source The object to copy from
+     * @param target The object to copy to
+     *
+     * @throws ClassCastException if an object is not of the type of this
+     *                            shape
+     */
+    public void copy(T source, T target) {
+        Objects.requireNonNull(source, "source can not be null");
+        Objects.requireNonNull(target, "target can not be null");
+
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                MethodHandle rawGetter = rawGetters[i];
+                if (rawGetter != null) {
+                    rawSetters[i].invokeExact((Object) target, (long) rawGetter.invokeExact((Object) source));
+                } else {
+                    setters[i].invokeExact((Object) target, (Object) getters[i].invokeExact((Object) source));
+                }
+            }
+        } catch (Throwable e) {
+            throw ReflectionException.rethrow(e, "Couldn't copy " + type.getName());
+        }
+    }
+    // </editor-fold>
+
+    /**
+     * @param length The length of the passed array
+     *
+     * @throws IllegalArgumentException if it is too small
+     */
+    private void checkLength(int length) {
+        if (length < fields.length) {
+            throw new IllegalArgumentException("Array too small: " + length + " < " + fields.length);
+        }
+    }
+
+    /**
+     * @param snapshot The passed snapshot
+     *
+     * @throws IllegalArgumentException if it belongs to another shape
+     */
+    private void checkSnapshot(Snapshot snapshot) {
+        if (snapshot.shape != this) {
+            throw new IllegalArgumentException("Snapshot of " + snapshot.shape.type.getName() + " passed to the "
+                    + "shape of " + type.getName());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectShape{" + "type=" + type.getName() + ", fields=" + fields.length + '}';
+    }
+
+    /**
+     * The values of all fields of an object. Primitives are stored as raw bits
+     * in a {@code long[]}, references in an {@code Object[]}.
+     * <p>
+     * Snapshots are mutable and not thread safe. Reuse them to avoid any
+     * allocation when reading objects.
+     */
+    public static final class Snapshot {
+        private final ObjectShape<?> shape;
+        private final long[] primitives;
+        private final Object[] references;
+
+        /**
+         * @param shape The shape it belongs to
+         */
+        private Snapshot(ObjectShape<?> shape) {
+            this.shape = shape;
+            this.primitives = new long[shape.primitiveCount];
+            this.references = new Object[shape.referenceCount];
+        }
+
+        /**
+         * Returns the value of a reference field
+         *
+         * @param index The index of the field
+         *
+         * @return The value of the field
+         *
+         * @throws IllegalArgumentException if the field is a primitive
+         */
+        public Object getObject(int index) {
+            checkReference(index);
+            return references[shape.slots[index]];
+        }
+
+        /**
+         * Sets the value of a reference field
+         *
+         * @param index The index of the field
+         * @param value The new value
+         *
+         * @throws IllegalArgumentException if the field is a primitive
+         */
+        public void setObject(int index, Object value) {
+            checkReference(index);
+            references[shape.slots[index]] = value;
+        }
+
+        /**
+         * Returns the value of an integral primitive field (including
+         * {@code char}), widened to a long
+         *
+         * @param index The index of the field
+         *
+         * @return The value of the field. Raw bits for floating point fields.
+         *
+         * @throws IllegalArgumentException if the field is no primitive
+         */
+        public long getLong(int index) {
+            checkPrimitive(index);
+            return primitives[shape.slots[index]];
+        }
+
+        /**
+         * Sets the value of an integral primitive field (including
+         * {@code char})
+         *
+         * @param index The index of the field
+         * @param value The new value. Narrowed to the type of the field. Raw
+         * bits for floating point fields.
+         *
+         * @throws IllegalArgumentException if the field is no primitive
+         */
+        public void setLong(int index, long value) {
+            checkPrimitive(index);
+            primitives[shape.slots[index]] = value;
+        }
+
+        /**
+         * @param index The index of the field
+         *
+         * @return The value of the {@code int} field
+         *
+         * @throws IllegalArgumentException if the field is no primitive
+         */
+        public int getInt(int index) {
+            return (int) getLong(index);
+        }
+
+        /**
+         * @param index The index of the field
+         *
+         * @return The value of the {@code boolean} field
+         *
+         * @throws IllegalArgumentException if the field is no primitive
+         */
+        public boolean getBoolean(int index) {
+            return getLong(index) != 0;
+        }
+
+        /**
+         * @param index The index of the field
+         *
+         * @return The value of the {@code double} field
+         *
+         * @throws IllegalArgumentException if the field is no primitive
+         */
+        public double getDouble(int index) {
+            return Double.longBitsToDouble(getLong(index));
+        }
+
+        /**
+         * @param index The index of the field
+         *
+         * @return The value of the {@code float} field
+         *
+         * @throws IllegalArgumentException if the field is no primitive
+         */
+        public float getFloat(int index) {
+            return Float.intBitsToFloat((int) getLong(index));
+        }
+
+        /**
+         * Finds the fields whose values differ from another snapshot.
+         * <p>
+         * Primitives are compared by their bits, references using
+         * {@link Objects#equals(Object, Object)}.
+         *
+         * @param other The other snapshot
+         *
+         * @return The indices of all differing fields
+         *
+         * @throws IllegalArgumentException if the snapshot belongs to another
+         *                                  shape
+         */
+        public BitSet diff(Snapshot other) {
+            shape.checkSnapshot(other);
+
+            BitSet changed = new BitSet(shape.fields.length);
+            for (int i = 0; i < shape.fields.length; i++) {
+                int slot = shape.slots[i];
+                boolean equal = shape.rawGetters[i] != null
+                                ? primitives[slot] == other.primitives[slot]
+                                : Objects.equals(references[slot], other.references[slot]);
+                if (!equal) {
+                    changed.set(i);
+                }
+            }
+            return changed;
+        }
+
+        /**
+         * Creates a copy of this snapshot
+         *
+         * @return The copy. References are not copied deeply.
+         */
+        public Snapshot copy() {
+            Snapshot copy = new Snapshot(shape);
+            System.arraycopy(primitives, 0, copy.primitives, 0, primitives.length);
+            System.arraycopy(references, 0, copy.references, 0, references.length);
+            return copy;
+        }
+
+        /**
+         * @param index The index of the field
+         *
+         * @throws IllegalArgumentException if the field is a primitive
+         */
+        private void checkReference(int index) {
+            if (shape.rawGetters[index] != null) {
+                throw new IllegalArgumentException(shape.fields[index] + " is a primitive");
+            }
+        }
+
+        /**
+         * @param index The index of the field
+         *
+         * @throws IllegalArgumentException if the field is no primitive
+         */
+        private void checkPrimitive(int index) {
+            if (shape.rawGetters[index] == null) {
+                throw new IllegalArgumentException(shape.fields[index] + " is no primitive");
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" + "type=" + shape.type.getName()
+                    + ", primitives=" + Arrays.toString(primitives)
+                    + ", references=" + Arrays.toString(references) + '}';
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.perceivedev.perceivecore.reflection;
+
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.ReflectResponse.ResultType;
+
+/**
+ * An unchecked exception thrown by the reflective operations that do not
+ * return a {@link ReflectionUtil.ReflectResponse}
+ */
+public class ReflectionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ResultType resultType;
+
+    /**
+     * @param message The detail message
+     * @param cause The cause. May be null.
+     */
+    public ReflectionException(String message, Throwable cause) {
+        super(message, cause);
+        this.resultType = ResultType.ERROR;
+    }
+
+    /**
+     * Creates a {@link ResultType#NOT_FOUND} exception
+     *
+     * @param message The detail message
+     * @param writableStackTrace Whether to capture the stack trace
+     */
+    private ReflectionException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.resultType = ResultType.NOT_FOUND;
+    }
+
+    /**
+     * Returns the reason for the exception
+     *
+     * @return {@link ResultType#NOT_FOUND} if the member did not exist,
+     * {@link ResultType#ERROR} if accessing it failed
+     */
+    public ResultType getResultType() {
+        return resultType;
+    }
+
+    /**
+     * Creates an exception signalling that a member could not be found.
+     * <p>
+     * It does not capture a stack trace, as code probing for members missing
+     * in the running version expects these and would pay for it every time.
+     *
+     * @param message The detail message
+     *
+     * @return The created exception
+     */
+    static ReflectionException notFound(String message) {
+        return new ReflectionException(message, false);
+    }
+
+    /**
+     * Creates an exception signalling that a member could not be found,
+     * capturing the stack trace
+     *
+     * @param message The detail message
+     *
+     * @return The created exception
+     */
+    static ReflectionException notFoundWithStackTrace(String message) {
+        return new ReflectionException(message, true);
+    }
+
+    /**
+     * Rethrows a {@link Throwable} thrown by a reflective call.
+     * <p>
+     * {@link RuntimeException}s and {@link Error}s are rethrown as-is, checked
+     * exceptions are wrapped in a {@link ReflectionException}.
+     *
+     * @param throwable The throwable to rethrow
+     * @param message The message for the wrapping exception
+     *
+     * @return Nothing, this method always throws. Declared to allow
+     * {@code throw ReflectionException.rethrow(...)}
+     */
+    static ReflectionException rethrow(Throwable throwable, String message) {
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        throw new ReflectionException(message, throwable);
+    }
+}
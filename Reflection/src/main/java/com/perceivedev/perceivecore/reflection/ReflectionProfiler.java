@@ -0,0 +1,340 @@
+package com.perceivedev.perceivecore.reflection;
+
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * An opt-in profiler for the reflective operations of {@link ReflectionUtil}.
+ * <p>
+ * When enabled, every member lookup and every reflective field access,
+ * invocation and instantiation is counted and timed per call site. A call site
+ * is the operation, the class it targets and the selector used: the member
+ * itself, the name, or the predicate. Predicates that can not be described
+ * (e.g. lambdas) are identified by their class, which points to the code that
+ * created them.
+ * <p>
+ * Enable it with {@link #setEnabled(boolean)} or the system property
+ * {@value #ENABLE_PROPERTY}. While disabled it costs a single volatile read
+ * per operation. While enabled it keeps references to the profiled classes,
+ * so {@link #reset()} it when done.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class ReflectionProfiler {
+
+    /**
+     * The system property enabling the profiler at startup
+     */
+    public static final String ENABLE_PROPERTY = "perceivecore.reflection.profile";
+
+    /**
+     * Returned by {@link #start()} if the profiler is disabled
+     */
+    private static final long DISABLED = Long.MIN_VALUE;
+
+    private static final ConcurrentMap<CallSite, Counter> COUNTERS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLE_PROPERTY);
+
+    private ReflectionProfiler() {
+    }
+
+    /**
+     * Checks whether the profiler is enabled
+     *
+     * @return True if the profiler is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the profiler. Collected data is kept when disabling.
+     *
+     * @param enabled Whether the profiler should be enabled
+     */
+    public static void setEnabled(boolean enabled) {
+        ReflectionProfiler.enabled = enabled;
+    }
+
+    /**
+     * Clears all collected data
+     */
+    public static void reset() {
+        COUNTERS.clear();
+    }
+
+    /**
+     * Returns a snapshot of the collected data
+     *
+     * @return All call sites, sorted by their total time in descending order
+     */
+    public static List<Entry> snapshot() {
+        List<Entry> entries = new ArrayList<>(COUNTERS.size());
+        COUNTERS.forEach((callSite, counter) -> entries.add(new Entry(
+                callSite.operation,
+                callSite.owner,
+                describe(callSite.selector),
+                counter.count.sum(),
+                counter.nanos.sum()
+        )));
+        entries.sort(Comparator.comparingLong(Entry::getTotalNanos).reversed());
+        return entries;
+    }
+
+    /**
+     * Returns a readable report of the most expensive call sites
+     *
+     * @param limit The maximum amount of call sites to include
+     *
+     * @return The report, one call site per line
+     */
+    public static String report(int limit) {
+        List<Entry> entries = snapshot();
+        StringBuilder report = new StringBuilder("Top reflective call sites (")
+                .append(Math.min(limit, entries.size()))
+                .append(" of ")
+                .append(entries.size())
+                .append("):");
+
+        for (Entry entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            report.append(System.lineSeparator()).append("  ").append(entry);
+        }
+        return report.toString();
+    }
+
+    /**
+     * Starts timing an operation
+     *
+     * @return The start time, to pass to the record methods
+     */
+    static long start() {
+        return enabled ? System.nanoTime() : DISABLED;
+    }
+
+    /**
+     * Records an operation on a member
+     *
+     * @param operation The operation
+     * @param member The member
+     * @param start The value returned by {@link #start()}
+     */
+    static void record(Operation operation, Member member, long start) {
+        if (start != DISABLED) {
+            record(operation, member.getDeclaringClass(), member, start);
+        }
+    }
+
+    /**
+     * Records an operation
+     *
+     * @param operation The operation
+     * @param owner The class the operation targets
+     * @param selector The selector. A member, name, cache key or predicate.
+     * @param start The value returned by {@link #start()}
+     */
+    static void record(Operation operation, Class<?> owner, Object selector, long start) {
+        if (start == DISABLED) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+
+        CallSite callSite = new CallSite(operation, owner, selectorKey(selector));
+        Counter counter = COUNTERS.get(callSite);
+        if (counter == null) {
+            counter = new Counter();
+            Counter existing = COUNTERS.putIfAbsent(callSite, counter);
+            if (existing != null) {
+                counter = existing;
+            }
+        }
+        counter.count.increment();
+        counter.nanos.add(duration);
+    }
+
+    /**
+     * @param selector The selector
+     *
+     * @return A key identifying the selector
+     */
+    private static Object selectorKey(Object selector) {
+        if (selector instanceof ReflectionUtil.MemberPredicate) {
+            Object cacheKey = ((ReflectionUtil.MemberPredicate<?>) selector).getCacheKey();
+            return cacheKey == null ? selector.getClass() : cacheKey;
+        }
+        if (selector instanceof Predicate) {
+            return selector.getClass();
+        }
+        return selector;
+    }
+
+    /**
+     * @param selectorKey The key of the selector
+     *
+     * @return A readable representation
+     */
+    private static String describe(Object selectorKey) {
+        if (selectorKey instanceof Class) {
+            return "<predicate " + ((Class<?>) selectorKey).getName() + ">";
+        }
+        if (selectorKey instanceof Member) {
+            return ((Member) selectorKey).getName();
+        }
+        if (selectorKey instanceof List) {
+            // a MemberPredicate cache key: the predicate class followed by its settings
+            List<?> parts = (List<?>) selectorKey;
+            StringJoiner joiner = new StringJoiner(", ", ((Class<?>) parts.get(0)).getSimpleName() + "{", "}");
+            for (Object part : parts.subList(1, parts.size())) {
+                if (part != null && !(part instanceof Collection && ((Collection<?>) part).isEmpty())) {
+                    joiner.add(part instanceof Class ? ((Class<?>) part).getSimpleName() : String.valueOf(part));
+                }
+            }
+            return joiner.toString();
+        }
+        return String.valueOf(selectorKey);
+    }
+
+    /**
+     * The profiled operations
+     */
+    public enum Operation {
+        GET_FIELD,
+        GET_METHOD,
+        GET_CONSTRUCTOR,
+        GET_FIELD_VALUE,
+        SET_FIELD_VALUE,
+        INVOKE_METHOD,
+        INSTANTIATE
+    }
+
+    /**
+     * The data collected for a call site
+     */
+    public static final class Entry {
+        private final Operation operation;
+        private final String owner;
+        private final String selector;
+        private final long count;
+        private final long totalNanos;
+
+        /**
+         * @param operation The operation
+         * @param owner The class the operation targets
+         * @param selector A readable representation of the selector
+         * @param count The amount of calls
+         * @param totalNanos The total time spent in nanoseconds
+         */
+        private Entry(Operation operation, Class<?> owner, String selector, long count, long totalNanos) {
+            this.operation = operation;
+            this.owner = owner.getName();
+            this.selector = selector;
+            this.count = count;
+            this.totalNanos = totalNanos;
+        }
+
+        /**
+         * @return The operation
+         */
+        public Operation getOperation() {
+            return operation;
+        }
+
+        /**
+         * @return The name of the class the operation targets
+         */
+        public String getOwner() {
+            return owner;
+        }
+
+        /**
+         * @return A readable representation of the selector
+         */
+        public String getSelector() {
+            return selector;
+        }
+
+        /**
+         * @return The amount of calls
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The total time spent in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return The average time per call in nanoseconds
+         */
+        public long getAverageNanos() {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-15s %s#%s: %d calls, %d ms total, %d ns avg",
+                    operation, owner, selector, count, TimeUnit.NANOSECONDS.toMillis(totalNanos), getAverageNanos()
+            );
+        }
+    }
+
+    /**
+     * Identifies a call site
+     */
+    private static final class CallSite {
+        private final Operation operation;
+        private final Class<?> owner;
+        private final Object selector;
+
+        /**
+         * @param operation The operation
+         * @param owner The class the operation targets
+         * @param selector The key of the selector
+         */
+        private CallSite(Operation operation, Class<?> owner, Object selector) {
+            this.operation = operation;
+            this.owner = owner;
+            this.selector = selector;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CallSite)) {
+                return false;
+            }
+            CallSite callSite = (CallSite) o;
+            return operation == callSite.operation
+                    && owner == callSite.owner
+                    && Objects.equals(selector, callSite.selector);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * operation.hashCode() + owner.hashCode()) + Objects.hashCode(selector);
+        }
+    }
+
+    /**
+     * The counters of a call site
+     */
+    private static final class Counter {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+}
@@ -1,5 +1,9 @@
 package com.perceivedev.perceivecore.reflection;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
@@ -10,16 +14,24 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import org.bukkit.Bukkit;
 
+import com.perceivedev.perceivecore.reflection.ReflectionProfiler.Operation;
+
 import static com.perceivedev.perceivecore.reflection.ReflectionUtil.ReflectResponse.ResultType;
 
 /**
@@ -28,8 +40,24 @@ import static com.perceivedev.perceivecore.reflection.ReflectionUtil.ReflectResp
 @SuppressWarnings({"WeakerAccess", "unused"})
 public class ReflectionUtil {
 
+    private static final Logger LOGGER = Logger.getLogger("ReflectionUtil");
+
     private static final String SERVER_VERSION;
 
+    private static final LongAdder CLASS_LOOKUP_MISSES = new LongAdder();
+
+    /**
+     * The results of {@link #inheritsFrom(Class, Class)}, keyed by the checked
+     * class and then by the inherited class
+     */
+    private static final ClassValue<ConcurrentMap<Class<?>, Boolean>> ASSIGNABLE_CACHE =
+            new ClassValue<ConcurrentMap<Class<?>, Boolean>>() {
+                @Override
+                protected ConcurrentMap<Class<?>, Boolean> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>(4);
+                }
+            };
+
     // <editor-fold desc="INIT">
     // ==== INIT SERVER VERSION ====
 
@@ -47,6 +75,18 @@ public class ReflectionUtil {
     // <editor-fold desc="Version Validation Methods">
     // ==== VERSION VALIDATION METHODS ===
 
+    /**
+     * Returns the version of the server's NMS and CraftBukkit packages
+     * <p>
+     * Unlike the other version methods, this does not need a running server.
+     * Without one it defaults to {@code v1_10_R1}.
+     *
+     * @return The package version, e.g. {@code v1_10_R1}
+     */
+    public static String getServerVersion() {
+        return SERVER_VERSION;
+    }
+
     /**
      * Returns the major version of the server
      *
@@ -112,8 +152,7 @@ public class ReflectionUtil {
         Objects.requireNonNull(nameSpace, "nameSpace can not be null");
         Objects.requireNonNull(qualifiedName, "qualifiedName can not be null");
 
-        String fullyQualifiedName = nameSpace.resolve(qualifiedName);
-        return classForName(fullyQualifiedName);
+        return nameSpace.resolveClass(qualifiedName);
     }
 
     /**
@@ -157,6 +196,9 @@ public class ReflectionUtil {
     /**
      * Returns the class for the name using the {@link Class#forName(String)}
      * method
+     * <p>
+     * A missing class is logged (once, as the result is cached by the caller)
+     * and counted in {@link #getClassLookupMisses()}.
      *
      * @param fullyQualifiedName The fully qualified name of a class
      *
@@ -166,16 +208,31 @@ public class ReflectionUtil {
         try {
             return Optional.ofNullable(Class.forName(fullyQualifiedName));
         } catch (ClassNotFoundException e) {
-            e.printStackTrace();
+            LOGGER.fine("Class not found: " + fullyQualifiedName);
         }
         return Optional.empty();
     }
+
+    /**
+     * Returns the amount of class lookups that did not find a class.
+     * <p>
+     * Every call counts, including the ones answered from the cache. This is
+     * a cheap way to spot code repeatedly probing for classes missing in the
+     * running version.
+     *
+     * @return The amount of failed class lookups
+     */
+    public static long getClassLookupMisses() {
+        return CLASS_LOOKUP_MISSES.sum();
+    }
     // </editor-fold>
 
     // ==== CLASS ====
 
     /**
      * Checks if a given class <i>somehow</i> inherits from another class
+     * <p>
+     * The result is cached per pair of classes, so repeated checks are cheap.
      *
      * @param toCheck The class to check
      * @param inheritedClass The inherited class, it should have
@@ -184,17 +241,24 @@ public class ReflectionUtil {
      * {@code inheritedClass}
      */
     public static boolean inheritsFrom(Class<?> toCheck, Class<?> inheritedClass) {
-        if (inheritedClass.isAssignableFrom(toCheck)) {
+        if (toCheck == inheritedClass) {
             return true;
         }
 
-        for (Class<?> implementedInterface : toCheck.getInterfaces()) {
-            if (inheritsFrom(implementedInterface, inheritedClass)) {
-                return true;
-            }
+        ConcurrentMap<Class<?>, Boolean> cache = ASSIGNABLE_CACHE.get(toCheck);
+        Boolean cached = cache.get(inheritedClass);
+        if (cached != null) {
+            return cached;
         }
 
-        return false;
+        // isAssignableFrom already considers all super classes and (super) interfaces
+        boolean result = inheritedClass.isAssignableFrom(toCheck);
+
+        // the entry lives as long as toCheck. It must not keep a class of an unrelated loader alive.
+        if (MemberCache.isVisible(toCheck, inheritedClass)) {
+            cache.putIfAbsent(inheritedClass, result);
+        }
+        return result;
     }
 
     // <editor-fold desc="Fields">
@@ -214,10 +278,10 @@ public class ReflectionUtil {
         Objects.requireNonNull(clazz, "clazz can not be null");
         Objects.requireNonNull(selector, "selector can not be null");
 
-        Optional<Field> first = getFields(clazz).filter(selector).findFirst();
+        Optional<Field> first = MemberCache.of(clazz).findField(selector);
 
         if (!first.isPresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+            return ReflectResponse.notFound();
         }
         return new ReflectResponse<>(first.get());
     }
@@ -250,8 +314,7 @@ public class ReflectionUtil {
      * @return The fields of the class
      */
     private static Stream<Field> getFields(Class<?> clazz) {
-        return Stream.concat(
-                Arrays.stream(clazz.getDeclaredFields()), Arrays.stream(clazz.getFields())).distinct();
+        return Arrays.stream(MemberCache.of(clazz).getFields());
     }
 
     /**
@@ -272,7 +335,7 @@ public class ReflectionUtil {
 
         ReflectResponse<Field> field = getField(clazz, selector);
         if (!field.isValuePresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+            return ReflectResponse.notFound();
         }
 
         return getFieldValue(field.getValue(), handle);
@@ -294,6 +357,14 @@ public class ReflectionUtil {
         Objects.requireNonNull(clazz, "clazz can not be null");
         Objects.requireNonNull(name, "name can not be null");
 
+        if (MemberCache.isLiteral(name)) {
+            Optional<Field> field = MemberCache.of(clazz).getFieldByName(name);
+            if (!field.isPresent()) {
+                return ReflectResponse.notFound();
+            }
+            return getFieldValue(field.get(), handle);
+        }
+
         return getFieldValue(clazz, handle, new MemberPredicate<Field>().withName(name));
     }
 
@@ -311,14 +382,17 @@ public class ReflectionUtil {
     public static ReflectResponse<Object> getFieldValue(Field field, Object handle) {
         Objects.requireNonNull(field, "field can not be null");
 
+        long start = ReflectionProfiler.start();
         try {
             field.setAccessible(true);
-            return new ReflectResponse<>(field.get(handle));
+            return ReflectResponse.of(field.get(handle));
         } catch (IllegalAccessException e) {
             // This method must be logged. It is critical and you can't recover
             // from it.
             e.printStackTrace();
             return new ReflectResponse<>(e);
+        } finally {
+            ReflectionProfiler.record(Operation.GET_FIELD_VALUE, field, start);
         }
     }
 
@@ -337,15 +411,18 @@ public class ReflectionUtil {
     public static ReflectResponse<Void> setFieldValue(Field field, Object handle, Object value) {
         Objects.requireNonNull(field, "field can not be null");
 
+        long start = ReflectionProfiler.start();
         try {
             field.setAccessible(true);
             field.set(handle, value);
-            return new ReflectResponse<>(ResultType.SUCCESSFUL);
+            return ReflectResponse.successful();
         } catch (IllegalAccessException e) {
             // This method must be logged. It is critical and you can't recover
             // from it.
             e.printStackTrace();
             return new ReflectResponse<>(e);
+        } finally {
+            ReflectionProfiler.record(Operation.SET_FIELD_VALUE, field, start);
         }
     }
 
@@ -370,7 +447,7 @@ public class ReflectionUtil {
 
         ReflectResponse<Field> field = getField(clazz, selector);
         if (!field.isValuePresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+            return ReflectResponse.notFound();
         }
 
         return setFieldValue(field.getValue(), handle, value);
@@ -394,6 +471,14 @@ public class ReflectionUtil {
         Objects.requireNonNull(clazz, "clazz can not be null");
         Objects.requireNonNull(selector, "selector can not be null");
 
+        if (MemberCache.isLiteral(selector)) {
+            Optional<Field> field = MemberCache.of(clazz).getFieldByName(selector);
+            if (!field.isPresent()) {
+                return ReflectResponse.notFound();
+            }
+            return setFieldValue(field.get(), handle, value);
+        }
+
         return setFieldValue(clazz, new MemberPredicate<Field>().withName(selector), handle, value);
     }
     // </editor-fold>
@@ -415,10 +500,10 @@ public class ReflectionUtil {
         Objects.requireNonNull(clazz, "clazz can not be null");
         Objects.requireNonNull(selector, "selector can not be null");
 
-        Optional<Method> firstMethod = getMethods(clazz).filter(selector).findFirst();
+        Optional<Method> firstMethod = MemberCache.of(clazz).findMethod(selector);
 
         if (!firstMethod.isPresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+            return ReflectResponse.notFound();
         }
         return new ReflectResponse<>(firstMethod.get());
     }
@@ -438,9 +523,10 @@ public class ReflectionUtil {
         Objects.requireNonNull(method, "method can not be null");
         Objects.requireNonNull(params, "params can not be null");
 
+        long start = ReflectionProfiler.start();
         try {
             method.setAccessible(true);
-            return new ReflectResponse<>(method.invoke(handle, params));
+            return ReflectResponse.of(method.invoke(handle, params));
         } catch (IllegalAccessException e) {
             // This method must be logged. It is critical and you can't recover
             // from it.
@@ -448,6 +534,8 @@ public class ReflectionUtil {
             return new ReflectResponse<>(e);
         } catch (InvocationTargetException | IllegalArgumentException e) {
             return new ReflectResponse<>(e);
+        } finally {
+            ReflectionProfiler.record(Operation.INVOKE_METHOD, method, start);
         }
     }
 
@@ -472,7 +560,7 @@ public class ReflectionUtil {
 
         ReflectResponse<Method> method = getMethod(clazz, selector);
         if (!method.isValuePresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+            return ReflectResponse.notFound();
         }
 
         return invokeMethod(method.getValue(), handle, params);
@@ -551,7 +639,7 @@ public class ReflectionUtil {
      * @return All the methods in the class.
      */
     private static Stream<Method> getMethods(Class<?> clazz) {
-        return Stream.concat(Arrays.stream(clazz.getMethods()), Arrays.stream(clazz.getDeclaredMethods())).distinct();
+        return Arrays.stream(MemberCache.of(clazz).getMethods());
     }
     // </editor-fold>
 
@@ -572,10 +660,10 @@ public class ReflectionUtil {
         Objects.requireNonNull(clazz, "clazz can not be null");
         Objects.requireNonNull(selector, "selector can not be null");
 
-        Optional<Constructor<?>> firstConstructor = getAllConstructors(clazz).filter(selector).findFirst();
+        Optional<Constructor<?>> firstConstructor = MemberCache.of(clazz).findConstructor(selector);
 
         if (!firstConstructor.isPresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+            return ReflectResponse.notFound();
         }
 
         return new ReflectResponse<>(firstConstructor.get());
@@ -595,7 +683,14 @@ public class ReflectionUtil {
     public static ReflectResponse<Constructor<?>> getConstructor(Class<?> clazz, Class<?>... params) {
         Objects.requireNonNull(clazz, "clazz can not be null");
         Objects.requireNonNull(params, "params can not be null");
-        return getConstructor(clazz, new ExecutablePredicate<Constructor<?>>().withParameters(params));
+
+        Optional<Constructor<?>> constructor = MemberCache.of(clazz).getConstructorBySignature(params);
+
+        if (!constructor.isPresent()) {
+            return ReflectResponse.notFound();
+        }
+
+        return new ReflectResponse<>(constructor.get());
     }
 
     /**
@@ -613,6 +708,7 @@ public class ReflectionUtil {
         Objects.requireNonNull(constructor, "constructor can not be null");
         Objects.requireNonNull(params, "params can not be null");
 
+        long start = ReflectionProfiler.start();
         try {
             constructor.setAccessible(true);
             return new ReflectResponse<>(constructor.newInstance(params));
@@ -621,6 +717,8 @@ public class ReflectionUtil {
             return new ReflectResponse<>(e);
         } catch (InstantiationException | InvocationTargetException | IllegalArgumentException e) {
             return new ReflectResponse<>(e);
+        } finally {
+            ReflectionProfiler.record(Operation.INSTANTIATE, constructor, start);
         }
     }
 
@@ -644,7 +742,7 @@ public class ReflectionUtil {
         ReflectResponse<Constructor<?>> constructor = getConstructor(clazz, selector);
 
         if (!constructor.isValuePresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+            return ReflectResponse.notFound();
         }
 
         return instantiate(constructor.getValue(), params);
@@ -678,8 +776,7 @@ public class ReflectionUtil {
      * @return All the {@link Constructor}s of that class
      */
     private static Stream<Constructor<?>> getAllConstructors(Class<?> clazz) {
-        return Stream.concat(Arrays.stream(clazz.getConstructors()), Arrays.stream(clazz.getDeclaredConstructors()))
-                .distinct();
+        return Arrays.stream(MemberCache.of(clazz).getConstructors());
     }
     // </editor-fold>
 
@@ -711,7 +808,7 @@ public class ReflectionUtil {
                 .findFirst();
 
         if (!anEnum.isPresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+            return ReflectResponse.notFound();
         }
 
         return new ReflectResponse<>(anEnum.get());
@@ -733,6 +830,450 @@ public class ReflectionUtil {
     }
     // </editor-fold>
 
+    // <editor-fold desc="Unchecked">
+    // ==== UNCHECKED ====
+
+    /**
+     * Returns the value of a field, without wrapping it in a
+     * {@link ReflectResponse}
+     *
+     * @param field The field to get
+     * @param handle The handle to get it for
+     *
+     * @return The value of the field
+     *
+     * @throws NullPointerException if field is null
+     * @throws ReflectionException  if the field could not be read
+     * @see #getFieldValue(Field, Object)
+     */
+    public static Object getFieldValueUnchecked(Field field, Object handle) {
+        Objects.requireNonNull(field, "field can not be null");
+
+        long start = ReflectionProfiler.start();
+        try {
+            makeAccessible(field);
+            return field.get(handle);
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Couldn't read " + field, e);
+        } finally {
+            ReflectionProfiler.record(Operation.GET_FIELD_VALUE, field, start);
+        }
+    }
+
+    /**
+     * Returns the value of a field, without wrapping it in a
+     * {@link ReflectResponse}
+     *
+     * @param name The name of the field
+     * @param clazz The clazz get the Field from
+     * @param handle The handle to get it for
+     *
+     * @return The value of the field
+     *
+     * @throws NullPointerException if clazz or name is null
+     * @throws ReflectionException  if the field was not found or could not be
+     *                              read
+     * @see #getFieldValue(String, Class, Object)
+     */
+    public static Object getFieldValueUnchecked(String name, Class<?> clazz, Object handle) {
+        Objects.requireNonNull(name, "name can not be null");
+        Objects.requireNonNull(clazz, "clazz can not be null");
+
+        return getFieldValueUnchecked(findFieldByName(name, clazz), handle);
+    }
+
+    /**
+     * Sets the value of a field, without returning a {@link ReflectResponse}
+     *
+     * @param field The field to set the value for
+     * @param handle The handle to set it for
+     * @param value The value to set it to
+     *
+     * @throws NullPointerException if field is null
+     * @throws ReflectionException  if the field could not be written
+     * @see #setFieldValue(Field, Object, Object)
+     */
+    public static void setFieldValueUnchecked(Field field, Object handle, Object value) {
+        Objects.requireNonNull(field, "field can not be null");
+
+        long start = ReflectionProfiler.start();
+        try {
+            makeAccessible(field);
+            field.set(handle, value);
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Couldn't write " + field, e);
+        } finally {
+            ReflectionProfiler.record(Operation.SET_FIELD_VALUE, field, start);
+        }
+    }
+
+    /**
+     * Sets the value of a field, without returning a {@link ReflectResponse}
+     *
+     * @param name The name of the field
+     * @param clazz The clazz get the field from
+     * @param handle The handle to set it for
+     * @param value The value to set it to
+     *
+     * @throws NullPointerException if clazz or name is null
+     * @throws ReflectionException  if the field was not found or could not be
+     *                              written
+     * @see #setFieldValue(String, Class, Object, Object)
+     */
+    public static void setFieldValueUnchecked(String name, Class<?> clazz, Object handle, Object value) {
+        Objects.requireNonNull(name, "name can not be null");
+        Objects.requireNonNull(clazz, "clazz can not be null");
+
+        setFieldValueUnchecked(findFieldByName(name, clazz), handle, value);
+    }
+
+    /**
+     * Finds a field by its name (a <b>RegEx</b>, like in
+     * {@link MemberPredicate#withName(String)})
+     *
+     * @param name The name of the field
+     * @param clazz The class to search in
+     *
+     * @return The found field
+     *
+     * @throws ReflectionException if the field was not found
+     */
+    private static Field findFieldByName(String name, Class<?> clazz) {
+        MemberCache cache = MemberCache.of(clazz);
+        Optional<Field> field = MemberCache.isLiteral(name)
+                                ? cache.getFieldByName(name)
+                                : cache.findField(new MemberPredicate<Field>().withName(name));
+
+        if (!field.isPresent()) {
+            throw ReflectionException.notFound("Field '" + name + "' not found in " + clazz.getName());
+        }
+        return field.get();
+    }
+
+    /**
+     * Invokes a method, without wrapping the result in a
+     * {@link ReflectResponse}
+     *
+     * @param method The method to invoke
+     * @param handle The handle of the method
+     * @param params The parameters of the method
+     *
+     * @return The result of invoking the method. Null for void methods.
+     *
+     * @throws NullPointerException if any parameter (except handle) is null
+     * @throws ReflectionException  if the method could not be invoked or threw
+     *                              a checked exception. Unchecked exceptions
+     *                              thrown by the method are rethrown as-is.
+     * @see #invokeMethod(Method, Object, Object...)
+     */
+    public static Object invokeMethodUnchecked(Method method, Object handle, Object... params) {
+        Objects.requireNonNull(method, "method can not be null");
+        Objects.requireNonNull(params, "params can not be null");
+
+        long start = ReflectionProfiler.start();
+        try {
+            makeAccessible(method);
+            return method.invoke(handle, params);
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            throw new ReflectionException("Couldn't invoke " + method, e);
+        } catch (InvocationTargetException e) {
+            throw ReflectionException.rethrow(e.getCause(), "Error invoking " + method);
+        } finally {
+            ReflectionProfiler.record(Operation.INVOKE_METHOD, method, start);
+        }
+    }
+
+    /**
+     * Invokes a method, without wrapping the result in a
+     * {@link ReflectResponse}
+     *
+     * @param clazz The class to get the method from
+     * @param selector The Selector function to use
+     * @param handle The handle of the method
+     * @param params The parameters of the method
+     *
+     * @return The result of invoking the method. Null for void methods.
+     *
+     * @throws NullPointerException if any parameter (except handle) is null
+     * @throws ReflectionException  if the method was not found, could not be
+     *                              invoked or threw a checked exception.
+     *                              Unchecked exceptions thrown by the method
+     *                              are rethrown as-is.
+     * @see #invokeMethod(Class, Predicate, Object, Object...)
+     */
+    public static Object invokeMethodUnchecked(Class<?> clazz, Predicate<Method> selector, Object handle,
+                                               Object... params) {
+        Objects.requireNonNull(clazz, "clazz can not be null");
+        Objects.requireNonNull(selector, "selector can not be null");
+        Objects.requireNonNull(params, "params can not be null");
+
+        Optional<Method> method = MemberCache.of(clazz).findMethod(selector);
+        if (!method.isPresent()) {
+            throw ReflectionException.notFound("No method matching the selector in " + clazz.getName());
+        }
+
+        return invokeMethodUnchecked(method.get(), handle, params);
+    }
+
+    /**
+     * Instantiates the constructor, without wrapping the result in a
+     * {@link ReflectResponse}
+     *
+     * @param constructor The constructor
+     * @param params The parameters to pass
+     * @param <T> The type of the class to instantiate
+     *
+     * @return The instantiated Object
+     *
+     * @throws NullPointerException if any parameter is null
+     * @throws ReflectionException  if the object could not be instantiated or
+     *                              the constructor threw a checked exception.
+     *                              Unchecked exceptions thrown by the
+     *                              constructor are rethrown as-is.
+     * @see #instantiate(Constructor, Object...)
+     */
+    public static <T> T instantiateUnchecked(Constructor<T> constructor, Object... params) {
+        Objects.requireNonNull(constructor, "constructor can not be null");
+        Objects.requireNonNull(params, "params can not be null");
+
+        long start = ReflectionProfiler.start();
+        try {
+            makeAccessible(constructor);
+            return constructor.newInstance(params);
+        } catch (IllegalAccessException | InstantiationException | IllegalArgumentException e) {
+            throw new ReflectionException("Couldn't invoke " + constructor, e);
+        } catch (InvocationTargetException e) {
+            throw ReflectionException.rethrow(e.getCause(), "Error invoking " + constructor);
+        } finally {
+            ReflectionProfiler.record(Operation.INSTANTIATE, constructor, start);
+        }
+    }
+
+    /**
+     * Instantiates the constructor, without wrapping the result in a
+     * {@link ReflectResponse}
+     *
+     * @param clazz The class to get the constructors from
+     * @param selector The Selector function to use
+     * @param params The parameters to pass
+     *
+     * @return The instantiated Object
+     *
+     * @throws NullPointerException if any parameter is null
+     * @throws ReflectionException  if the constructor was not found, the object
+     *                              could not be instantiated or the constructor
+     *                              threw a checked exception. Unchecked
+     *                              exceptions thrown by the constructor are
+     *                              rethrown as-is.
+     * @see #instantiate(Class, Predicate, Object...)
+     */
+    public static Object instantiateUnchecked(Class<?> clazz, Predicate<Constructor<?>> selector, Object... params) {
+        Objects.requireNonNull(clazz, "clazz can not be null");
+        Objects.requireNonNull(selector, "selector can not be null");
+        Objects.requireNonNull(params, "params can not be null");
+
+        Optional<Constructor<?>> constructor = MemberCache.of(clazz).findConstructor(selector);
+        if (!constructor.isPresent()) {
+            throw ReflectionException.notFound("No constructor matching the selector in " + clazz.getName());
+        }
+
+        return instantiateUnchecked(constructor.get(), params);
+    }
+
+    /**
+     * Calls {@link AccessibleObject#setAccessible(boolean)}, if it is not
+     * already accessible. Skips the security check in the common case.
+     *
+     * @param object The object to make accessible
+     */
+    private static void makeAccessible(AccessibleObject object) {
+        if (!object.isAccessible()) {
+            object.setAccessible(true);
+        }
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Compiled Accessors">
+    // ==== COMPILED ACCESSORS ====
+
+    /**
+     * Creates a compiled accessor for a field.
+     * <p>
+     * Unlike {@link #getFieldValue(Field, Object)} the accessor does not
+     * perform access checks or allocate a {@link ReflectResponse} on each use.
+     * Keep the returned accessor around, creating it is expensive.
+     *
+     * @param field The field to create the accessor for
+     *
+     * @return The accessor for the field
+     *
+     * @throws NullPointerException if field is null
+     * @throws ReflectionException  if the field could not be made accessible
+     */
+    public static FieldAccessor<Object> accessor(Field field) {
+        return FieldAccessor.create(field, Object.class);
+    }
+
+    /**
+     * Creates a typed compiled accessor for a field.
+     *
+     * @param field The field to create the accessor for
+     * @param type The type of the field. Primitive fields use their wrapper
+     * type.
+     * @param <T> The type of the field
+     *
+     * @return The accessor for the field
+     *
+     * @throws NullPointerException     if any parameter is null
+     * @throws IllegalArgumentException if the field is not of the given type
+     * @throws ReflectionException      if the field could not be made accessible
+     * @see #accessor(Field)
+     */
+    public static <T> FieldAccessor<T> accessor(Field field, Class<T> type) {
+        return FieldAccessor.create(field, type);
+    }
+
+    /**
+     * Returns the shape of a class, to read, write or copy all its instance
+     * fields at once.
+     * <p>
+     * The shape is created once per class and cached.
+     *
+     * @param clazz The class to get the shape for
+     * @param <T> The type of the class
+     *
+     * @return The shape of the class
+     *
+     * @throws NullPointerException if clazz is null
+     * @throws ReflectionException  if a field could not be made accessible
+     */
+    public static <T> ObjectShape<T> shape(Class<T> clazz) {
+        Objects.requireNonNull(clazz, "clazz can not be null");
+
+        return ObjectShape.of(clazz);
+    }
+
+    /**
+     * Creates a compiled invoker for a method.
+     * <p>
+     * Unlike {@link #invokeMethod(Method, Object, Object...)} the invoker does
+     * not perform access checks or allocate a {@link ReflectResponse} on each
+     * use. Keep the returned invoker around, creating it is expensive.
+     * <p>
+     * Each call still allocates the array of the parameters. Use a
+     * {@link #handle(Method)} in hot paths.
+     *
+     * @param method The method to create the invoker for
+     *
+     * @return The invoker for the method
+     *
+     * @throws NullPointerException if method is null
+     * @throws ReflectionException  if the method could not be made accessible
+     */
+    public static MethodInvoker invoker(Method method) {
+        MethodHandle spreader = handle(method).asSpreader(Object[].class, method.getParameterCount());
+
+        return (instance, params) -> {
+            try {
+                return (Object) spreader.invokeExact(instance, params);
+            } catch (Throwable e) {
+                throw ReflectionException.rethrow(e, "Error invoking " + method);
+            }
+        };
+    }
+
+    /**
+     * Creates a compiled invoker for a constructor.
+     *
+     * @param constructor The constructor to create the invoker for
+     * @param <T> The type of the created object
+     *
+     * @return The invoker for the constructor
+     *
+     * @throws NullPointerException if constructor is null
+     * @throws ReflectionException  if the constructor could not be made
+     *                              accessible
+     * @see #invoker(Method)
+     */
+    public static <T> ConstructorInvoker<T> invoker(Constructor<T> constructor) {
+        MethodHandle spreader = handle(constructor).asSpreader(Object[].class, constructor.getParameterCount());
+        Class<T> type = constructor.getDeclaringClass();
+
+        return params -> {
+            try {
+                return type.cast((Object) spreader.invokeExact(params));
+            } catch (Throwable e) {
+                throw ReflectionException.rethrow(e, "Error invoking " + constructor);
+            }
+        };
+    }
+
+    /**
+     * Creates a method handle for a method, taking and returning only
+     * {@code Object}s.
+     * <p>
+     * Unlike an {@link #invoker(Method)} it takes the parameters directly, so
+     * a call allocates nothing. Keep it in a {@code static final} field, so
+     * the JIT can inline it, and call it with
+     * {@link MethodHandle#invokeExact(Object...)}:
+     * <pre>{@code
+     * Object result = (Object) SEND_PACKET.invokeExact(connection, packet);
+     * }</pre>
+     * The exceptions of the method are thrown as they are.
+     *
+     * @param method The method to create the handle for
+     *
+     * @return The handle. It takes the instance, ignored for static methods,
+     * followed by the parameters and returns the result, null for
+     * {@code void} methods.
+     *
+     * @throws NullPointerException if method is null
+     * @throws ReflectionException  if the method could not be made accessible
+     */
+    public static MethodHandle handle(Method method) {
+        Objects.requireNonNull(method, "method can not be null");
+
+        method.setAccessible(true);
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Couldn't create handle for " + method, e);
+        }
+        if (java.lang.reflect.Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asType(MethodType.genericMethodType(method.getParameterCount() + 1));
+    }
+
+    /**
+     * Creates a method handle for a constructor, taking and returning only
+     * {@code Object}s.
+     *
+     * @param constructor The constructor to create the handle for
+     *
+     * @return The handle. It takes the parameters and returns the created
+     * instance.
+     *
+     * @throws NullPointerException if constructor is null
+     * @throws ReflectionException  if the constructor could not be made
+     *                              accessible
+     * @see #handle(Method)
+     */
+    public static MethodHandle handle(Constructor<?> constructor) {
+        Objects.requireNonNull(constructor, "constructor can not be null");
+
+        constructor.setAccessible(true);
+        try {
+            return MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asFixedArity()
+                    .asType(MethodType.genericMethodType(constructor.getParameterCount()));
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Couldn't create handle for " + constructor, e);
+        }
+    }
+    // </editor-fold>
+
     // <editor-fold desc="Utility Classes">
     // ==== UTILITY CLASSES ====
 
@@ -756,6 +1297,9 @@ public class ReflectionUtil {
         private Pattern detectionPattern;
         private Function<String, String> resolverFunction;
 
+        private final ConcurrentMap<String, String> resolvedNames = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Optional<Class<?>>> resolvedClasses = new ConcurrentHashMap<>();
+
         /**
          * @param detectionPattern The pattern to identify this type
          * @param resolverFunction Maps a class name to a fully qualified one
@@ -802,7 +1346,38 @@ public class ReflectionUtil {
          * @return The resolved className
          */
         public String resolve(String className) {
-            return resolverFunction.apply(removePattern(className));
+            String resolved = resolvedNames.get(className);
+            if (resolved == null) {
+                resolved = resolverFunction.apply(removePattern(className));
+                resolvedNames.putIfAbsent(className, resolved);
+            }
+            return resolved;
+        }
+
+        /**
+         * Resolves a class name and loads the class.
+         * <p>
+         * Both found and missing classes are cached, so probing for a class
+         * that does not exist in this version is only expensive once.
+         *
+         * @param className The class name to resolve
+         *
+         * @return The class, if found
+         */
+        private Optional<Class<?>> resolveClass(String className) {
+            Optional<Class<?>> clazz = resolvedClasses.get(className);
+            if (clazz == null) {
+                // not computeIfAbsent: Class.forName runs static initializers, which may look up classes too
+                clazz = classForName(resolve(className));
+                Optional<Class<?>> previous = resolvedClasses.putIfAbsent(className, clazz);
+                if (previous != null) {
+                    clazz = previous;
+                }
+            }
+            if (!clazz.isPresent()) {
+                CLASS_LOOKUP_MISSES.increment();
+            }
+            return clazz;
         }
 
         /**
@@ -832,9 +1407,14 @@ public class ReflectionUtil {
      * @param <T> The class that is wrapped
      */
     public static class ReflectResponse <T> {
-        private T value;
-        private ResultType resultType;
-        private Throwable exception;
+        private static final ReflectResponse<?> NOT_FOUND = new ReflectResponse<>(ResultType.NOT_FOUND);
+        private static final ReflectResponse<?> SUCCESSFUL_WITHOUT_VALUE = new ReflectResponse<>(
+                ResultType.SUCCESSFUL
+        );
+
+        private final T value;
+        private final ResultType resultType;
+        private final Throwable exception;
 
         private ReflectResponse(T value, ResultType resultType, Throwable exception) {
             this.value = value;
@@ -869,7 +1449,45 @@ public class ReflectionUtil {
          * @param resultType The type of the result.
          */
         private ReflectResponse(ResultType resultType) {
-            this.resultType = resultType;
+            this(null, resultType, null);
+        }
+
+        /**
+         * Returns the shared {@link ResultType#NOT_FOUND} response
+         *
+         * @param <T> The type of the response
+         *
+         * @return The response. Always the same instance.
+         */
+        @SuppressWarnings("unchecked")
+        static <T> ReflectResponse<T> notFound() {
+            return (ReflectResponse<T>) NOT_FOUND;
+        }
+
+        /**
+         * Returns the shared {@link ResultType#SUCCESSFUL} response without a
+         * value
+         *
+         * @param <T> The type of the response
+         *
+         * @return The response. Always the same instance.
+         */
+        @SuppressWarnings("unchecked")
+        static <T> ReflectResponse<T> successful() {
+            return (ReflectResponse<T>) SUCCESSFUL_WITHOUT_VALUE;
+        }
+
+        /**
+         * Returns a {@link ResultType#SUCCESSFUL} response. A null value
+         * reuses the shared instance.
+         *
+         * @param value The value. May be null.
+         * @param <T> The type of the response
+         *
+         * @return The response
+         */
+        static <T> ReflectResponse<T> of(T value) {
+            return value == null ? successful() : new ReflectResponse<>(value);
         }
 
         /**
@@ -898,15 +1516,19 @@ public class ReflectionUtil {
          * null, but empty
          *
          * @return The raw value
+         *
+         * @throws ReflectionException if the result was not successful
          */
         public T getValueOrThrow(String... messages) {
             Objects.requireNonNull(messages, "messages can not be null!");
 
             if (getResultType() == ResultType.ERROR) {
-                throw new RuntimeException(String.join(" - ", messages), getException());
+                throw new ReflectionException(String.join(" - ", messages), getException());
             }
             else if (getResultType() == ResultType.NOT_FOUND) {
-                throw new RuntimeException(String.join(" - ", messages) + " Result was 'NOT_FOUND'");
+                throw ReflectionException.notFoundWithStackTrace(
+                        String.join(" - ", messages) + " Result was 'NOT_FOUND'"
+                );
             }
             return getValue();
         }
@@ -985,6 +1607,7 @@ public class ReflectionUtil {
     public static class MemberPredicate <T extends Member> implements Predicate<T> {
 
         private String name;
+        private Pattern namePattern;
         private Collection<Modifier> modifiers = Collections.emptyList();
         private Collection<Modifier> withoutModifier = Collections.emptyList();
 
@@ -1068,12 +1691,60 @@ public class ReflectionUtil {
          */
         public MemberPredicate<T> withName(String name) {
             this.name = name;
+            this.namePattern = null;
             return this;
         }
 
+        /**
+         * Checks if the name matches the name of this predicate
+         *
+         * @param memberName The name of the member
+         *
+         * @return True if the name matches
+         */
+        private boolean matchesName(String memberName) {
+            if (MemberCache.isLiteral(name)) {
+                return name.equals(memberName);
+            }
+            if (namePattern == null) {
+                namePattern = Pattern.compile(name);
+            }
+            return namePattern.matcher(memberName).matches();
+        }
+
+        /**
+         * Returns a key describing this predicate, used to cache the results of
+         * lookups.
+         *
+         * @return The key or null if this predicate is a subclass whose
+         * behaviour is unknown and can therefore not be cached
+         */
+        Object getCacheKey() {
+            Class<?> type = getClass();
+            if (type != MemberPredicate.class && type != FieldPredicate.class
+                    && type != ExecutablePredicate.class && type != MethodPredicate.class) {
+                return null;
+            }
+            List<Object> key = new ArrayList<>();
+            appendCacheKey(key);
+            return key;
+        }
+
+        /**
+         * Adds all properties of this predicate to the cache key
+         *
+         * @param key The key to add them to
+         */
+        void appendCacheKey(List<Object> key) {
+            key.add(getClass());
+            key.add(name);
+            key.add(modifiers.isEmpty() ? EnumSet.noneOf(Modifier.class) : EnumSet.copyOf(modifiers));
+            key.add(withoutModifier.isEmpty() ? EnumSet.noneOf(Modifier.class) : EnumSet.copyOf(withoutModifier));
+        }
+
         @Override
         public boolean test(Member member) {
-            if (name != null && !member.getName().matches(name)) {
+            if (name != null && !matchesName(member.getName())) {
                 return false;
             }
             for (Modifier modifier : modifiers) {
@@ -1165,6 +1836,12 @@ public class ReflectionUtil {
         }
         // </editor-fold>
 
+        @Override
+        void appendCacheKey(List<Object> key) {
+            super.appendCacheKey(key);
+            key.add(type);
+        }
+
         @Override
         public boolean test(Member member) {
             if (!(member instanceof Field) || !super.test(member)) {
@@ -1249,6 +1926,12 @@ public class ReflectionUtil {
         }
         // </editor-fold>
 
+        @Override
+        void appendCacheKey(List<Object> key) {
+            super.appendCacheKey(key);
+            key.add(parameters == null ? null : Arrays.asList(parameters.clone()));
+        }
+
         @Override
         public boolean test(Member member) {
             if (!(member instanceof Executable) || !super.test(member)) {
@@ -1342,6 +2025,12 @@ public class ReflectionUtil {
         }
         // </editor-fold>
 
+        @Override
+        void appendCacheKey(List<Object> key) {
+            super.appendCacheKey(key);
+            key.add(returnType);
+        }
+
         @Override
         public boolean test(Member member) {
             if (!(member instanceof Method) || !super.test(member)) {
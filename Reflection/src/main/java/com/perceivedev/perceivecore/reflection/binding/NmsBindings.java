@@ -0,0 +1,592 @@
+package com.perceivedev.perceivecore.reflection.binding;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import com.perceivedev.perceivecore.reflection.ConstructorInvoker;
+import com.perceivedev.perceivecore.reflection.FieldAccessor;
+import com.perceivedev.perceivecore.reflection.MethodInvoker;
+import com.perceivedev.perceivecore.reflection.ReflectionException;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.ExecutablePredicate;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.MemberPredicate;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.MethodPredicate;
+import com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace;
+
+/**
+ * Resolves the NMS members declared by annotated binding holders.
+ * <p>
+ * A binding holder is a class with static final fields annotated with
+ * {@link NmsClass}, {@link NmsField}, {@link NmsMethod} or
+ * {@link NmsConstructor}. Its first field resolves the holder, the annotated
+ * fields then read their value from it:
+ * <pre>{@code
+ * @NmsClass("{nms}.EntityPlayer")
+ * final class PlayerBindings {
+ *     private static final Bindings BINDINGS = NmsBindings.resolve(PlayerBindings.class);
+ *
+ *     @NmsField("playerConnection")
+ *     static final FieldAccessor<Object> PLAYER_CONNECTION = BINDINGS.get("PLAYER_CONNECTION");
+ *
+ *     @NmsMethod(value = "sendPacket", parameters = "{nms}.Packet", owner = "{nms}.PlayerConnection")
+ *     static final MethodInvoker SEND_PACKET = BINDINGS.get("SEND_PACKET");
+ * }
+ *
+ * NmsBindings.bind(PlayerBindings.class);
+ * }</pre>
+ * All holders passed to {@link #bind(Class[])} are resolved in one pass, when
+ * a module is loaded. Every missing member is collected and reported in a
+ * single {@link ReflectionException}, so a version mismatch fails at load time
+ * and lists everything that needs fixing, instead of surfacing one member at a
+ * time somewhere in the middle of gameplay.
+ * <p>
+ * Accessors and invokers are compiled once while binding. As they are stored
+ * in static final fields, using them afterwards costs no lookups and the JIT
+ * can treat them as constants.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class NmsBindings {
+
+    private static final Logger LOGGER = Logger.getLogger("NmsBindings");
+
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    /**
+     * The values resolved by {@link #bind(Class[])}, until the holder is
+     * initialized
+     */
+    private static final Map<Class<?>, Map<String, Object>> PENDING = new ConcurrentHashMap<>();
+
+    static {
+        for (Class<?> primitive : new Class<?>[]{
+                boolean.class, byte.class, short.class, char.class, int.class, long.class, float.class,
+                double.class, void.class
+        }) {
+            PRIMITIVES.put(primitive.getName(), primitive);
+        }
+    }
+
+    private NmsBindings() {
+    }
+
+    /**
+     * Resolves the bindings of all holders and initializes them
+     *
+     * @param holders The binding holders
+     *
+     * @throws ReflectionException if any non optional binding could not be
+     * resolved. The message lists all of them.
+     */
+    public static void bind(Class<?>... holders) {
+        List<String> errors = new ArrayList<>();
+        Map<Class<?>, Map<String, Object>> resolved = new HashMap<>();
+
+        for (Class<?> holder : holders) {
+            resolved.put(holder, resolveHolder(holder, errors));
+        }
+
+        if (!errors.isEmpty()) {
+            throw failure(errors);
+        }
+
+        // the static initializers pick the values up, instead of resolving them again
+        PENDING.putAll(resolved);
+        try {
+            for (Class<?> holder : holders) {
+                initialize(holder);
+            }
+        } finally {
+            PENDING.keySet().removeAll(resolved.keySet());
+        }
+
+        int bound = 0;
+        for (Map<String, Object> values : resolved.values()) {
+            for (Object value : values.values()) {
+                if (value != null) {
+                    bound++;
+                }
+            }
+        }
+        LOGGER.fine("Bound " + bound + " NMS member(s) in " + Arrays.toString(holders));
+    }
+
+    /**
+     * Resolves the bindings of a single holder. Called by the static
+     * initializer of the holder.
+     * <p>
+     * If the holder is initialized by {@link #bind(Class[])}, the bindings it
+     * already resolved are returned.
+     *
+     * @param holder The binding holder
+     *
+     * @return The resolved bindings
+     *
+     * @throws ReflectionException if any non optional binding could not be
+     * resolved. The message lists all of them.
+     */
+    public static Bindings resolve(Class<?> holder) {
+        Map<String, Object> values = PENDING.remove(holder);
+        if (values == null) {
+            List<String> errors = new ArrayList<>();
+            values = resolveHolder(holder, errors);
+            if (!errors.isEmpty()) {
+                throw failure(errors);
+            }
+        }
+        return new Bindings(holder, values);
+    }
+
+    /**
+     * Initializes a holder, which runs its static initializer
+     *
+     * @param holder The holder
+     *
+     * @throws ReflectionException if the static initializer failed
+     */
+    private static void initialize(Class<?> holder) {
+        try {
+            Class.forName(holder.getName(), true, holder.getClassLoader());
+        } catch (ClassNotFoundException | ExceptionInInitializerError e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof ReflectionException) {
+                throw (ReflectionException) cause;
+            }
+            throw new ReflectionException("Couldn't initialize " + holder.getName(), cause);
+        }
+    }
+
+    /**
+     * Uses the package version, as reading the version from Bukkit would fail
+     * without a server and hide the actual errors.
+     *
+     * @param errors The errors
+     *
+     * @return An exception listing all errors
+     */
+    private static ReflectionException failure(List<String> errors) {
+        StringBuilder message = new StringBuilder()
+                .append(errors.size())
+                .append(" NMS binding(s) could not be resolved for server version ")
+                .append(ReflectionUtil.getServerVersion())
+                .append(':');
+        for (String error : errors) {
+            message.append(System.lineSeparator()).append("  - ").append(error);
+        }
+        return new ReflectionException(message.toString(), null);
+    }
+
+    /**
+     * Resolves the bindings of a single holder
+     *
+     * @param holder The binding holder
+     * @param errors The list to add errors to
+     *
+     * @return The resolved values by field name. Missing optional bindings
+     * are null.
+     */
+    private static Map<String, Object> resolveHolder(Class<?> holder, List<String> errors) {
+        Class<?> defaultOwner = null;
+        NmsClass holderAnnotation = holder.getAnnotation(NmsClass.class);
+        if (holderAnnotation != null) {
+            defaultOwner = resolveClass(holderAnnotation.value(), holder).orElse(null);
+            if (defaultOwner == null && !holderAnnotation.optional()) {
+                errors.add(holder.getSimpleName() + ": class '" + holderAnnotation.value() + "' not found");
+            }
+        }
+
+        Map<String, Object> values = new HashMap<>();
+        for (Field field : holder.getDeclaredFields()) {
+            Binding binding = Binding.of(field);
+            if (binding == null) {
+                continue;
+            }
+            try {
+                if (!Modifier.isStatic(field.getModifiers()) || !Modifier.isFinal(field.getModifiers())) {
+                    errors.add(describe(field) + ": binding fields must be static final");
+                    continue;
+                }
+
+                Object value = binding.resolve(field, defaultOwner, holder);
+                if (value == null && !binding.isOptional()) {
+                    errors.add(describe(field) + ": " + binding.describe() + " not found");
+                    continue;
+                }
+                values.put(field.getName(), value);
+            } catch (MissingClassException e) {
+                // an optional member of a class that only exists in some versions
+                if (binding.isOptional()) {
+                    values.put(field.getName(), null);
+                } else {
+                    errors.add(describe(field) + ": " + e.getMessage());
+                }
+            } catch (ReflectionException e) {
+                errors.add(describe(field) + ": " + e.getMessage());
+            } catch (RuntimeException e) {
+                // e.g. an InaccessibleObjectException while compiling the invoker
+                errors.add(describe(field) + ": " + e);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Resolves a class name
+     *
+     * @param name The name. Either with a {@link NameSpace} identifier, a
+     * primitive or a fully qualified name. May end in {@code []} for arrays.
+     * @param holder The holder, whose class loader is used for fully qualified
+     * names
+     *
+     * @return The class, if found
+     */
+    private static Optional<Class<?>> resolveClass(String name, Class<?> holder) {
+        if (name.endsWith("[]")) {
+            return resolveClass(name.substring(0, name.length() - 2), holder)
+                    .map(component -> Array.newInstance(component, 0).getClass());
+        }
+        if (PRIMITIVES.containsKey(name)) {
+            return Optional.of(PRIMITIVES.get(name));
+        }
+        if (NameSpace.getFromIdentifier(name).isPresent()) {
+            return ReflectionUtil.getClass(name);
+        }
+        try {
+            return Optional.of(Class.forName(name, true, holder.getClassLoader()));
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Resolves the owner of a member
+     *
+     * @param owner The owner given in the annotation. Empty for the default
+     * @param defaultOwner The {@link NmsClass} of the holder. May be null.
+     * @param holder The holder
+     *
+     * @return The owner
+     *
+     * @throws MissingClassException if the owner class does not exist
+     * @throws ReflectionException   if no owner was given and the holder has
+     *                               no {@link NmsClass}
+     */
+    private static Class<?> resolveOwner(String owner, Class<?> defaultOwner, Class<?> holder) {
+        if (owner.isEmpty()) {
+            if (defaultOwner == null && holder.isAnnotationPresent(NmsClass.class)) {
+                throw new MissingClassException("class '" + holder.getAnnotation(NmsClass.class).value()
+                        + "' of the holder not found");
+            }
+            if (defaultOwner == null) {
+                throw new ReflectionException("no owner given and the holder has no @NmsClass", null);
+            }
+            return defaultOwner;
+        }
+        return resolveClass(owner, holder)
+                .orElseThrow(() -> new MissingClassException("owner class '" + owner + "' not found"));
+    }
+
+    /**
+     * Resolves the parameter types
+     *
+     * @param parameters The parameter names
+     * @param holder The holder
+     *
+     * @return The parameter types or null if {@link NmsMethod#ANY_PARAMETERS}
+     * was given
+     *
+     * @throws MissingClassException if a parameter type does not exist
+     */
+    private static Class<?>[] resolveParameters(String[] parameters, Class<?> holder) {
+        if (parameters.length == 1 && NmsMethod.ANY_PARAMETERS.equals(parameters[0])) {
+            return null;
+        }
+        Class<?>[] types = new Class<?>[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            String parameter = parameters[i];
+            types[i] = resolveClass(parameter, holder)
+                    .orElseThrow(() -> new MissingClassException("parameter class '" + parameter + "' not found"));
+        }
+        return types;
+    }
+
+    /**
+     * @param field The field
+     *
+     * @return A readable name of the field
+     */
+    private static String describe(Field field) {
+        return field.getDeclaringClass().getSimpleName() + "." + field.getName();
+    }
+
+    /**
+     * Converts a resolved member to the type of the field it is assigned to
+     *
+     * @param field The annotated field
+     * @param member The resolved member
+     * @param raw The raw reflection type, assigned as is
+     * @param compiled The compiled accessor type
+     * @param compiler Compiles the member to the accessor type
+     * @param <M> The type of the member
+     *
+     * @return The value for the field
+     *
+     * @throws ReflectionException if the field has an unsupported type
+     */
+    private static <M> Object convert(Field field, M member, Class<?> raw, Class<?> compiled,
+                                      Function<M, Object> compiler) {
+        Class<?> type = field.getType();
+        if (type == raw) {
+            return member;
+        }
+        if (type == compiled) {
+            return compiler.apply(member);
+        }
+        throw new ReflectionException(
+                "unsupported type " + type.getSimpleName() + ", expected "
+                        + raw.getSimpleName() + " or " + compiled.getSimpleName(),
+                null
+        );
+    }
+
+    /**
+     * Signals that a class a binding refers to does not exist in this version
+     */
+    private static final class MissingClassException extends ReflectionException {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * @param message The detail message
+         */
+        MissingClassException(String message) {
+            super(message, null);
+        }
+    }
+
+    /**
+     * The resolved bindings of one holder
+     */
+    public static final class Bindings {
+        private final Class<?> holder;
+        private final Map<String, Object> values;
+
+        /**
+         * @param holder The holder
+         * @param values The resolved values by field name
+         */
+        private Bindings(Class<?> holder, Map<String, Object> values) {
+            this.holder = holder;
+            this.values = values;
+        }
+
+        /**
+         * Returns the value of an annotated field
+         *
+         * @param fieldName The name of the annotated field
+         * @param <T> The type of the field
+         *
+         * @return The resolved value or null if it is optional and was not
+         * found
+         *
+         * @throws IllegalArgumentException if the holder has no annotated field
+         * with that name
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T get(String fieldName) {
+            if (!values.containsKey(fieldName)) {
+                throw new IllegalArgumentException(holder.getName() + "." + fieldName + " is not a binding");
+            }
+            return (T) values.get(fieldName);
+        }
+    }
+
+    /**
+     * A single annotated field of a holder
+     */
+    private static abstract class Binding {
+
+        private final boolean optional;
+
+        /**
+         * @param optional Whether the binding is optional
+         */
+        Binding(boolean optional) {
+            this.optional = optional;
+        }
+
+        /**
+         * @return True if the binding is optional
+         */
+        boolean isOptional() {
+            return optional;
+        }
+
+        /**
+         * Resolves the value of the field
+         *
+         * @param field The annotated field
+         * @param defaultOwner The {@link NmsClass} of the holder. May be null.
+         * @param holder The holder
+         *
+         * @return The value or null if it does not exist
+         *
+         * @throws ReflectionException if it could not be resolved
+         */
+        abstract Object resolve(Field field, Class<?> defaultOwner, Class<?> holder);
+
+        /**
+         * @return A readable description of what is bound
+         */
+        abstract String describe();
+
+        /**
+         * Creates the binding for a field
+         *
+         * @param field The field
+         *
+         * @return The binding or null if the field is not annotated
+         */
+        static Binding of(Field field) {
+            NmsClass nmsClass = field.getAnnotation(NmsClass.class);
+            if (nmsClass != null) {
+                return new ClassBinding(nmsClass);
+            }
+            NmsField nmsField = field.getAnnotation(NmsField.class);
+            if (nmsField != null) {
+                return new FieldBinding(nmsField);
+            }
+            NmsMethod nmsMethod = field.getAnnotation(NmsMethod.class);
+            if (nmsMethod != null) {
+                return new MethodBinding(nmsMethod);
+            }
+            NmsConstructor nmsConstructor = field.getAnnotation(NmsConstructor.class);
+            if (nmsConstructor != null) {
+                return new ConstructorBinding(nmsConstructor);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Binds a {@link Class}
+     */
+    private static class ClassBinding extends Binding {
+        private final NmsClass annotation;
+
+        ClassBinding(NmsClass annotation) {
+            super(annotation.optional());
+            this.annotation = annotation;
+        }
+
+        @Override
+        Object resolve(Field field, Class<?> defaultOwner, Class<?> holder) {
+            if (field.getType() != Class.class) {
+                throw new ReflectionException("@NmsClass fields must be of type Class", null);
+            }
+            return resolveClass(annotation.value(), holder).orElse(null);
+        }
+
+        @Override
+        String describe() {
+            return "class '" + annotation.value() + "'";
+        }
+    }
+
+    /**
+     * Binds a {@link Field} or {@link FieldAccessor}
+     */
+    private static class FieldBinding extends Binding {
+        private final NmsField annotation;
+
+        FieldBinding(NmsField annotation) {
+            super(annotation.optional());
+            this.annotation = annotation;
+        }
+
+        @Override
+        Object resolve(Field field, Class<?> defaultOwner, Class<?> holder) {
+            Class<?> owner = resolveOwner(annotation.owner(), defaultOwner, holder);
+            Optional<Field> found = ReflectionUtil.getField(owner, new MemberPredicate<Field>().withName(
+                    annotation.value()
+            )).get();
+
+            return found.map(it -> convert(field, it, Field.class, FieldAccessor.class, ReflectionUtil::accessor))
+                    .orElse(null);
+        }
+
+        @Override
+        String describe() {
+            return "field '" + annotation.value() + "'";
+        }
+    }
+
+    /**
+     * Binds a {@link Method} or {@link MethodInvoker}
+     */
+    private static class MethodBinding extends Binding {
+        private final NmsMethod annotation;
+
+        MethodBinding(NmsMethod annotation) {
+            super(annotation.optional());
+            this.annotation = annotation;
+        }
+
+        @Override
+        Object resolve(Field field, Class<?> defaultOwner, Class<?> holder) {
+            Class<?> owner = resolveOwner(annotation.owner(), defaultOwner, holder);
+            MethodPredicate predicate = new MethodPredicate()
+                    .withName(annotation.value())
+                    .withParameters(resolveParameters(annotation.parameters(), holder));
+            Optional<Method> found = ReflectionUtil.getMethod(owner, predicate).get();
+
+            return found.map(it -> convert(field, it, Method.class, MethodInvoker.class, ReflectionUtil::invoker))
+                    .orElse(null);
+        }
+
+        @Override
+        String describe() {
+            return "method '" + annotation.value() + "(" + String.join(", ", annotation.parameters()) + ")'";
+        }
+    }
+
+    /**
+     * Binds a {@link Constructor} or {@link ConstructorInvoker}
+     */
+    private static class ConstructorBinding extends Binding {
+        private final NmsConstructor annotation;
+
+        ConstructorBinding(NmsConstructor annotation) {
+            super(annotation.optional());
+            this.annotation = annotation;
+        }
+
+        @Override
+        Object resolve(Field field, Class<?> defaultOwner, Class<?> holder) {
+            Class<?> owner = resolveOwner(annotation.owner(), defaultOwner, holder);
+            ExecutablePredicate<Constructor<?>> predicate = new ExecutablePredicate<Constructor<?>>()
+                    .withParameters(resolveParameters(annotation.parameters(), holder));
+            Optional<Constructor<?>> found = ReflectionUtil.getConstructor(owner, predicate).get();
+
+            return found.map(it -> convert(field, it, Constructor.class, ConstructorInvoker.class,
+                    ReflectionUtil::invoker
+            )).orElse(null);
+        }
+
+        @Override
+        String describe() {
+            return "constructor '(" + String.join(", ", annotation.parameters()) + ")'";
+        }
+    }
+}
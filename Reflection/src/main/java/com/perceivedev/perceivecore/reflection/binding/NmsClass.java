@@ -0,0 +1,36 @@
+package com.perceivedev.perceivecore.reflection.binding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the class a binding refers to.
+ * <p>
+ * On a binding holder it is the default owner for all annotated members. On a
+ * static final {@link Class} field of a holder it is the class to resolve.
+ *
+ * @see NmsBindings
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.FIELD})
+public @interface NmsClass {
+
+    /**
+     * The name of the class. Either prefixed with a
+     * {@link com.perceivedev.perceivecore.reflection.ReflectionUtil.NameSpace}
+     * identifier (e.g. {@code "{nms}.EntityPlayer"}) or fully qualified.
+     *
+     * @return The name of the class
+     */
+    String value();
+
+    /**
+     * Whether the class may be missing. Optional bindings are left at
+     * {@code null} instead of failing the whole binding.
+     *
+     * @return True if the class is optional
+     */
+    boolean optional() default false;
+}
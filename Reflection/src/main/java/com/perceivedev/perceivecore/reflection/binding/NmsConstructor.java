@@ -0,0 +1,44 @@
+package com.perceivedev.perceivecore.reflection.binding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a static final field of a binding holder to a constructor of an NMS
+ * class.
+ * <p>
+ * The annotated field may be a {@link java.lang.reflect.Constructor} or a
+ * {@link com.perceivedev.perceivecore.reflection.ConstructorInvoker}.
+ *
+ * @see NmsBindings
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface NmsConstructor {
+
+    /**
+     * The parameter types, in the format of {@link NmsMethod#parameters()}.
+     *
+     * @return The parameter types. An empty array for the default
+     * constructor, {@link NmsMethod#ANY_PARAMETERS} to not check them.
+     */
+    String[] parameters() default NmsMethod.ANY_PARAMETERS;
+
+    /**
+     * The class to construct, in the format of {@link NmsClass#value()}. Empty
+     * to use the {@link NmsClass} of the holder.
+     *
+     * @return The class to construct
+     */
+    String owner() default "";
+
+    /**
+     * Whether the constructor may be missing. Optional bindings are left at
+     * {@code null} instead of failing the whole binding.
+     *
+     * @return True if the constructor is optional
+     */
+    boolean optional() default false;
+}
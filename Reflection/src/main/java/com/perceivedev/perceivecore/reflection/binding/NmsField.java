@@ -0,0 +1,43 @@
+package com.perceivedev.perceivecore.reflection.binding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a static final field of a binding holder to a field of an NMS class.
+ * <p>
+ * The annotated field may be a {@link java.lang.reflect.Field} or a
+ * {@link com.perceivedev.perceivecore.reflection.FieldAccessor}.
+ *
+ * @see NmsBindings
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface NmsField {
+
+    /**
+     * The name of the field. Is a <b>RegEx</b>, like
+     * {@link com.perceivedev.perceivecore.reflection.ReflectionUtil.MemberPredicate#withName(String)}.
+     *
+     * @return The name of the field
+     */
+    String value();
+
+    /**
+     * The class declaring the field, in the format of {@link NmsClass#value()}.
+     * Empty to use the {@link NmsClass} of the holder.
+     *
+     * @return The class declaring the field
+     */
+    String owner() default "";
+
+    /**
+     * Whether the field may be missing. Optional bindings are left at
+     * {@code null} instead of failing the whole binding.
+     *
+     * @return True if the field is optional
+     */
+    boolean optional() default false;
+}
@@ -0,0 +1,60 @@
+package com.perceivedev.perceivecore.reflection.binding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a static final field of a binding holder to a method of an NMS class.
+ * <p>
+ * The annotated field may be a {@link java.lang.reflect.Method} or a
+ * {@link com.perceivedev.perceivecore.reflection.MethodInvoker}.
+ *
+ * @see NmsBindings
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface NmsMethod {
+
+    /**
+     * Matches any parameters, when used as the only entry of
+     * {@link #parameters()}
+     */
+    String ANY_PARAMETERS = "*";
+
+    /**
+     * The name of the method. Is a <b>RegEx</b>, like
+     * {@link com.perceivedev.perceivecore.reflection.ReflectionUtil.MemberPredicate#withName(String)}.
+     *
+     * @return The name of the method
+     */
+    String value();
+
+    /**
+     * The parameter types, in the format of {@link NmsClass#value()}.
+     * Primitives and {@code java.*} classes can be given by their name (e.g.
+     * {@code "int"} or {@code "java.lang.String"}).
+     *
+     * @return The parameter types. An empty array for a method without
+     * parameters, {@link #ANY_PARAMETERS} to not check them.
+     */
+    String[] parameters() default ANY_PARAMETERS;
+
+    /**
+     * The class declaring the method, in the format of
+     * {@link NmsClass#value()}. Empty to use the {@link NmsClass} of the
+     * holder.
+     *
+     * @return The class declaring the method
+     */
+    String owner() default "";
+
+    /**
+     * Whether the method may be missing. Optional bindings are left at
+     * {@code null} instead of failing the whole binding.
+     *
+     * @return True if the method is optional
+     */
+    boolean optional() default false;
+}
@@ -1,13 +1,9 @@
 package com.perceivedev.perceivecore.utilities.text;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 
@@ -18,6 +14,8 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.perceivedev.perceivecore.reflection.ReflectionException;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings;
 
 /**
  * This is a complete JSON message builder class. To create a new JSONMessage
@@ -717,68 +715,16 @@ public class JSONMessage {
     // <editor-fold desc="ReflectionHelper">
     private static class ReflectionHelper {
 
-        private static Class<?> craftPlayer;
-
-        private static Constructor<?> chatComponentText;
-        private static Class<?> packetPlayOutChat;
-        private static Class<?> packetPlayOutTitle;
-        private static Class<?> iChatBaseComponent;
-        private static Class<?> titleAction;
-
-        private static Field connection;
-        private static Method getHandle;
-        private static Method sendPacket;
-        private static Method stringToChat;
-
-        private static Object actionTitle;
-        private static Object actionSubtitle;
-
-        private static String version;
-
         private static boolean SETUP = false;
 
         static {
-
-            if (!SETUP) {
-
-                String[] split = Bukkit.getServer().getClass().getPackage().getName().split("\\.");
-                version = split[split.length - 1];
-
-                try {
-
-                    SETUP = true;
-
-                    craftPlayer = getClass("{obc}.entity.CraftPlayer");
-                    getHandle = craftPlayer.getMethod("getHandle");
-                    connection = getHandle.getReturnType().getField("playerConnection");
-                    sendPacket = connection.getType().getMethod("sendPacket", getClass("{nms}.Packet"));
-
-                    chatComponentText = getClass("{nms}.ChatComponentText").getConstructor(String.class);
-
-                    iChatBaseComponent = getClass("{nms}.IChatBaseComponent");
-
-                    if (getVersion() > 7) {
-                        stringToChat = getClass("{nms}.IChatBaseComponent$ChatSerializer").getMethod("a", String.class);
-                    }
-                    else {
-                        stringToChat = getClass("{nms}.ChatSerializer").getMethod("a", String.class);
-                    }
-
-                    packetPlayOutChat = getClass("{nms}.PacketPlayOutChat");
-                    packetPlayOutTitle = getClass("{nms}.PacketPlayOutTitle");
-
-                    titleAction = getClass("{nms}.PacketPlayOutTitle$EnumTitleAction");
-
-                    actionTitle = titleAction.getField("TITLE").get(null);
-                    actionSubtitle = titleAction.getField("SUBTITLE").get(null);
-
-                } catch (Exception e) {
-                    e.printStackTrace();
-                    SETUP = false;
-                }
-
+            try {
+                NmsBindings.bind(TextBindings.class);
+                SETUP = true;
+            } catch (ReflectionException e) {
+                e.printStackTrace();
+                SETUP = false;
             }
-
         }
 
         @SuppressWarnings("WeakerAccess")
@@ -792,7 +738,8 @@ public class JSONMessage {
 
             for (Player player : players) {
                 try {
-                    sendPacket.invoke(connection.get(getHandle.invoke(player)), packet);
+                    Object connection = TextBindings.PLAYER_CONNECTION.get(TextBindings.GET_HANDLE.invoke(player));
+                    TextBindings.SEND_PACKET.invoke(connection, packet);
                 } catch (Exception e) {
                     System.err.println("Failed to send packet");
                     e.printStackTrace();
@@ -806,9 +753,7 @@ public class JSONMessage {
             if (!SETUP) {
                 throw new IllegalStateException("ReflectionHelper is not set up!");
             }
-            Object packet = createTextPacket(message);
-            set("b", packet, (byte) 2);
-            return packet;
+            return createChatPacket(message, (byte) 2);
         }
 
         @SuppressWarnings("WeakerAccess")
@@ -816,10 +761,14 @@ public class JSONMessage {
             if (!SETUP) {
                 throw new IllegalStateException("ReflectionHelper is not set up!");
             }
+            return createChatPacket(message, (byte) 1);
+        }
+
+        private static Object createChatPacket(String message, byte position) {
             try {
-                Object packet = packetPlayOutChat.newInstance();
-                set("a", packet, fromJson(message));
-                set("b", packet, (byte) 1);
+                Object packet = TextBindings.NEW_CHAT_PACKET.newInstance();
+                TextBindings.CHAT_MESSAGE.set(packet, fromJson(message));
+                TextBindings.CHAT_POSITION.set(packet, position);
                 return packet;
             } catch (Exception e) {
                 e.printStackTrace();
@@ -834,8 +783,9 @@ public class JSONMessage {
                 throw new IllegalStateException("ReflectionHelper is not set up!");
             }
             try {
-                return packetPlayOutTitle.getConstructor(titleAction, iChatBaseComponent)
-                        .newInstance(actionTitle, fromJson(message));
+                return TextBindings.NEW_TITLE_PACKET.newInstance(
+                        TextBindings.ACTION_TITLE.get(null), fromJson(message)
+                );
             } catch (Exception e) {
                 e.printStackTrace();
                 return null;
@@ -849,8 +799,9 @@ public class JSONMessage {
                 throw new IllegalStateException("ReflectionHelper is not set up!");
             }
             try {
-                return packetPlayOutTitle.getConstructor(titleAction, iChatBaseComponent)
-                        .newInstance(actionSubtitle, fromJson(message));
+                return TextBindings.NEW_TITLE_PACKET.newInstance(
+                        TextBindings.ACTION_SUBTITLE.get(null), fromJson(message)
+                );
             } catch (Exception e) {
                 e.printStackTrace();
                 return null;
@@ -864,8 +815,7 @@ public class JSONMessage {
                 throw new IllegalStateException("ReflectionHelper is not set up!");
             }
             try {
-                return packetPlayOutTitle.getConstructor(int.class, int.class, int.class)
-                        .newInstance(fadeIn, stay, fadeOut);
+                return TextBindings.NEW_TITLE_TIMES_PACKET.newInstance(fadeIn, stay, fadeOut);
             } catch (Exception e) {
                 e.printStackTrace();
                 return null;
@@ -879,7 +829,7 @@ public class JSONMessage {
                 throw new IllegalStateException("ReflectionHelper is not set up!");
             }
             try {
-                return chatComponentText.newInstance(msg);
+                return TextBindings.NEW_COMPONENT_TEXT.newInstance(msg);
             } catch (Exception e) {
                 e.printStackTrace();
                 return null;
@@ -897,7 +847,7 @@ public class JSONMessage {
             }
 
             try {
-                return stringToChat.invoke(null, json);
+                return TextBindings.FROM_JSON.invoke(null, json);
             } catch (Exception e) {
                 e.printStackTrace();
                 return null;
@@ -905,40 +855,6 @@ public class JSONMessage {
 
         }
 
-        @SuppressWarnings("WeakerAccess")
-        public static Class<?> getClass(String path) throws ClassNotFoundException {
-            if (!SETUP) {
-                throw new IllegalStateException("ReflectionHelper is not set up!");
-            }
-            return Class.forName(path.replace("{nms}", "net.minecraft.server." + version)
-                    .replace("{obc}", "org.bukkit.craftbukkit." + version));
-        }
-
-        @SuppressWarnings("WeakerAccess")
-        public static void set(String field, Object o, Object v) {
-            try {
-                Field f = o.getClass().getDeclaredField(field);
-                f.setAccessible(true);
-                f.set(o, v);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
-
-        @SuppressWarnings("WeakerAccess")
-        public static int getVersion() {
-            if (!SETUP) {
-                throw new IllegalStateException("ReflectionHelper is not set up!");
-            }
-            try {
-                return Integer.parseInt(version.split("_")[1]);
-            } catch (NumberFormatException e) {
-                e.printStackTrace();
-                return 10;
-            }
-
-        }
-
     }
     // </editor-fold>
     // </editor-fold>
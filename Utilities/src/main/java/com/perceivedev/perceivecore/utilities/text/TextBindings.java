@@ -0,0 +1,104 @@
+package com.perceivedev.perceivecore.utilities.text;
+
+import com.perceivedev.perceivecore.reflection.ConstructorInvoker;
+import com.perceivedev.perceivecore.reflection.FieldAccessor;
+import com.perceivedev.perceivecore.reflection.MethodInvoker;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings;
+import com.perceivedev.perceivecore.reflection.binding.NmsBindings.Bindings;
+import com.perceivedev.perceivecore.reflection.binding.NmsClass;
+import com.perceivedev.perceivecore.reflection.binding.NmsConstructor;
+import com.perceivedev.perceivecore.reflection.binding.NmsField;
+import com.perceivedev.perceivecore.reflection.binding.NmsMethod;
+
+/**
+ * The NMS members the {@link JSONMessage} needs to build and send chat and
+ * title packets
+ * <p>
+ * They are bound the first time a message is sent, not when the module is
+ * loaded, as the utilities are also used without a server.
+ */
+@NmsClass("{nms}.PlayerConnection")
+final class TextBindings {
+
+    private static final Bindings BINDINGS = NmsBindings.resolve(TextBindings.class);
+
+    /**
+     * {@code CraftPlayer#getHandle()}
+     */
+    @NmsMethod(value = "getHandle", parameters = {}, owner = "{obc}.entity.CraftPlayer")
+    static final MethodInvoker GET_HANDLE = BINDINGS.get("GET_HANDLE");
+
+    /**
+     * {@code EntityPlayer#playerConnection}
+     */
+    @NmsField(value = "playerConnection", owner = "{nms}.EntityPlayer")
+    static final FieldAccessor<Object> PLAYER_CONNECTION = BINDINGS.get("PLAYER_CONNECTION");
+
+    /**
+     * {@code PlayerConnection#sendPacket(Packet)}
+     */
+    @NmsMethod(value = "sendPacket", parameters = "{nms}.Packet")
+    static final MethodInvoker SEND_PACKET = BINDINGS.get("SEND_PACKET");
+
+    /**
+     * {@code ChatComponentText(String)}
+     */
+    @NmsConstructor(parameters = "java.lang.String", owner = "{nms}.ChatComponentText")
+    static final ConstructorInvoker<?> NEW_COMPONENT_TEXT = BINDINGS.get("NEW_COMPONENT_TEXT");
+
+    /**
+     * {@code IChatBaseComponent.ChatSerializer#a(String)}, which parses a
+     * JSON component
+     */
+    @NmsMethod(value = "a", parameters = "java.lang.String", owner = "{nms}.IChatBaseComponent$ChatSerializer")
+    static final MethodInvoker FROM_JSON = BINDINGS.get("FROM_JSON");
+
+    /**
+     * {@code PacketPlayOutChat()}
+     */
+    @NmsConstructor(parameters = {}, owner = "{nms}.PacketPlayOutChat")
+    static final ConstructorInvoker<?> NEW_CHAT_PACKET = BINDINGS.get("NEW_CHAT_PACKET");
+
+    /**
+     * {@code PacketPlayOutChat#a}, the message
+     */
+    @NmsField(value = "a", owner = "{nms}.PacketPlayOutChat")
+    static final FieldAccessor<Object> CHAT_MESSAGE = BINDINGS.get("CHAT_MESSAGE");
+
+    /**
+     * {@code PacketPlayOutChat#b}, the position of the message
+     */
+    @NmsField(value = "b", owner = "{nms}.PacketPlayOutChat")
+    static final FieldAccessor<Object> CHAT_POSITION = BINDINGS.get("CHAT_POSITION");
+
+    /**
+     * {@code PacketPlayOutTitle(EnumTitleAction, IChatBaseComponent)}
+     */
+    @NmsConstructor(
+            parameters = {"{nms}.PacketPlayOutTitle$EnumTitleAction", "{nms}.IChatBaseComponent"},
+            owner = "{nms}.PacketPlayOutTitle"
+    )
+    static final ConstructorInvoker<?> NEW_TITLE_PACKET = BINDINGS.get("NEW_TITLE_PACKET");
+
+    /**
+     * {@code PacketPlayOutTitle(int, int, int)}, which sets the fade in, stay
+     * and fade out times
+     */
+    @NmsConstructor(parameters = {"int", "int", "int"}, owner = "{nms}.PacketPlayOutTitle")
+    static final ConstructorInvoker<?> NEW_TITLE_TIMES_PACKET = BINDINGS.get("NEW_TITLE_TIMES_PACKET");
+
+    /**
+     * {@code EnumTitleAction#TITLE}
+     */
+    @NmsField(value = "TITLE", owner = "{nms}.PacketPlayOutTitle$EnumTitleAction")
+    static final FieldAccessor<Object> ACTION_TITLE = BINDINGS.get("ACTION_TITLE");
+
+    /**
+     * {@code EnumTitleAction#SUBTITLE}
+     */
+    @NmsField(value = "SUBTITLE", owner = "{nms}.PacketPlayOutTitle$EnumTitleAction")
+    static final FieldAccessor<Object> ACTION_SUBTITLE = BINDINGS.get("ACTION_SUBTITLE");
+
+    private TextBindings() {
+    }
+}